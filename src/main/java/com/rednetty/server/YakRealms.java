@@ -48,6 +48,7 @@ import com.rednetty.server.core.mechanics.player.movement.DashMechanics;
 import com.rednetty.server.core.mechanics.player.social.party.PartyMechanics;
 import com.rednetty.server.core.mechanics.player.social.trade.TradeManager;
 import com.rednetty.server.core.mechanics.ui.TabPluginIntegration;
+import com.rednetty.server.core.mechanics.world.PlayerSpatialIndex;
 import com.rednetty.server.core.mechanics.world.holograms.HologramManager;
 import com.rednetty.server.core.mechanics.world.lootchests.LootChestManager;
 import com.rednetty.server.core.mechanics.world.mobs.MobManager;
@@ -59,15 +60,12 @@ import com.rednetty.server.core.mechanics.world.teleport.TeleportManager;
 import com.rednetty.server.core.mechanics.world.trail.TrailSystem;
 import com.rednetty.server.core.mechanics.world.trail.pathing.ParticleSystem;
 import com.rednetty.server.core.mechanics.world.trail.pathing.PathManager;
-import com.rednetty.server.core.mechanics.world.trail.pathing.nodes.AdvancedNodeMapGenerator;
-import com.rednetty.server.core.mechanics.world.trail.pathing.nodes.NavNode;
 import com.rednetty.server.utils.input.ChatInputHandler;
 import com.rednetty.server.utils.ui.ActionBarUtil;
 import com.rednetty.server.utils.monitoring.PerformanceMonitor;
 import com.rednetty.server.utils.monitoring.SystemHealthChecker;
 import com.rednetty.server.utils.recovery.ErrorRecoveryManager;
 import org.bukkit.Bukkit;
-import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -737,6 +735,11 @@ public class YakRealms extends JavaPlugin {
                 return true;
             });
 
+            safeInitialize("Player Spatial Index", () -> {
+                PlayerSpatialIndex.getInstance().onEnable();
+                return true;
+            });
+
             // Legacy moderation mechanics (keep for compatibility)
             safeInitialize("Moderation Mechanics", () -> {
                 moderationMechanics = ModerationMechanics.getInstance();
@@ -1022,16 +1025,11 @@ public class YakRealms extends JavaPlugin {
                 trailSystem = new TrailSystem(this);
                 particleSystem = new ParticleSystem(this);
 
-                // Path manager with safe initialization
+                // Path manager with safe initialization; the navigation graph loads in the background
                 try {
-                    List<World> worlds = getServer().getWorlds();
-                    if (!worlds.isEmpty()) {
-                        World mainWorld = worlds.get(0);
-                        AdvancedNodeMapGenerator nodeGenerator = new AdvancedNodeMapGenerator();
-                        File nodeMapFile = new File(getDataFolder(), mainWorld.getName() + "_advanced_navgraph.dat");
-                        List<NavNode> nodes = nodeGenerator.getOrGenerateNodeMap(mainWorld, nodeMapFile);
+                    if (!getServer().getWorlds().isEmpty()) {
                         pathManager = new PathManager(this, particleSystem);
-                        enhancedLogger.info("Path manager initialized with " + nodes.size() + " nodes");
+                        enhancedLogger.info("Path manager initialized, navigation graph loading in background");
                     }
                 } catch (Exception e) {
                     enhancedLogger.error("PathManager initialization failed", e);
@@ -1604,12 +1602,23 @@ public class YakRealms extends JavaPlugin {
             }
         });
 
+        shutdownSafely("Player Spatial Index", () -> {
+            PlayerSpatialIndex.getInstance().onDisable();
+        });
+
         shutdownSafely("Player Mechanics", () -> {
             if (playerMechanics != null) {
                 playerMechanics.onDisable();
             }
         });
 
+        // Bank pages are stored apart from players; flush them before the player manager
+        shutdownSafely("Bank System", () -> {
+            if (bankManager != null) {
+                bankManager.onDisable();
+            }
+        });
+
         shutdownSafely("Player Manager", () -> {
             if (playerManager != null) {
                 playerManager.onDisable();
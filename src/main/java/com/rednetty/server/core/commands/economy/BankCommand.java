@@ -33,7 +33,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
 
         if (args.length == 0) {
             // Simply open the bank
-            bankManager.getBank(player, 1);
+            bankManager.openBank(player, 1);
             return true;
         }
 
@@ -50,7 +50,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
                         return true;
                     }
                 }
-                player.openInventory(bankManager.getBank(player, page));
+                bankManager.openBank(player, page);
                 break;
 
             case "view":
@@ -0,0 +1,145 @@
+package com.rednetty.server.core.database;
+
+import org.bson.Document;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only, gzip-compressed, rotating journal for local player backups.
+ *
+ * <p>Each record is one JSON line ({@code uuid}, {@code username}, {@code timestamp},
+ * {@code reason}, {@code player}). The current segment is kept open and sync-flushed after
+ * every record, so a crash loses at most the gzip trailer and the segment stays readable
+ * with any gzip tool. Segments rotate once they reach {@code maxSegmentBytes}; only the
+ * newest {@code maxSegments} are kept.
+ *
+ * <p>A record is skipped when the player's content hash matches the last record written
+ * for that player, so repeated failures of the same save do not fill the disk.
+ */
+public class BackupJournal {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".jsonl.gz";
+
+    private final Logger logger;
+    private final File directory;
+    private final long maxSegmentBytes;
+    private final int maxSegments;
+    private final Map<UUID, Long> lastHashes = new ConcurrentHashMap<>();
+
+    private File currentFile;
+    private OutputStream currentStream;
+
+    public BackupJournal(Logger logger, File directory, long maxSegmentBytes, int maxSegments) {
+        this.logger = logger;
+        this.directory = directory;
+        this.maxSegmentBytes = Math.max(64 * 1024L, maxSegmentBytes);
+        this.maxSegments = Math.max(1, maxSegments);
+    }
+
+    /**
+     * Append a record for the player.
+     *
+     * @return true if a record was written, false if it was a duplicate or the write failed
+     */
+    public synchronized boolean append(UUID playerId, String username, Document playerDoc, String reason) {
+        long hash = BackupSnapshotPolicy.contentHash(playerDoc);
+        Long previous = lastHashes.get(playerId);
+        if (previous != null && previous == hash) {
+            return false;
+        }
+
+        Document record = new Document("uuid", playerId.toString())
+                .append("username", username)
+                .append("timestamp", System.currentTimeMillis() / 1000)
+                .append("reason", reason)
+                .append("player", playerDoc);
+
+        try {
+            OutputStream out = openSegment();
+            out.write(record.toJson().getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+            out.flush();
+            lastHashes.put(playerId, hash);
+
+            if (currentFile.length() >= maxSegmentBytes) {
+                rotate();
+            }
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to append local backup for " + username + " to " + currentFile, e);
+            closeQuietly();
+            return false;
+        }
+    }
+
+    /**
+     * Finish the current segment so it carries a complete gzip trailer.
+     */
+    public synchronized void close() {
+        closeQuietly();
+    }
+
+    private OutputStream openSegment() throws IOException {
+        if (currentStream != null) {
+            return currentStream;
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Failed to create journal directory: " + directory.getAbsolutePath());
+        }
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
+        currentFile = new File(directory, SEGMENT_PREFIX + timestamp + SEGMENT_SUFFIX);
+        currentStream = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(currentFile, true)), 8192, true);
+        pruneOldSegments();
+        return currentStream;
+    }
+
+    private void rotate() {
+        closeQuietly();
+        logger.fine("Rotated local backup journal segment");
+    }
+
+    private void closeQuietly() {
+        if (currentStream == null) {
+            return;
+        }
+        try {
+            currentStream.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close backup journal segment " + currentFile, e);
+        } finally {
+            currentStream = null;
+        }
+    }
+
+    private void pruneOldSegments() {
+        File[] segments = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (segments == null || segments.length <= maxSegments) {
+            return;
+        }
+
+        Arrays.sort(segments, Comparator.comparing(File::getName));
+        for (int i = 0; i < segments.length - maxSegments; i++) {
+            if (!segments[i].delete()) {
+                logger.warning("Failed to delete old backup journal segment: " + segments[i].getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.rednetty.server.core.database;
+
+import org.bson.Document;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides when a player save is worth a copy in the backup collection.
+ *
+ * <p>A snapshot is taken at most once per {@code minIntervalMillis} per player, and never
+ * when the content is identical to the last snapshot taken for that player. Content is
+ * compared by hash with the per-save metadata fields left out, so an idle player who is
+ * auto-saved every few minutes produces no backups at all.
+ */
+public class BackupSnapshotPolicy {
+
+    /** Fields that change on every save and say nothing about the player's state */
+    private static final Set<String> VOLATILE_FIELDS = Set.of(
+            "_id", "last_save_timestamp", "save_version", "connection_state_validated"
+    );
+
+    private static final class LastSnapshot {
+        final long takenAt;
+        final long hash;
+
+        LastSnapshot(long takenAt, long hash) {
+            this.takenAt = takenAt;
+            this.hash = hash;
+        }
+    }
+
+    private final long minIntervalMillis;
+    private final Map<UUID, LastSnapshot> lastSnapshots = new ConcurrentHashMap<>();
+
+    public BackupSnapshotPolicy(long minIntervalMillis) {
+        this.minIntervalMillis = Math.max(0L, minIntervalMillis);
+    }
+
+    /**
+     * Cheap pre-check before hashing: true while the last snapshot is too recent for another,
+     * whatever the content
+     */
+    public boolean isWithinInterval(UUID playerId, long now) {
+        LastSnapshot last = lastSnapshots.get(playerId);
+        return last != null && now - last.takenAt < minIntervalMillis;
+    }
+
+    /**
+     * @return true if a snapshot with this content hash should be written now
+     */
+    public boolean isDue(UUID playerId, long hash, long now) {
+        LastSnapshot last = lastSnapshots.get(playerId);
+        if (last == null) {
+            return true;
+        }
+        if (last.hash == hash) {
+            return false;
+        }
+        return now - last.takenAt >= minIntervalMillis;
+    }
+
+    /**
+     * Record a snapshot that was written successfully.
+     */
+    public void markTaken(UUID playerId, long hash, long now) {
+        lastSnapshots.put(playerId, new LastSnapshot(now, hash));
+    }
+
+    /**
+     * Drop what is known about a player; called once they have left
+     */
+    public void forget(UUID playerId) {
+        lastSnapshots.remove(playerId);
+    }
+
+    public long getMinIntervalMillis() {
+        return minIntervalMillis;
+    }
+
+    /**
+     * Hash of the document content, ignoring fields that change on every save.
+     */
+    public static long contentHash(Document doc) {
+        Document content = new Document();
+        for (Map.Entry<String, Object> entry : doc.entrySet()) {
+            if (!VOLATILE_FIELDS.contains(entry.getKey())) {
+                content.append(entry.getKey(), entry.getValue());
+            }
+        }
+
+        byte[] json = content.toJson().getBytes(StandardCharsets.UTF_8);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            long hash = 0L;
+            for (int i = 0; i < 8; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFFL);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM ships SHA-256; fall back to a weaker hash rather than failing the save
+            return Arrays.hashCode(json);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.rednetty.server.core.database;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker for database access.
+ *
+ * <p>CLOSED lets everything through. After {@code failureThreshold} consecutive failures it
+ * trips to OPEN and callers fail fast. Once {@code openMillis} has passed, exactly one caller
+ * wins {@link #tryStartProbe()} and moves it to HALF_OPEN; the probe's outcome closes the
+ * breaker again or re-opens it for another interval.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final Logger logger;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
+    private final AtomicLong openedAt = new AtomicLong(0);
+    private final AtomicInteger timesOpened = new AtomicInteger(0);
+
+    public CircuitBreaker(Logger logger, int failureThreshold, long openMillis) {
+        this.logger = logger;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = Math.max(0, openMillis);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isClosed() {
+        return state.get() == State.CLOSED;
+    }
+
+    /**
+     * True for the one caller that should probe the database after the open interval
+     */
+    public boolean tryStartProbe() {
+        return state.get() == State.OPEN
+                && System.currentTimeMillis() - openedAt.get() >= openMillis
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        State previous = state.getAndSet(State.CLOSED);
+        if (previous != State.CLOSED) {
+            logger.info("MongoDB circuit breaker closed - database reachable again");
+        }
+    }
+
+    public void recordFailure() {
+        if (state.get() == State.HALF_OPEN) {
+            open("probe failed");
+        } else if (consecutiveFailures.incrementAndGet() >= failureThreshold && state.get() == State.CLOSED) {
+            open(consecutiveFailures.get() + " consecutive failures");
+        }
+    }
+
+    /**
+     * Open immediately, e.g. when a health check finds the connection gone
+     */
+    public void trip(String reason) {
+        if (state.get() != State.OPEN) {
+            open(reason);
+        }
+    }
+
+    private void open(String reason) {
+        openedAt.set(System.currentTimeMillis());
+        State previous = state.getAndSet(State.OPEN);
+        if (previous == State.CLOSED) {
+            timesOpened.incrementAndGet();
+            logger.warning("MongoDB circuit breaker opened (" + reason + ") - failing fast, probing every " + openMillis + "ms");
+        } else if (previous == State.HALF_OPEN) {
+            logger.fine("MongoDB circuit breaker staying open: " + reason);
+        }
+    }
+
+    public int getTimesOpened() {
+        return timesOpened.get();
+    }
+}
@@ -0,0 +1,397 @@
+package com.rednetty.server.core.database;
+
+import com.rednetty.server.core.database.MongoDBManager.DatabaseOperation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Non-blocking entry point for database work. Callers get a {@link CompletableFuture} straight
+ * away; the operation runs later on one of the gateway's worker threads.
+ *
+ * <p>Each collection has a bounded queue per {@link Priority}. Workers always take saves before
+ * reads before analytics, round-robin across collections within a priority. A full collection
+ * queue makes room by rejecting its newest lowest-priority entry if the newcomer outranks it,
+ * otherwise the newcomer is rejected. Entries that wait longer than the queue timeout fail with
+ * a {@link TimeoutException}.
+ *
+ * <p>While the {@link CircuitBreaker} is not closed, workers leave the queues alone and one of
+ * them pings the database whenever the breaker allows a probe.
+ */
+public class DatabaseGateway {
+
+    /**
+     * Scheduling class of an operation, highest first
+     */
+    public enum Priority {
+        SAVE, READ, ANALYTICS
+    }
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final long IDLE_WAIT_MS = 250;
+
+    private final Logger logger;
+    private final CircuitBreaker circuitBreaker;
+    private final BooleanSupplier probe;
+    private final int collectionCapacity;
+    private final long queueTimeoutMs;
+    private final ExecutorService workers;
+
+    // Guarded by lock
+    private final Object lock = new Object();
+    private final Map<String, CollectionQueue> queues = new HashMap<>();
+    private final List<CollectionQueue> queueOrder = new ArrayList<>();
+    private final int[] cursors = new int[PRIORITIES.length];
+    private int queued = 0;
+    private boolean accepting = true;
+    private boolean running = true;
+
+    // Statistics
+    private final AtomicLong submitted = new AtomicLong(0);
+    private final AtomicLong completed = new AtomicLong(0);
+    private final AtomicLong failed = new AtomicLong(0);
+    private final AtomicLong rejected = new AtomicLong(0);
+    private final AtomicLong expired = new AtomicLong(0);
+    private final AtomicInteger activeWorkers = new AtomicInteger(0);
+
+    private static final class PendingOperation<T> {
+        final Priority priority;
+        final DatabaseOperation<T> operation;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long enqueuedAt = System.currentTimeMillis();
+
+        PendingOperation(Priority priority, DatabaseOperation<T> operation) {
+            this.priority = priority;
+            this.operation = operation;
+        }
+
+        boolean run() {
+            try {
+                future.complete(operation.execute());
+                return true;
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                return false;
+            }
+        }
+
+        void fail(Exception reason) {
+            future.completeExceptionally(reason);
+        }
+    }
+
+    private static final class CollectionQueue {
+        final ArrayDeque<PendingOperation<?>>[] byPriority;
+        int size;
+
+        @SuppressWarnings("unchecked")
+        CollectionQueue() {
+            this.byPriority = new ArrayDeque[PRIORITIES.length];
+            for (int i = 0; i < byPriority.length; i++) {
+                byPriority[i] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    public DatabaseGateway(Logger logger, CircuitBreaker circuitBreaker, BooleanSupplier probe,
+                           int threads, int collectionCapacity, long queueTimeoutMs) {
+        this.logger = logger;
+        this.circuitBreaker = circuitBreaker;
+        this.probe = probe;
+        this.collectionCapacity = Math.max(1, collectionCapacity);
+        this.queueTimeoutMs = queueTimeoutMs;
+
+        int workerCount = Math.max(1, threads);
+        AtomicInteger threadId = new AtomicInteger(0);
+        this.workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread thread = new Thread(r, "MongoDB-Gateway-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::workerLoop);
+        }
+    }
+
+    // ================ SUBMISSION ================
+
+    /**
+     * Queue an operation against {@code collection}. Never blocks; a rejected operation comes
+     * back as an exceptionally completed future.
+     */
+    public <T> CompletableFuture<T> submit(String collection, Priority priority, DatabaseOperation<T> operation) {
+        PendingOperation<T> pending = new PendingOperation<>(priority, operation);
+        PendingOperation<?> evicted = null;
+        String rejection = null;
+
+        // Futures are completed outside the lock so their callbacks never run while holding it
+        synchronized (lock) {
+            if (!accepting) {
+                rejection = "Database gateway is shut down";
+            } else {
+                evicted = enqueue(collection, pending);
+                if (evicted == pending) {
+                    evicted = null;
+                    rejection = "Database queue full for " + collection;
+                }
+            }
+        }
+
+        if (rejection != null) {
+            rejected.incrementAndGet();
+            pending.fail(new RejectedExecutionException(rejection));
+        } else if (evicted != null) {
+            rejected.incrementAndGet();
+            evicted.fail(new RejectedExecutionException("Displaced by higher priority work on " + collection));
+        }
+        return pending.future;
+    }
+
+    /**
+     * Add to the collection's queue, making room if needed
+     *
+     * @return the entry pushed out, {@code pending} itself if there was no room, or null
+     */
+    private PendingOperation<?> enqueue(String collection, PendingOperation<?> pending) {
+        CollectionQueue queue = queues.get(collection);
+        if (queue == null) {
+            queue = new CollectionQueue();
+            queues.put(collection, queue);
+            queueOrder.add(queue);
+        }
+
+        PendingOperation<?> evicted = null;
+        if (queue.size >= collectionCapacity) {
+            evicted = evictBelow(queue, pending.priority);
+            if (evicted == null) {
+                return pending;
+            }
+        }
+
+        queue.byPriority[pending.priority.ordinal()].addLast(pending);
+        queue.size++;
+        queued++;
+        submitted.incrementAndGet();
+        lock.notify();
+        return evicted;
+    }
+
+    /**
+     * Remove the newest entry of the lowest priority below {@code priority}, if any
+     */
+    private PendingOperation<?> evictBelow(CollectionQueue queue, Priority priority) {
+        for (int p = PRIORITIES.length - 1; p > priority.ordinal(); p--) {
+            PendingOperation<?> victim = queue.byPriority[p].pollLast();
+            if (victim != null) {
+                queue.size--;
+                queued--;
+                return victim;
+            }
+        }
+        return null;
+    }
+
+    // ================ WORKERS ================
+
+    private void workerLoop() {
+        while (true) {
+            PendingOperation<?> next;
+            try {
+                next = takeNext();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (next == null) {
+                return;
+            }
+
+            activeWorkers.incrementAndGet();
+            try {
+                if (next.run()) {
+                    completed.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                }
+            } finally {
+                activeWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Wait for the next runnable operation, probing the database while the breaker is open.
+     * Returns null once the gateway has stopped and its queues are drained.
+     */
+    private PendingOperation<?> takeNext() throws InterruptedException {
+        while (true) {
+            if (!circuitBreaker.isClosed()) {
+                if (circuitBreaker.tryStartProbe()) {
+                    runProbe();
+                    continue;
+                }
+            }
+
+            List<PendingOperation<?>> stale;
+            synchronized (lock) {
+                stale = removeStale();
+                if (stale.isEmpty()) {
+                    if (circuitBreaker.isClosed()) {
+                        PendingOperation<?> next = pollHighestPriority();
+                        if (next != null) {
+                            return next;
+                        }
+                    }
+
+                    if (!running && (queued == 0 || !circuitBreaker.isClosed())) {
+                        return null;
+                    }
+                    lock.wait(IDLE_WAIT_MS);
+                }
+            }
+
+            for (PendingOperation<?> pending : stale) {
+                expired.incrementAndGet();
+                pending.fail(new TimeoutException("Waited over " + queueTimeoutMs + "ms for the database"));
+            }
+        }
+    }
+
+    private void runProbe() {
+        boolean reachable;
+        try {
+            reachable = probe.getAsBoolean();
+        } catch (Exception e) {
+            reachable = false;
+        }
+
+        if (reachable) {
+            circuitBreaker.recordSuccess();
+            synchronized (lock) {
+                lock.notifyAll();
+            }
+        } else {
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    private PendingOperation<?> pollHighestPriority() {
+        if (queued == 0) {
+            return null;
+        }
+        int collections = queueOrder.size();
+        for (int p = 0; p < PRIORITIES.length; p++) {
+            for (int i = 0; i < collections; i++) {
+                int index = (cursors[p] + i) % collections;
+                CollectionQueue queue = queueOrder.get(index);
+                PendingOperation<?> next = queue.byPriority[p].pollFirst();
+                if (next != null) {
+                    cursors[p] = (index + 1) % collections;
+                    queue.size--;
+                    queued--;
+                    return next;
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<PendingOperation<?>> removeStale() {
+        if (queued == 0 || queueTimeoutMs <= 0) {
+            return Collections.emptyList();
+        }
+        List<PendingOperation<?>> stale = new ArrayList<>();
+        long cutoff = System.currentTimeMillis() - queueTimeoutMs;
+        for (CollectionQueue queue : queueOrder) {
+            for (ArrayDeque<PendingOperation<?>> deque : queue.byPriority) {
+                // Oldest entries sit at the head
+                Iterator<PendingOperation<?>> it = deque.iterator();
+                while (it.hasNext()) {
+                    PendingOperation<?> pending = it.next();
+                    if (pending.enqueuedAt > cutoff) {
+                        break;
+                    }
+                    it.remove();
+                    queue.size--;
+                    queued--;
+                    stale.add(pending);
+                }
+            }
+        }
+        return stale;
+    }
+
+    // ================ LIFECYCLE ================
+
+    /**
+     * Stop accepting work, give the queues up to {@code timeoutMs} to drain, then fail whatever
+     * is left
+     */
+    public void shutdown(long timeoutMs) {
+        synchronized (lock) {
+            accepting = false;
+            running = false;
+            lock.notifyAll();
+        }
+
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        List<PendingOperation<?>> leftover = new ArrayList<>();
+        synchronized (lock) {
+            for (CollectionQueue queue : queueOrder) {
+                for (ArrayDeque<PendingOperation<?>> deque : queue.byPriority) {
+                    leftover.addAll(deque);
+                    deque.clear();
+                }
+                queue.size = 0;
+            }
+            queued = 0;
+        }
+
+        for (PendingOperation<?> pending : leftover) {
+            pending.fail(new RejectedExecutionException("Database gateway shut down"));
+        }
+        if (!leftover.isEmpty()) {
+            logger.log(Level.WARNING, "Database gateway discarded " + leftover.size() + " queued operations on shutdown");
+        }
+    }
+
+    // ================ STATISTICS ================
+
+    public int getQueuedCount() {
+        synchronized (lock) {
+            return queued;
+        }
+    }
+
+    public String getStats() {
+        return String.format("Gateway{breaker=%s, queued=%d, active=%d, submitted=%d, completed=%d, " +
+                        "failed=%d, rejected=%d, expired=%d}",
+                circuitBreaker.getState(), getQueuedCount(), activeWorkers.get(), submitted.get(),
+                completed.get(), failed.get(), rejected.get(), expired.get());
+    }
+}
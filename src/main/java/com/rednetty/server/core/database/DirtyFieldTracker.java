@@ -0,0 +1,262 @@
+package com.rednetty.server.core.database;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks which persisted fields of a player changed since the last successful flush.
+ *
+ * <p>The tracker keeps the values that are known to be in the database (flattened one level,
+ * so a single bank page shows up as {@code bank_inventory.3}). On save the freshly built
+ * document is compared against that baseline and only the differences are turned into an
+ * update: monotonic counters become {@code $inc}, removed fields become {@code $unset} and
+ * everything else becomes {@code $set}.
+ *
+ * <p>A full replace is still required for the first write of a new player, after a schema
+ * version change, or after a document had to be repaired on load. All methods synchronize
+ * on the tracker so the diff, the write and the baseline update for one player never
+ * interleave with another save of the same player.
+ */
+public class DirtyFieldTracker {
+
+    /** Schema version written with every player document */
+    public static final String SCHEMA_VERSION = "v4_bank_health_fixed";
+
+    /** Fields written on every flush that should never trigger a write on their own */
+    private static final Set<String> METADATA_FIELDS = Set.of(
+            "last_save_timestamp", "save_version", "connection_state_validated"
+    );
+
+    /** Fields that only ever grow, sent as $inc so concurrent writers never lose increments */
+    private static final Set<String> COUNTER_FIELDS = Set.of(
+            "monster_kills", "player_kills", "deaths", "ore_mined", "fish_caught", "blocks_broken",
+            "t1_kills", "t2_kills", "t3_kills", "t4_kills", "t5_kills", "t6_kills"
+    );
+
+    /** Embedded documents that are diffed per key instead of as a whole */
+    private static final Set<String> NESTED_FIELDS = Set.of("bank_inventory");
+
+    private Map<String, Object> baseline = null;
+
+    /** Write-behind counter deltas not yet sent to the database; striped to keep increments cheap */
+    private final Map<String, LongAdder> pendingIncrements = new ConcurrentHashMap<>();
+
+    /**
+     * Result of a diff; {@link #isFullWrite()} means the caller must replace the whole document.
+     */
+    public static final class Delta {
+        private final Document update;
+        private final int changedFields;
+        private final boolean fullWrite;
+
+        private Delta(Document update, int changedFields, boolean fullWrite) {
+            this.update = update;
+            this.changedFields = changedFields;
+            this.fullWrite = fullWrite;
+        }
+
+        public Document getUpdate() {
+            return update;
+        }
+
+        public int getChangedFields() {
+            return changedFields;
+        }
+
+        public boolean isFullWrite() {
+            return fullWrite;
+        }
+
+        public boolean isEmpty() {
+            return !fullWrite && changedFields == 0;
+        }
+    }
+
+    /**
+     * Build the update that brings the stored document in line with {@code current}.
+     */
+    public synchronized Delta diff(Document current) {
+        // The document carries absolute values, so any buffered counter deltas are covered by it
+        discardPendingIncrements();
+
+        if (baseline == null) {
+            return new Delta(null, current.size(), true);
+        }
+
+        Map<String, Object> flattened = flatten(current);
+        Document set = new Document();
+        Document inc = new Document();
+        Document unset = new Document();
+
+        for (Map.Entry<String, Object> entry : flattened.entrySet()) {
+            String key = entry.getKey();
+            if (METADATA_FIELDS.contains(key)) continue;
+
+            Object value = entry.getValue();
+            Object previous = baseline.get(key);
+            if (valuesEqual(previous, value)) continue;
+
+            if (COUNTER_FIELDS.contains(key) && isIntegral(previous) && isIntegral(value)) {
+                long delta = ((Number) value).longValue() - ((Number) previous).longValue();
+                if (delta > 0) {
+                    inc.append(key, value instanceof Long ? (Object) delta : (Object) (int) delta);
+                    continue;
+                }
+            }
+            set.append(key, value);
+        }
+
+        for (String key : baseline.keySet()) {
+            if (!flattened.containsKey(key) && !"_id".equals(key) && !METADATA_FIELDS.contains(key)) {
+                unset.append(key, "");
+            }
+        }
+
+        int changed = set.size() + inc.size() + unset.size();
+        if (changed == 0) {
+            return new Delta(new Document(), 0, false);
+        }
+
+        for (String key : METADATA_FIELDS) {
+            if (flattened.containsKey(key)) {
+                set.append(key, flattened.get(key));
+            }
+        }
+
+        Document update = new Document();
+        if (!set.isEmpty()) update.append("$set", set);
+        if (!inc.isEmpty()) update.append("$inc", inc);
+        if (!unset.isEmpty()) update.append("$unset", unset);
+        return new Delta(update, changed, false);
+    }
+
+    /**
+     * Record that {@code document} is now exactly what the database holds.
+     */
+    public synchronized void markPersisted(Document document) {
+        baseline = document == null ? null : flatten(document);
+    }
+
+    /**
+     * Same as {@link #markPersisted(Document)} for fields that are already flattened, as
+     * collected by {@link YakPlayerCodec} while it decodes the stored document. Takes ownership
+     * of the map.
+     */
+    synchronized void markPersistedFields(Map<String, Object> fields) {
+        baseline = fields;
+    }
+
+    /**
+     * Force the next flush to replace the whole document.
+     */
+    public synchronized void markFullWriteRequired() {
+        baseline = null;
+    }
+
+    public synchronized boolean isFullWriteRequired() {
+        return baseline == null;
+    }
+
+    // ================ WRITE-BEHIND COUNTERS ================
+
+    /**
+     * Buffer a counter delta for the next batched flush. Lock-free.
+     */
+    public void addIncrement(String field, long amount) {
+        pendingIncrements.computeIfAbsent(field, k -> new LongAdder()).add(amount);
+    }
+
+    public boolean hasPendingIncrements() {
+        for (LongAdder adder : pendingIncrements.values()) {
+            if (adder.sum() != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Take the buffered counter deltas for a batched {@code $inc} and fold them into the
+     * baseline, so a save that runs before the batch lands does not send them again.
+     * If the batch fails the caller must call {@link #markFullWriteRequired()}.
+     *
+     * @return field to delta; empty when nothing is pending or a full write is due anyway
+     */
+    public synchronized Map<String, Long> drainIncrements() {
+        if (baseline == null) {
+            // The pending full replace carries the absolute values
+            discardPendingIncrements();
+            return Map.of();
+        }
+
+        Map<String, Long> drained = new HashMap<>();
+        for (Map.Entry<String, LongAdder> entry : pendingIncrements.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) continue;
+
+            drained.put(entry.getKey(), delta);
+            Object previous = baseline.get(entry.getKey());
+            long base = previous instanceof Number number ? number.longValue() : 0L;
+            baseline.put(entry.getKey(), base + delta);
+        }
+        return drained;
+    }
+
+    private void discardPendingIncrements() {
+        for (LongAdder adder : pendingIncrements.values()) {
+            adder.reset();
+        }
+    }
+
+    private static Map<String, Object> flatten(Document document) {
+        Map<String, Object> flattened = new HashMap<>(document.size() + 16);
+        for (Map.Entry<String, Object> entry : document.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if (NESTED_FIELDS.contains(key) && value instanceof Document nested) {
+                for (Map.Entry<String, Object> nestedEntry : nested.entrySet()) {
+                    flattened.put(key + "." + nestedEntry.getKey(), nestedEntry.getValue());
+                }
+            } else {
+                flattened.put(key, value);
+            }
+        }
+        return flattened;
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean isBinary(Object value) {
+        return value instanceof byte[] || value instanceof Binary;
+    }
+
+    private static byte[] binaryData(Object value) {
+        return value instanceof Binary binary ? binary.getData() : (byte[]) value;
+    }
+
+    private static boolean valuesEqual(Object a, Object b) {
+        if (a instanceof Number na && b instanceof Number nb) {
+            // Stored values come back widened (float -> double, sometimes int -> long)
+            if (isIntegral(a) && isIntegral(b)) {
+                return na.longValue() == nb.longValue();
+            }
+            if (a instanceof Float || b instanceof Float) {
+                return na.floatValue() == nb.floatValue();
+            }
+            return Double.compare(na.doubleValue(), nb.doubleValue()) == 0;
+        }
+        if (isBinary(a) && isBinary(b)) {
+            // Written as byte[], read back as Binary
+            return Arrays.equals(binaryData(a), binaryData(b));
+        }
+        return Objects.equals(a, b);
+    }
+}
@@ -5,8 +5,11 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
 import org.bson.Document;
 import org.bson.UuidRepresentation;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
 import org.bukkit.Bukkit;
@@ -15,11 +18,11 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -40,13 +43,9 @@ public class MongoDBManager {
     private volatile MongoDatabase database;
     private final ReentrantReadWriteLock connectionLock = new ReentrantReadWriteLock();
 
-    // Operation Queue
-    private final BlockingQueue<Runnable> operationQueue = new LinkedBlockingQueue<>();
-    private final ExecutorService operationExecutor = Executors.newSingleThreadExecutor(r -> {
-        Thread thread = new Thread(r, "MongoDB-Operations");
-        thread.setDaemon(true);
-        return thread;
-    });
+    // Async access: fails fast while the breaker is open instead of parking callers
+    private final CircuitBreaker circuitBreaker;
+    private final DatabaseGateway gateway;
 
     // Configuration
     private final String connectionString;
@@ -78,7 +77,7 @@ public class MongoDBManager {
     private final AtomicInteger recoveryAttempts = new AtomicInteger(0);
     private final AtomicInteger successfulRecoveries = new AtomicInteger(0);
     private final AtomicInteger stateValidationFailures = new AtomicInteger(0);
-    private final AtomicInteger queuedOperations = new AtomicInteger(0);
+    private final AtomicInteger rejectedOperations = new AtomicInteger(0);
     private final AtomicLong lastSuccessfulPing = new AtomicLong(0);
     private final AtomicLong totalDowntime = new AtomicLong(0);
     private final AtomicLong lastConnectionTime = new AtomicLong(0);
@@ -88,14 +87,17 @@ public class MongoDBManager {
     private final Logger logger;
     private final CodecRegistry codecRegistry;
 
+    // Hand-written codecs registered by repositories, consulted before the default and POJO codecs
+    private final Map<Class<?>, Codec<?>> registeredCodecs = new ConcurrentHashMap<>();
+
     // Monitoring and Recovery
     private BukkitTask healthCheckTask;
     private BukkitTask connectionMonitorTask;
-    private BukkitTask operationProcessorTask;
     private final long healthCheckInterval;
     private final long connectionMonitorInterval;
     private final int maxRecoveryAttempts;
     private final long recoveryDelay;
+    private final long backupTtlDays;
 
     private MongoDBManager(FileConfiguration config, Plugin plugin) {
         this.plugin = plugin;
@@ -120,6 +122,7 @@ public class MongoDBManager {
         this.connectionMonitorInterval = config.getLong("mongodb.connection_monitor_interval_ms", 5000);
         this.maxRecoveryAttempts = config.getInt("mongodb.max_recovery_attempts", 3); // Reduced from 5
         this.recoveryDelay = config.getLong("mongodb.recovery_delay_ms", 2000); // Reduced from 5000
+        this.backupTtlDays = config.getLong("mongodb.backup_ttl_days", 14);
 
         // Enhanced MongoDB driver logging configuration
         Logger mongoLogger = Logger.getLogger("org.mongodb.driver");
@@ -128,6 +131,7 @@ public class MongoDBManager {
         // Enhanced codec registry with UUID representation and error handling
         try {
             this.codecRegistry = fromRegistries(
+                    fromProviders(new RegisteredCodecProvider()),
                     MongoClientSettings.getDefaultCodecRegistry(),
                     fromProviders(PojoCodecProvider.builder().automatic(true).build())
             );
@@ -136,8 +140,13 @@ public class MongoDBManager {
             throw new RuntimeException("Codec registry initialization failed", e);
         }
 
-        // Start operation processor
-        startOperationProcessor();
+        this.circuitBreaker = new CircuitBreaker(logger,
+                config.getInt("mongodb.circuit_breaker.failure_threshold", 5),
+                config.getLong("mongodb.circuit_breaker.open_ms", 5000));
+        this.gateway = new DatabaseGateway(logger, circuitBreaker, this::probeConnection,
+                config.getInt("mongodb.gateway.threads", 4),
+                config.getInt("mongodb.gateway.queue_capacity", 512),
+                config.getLong("mongodb.gateway.queue_timeout_ms", 30000));
 
         logger.info("MongoDBManager initialized successfully");
     }
@@ -161,48 +170,6 @@ public class MongoDBManager {
         return result;
     }
 
-    /**
-     * Start operation processor for queued operations during recovery
-     */
-    private void startOperationProcessor() {
-        operationProcessorTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                processQueuedOperations();
-            }
-        }.runTaskTimerAsynchronously(plugin, 20L, 20L); // Every second
-    }
-
-    /**
-     * Process queued operations when connection is healthy
-     */
-    private void processQueuedOperations() {
-        if (!isConnectionHealthyAndValidated()) {
-            return;
-        }
-
-        int processedCount = 0;
-        while (!operationQueue.isEmpty() && isConnectionHealthyAndValidated() && processedCount < 10) {
-            try {
-                Runnable operation = operationQueue.poll(100, TimeUnit.MILLISECONDS);
-                if (operation != null) {
-                    operationExecutor.submit(operation);
-                    processedCount++;
-                    queuedOperations.decrementAndGet();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Error processing queued operation", e);
-            }
-        }
-
-        if (processedCount > 0) {
-            logger.info("Processed " + processedCount + " queued operations");
-        }
-    }
-
     /**
      * Enhanced connection with comprehensive error handling and retry logic
      */
@@ -266,6 +233,7 @@ public class MongoDBManager {
             successfulConnections.incrementAndGet();
             lastConnectionTime.set(System.currentTimeMillis());
             lastSuccessfulPing.set(System.currentTimeMillis());
+            circuitBreaker.recordSuccess();
 
             logger.info("Successfully connected to MongoDB: " + databaseName);
             return true;
@@ -552,6 +520,9 @@ public class MongoDBManager {
             createIndexSafely(backupCollection, new Document("timestamp", -1), "backup_timestamp_index");
             createIndexSafely(backupCollection,
                     new Document("uuid", 1).append("timestamp", -1), "backup_uuid_timestamp_index");
+            // Snapshots expire on their own; documents without backup_created_at are never expired
+            createIndexSafely(backupCollection, new Document("backup_created_at", 1), "backup_ttl_index",
+                    new IndexOptions().expireAfter(Math.max(1L, backupTtlDays), TimeUnit.DAYS));
 
             // System info indexes
             MongoCollection<Document> systemCollection = database.getCollection("system_info");
@@ -568,13 +539,22 @@ public class MongoDBManager {
      * Safe index creation with better error handling
      */
     private void createIndexSafely(MongoCollection<Document> collection, Document indexDoc, String indexName) {
+        createIndexSafely(collection, indexDoc, indexName, null);
+    }
+
+    private void createIndexSafely(MongoCollection<Document> collection, Document indexDoc, String indexName,
+                                   IndexOptions options) {
         try {
             if (!validateConnectionState()) {
                 logger.warning("Cannot create index - invalid connection state: " + indexName);
                 return;
             }
 
-            collection.createIndex(indexDoc);
+            if (options == null) {
+                collection.createIndex(indexDoc);
+            } else {
+                collection.createIndex(indexDoc, options.name(indexName));
+            }
 
             if (!validateConnectionState()) {
                 logger.warning("Connection state became invalid after index creation: " + indexName);
@@ -746,6 +726,7 @@ public class MongoDBManager {
 
         connected.set(false);
         connectionValidated.set(false);
+        circuitBreaker.trip(reason);
 
         if (autoRecoveryEnabled.get()) {
             attemptAutoRecovery(reason);
@@ -789,33 +770,40 @@ public class MongoDBManager {
     }
 
     /**
-     * Enhanced connection health check with state validation
+     * Connection health as last established by connect() and the health check task. Reads
+     * cached flags only, so it is cheap enough to call before every operation.
      */
     private boolean isConnectionHealthyAndValidated() {
-        connectionLock.readLock().lock();
-        try {
-            if (!connected.get() || mongoClient == null || database == null) {
-                return false;
-            }
+        if (!connected.get() || !connectionValidated.get() || mongoClient == null || database == null) {
+            return false;
+        }
 
-            if (!connectionValidated.get()) {
-                return false;
-            }
+        long timeSinceLastPing = System.currentTimeMillis() - lastSuccessfulPing.get();
+        return timeSinceLastPing <= (healthCheckInterval * 2);
+    }
 
-            // Critical state validation check
-            if (!validateConnectionState()) {
-                return false;
-            }
+    /**
+     * Half-open probe for the circuit breaker: reconnect if needed, then ping
+     */
+    private boolean probeConnection() {
+        if (shuttingDown.get()) {
+            return false;
+        }
+        if (!isConnected() && !connect()) {
+            return false;
+        }
 
-            // Quick health check
-            long timeSinceLastPing = System.currentTimeMillis() - lastSuccessfulPing.get();
-            if (timeSinceLastPing > (healthCheckInterval * 2)) {
-                return false;
+        connectionLock.readLock().lock();
+        try {
+            Document result = database.runCommand(new Document("ping", 1));
+            if (result != null && result.get("ok", Number.class).intValue() == 1) {
+                lastSuccessfulPing.set(System.currentTimeMillis());
+                connectionValidated.set(true);
+                return true;
             }
-
-            return true;
+            return false;
         } catch (Exception e) {
-            logger.fine("Connection health check error: " + e.getMessage());
+            logger.fine("MongoDB probe failed: " + e.getMessage());
             return false;
         } finally {
             connectionLock.readLock().unlock();
@@ -823,13 +811,27 @@ public class MongoDBManager {
     }
 
     /**
-     * CRITICAL: Enhanced safe database operation with state validation and queuing
+     * Run an operation on the database gateway without blocking the caller
+     *
+     * @param collection Collection the operation targets, used for queueing and backpressure
+     * @param priority   Scheduling class; saves run before reads before analytics
+     * @return A future completed with the operation's result, or exceptionally if it was
+     * rejected, timed out in the queue, or threw
      */
-    public <T> T performSafeOperation(DatabaseOperation<T> operation) {
-        return performSafeOperation(operation, 3); // Default 3 retries
+    public <T> CompletableFuture<T> submit(String collection, DatabaseGateway.Priority priority, DatabaseOperation<T> operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null");
+        }
+        totalOperations.incrementAndGet();
+        return gateway.submit(collection, priority, operation);
     }
 
-    public <T> T performSafeOperation(DatabaseOperation<T> operation, int maxRetries) {
+    /**
+     * Synchronous database operation, attempted once. Returns null when it could not run or
+     * failed, including while the circuit breaker is open; retries and backoff belong to
+     * {@link #submit}, so no caller ever sleeps on a gateway worker here.
+     */
+    public <T> T performSafeOperation(DatabaseOperation<T> operation) {
         if (operation == null) {
             throw new IllegalArgumentException("Operation cannot be null");
         }
@@ -841,144 +843,57 @@ public class MongoDBManager {
 
         totalOperations.incrementAndGet();
 
-        // If connection is not healthy, queue the operation for later processing
-        if (!isConnectionHealthyAndValidated()) {
-            logger.info("Connection not healthy - queuing operation for later processing");
-            queuedOperations.incrementAndGet();
-
-            CountDownLatch latch = new CountDownLatch(1);
-            AtomicReference<T> result = new AtomicReference<>();
-
-            operationQueue.offer(() -> {
-                try {
-                    T operationResult = performSafeOperationImmediate(operation, maxRetries);
-                    result.set(operationResult);
-                } catch (Exception e) {
-                    logger.log(Level.WARNING, "Error in queued operation", e);
-                } finally {
-                    latch.countDown();
-                }
-            });
-
-            try {
-                // Wait up to 30 seconds for the operation to complete
-                if (latch.await(30, TimeUnit.SECONDS)) {
-                    return result.get();
-                } else {
-                    logger.warning("Queued operation timed out after 30 seconds");
-                    queuedOperations.decrementAndGet();
-                    failedOperations.incrementAndGet();
-                    return null;
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.warning("Interrupted while waiting for queued operation");
-                queuedOperations.decrementAndGet();
-                failedOperations.incrementAndGet();
-                return null;
-            }
+        if (!circuitBreaker.isClosed()) {
+            logger.fine("MongoDB circuit breaker open - rejecting operation");
+            rejectedOperations.incrementAndGet();
+            failedOperations.incrementAndGet();
+            return null;
         }
 
-        return performSafeOperationImmediate(operation, maxRetries);
+        return performSafeOperationImmediate(operation);
     }
 
     /**
      * Perform operation immediately with enhanced state validation
      */
-    private <T> T performSafeOperationImmediate(DatabaseOperation<T> operation, int maxRetries) {
-        Exception lastException = null;
-
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            // CRITICAL: Ensure connection and validate state before each attempt
-            if (!ensureConnectionWithValidation()) {
-                if (attempt == maxRetries) {
-                    logger.severe("Cannot perform database operation - connection failed after " + maxRetries + " attempts");
-                    failedOperations.incrementAndGet();
-                    return null;
-                }
+    private <T> T performSafeOperationImmediate(DatabaseOperation<T> operation) {
+        if (!ensureConnectionWithValidation()) {
+            circuitBreaker.recordFailure();
+            logger.severe("Cannot perform database operation - connection failed");
+            failedOperations.incrementAndGet();
+            return null;
+        }
 
-                // Exponential backoff between attempts
-                try {
-                    Thread.sleep(1000 * attempt);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-                continue;
+        connectionLock.readLock().lock();
+        try {
+            T result = operation.execute();
+            circuitBreaker.recordSuccess();
+            return result;
+
+        } catch (MongoException e) {
+            logger.log(Level.WARNING, "MongoDB operation failed: " + e.getMessage(), e);
+            if (isConnectionError(e)) {
+                connected.set(false);
+                connectionValidated.set(false);
+                circuitBreaker.recordFailure();
             }
 
-            connectionLock.readLock().lock();
-            try {
-                // CRITICAL: Final state validation before operation execution
-                if (!validateConnectionState()) {
-                    logger.warning("Connection state invalid just before operation execution (attempt " + attempt + ")");
-                    stateValidationFailures.incrementAndGet();
-                    connected.set(false);
-                    connectionValidated.set(false);
-                    lastException = new IllegalStateException("Connection state invalid before operation");
-                    continue;
-                }
-
-                T result = operation.execute();
-
-                // CRITICAL: Validate state after operation
-                if (!validateConnectionState()) {
-                    logger.warning("Connection state became invalid after operation execution (attempt " + attempt + ")");
-                    stateValidationFailures.incrementAndGet();
-                    connected.set(false);
-                    connectionValidated.set(false);
-
-                    // If we got a result but state became invalid, still return the result
-                    // as the operation likely succeeded
-                    if (result != null) {
-                        if (attempt > 1) {
-                            logger.fine("Database operation succeeded on attempt " + attempt + " (despite state becoming invalid)");
-                        }
-                        return result;
-                    }
-
-                    lastException = new IllegalStateException("Connection state invalid after operation");
-                    continue;
-                }
-
-                if (attempt > 1) {
-                    logger.fine("Database operation succeeded on attempt " + attempt);
-                }
-                return result;
-
-            } catch (MongoException e) {
-                lastException = e;
-                logger.log(Level.WARNING, "MongoDB operation failed (attempt " + attempt + "/" + maxRetries + "): " + e.getMessage(), e);
-
-                // Check if this is a connection error that warrants retry
-                if (isConnectionError(e)) {
-                    connected.set(false);
-                    connectionValidated.set(false);
-                    if (attempt < maxRetries) {
-                        try {
-                            Thread.sleep(1000 * attempt); // Progressive delay
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            break;
-                        }
-                    }
-                } else {
-                    // Non-connection error, don't retry
-                    break;
-                }
-
-            } catch (Exception e) {
-                lastException = e;
+        } catch (Exception e) {
+            if (isConnectionError(e)) {
+                // Closed client, e.g. "state should be: open"
+                connected.set(false);
+                connectionValidated.set(false);
+                stateValidationFailures.incrementAndGet();
+                circuitBreaker.recordFailure();
+                logger.warning("MongoDB operation failed on a closed connection: " + e.getMessage());
+            } else {
                 logger.log(Level.SEVERE, "Unexpected error during MongoDB operation", e);
-                break; // Don't retry unexpected errors
-            } finally {
-                connectionLock.readLock().unlock();
             }
+        } finally {
+            connectionLock.readLock().unlock();
         }
 
         failedOperations.incrementAndGet();
-        logger.severe("Database operation failed after " + maxRetries + " attempts. Last error: " +
-                (lastException != null ? lastException.getMessage() : "unknown"));
         return null;
     }
 
@@ -1035,11 +950,6 @@ public class MongoDBManager {
                 throw new IllegalStateException("Not connected to Enhanced MongoDB. Collection: " + name);
             }
 
-            // CRITICAL: Validate state before returning collection
-            if (!validateConnectionState()) {
-                throw new IllegalStateException("MongoDB connection state invalid when getting collection: " + name);
-            }
-
             return database.getCollection(name);
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error getting enhanced collection: " + name, e);
@@ -1066,11 +976,6 @@ public class MongoDBManager {
                 throw new IllegalStateException("Not connected to Enhanced MongoDB. Collection: " + name);
             }
 
-            // CRITICAL: Validate state before returning collection
-            if (!validateConnectionState()) {
-                throw new IllegalStateException("MongoDB connection state invalid when getting typed collection: " + name);
-            }
-
             return database.getCollection(name, documentClass);
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error getting enhanced typed collection: " + name, e);
@@ -1080,6 +985,24 @@ public class MongoDBManager {
         }
     }
 
+    // ================ CODECS ================
+
+    /**
+     * Register a codec for {@code codec.getEncoderClass()}, so typed collections of that class
+     * stream straight between BSON and objects. Must happen before the class is first used.
+     */
+    public <T> void registerCodec(Codec<T> codec) {
+        registeredCodecs.put(codec.getEncoderClass(), codec);
+    }
+
+    private final class RegisteredCodecProvider implements CodecProvider {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+            return (Codec<T>) registeredCodecs.get(clazz);
+        }
+    }
+
     /**
      * Enhanced disconnect with comprehensive cleanup
      */
@@ -1093,24 +1016,8 @@ public class MongoDBManager {
         // Stop monitoring
         stopEnhancedMonitoring();
 
-        // Stop operation processor
-        if (operationProcessorTask != null && !operationProcessorTask.isCancelled()) {
-            operationProcessorTask.cancel();
-        }
-
-        // Process any remaining queued operations with timeout
-        processRemainingQueuedOperations();
-
-        // Shutdown operation executor
-        operationExecutor.shutdown();
-        try {
-            if (!operationExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
-                operationExecutor.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            operationExecutor.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        // Let queued gateway work finish while the connection is still open
+        gateway.shutdown(10000);
 
         // Close connection
         closeConnectionInternal();
@@ -1120,40 +1027,6 @@ public class MongoDBManager {
         logger.info("MongoDB disconnection completed");
     }
 
-    /**
-     * Process remaining queued operations during shutdown
-     */
-    private void processRemainingQueuedOperations() {
-        logger.info("Processing remaining queued operations during shutdown...");
-
-        int processedCount = 0;
-        long startTime = System.currentTimeMillis();
-        long maxProcessingTime = 5000; // 5 seconds max
-
-        while (!operationQueue.isEmpty() &&
-                (System.currentTimeMillis() - startTime) < maxProcessingTime &&
-                processedCount < 50) { // Max 50 operations
-
-            try {
-                Runnable operation = operationQueue.poll(100, TimeUnit.MILLISECONDS);
-                if (operation != null) {
-                    operation.run();
-                    processedCount++;
-                    queuedOperations.decrementAndGet();
-                }
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Error processing queued operation during shutdown", e);
-            }
-        }
-
-        int remainingOperations = operationQueue.size();
-        logger.info("Processed " + processedCount + " operations, " + remainingOperations + " remaining (will be discarded)");
-
-        // Clear remaining operations
-        operationQueue.clear();
-        queuedOperations.set(0);
-    }
-
     /**
      * Stop enhanced monitoring
      */
@@ -1209,7 +1082,9 @@ public class MongoDBManager {
             logger.info("Recovery Attempts: " + recoveryAttempts.get());
             logger.info("Successful Recoveries: " + successfulRecoveries.get());
             logger.info("State Validation Failures: " + stateValidationFailures.get());
-            logger.info("Queued Operations: " + queuedOperations.get());
+            logger.info("Rejected Operations: " + rejectedOperations.get());
+            logger.info("Circuit Breaker: " + circuitBreaker.getState() + " (opened " + circuitBreaker.getTimesOpened() + " times)");
+            logger.info(gateway.getStats());
 
             long timeSinceLastPing = System.currentTimeMillis() - lastSuccessfulPing.get();
             logger.info("Time Since Last Ping: " + (timeSinceLastPing / 1000) + "s");
@@ -1258,6 +1133,14 @@ public class MongoDBManager {
         return isConnectionHealthyAndValidated();
     }
 
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    public DatabaseGateway getGateway() {
+        return gateway;
+    }
+
     public MongoDatabase getDatabase() {
         connectionLock.readLock().lock();
         try {
@@ -1265,11 +1148,6 @@ public class MongoDBManager {
                 throw new IllegalStateException("Not connected to Enhanced MongoDB");
             }
 
-            // CRITICAL: Validate state before returning database
-            if (!validateConnectionState()) {
-                throw new IllegalStateException("MongoDB connection state invalid when getting database");
-            }
-
             return database;
         } finally {
             connectionLock.readLock().unlock();
@@ -1283,11 +1161,6 @@ public class MongoDBManager {
                 throw new IllegalStateException("Not connected to Enhanced MongoDB");
             }
 
-            // CRITICAL: Validate state before returning client
-            if (!validateConnectionState()) {
-                throw new IllegalStateException("MongoDB connection state invalid when getting client");
-            }
-
             return mongoClient;
         } finally {
             connectionLock.readLock().unlock();
@@ -1312,7 +1185,7 @@ public class MongoDBManager {
                 connectionValidated.get(),
                 autoRecoveryEnabled.get(),
                 stateValidationFailures.get(),
-                queuedOperations.get()
+                gateway.getQueuedCount()
         );
     }
 
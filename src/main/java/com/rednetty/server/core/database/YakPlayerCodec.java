@@ -0,0 +1,745 @@
+package com.rednetty.server.core.database;
+
+import com.rednetty.server.core.mechanics.player.YakPlayer;
+import com.rednetty.server.utils.inventory.ItemSerializer;
+import org.bson.BsonBinary;
+import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
+import org.bson.BsonSerializationException;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.Binary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads and writes {@link YakPlayer} directly from and to BSON.
+ *
+ * <p>Decoding streams the stored document field by field into the player instead of building a
+ * {@link Document} and copying it over afterwards. Documents written by an older schema are
+ * migrated in the same pass (numbers of any width, Base64 item strings, missing or broken
+ * fields) and the player is left needing a full write, so each document is migrated once.
+ * Documents already at {@link DirtyFieldTracker#SCHEMA_VERSION} seed the player's delta
+ * baseline from the values read.
+ *
+ * <p>Saves still go through {@link #toDocument(YakPlayer)}, because delta writes diff that
+ * document against the baseline; {@link #encode} writes the same layout.
+ */
+final class YakPlayerCodec implements Codec<YakPlayer> {
+
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+
+    // Stands in for values of a type the player schema never uses, so they always differ on diff
+    private static final Object UNREADABLE = new Object();
+
+    private final Logger logger;
+
+    // Statistics
+    private final AtomicInteger migrated = new AtomicInteger(0);
+    private final AtomicInteger repaired = new AtomicInteger(0);
+    private final AtomicInteger bankDataSaved = new AtomicInteger(0);
+    private final AtomicInteger bankDataLoaded = new AtomicInteger(0);
+    private final AtomicInteger bankDataErrors = new AtomicInteger(0);
+    private final AtomicInteger healthDataPreserved = new AtomicInteger(0);
+    private final AtomicInteger healthDataRepaired = new AtomicInteger(0);
+
+    /**
+     * Per-document decode state
+     */
+    private static final class DecodeState {
+        final Map<String, Object> stored = new HashMap<>(96);
+        String version;
+        boolean repaired;
+        int bankPages;
+    }
+
+    YakPlayerCodec(Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public Class<YakPlayer> getEncoderClass() {
+        return YakPlayer.class;
+    }
+
+    // ================ DECODE ================
+
+    @Override
+    public YakPlayer decode(BsonReader reader, DecoderContext decoderContext) {
+        reader.readStartDocument();
+
+        YakPlayer player = new YakPlayer(readUuid(reader));
+        applyDefaults(player);
+
+        DecodeState state = new DecodeState();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if ("bank_inventory".equals(name)) {
+                readBankInventory(reader, player, state);
+            } else {
+                Object value = readValue(reader);
+                state.stored.put(name, value);
+                applyField(player, name, value, state);
+            }
+        }
+        reader.readEndDocument();
+
+        finish(player, state);
+        return player;
+    }
+
+    /**
+     * Find the uuid without consuming the document; it is normally the first field after _id
+     */
+    private UUID readUuid(BsonReader reader) {
+        BsonReaderMark mark = reader.getMark();
+        String uuid = null;
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if ("uuid".equals(name) && reader.getCurrentBsonType() == BsonType.STRING) {
+                uuid = reader.readString();
+                break;
+            }
+            reader.skipValue();
+        }
+        mark.reset();
+
+        if (uuid == null) {
+            throw new BsonSerializationException("Player document has no uuid");
+        }
+        try {
+            return UUID.fromString(uuid);
+        } catch (IllegalArgumentException e) {
+            throw new BsonSerializationException("Player document has an invalid uuid: " + uuid);
+        }
+    }
+
+    /**
+     * Values used for fields the stored document does not have
+     */
+    private void applyDefaults(YakPlayer player) {
+        long now = System.currentTimeMillis() / 1000;
+        player.setUsername("Unknown_" + System.currentTimeMillis());
+        player.setLastLogin(now);
+        player.setFirstJoin(now);
+        player.setLevel(1);
+        player.setBankPages(1);
+        player.setAlignment("LAWFUL");
+        player.setRank("DEFAULT");
+        player.setBanReason("");
+        player.setChatTag("DEFAULT");
+        player.setChatColor("WHITE");
+        player.setHorseName("");
+        player.setGuildName("");
+        player.setGuildRank("");
+        player.setLocationY(64.0);
+        player.setFoodLevel(20);
+        player.setSaturation(5.0f);
+        player.setGameMode("SURVIVAL");
+        player.setCombatLogoutState(YakPlayer.CombatLogoutState.NONE);
+    }
+
+    private void applyField(YakPlayer player, String name, Object value, DecodeState state) {
+        switch (name) {
+            // Identification
+            case "username":
+                if (value instanceof String username && !username.trim().isEmpty() && username.length() <= 16) {
+                    player.setUsername(username);
+                } else {
+                    state.repaired = true;
+                }
+                break;
+            case "last_login": if (value instanceof Number n) player.setLastLogin(n.longValue()); break;
+            case "last_logout": if (value instanceof Number n) player.setLastLogout(n.longValue()); break;
+            case "first_join": if (value instanceof Number n) player.setFirstJoin(n.longValue()); break;
+            case "total_playtime": if (value instanceof Number n) player.setTotalPlaytime(n.longValue()); break;
+            case "ip_address": if (value instanceof String s) player.setIpAddress(s); break;
+
+            // Progression
+            case "level":
+                if (value instanceof Number n) {
+                    if (n.intValue() < 1) state.repaired = true;
+                    player.setLevel(Math.max(1, Math.min(200, n.intValue())));
+                }
+                break;
+            case "exp": if (value instanceof Number n) player.setExp(Math.max(0, n.intValue())); break;
+            case "monster_kills": if (value instanceof Number n) player.setMonsterKills(Math.max(0, n.intValue())); break;
+            case "player_kills": if (value instanceof Number n) player.setPlayerKills(Math.max(0, n.intValue())); break;
+            case "deaths": if (value instanceof Number n) player.setDeaths(Math.max(0, n.intValue())); break;
+            case "ore_mined": if (value instanceof Number n) player.setOreMined(Math.max(0, n.intValue())); break;
+            case "fish_caught": if (value instanceof Number n) player.setFishCaught(Math.max(0, n.intValue())); break;
+            case "blocks_broken": if (value instanceof Number n) player.setBlocksBroken(Math.max(0, n.intValue())); break;
+            case "distance_traveled":
+                if (isFinite(value)) player.setDistanceTraveled(Math.max(0.0, ((Number) value).doubleValue()));
+                break;
+            case "t1_kills": if (value instanceof Number n) player.setT1Kills(Math.max(0, n.intValue())); break;
+            case "t2_kills": if (value instanceof Number n) player.setT2Kills(Math.max(0, n.intValue())); break;
+            case "t3_kills": if (value instanceof Number n) player.setT3Kills(Math.max(0, n.intValue())); break;
+            case "t4_kills": if (value instanceof Number n) player.setT4Kills(Math.max(0, n.intValue())); break;
+            case "t5_kills": if (value instanceof Number n) player.setT5Kills(Math.max(0, n.intValue())); break;
+            case "t6_kills": if (value instanceof Number n) player.setT6Kills(Math.max(0, n.intValue())); break;
+
+            // Economy and bank
+            case "bank_gems":
+                if (value instanceof Number n) {
+                    if (n.intValue() < 0) state.repaired = true;
+                    player.setBankGems(Math.max(0, n.intValue()));
+                }
+                break;
+            case "elite_shards": if (value instanceof Number n) player.setEliteShards(Math.max(0, n.intValue())); break;
+            case "bank_pages": if (value instanceof Number n) player.setBankPages(Math.max(1, Math.min(10, n.intValue()))); break;
+            case "collection_bin": if (value instanceof String s) player.setSerializedCollectionBin(s); break;
+
+            // Alignment
+            case "alignment": if (value instanceof String s) player.setAlignment(s); break;
+            case "chaotic_time": if (value instanceof Number n) player.setChaoticTime(n.longValue()); break;
+            case "neutral_time": if (value instanceof Number n) player.setNeutralTime(n.longValue()); break;
+            case "alignment_changes": if (value instanceof Number n) player.setAlignmentChanges(n.intValue()); break;
+
+            // Moderation
+            case "rank": if (value instanceof String s) player.setRank(s); break;
+            case "banned": if (value instanceof Boolean b) player.setBanned(b); break;
+            case "ban_reason": if (value instanceof String s) player.setBanReason(s); break;
+            case "ban_expiry": if (value instanceof Number n) player.setBanExpiry(n.longValue()); break;
+            case "muted": if (value instanceof Number n) player.setMuteTime(n.intValue()); break;
+            case "warnings": if (value instanceof Number n) player.setWarnings(n.intValue()); break;
+            case "last_warning": if (value instanceof Number n) player.setLastWarning(n.longValue()); break;
+
+            // Chat
+            case "chat_tag": if (value instanceof String s) player.setChatTag(s); break;
+            case "unlocked_chat_tags": if (value instanceof List<?> list) player.setUnlockedChatTags(strings(list)); break;
+            case "chat_color": if (value instanceof String s) player.setChatColor(s); break;
+
+            // Mount and guild
+            case "horse_tier": if (value instanceof Number n) player.setHorseTier(n.intValue()); break;
+            case "horse_name": if (value instanceof String s) player.setHorseName(s); break;
+            case "guild_name": if (value instanceof String s) player.setGuildName(s); break;
+            case "guild_rank": if (value instanceof String s) player.setGuildRank(s); break;
+            case "guild_contribution": if (value instanceof Number n) player.setGuildContribution(n.intValue()); break;
+
+            // Preferences
+            case "toggle_settings": if (value instanceof List<?> list) player.setToggleSettings(new HashSet<>(strings(list))); break;
+
+            // Location
+            case "world": if (value instanceof String s) player.setWorld(s); break;
+            case "location_x": if (isFinite(value)) player.setLocationX(((Number) value).doubleValue()); break;
+            case "location_y": if (isFinite(value)) player.setLocationY(((Number) value).doubleValue()); break;
+            case "location_z": if (isFinite(value)) player.setLocationZ(((Number) value).doubleValue()); break;
+            case "location_yaw": if (isFinite(value)) player.setLocationYaw(((Number) value).floatValue()); break;
+            case "location_pitch": if (isFinite(value)) player.setLocationPitch(((Number) value).floatValue()); break;
+            case "previous_location": if (value instanceof String s) player.setPreviousLocation(s); break;
+
+            // Inventories
+            case "inventory_contents": player.setSerializedInventory(itemData(value)); break;
+            case "armor_contents": player.setSerializedArmor(itemData(value)); break;
+            case "ender_chest_contents": player.setSerializedEnderChest(itemData(value)); break;
+            case "offhand_item": player.setSerializedOffhand(itemData(value)); break;
+            case "respawn_items": if (value instanceof String s) player.setSerializedRespawnItems(s); break;
+            case "respawn_item_count": if (value instanceof Number n) player.setRespawnItemCount(n.intValue()); break;
+            case "death_timestamp": if (value instanceof Number n) player.setDeathTimestamp(n.longValue()); break;
+
+            // Vitals and experience; health is applied in finish() once both values are known
+            case "food_level": if (value instanceof Number n) player.setFoodLevel(Math.max(0, Math.min(20, n.intValue()))); break;
+            case "saturation": if (isFinite(value)) player.setSaturation(Math.max(0, Math.min(20, ((Number) value).floatValue()))); break;
+            case "xp_level": if (value instanceof Number n) player.setXpLevel(Math.max(0, Math.min(21863, n.intValue()))); break;
+            case "xp_progress": if (isFinite(value)) player.setXpProgress(Math.max(0, Math.min(1, ((Number) value).floatValue()))); break;
+            case "total_experience": if (value instanceof Number n) player.setTotalExperience(Math.max(0, n.intValue())); break;
+            case "bed_spawn_location": if (value instanceof String s) player.setBedSpawnLocation(s); break;
+            case "gamemode": if (value instanceof String s) player.setGameMode(s); break;
+
+            case "combat_logout_state":
+                if (value instanceof String s && !s.trim().isEmpty()) {
+                    try {
+                        player.setCombatLogoutState(YakPlayer.CombatLogoutState.valueOf(s));
+                    } catch (IllegalArgumentException e) {
+                        logger.warning("Invalid combat logout state: " + s + " for player " + player.getUsername());
+                    }
+                }
+                break;
+
+            case "save_version": if (value instanceof String s) state.version = s; break;
+            default:
+                break;
+        }
+    }
+
+    private void readBankInventory(BsonReader reader, YakPlayer player, DecodeState state) {
+        if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+            logger.warning("Bank inventory data is not a document for player: " + player.getUsername() +
+                    " - type: " + reader.getCurrentBsonType());
+            reader.skipValue();
+            bankDataErrors.incrementAndGet();
+            state.stored.put("bank_inventory", UNREADABLE);
+            state.repaired = true;
+            return;
+        }
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String key = reader.readName();
+            Object value = readValue(reader);
+
+            int page;
+            try {
+                page = Integer.parseInt(key);
+            } catch (NumberFormatException e) {
+                logger.warning("Removing bank page with invalid key: " + key);
+                state.repaired = true;
+                continue;
+            }
+            if (page < 1 || page > 10 || !(value instanceof String serialized)) {
+                logger.warning("Removing invalid bank page: " + key);
+                state.repaired = true;
+                continue;
+            }
+
+            state.stored.put("bank_inventory." + key, serialized);
+            if (!serialized.trim().isEmpty()) {
+                player.setSerializedBankItems(page, serialized);
+                state.bankPages++;
+            }
+        }
+        reader.readEndDocument();
+    }
+
+    /**
+     * Cross-field checks, then decide whether the stored document can serve as the delta baseline
+     */
+    private void finish(YakPlayer player, DecodeState state) {
+        Map<String, Object> stored = state.stored;
+        if (!stored.containsKey("username") || !stored.containsKey("first_join") || !stored.containsKey("last_login")) {
+            state.repaired = true;
+        }
+
+        if (state.bankPages > 0) {
+            bankDataLoaded.incrementAndGet();
+            logger.fine("Loaded " + state.bankPages + " bank pages for player: " + player.getUsername());
+        }
+
+        Object storedHealth = stored.get("health");
+        Object storedMaxHealth = stored.get("max_health");
+        double health = isFinite(storedHealth) ? ((Number) storedHealth).doubleValue() : 50.0;
+        double maxHealth = isFinite(storedMaxHealth) ? ((Number) storedMaxHealth).doubleValue() : 50.0;
+        boolean healthRepaired = !(storedHealth instanceof Number) || !(storedMaxHealth instanceof Number);
+
+        if (maxHealth <= 0 || maxHealth > 10000) {
+            logger.warning("Invalid max health detected for player: " + player.getUsername() +
+                    " (value: " + maxHealth + "), using default");
+            maxHealth = 50.0;
+            healthRepaired = true;
+        }
+        if (health < 0 || (storedHealth instanceof Number && !isFinite(storedHealth))) {
+            logger.warning("Invalid health detected for player: " + player.getUsername() +
+                    " (value: " + storedHealth + "), setting to max health");
+            health = maxHealth;
+            healthRepaired = true;
+        }
+        // Health above max is normal after equipment changes; only cap extreme values
+        if (health > maxHealth * 2) {
+            logger.info("Health significantly exceeds max health for player: " + player.getUsername() +
+                    " (" + health + "/" + maxHealth + "), capping to max health");
+            health = maxHealth;
+            healthDataRepaired.incrementAndGet();
+        }
+
+        player.setHealth(health);
+        player.setMaxHealth(maxHealth);
+        if (healthRepaired) {
+            healthDataRepaired.incrementAndGet();
+            state.repaired = true;
+        } else {
+            healthDataPreserved.incrementAndGet();
+        }
+
+        // Migration is done; current, untouched documents are exactly what the database holds
+        boolean current = DirtyFieldTracker.SCHEMA_VERSION.equals(state.version);
+        if (!current) {
+            migrated.incrementAndGet();
+            logger.fine("Migrated player document for " + player.getUsername() + " from schema " + state.version);
+        }
+        if (state.repaired) {
+            repaired.incrementAndGet();
+            logger.info("Repaired player document on load for " + player.getUsername());
+        }
+        if (current && !state.repaired) {
+            player.getDirtyFieldTracker().markPersistedFields(stored);
+        }
+    }
+
+    private static Object readValue(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case STRING:
+                return reader.readString();
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case DOUBLE:
+                return reader.readDouble();
+            case BOOLEAN:
+                return reader.readBoolean();
+            case NULL:
+                reader.readNull();
+                return null;
+            case BINARY:
+                BsonBinary binary = reader.readBinaryData();
+                return new Binary(binary.getType(), binary.getData());
+            case OBJECT_ID:
+                return reader.readObjectId();
+            case ARRAY:
+                List<Object> list = new ArrayList<>();
+                reader.readStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    list.add(readValue(reader));
+                }
+                reader.readEndArray();
+                return list;
+            default:
+                reader.skipValue();
+                return UNREADABLE;
+        }
+    }
+
+    private static boolean isFinite(Object value) {
+        return value instanceof Number n && Double.isFinite(n.doubleValue());
+    }
+
+    private static List<String> strings(List<?> values) {
+        List<String> result = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value instanceof String s) {
+                result.add(s);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Item containers are stored as BSON Binary; legacy documents hold a Base64 string, which is
+     * unwrapped here and rewritten in the binary form on the next save
+     */
+    private byte[] itemData(Object value) {
+        try {
+            if (value instanceof Binary binary) {
+                return binary.getData();
+            }
+            if (value instanceof String legacy) {
+                return ItemSerializer.fromLegacyString(legacy);
+            }
+        } catch (Exception e) {
+            logger.fine("Error reading item data: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // ================ ENCODE ================
+
+    @Override
+    public void encode(BsonWriter writer, YakPlayer player, EncoderContext encoderContext) {
+        Document doc = toDocument(player);
+        if (doc == null) {
+            throw new BsonSerializationException("Cannot encode player " + (player != null ? player.getUUID() : null));
+        }
+        DOCUMENT_CODEC.encode(writer, doc, encoderContext);
+    }
+
+    /**
+     * Player to document with health preservation; the layout every save and backup uses
+     */
+    Document toDocument(YakPlayer player) {
+        if (player == null || player.getUUID() == null) {
+            logger.warning("Cannot convert null player or player with null UUID to document");
+            return null;
+        }
+
+        try {
+            Document doc = new Document();
+
+            // Basic identification - required fields
+            doc.append("uuid", player.getUUID().toString());
+            doc.append("username", player.getUsername() != null ? player.getUsername() : "Unknown");
+            doc.append("last_login", player.getLastLogin());
+            doc.append("last_logout", player.getLastLogout());
+            doc.append("first_join", player.getFirstJoin());
+            doc.append("total_playtime", player.getTotalPlaytime());
+
+            if (player.getIpAddress() != null && !player.getIpAddress().trim().isEmpty()) {
+                doc.append("ip_address", player.getIpAddress());
+            }
+
+            double health = player.getHealth();
+            double maxHealth = player.getMaxHealth();
+            boolean healthWasFixed = false;
+
+            // Only fix truly invalid max health values
+            if (Double.isNaN(maxHealth) || Double.isInfinite(maxHealth) || maxHealth <= 0 || maxHealth > 10000) {
+                logger.warning("Fixing invalid max health before save for " + player.getUsername() +
+                        " (was: " + maxHealth + ", setting to: 50.0)");
+                maxHealth = 50.0;
+                healthWasFixed = true;
+                healthDataRepaired.incrementAndGet();
+            }
+
+            // Only fix truly invalid health values
+            if (Double.isNaN(health) || Double.isInfinite(health) || health < 0) {
+                logger.warning("Fixing invalid health before save for " + player.getUsername() +
+                        " (was: " + health + ", setting to: " + maxHealth + ")");
+                health = maxHealth;
+                healthWasFixed = true;
+                healthDataRepaired.incrementAndGet();
+            }
+
+            // Health above max is normal during equipment changes; only warn if it is extreme
+            if (health > maxHealth * 2) {
+                logger.info("Player " + player.getUsername() + " has health significantly above max health: " +
+                        health + "/" + maxHealth + " - this may indicate equipment was removed");
+            }
+
+            doc.append("health", health);
+            doc.append("max_health", maxHealth);
+
+            if (healthWasFixed) {
+                logger.info("Fixed health values before saving for " + player.getUsername() +
+                        " (Health: " + health + "/" + maxHealth + ")");
+            } else {
+                healthDataPreserved.incrementAndGet();
+            }
+
+            // Food and saturation
+            doc.append("food_level", Math.max(0, Math.min(20, player.getFoodLevel())));
+
+            float saturation = player.getSaturation();
+            if (Float.isNaN(saturation) || Float.isInfinite(saturation)) {
+                saturation = 5.0f;
+            }
+            doc.append("saturation", Math.max(0, Math.min(20, saturation)));
+
+            // Progression with validation
+            doc.append("level", Math.max(1, Math.min(200, player.getLevel())));
+            doc.append("exp", Math.max(0, player.getExp()));
+            doc.append("monster_kills", Math.max(0, player.getMonsterKills()));
+            doc.append("player_kills", Math.max(0, player.getPlayerKills()));
+            doc.append("deaths", Math.max(0, player.getDeaths()));
+            doc.append("ore_mined", Math.max(0, player.getOreMined()));
+            doc.append("fish_caught", Math.max(0, player.getFishCaught()));
+            doc.append("blocks_broken", Math.max(0, player.getBlocksBroken()));
+            doc.append("distance_traveled", Math.max(0.0, player.getDistanceTraveled()));
+            doc.append("t1_kills", Math.max(0, player.getT1Kills()));
+            doc.append("t2_kills", Math.max(0, player.getT2Kills()));
+            doc.append("t3_kills", Math.max(0, player.getT3Kills()));
+            doc.append("t4_kills", Math.max(0, player.getT4Kills()));
+            doc.append("t5_kills", Math.max(0, player.getT5Kills()));
+            doc.append("t6_kills", Math.max(0, player.getT6Kills()));
+
+            // Economic data with validation
+            doc.append("bank_gems", Math.max(0, player.getBankGems()));
+            doc.append("elite_shards", Math.max(0, player.getEliteShards()));
+
+            // Bank system data
+            doc.append("bank_pages", Math.max(1, Math.min(10, player.getBankPages())));
+
+            try {
+                Map<Integer, String> bankItems = player.getAllSerializedBankItems();
+                if (bankItems != null && !bankItems.isEmpty()) {
+                    Document bankInventoryDoc = new Document();
+
+                    for (Map.Entry<Integer, String> entry : bankItems.entrySet()) {
+                        Integer pageNum = entry.getKey();
+                        String serializedData = entry.getValue();
+
+                        if (pageNum != null && pageNum >= 1 && pageNum <= 10 &&
+                                serializedData != null && !serializedData.trim().isEmpty()) {
+                            bankInventoryDoc.append(pageNum.toString(), serializedData);
+                        }
+                    }
+
+                    if (!bankInventoryDoc.isEmpty()) {
+                        doc.append("bank_inventory", bankInventoryDoc);
+                        bankDataSaved.incrementAndGet();
+                    }
+                }
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Error saving bank inventory data for player: " + player.getUsername(), e);
+                bankDataErrors.incrementAndGet();
+            }
+
+            // Collection bin data
+            if (player.getSerializedCollectionBin() != null && !player.getSerializedCollectionBin().trim().isEmpty()) {
+                doc.append("collection_bin", player.getSerializedCollectionBin());
+            }
+
+            // Alignment data
+            doc.append("alignment", player.getAlignment() != null ? player.getAlignment() : "LAWFUL");
+            doc.append("chaotic_time", player.getChaoticTime());
+            doc.append("neutral_time", player.getNeutralTime());
+            doc.append("alignment_changes", player.getAlignmentChanges());
+
+            // Moderation data
+            doc.append("rank", player.getRank() != null ? player.getRank() : "DEFAULT");
+            doc.append("banned", player.isBanned());
+            doc.append("ban_reason", player.getBanReason() != null ? player.getBanReason() : "");
+            doc.append("ban_expiry", player.getBanExpiry());
+            doc.append("muted", player.getMuteTime());
+            doc.append("warnings", player.getWarnings());
+            doc.append("last_warning", player.getLastWarning());
+
+            // Chat data
+            doc.append("chat_tag", player.getChatTag() != null ? player.getChatTag() : "DEFAULT");
+            doc.append("unlocked_chat_tags", new ArrayList<>(player.getUnlockedChatTags()));
+            doc.append("chat_color", player.getChatColor() != null ? player.getChatColor() : "WHITE");
+
+            // Mount and Guild data
+            doc.append("horse_tier", player.getHorseTier());
+            doc.append("horse_name", player.getHorseName() != null ? player.getHorseName() : "");
+            doc.append("guild_name", player.getGuildName() != null ? player.getGuildName() : "");
+            doc.append("guild_rank", player.getGuildRank() != null ? player.getGuildRank() : "");
+            doc.append("guild_contribution", player.getGuildContribution());
+
+            // Player preferences
+            doc.append("toggle_settings", new ArrayList<>(player.getToggleSettings()));
+
+            // Location and state data
+            doc.append("world", player.getWorld());
+            doc.append("location_x", player.getLocationX());
+            doc.append("location_y", player.getLocationY());
+            doc.append("location_z", player.getLocationZ());
+            doc.append("location_yaw", player.getLocationYaw());
+            doc.append("location_pitch", player.getLocationPitch());
+
+            // Serialized inventory data
+            doc.append("inventory_contents", player.getSerializedInventory());
+            doc.append("armor_contents", player.getSerializedArmor());
+            doc.append("ender_chest_contents", player.getSerializedEnderChest());
+            doc.append("offhand_item", player.getSerializedOffhand());
+
+            // Respawn items storage
+            doc.append("respawn_items", player.getSerializedRespawnItems());
+            doc.append("respawn_item_count", player.getRespawnItemCount());
+            doc.append("death_timestamp", player.getDeathTimestamp());
+
+            // XP validation
+            doc.append("xp_level", Math.max(0, Math.min(21863, player.getXpLevel())));
+            doc.append("xp_progress", Math.max(0, Math.min(1, player.getXpProgress())));
+            doc.append("total_experience", Math.max(0, player.getTotalExperience()));
+            doc.append("bed_spawn_location", player.getBedSpawnLocation());
+            doc.append("gamemode", player.getGameMode() != null ? player.getGameMode() : "SURVIVAL");
+
+            // Combat logout state management
+            doc.append("combat_logout_state", player.getCombatLogoutState().name());
+
+            // Metadata
+            doc.append("last_save_timestamp", System.currentTimeMillis());
+            doc.append("save_version", DirtyFieldTracker.SCHEMA_VERSION);
+            doc.append("connection_state_validated", true);
+
+            return doc;
+
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error converting player to document: " + player.getUsername(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Sanity check for a document built by {@link #toDocument(YakPlayer)} before it is written
+     */
+    boolean isValid(Document doc) {
+        if (doc == null) {
+            return false;
+        }
+
+        String uuid = doc.getString("uuid");
+        if (uuid == null) {
+            logger.warning("Document missing required UUID field");
+            return false;
+        }
+        try {
+            UUID.fromString(uuid);
+        } catch (Exception e) {
+            logger.warning("Document contains invalid UUID: " + uuid);
+            return false;
+        }
+
+        String username = doc.getString("username");
+        if (username == null || username.trim().isEmpty() || username.length() > 16) {
+            logger.warning("Document has invalid username: " + username);
+            return false;
+        }
+
+        Double health = doc.getDouble("health");
+        if (health != null && (Double.isNaN(health) || Double.isInfinite(health) || health < 0)) {
+            logger.warning("Document has invalid health value: " + health);
+            return false;
+        }
+        Double maxHealth = doc.getDouble("max_health");
+        if (maxHealth != null && (Double.isNaN(maxHealth) || Double.isInfinite(maxHealth) || maxHealth <= 0 || maxHealth > 10000)) {
+            logger.warning("Document has invalid max health value: " + maxHealth);
+            return false;
+        }
+
+        Object bankInventory = doc.get("bank_inventory");
+        if (bankInventory != null) {
+            if (!(bankInventory instanceof Document bankDoc)) {
+                logger.warning("Document has invalid bank_inventory type: " + bankInventory.getClass());
+                return false;
+            }
+            for (String key : bankDoc.keySet()) {
+                try {
+                    int pageNum = Integer.parseInt(key);
+                    if (pageNum < 1 || pageNum > 10) {
+                        logger.warning("Document has invalid bank page number: " + pageNum);
+                        return false;
+                    }
+                } catch (NumberFormatException e) {
+                    logger.warning("Document has non-numeric bank page key: " + key);
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    // ================ STATISTICS ================
+
+    int getMigrated() {
+        return migrated.get();
+    }
+
+    int getRepaired() {
+        return repaired.get();
+    }
+
+    int getBankDataSaved() {
+        return bankDataSaved.get();
+    }
+
+    int getBankDataLoaded() {
+        return bankDataLoaded.get();
+    }
+
+    int getBankDataErrors() {
+        return bankDataErrors.get();
+    }
+
+    int getHealthDataPreserved() {
+        return healthDataPreserved.get();
+    }
+
+    int getHealthDataRepaired() {
+        return healthDataRepaired.get();
+    }
+}
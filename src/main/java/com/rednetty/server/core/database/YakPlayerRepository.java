@@ -1,15 +1,28 @@
 package com.rednetty.server.core.database;
 
+import com.mongodb.MongoClientSettings;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
 import com.rednetty.server.YakRealms;
+import com.rednetty.server.core.database.DatabaseGateway.Priority;
 import com.rednetty.server.core.mechanics.player.YakPlayer;
+import org.bson.BSONException;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonReader;
 import org.bson.Document;
-import org.bukkit.attribute.Attribute;
-import org.bukkit.entity.Player;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.conversions.Bson;
 
 import java.io.File;
 import java.nio.file.Files;
@@ -37,15 +50,17 @@ import java.util.logging.Logger;
 public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
     private static final String COLLECTION_NAME = "players";
     private static final String BACKUP_COLLECTION_NAME = "players_backup";
-    private static final int MAX_RETRY_ATTEMPTS = 5;
-    private static final long RETRY_BASE_DELAY_MS = 500;
-    private static final long MAX_RETRY_DELAY_MS = 5000;
+    private static final long DEFAULT_BACKUP_MIN_INTERVAL_SECONDS = 900;
+    private static final long DEFAULT_JOURNAL_SEGMENT_MB = 16;
+    private static final int DEFAULT_JOURNAL_MAX_SEGMENTS = 8;
 
     // Core dependencies
     private final Logger logger;
     private final YakRealms plugin;
     private final File backupDir;
-    private final EnhancedDocumentConverter documentConverter;
+    private final YakPlayerCodec playerCodec;
+    private final BackupSnapshotPolicy backupPolicy;
+    private final BackupJournal backupJournal;
 
     // Database collections - retrieved fresh each time to avoid stale references
     private final AtomicBoolean repositoryInitialized = new AtomicBoolean(false);
@@ -57,21 +72,20 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
     private final AtomicInteger connectionStateFailures = new AtomicInteger(0);
     private final AtomicInteger localBackupsCreated = new AtomicInteger(0);
     private final AtomicInteger databaseBackupsCreated = new AtomicInteger(0);
+    private final AtomicInteger backupsSkipped = new AtomicInteger(0);
     private final AtomicInteger emergencyRecoveries = new AtomicInteger(0);
 
-    // Bank-specific tracking
-    private final AtomicInteger bankDataSaved = new AtomicInteger(0);
-    private final AtomicInteger bankDataLoaded = new AtomicInteger(0);
-    private final AtomicInteger bankDataErrors = new AtomicInteger(0);
-
-    // Health-specific tracking
-    private final AtomicInteger healthDataPreserved = new AtomicInteger(0);
-    private final AtomicInteger healthDataRepaired = new AtomicInteger(0);
+    // Write-path tracking
+    private final AtomicInteger fullWrites = new AtomicInteger(0);
+    private final AtomicInteger deltaWrites = new AtomicInteger(0);
+    private final AtomicInteger skippedWrites = new AtomicInteger(0);
+    private final AtomicInteger counterFlushes = new AtomicInteger(0);
+    private final AtomicInteger counterFlushFailures = new AtomicInteger(0);
 
     public YakPlayerRepository() {
         this.plugin = YakRealms.getInstance();
         this.logger = plugin.getLogger();
-        this.documentConverter = new EnhancedDocumentConverter();
+        this.playerCodec = new YakPlayerCodec(logger);
 
         // Create backup directory
         this.backupDir = new File(plugin.getDataFolder(), "backups/players");
@@ -82,6 +96,12 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
             }
         }
 
+        this.backupPolicy = new BackupSnapshotPolicy(plugin.getConfig().getLong(
+                "player_manager.backup.min_interval_seconds", DEFAULT_BACKUP_MIN_INTERVAL_SECONDS) * 1000L);
+        this.backupJournal = new BackupJournal(logger, new File(backupDir, "journal"),
+                plugin.getConfig().getLong("player_manager.backup.journal_segment_mb", DEFAULT_JOURNAL_SEGMENT_MB) * 1024L * 1024L,
+                plugin.getConfig().getInt("player_manager.backup.journal_max_segments", DEFAULT_JOURNAL_MAX_SEGMENTS));
+
         // Initialize repository
         initializeRepository();
     }
@@ -110,6 +130,8 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
                 throw new RuntimeException("MongoDB connection is not healthy");
             }
 
+            mongoDBManager.registerCodec(playerCodec);
+
             // Test connection with enhanced validation
             testConnectionWithStateValidation();
 
@@ -145,19 +167,21 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
 
             // Repository connection test successful
 
-            // Test document conversion with bank and health data
-            Document testDoc = new Document("uuid", "test-uuid")
+            // Test that the codec can decode bank and health data
+            Document testDoc = new Document("uuid", UUID.randomUUID().toString())
                     .append("username", "test-user")
                     .append("first_join", System.currentTimeMillis() / 1000)
                     .append("last_login", System.currentTimeMillis() / 1000)
                     .append("health", 75.5)
                     .append("max_health", 120.0)
-                    .append("bank_inventory", new Document("1", "test-bank-data"));
+                    .append("bank_inventory", new Document("1", "test-bank-data"))
+                    .append("save_version", DirtyFieldTracker.SCHEMA_VERSION);
 
-            // Test that our converter can handle bank and health data
-            YakPlayer testPlayer = documentConverter.documentToPlayer(testDoc);
-            if (testPlayer == null) {
-                logger.warning("Document converter test failed with bank and health data");
+            try {
+                playerCodec.decode(new BsonDocumentReader(testDoc.toBsonDocument(BsonDocument.class,
+                        MongoClientSettings.getDefaultCodecRegistry())), DecoderContext.builder().build());
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Player codec test failed with bank and health data", e);
             }
 
         } catch (Exception e) {
@@ -182,139 +206,97 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
         }
     }
 
+    /**
+     * Players collection decoded by {@link YakPlayerCodec}
+     */
+    private MongoCollection<YakPlayer> getPlayerCollectionSafely() {
+        MongoCollection<Document> collection = getCollectionSafely(COLLECTION_NAME);
+        return collection != null ? collection.withDocumentClass(YakPlayer.class) : null;
+    }
+
+    /**
+     * Completes with empty only when the database answered and has no such player. A lookup
+     * that could not run (breaker open, connection lost, unreadable document) fails the future,
+     * so callers never mistake an outage for a new player.
+     */
     @Override
     public CompletableFuture<Optional<YakPlayer>> findById(UUID id) {
-        return CompletableFuture.supplyAsync(() -> {
+        return submit(Priority.READ, "find player " + id, () -> {
             if (id == null) {
                 logger.warning("Attempted to find player with null UUID");
                 return Optional.empty();
             }
 
+            totalOperations.incrementAndGet();
+
             if (!repositoryInitialized.get()) {
-                logger.severe("Repository not initialized - cannot find player: " + id);
-                return Optional.empty();
+                throw databaseFailure("Repository not initialized - cannot find player: " + id);
             }
 
-            totalOperations.incrementAndGet();
-
             // ALWAYS load fresh from database with enhanced state validation
             Optional<YakPlayer> result = performEnhancedDatabaseFind(id);
-
-            if (result.isPresent()) {
-                successfulOperations.incrementAndGet();
-            } else {
-                failedOperations.incrementAndGet();
-            }
-
+            successfulOperations.incrementAndGet();
             return result;
         });
     }
 
     /**
-     * Enhanced database find operation with rigorous state validation and retry logic
+     * Enhanced database find operation with rigorous state validation. Throws when the query
+     * did not complete; the gateway owns retrying.
      */
     private Optional<YakPlayer> performEnhancedDatabaseFind(UUID id) {
-        Exception lastException = null;
+        logger.fine("Loading FRESH player data with bank and health persistence: " + id);
 
-        for (int attempt = 1; attempt <= MAX_RETRY_ATTEMPTS; attempt++) {
+        // The codec decodes, migrates and repairs in one pass and seeds the delta baseline
+        Optional<YakPlayer> player = MongoDBManager.getInstance().performSafeOperation(() -> {
+            MongoCollection<YakPlayer> collection = getPlayerCollectionSafely();
+            if (collection == null) {
+                throw new RuntimeException("Collection not available");
+            }
             try {
-                logger.fine("Loading FRESH player data with bank and health persistence (attempt " + attempt + "): " + id);
-
-                // Enhanced operation with state validation
-                Document doc = MongoDBManager.getInstance().performSafeOperation(() -> {
-                    MongoCollection<Document> collection = getCollectionSafely(COLLECTION_NAME);
-                    if (collection == null) {
-                        throw new RuntimeException("Collection not available");
-                    }
-                    return collection.find(Filters.eq("uuid", id.toString())).first();
-                }, MAX_RETRY_ATTEMPTS);
-
+                return Optional.ofNullable(collection.find(Filters.eq("uuid", id.toString())).first());
+            } catch (BSONException e) {
+                // Keep the stored document for debugging before giving up on it
+                Document doc = collection.withDocumentClass(Document.class)
+                        .find(Filters.eq("uuid", id.toString())).first();
                 if (doc != null) {
-                    logger.info("Found FRESH player document in database with bank and health data: " + id);
-
-                    // Enhanced document validation before conversion
-                    if (!documentConverter.validateDocument(doc)) {
-                        logger.warning("Document validation failed for player: " + id + " - attempting repair");
-                        doc = documentConverter.repairDocument(doc);
-                        if (doc == null) {
-                            logger.severe("Document repair failed for player: " + id);
-                            lastException = new RuntimeException("Document validation and repair failed");
-                            continue;
-                        }
-                        logger.info("Successfully repaired document for player: " + id);
-                    }
-
-                    YakPlayer player = documentConverter.documentToPlayer(doc);
-
-                    if (player != null) {
-                        logger.info("✅ Successfully loaded FRESH player data with bank inventories and health from database: " + id);
-                        return Optional.of(player);
-                    } else {
-                        logger.warning("Failed to convert document to player: " + id);
-                        // Create emergency backup of corrupted document
-                        createCorruptedDataBackup(doc, id);
-                        lastException = new RuntimeException("Document conversion failed");
-                    }
-                } else {
-                    logger.fine("No document found for player: " + id);
-                    return Optional.empty();
-                }
-
-            } catch (Exception e) {
-                lastException = e;
-                logger.log(Level.WARNING, "Error finding player by UUID: " + id + " (attempt " + attempt + ")", e);
-
-                // Check if this is a connection state error
-                if (isConnectionStateError(e)) {
-                    connectionStateFailures.incrementAndGet();
-                    logger.warning("Connection state error detected - will retry with backoff");
-                }
-
-                if (attempt < MAX_RETRY_ATTEMPTS) {
-                    long delay = calculateRetryDelay(attempt);
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
+                    createCorruptedDataBackup(doc, id);
                 }
+                throw e;
             }
+        });
+
+        if (player == null) {
+            throw databaseFailure("Failed to find player: " + id);
         }
 
-        logger.warning("Failed to find player after " + MAX_RETRY_ATTEMPTS + " attempts: " + id +
-                " - Last error: " + (lastException != null ? lastException.getMessage() : "unknown"));
-        return Optional.empty();
+        if (player.isPresent()) {
+            logger.info("✅ Successfully loaded FRESH player data with bank inventories and health from database: " + id);
+        } else {
+            logger.fine("No document found for player: " + id);
+        }
+        return player;
     }
 
     /**
-     * Check if error is related to connection state
+     * Count a database failure and build the exception that fails the caller's future
      */
-    private boolean isConnectionStateError(Exception e) {
-        if (e == null) return false;
-        String message = e.getMessage();
-        if (message == null) return false;
-
-        return message.contains("state should be: open") ||
-                message.contains("connection") ||
-                message.contains("socket") ||
-                message.contains("network") ||
-                message.contains("timeout") ||
-                message.contains("broken") ||
-                message.contains("closed");
+    private IllegalStateException databaseFailure(String message) {
+        failedOperations.incrementAndGet();
+        if (!MongoDBManager.getInstance().isConnected()) {
+            connectionStateFailures.incrementAndGet();
+        }
+        logger.warning(message);
+        return new IllegalStateException(message);
     }
 
     /**
-     * Calculate retry delay with exponential backoff
+     * Completes with the player once it is written. Anything that kept it out of the database
+     * leaves a local backup and fails the future, so callers can retry.
      */
-    private long calculateRetryDelay(int attempt) {
-        long delay = RETRY_BASE_DELAY_MS * (1L << (attempt - 1)); // Exponential backoff
-        return Math.min(delay, MAX_RETRY_DELAY_MS);
-    }
-
     @Override
     public CompletableFuture<YakPlayer> save(YakPlayer player) {
-        return CompletableFuture.supplyAsync(() -> {
+        return submit(Priority.SAVE, "save player " + (player != null ? player.getUUID() : null), () -> {
             if (player == null) {
                 logger.warning("Attempted to save null player");
                 return null;
@@ -323,219 +305,342 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
             totalOperations.incrementAndGet();
 
             if (!validatePlayerData(player)) {
-                logger.warning("Invalid player data for " + player.getUsername() + " - creating local backup");
                 createLocalBackup(player);
-                failedOperations.incrementAndGet();
-                return player;
+                throw databaseFailure("Invalid player data for " + player.getUsername() + " - created local backup");
             }
 
             if (!repositoryInitialized.get()) {
-                logger.warning("Repository not initialized - creating local backup only: " + player.getUsername());
                 createLocalBackup(player);
-                failedOperations.incrementAndGet();
-                return player;
+                throw databaseFailure("Repository not initialized - created local backup only: " + player.getUsername());
             }
 
-            YakPlayer result = savePlayerToDatabaseEnhanced(player);
+            savePlayerToDatabaseEnhanced(player);
+            successfulOperations.incrementAndGet();
+            return player;
+        });
+    }
 
-            if (result != null) {
-                successfulOperations.incrementAndGet();
-            } else {
-                failedOperations.incrementAndGet();
+    /**
+     * Enhanced save operation with comprehensive state validation. Throws, after writing a
+     * local backup, when the player did not reach the database.
+     */
+    private void savePlayerToDatabaseEnhanced(YakPlayer player) {
+        logger.info("Saving FRESH player to database with bank and health data: " + player.getUsername());
+
+        Document doc = playerCodec.toDocument(player);
+        if (doc == null) {
+            createLocalBackup(player);
+            throw databaseFailure("Failed to convert player to document: " + player.getUsername());
+        }
+
+        // Enhanced validation before saving
+        if (!playerCodec.isValid(doc)) {
+            createLocalBackup(player);
+            throw databaseFailure("Generated document failed validation for " + player.getUsername());
+        }
+
+        // Create backup before saving (with state validation)
+        createDatabaseBackupEnhanced(player, doc);
+
+        Boolean saveResult = MongoDBManager.getInstance().performSafeOperation(() -> {
+            MongoCollection<Document> collection = getCollectionSafely(COLLECTION_NAME);
+            if (collection == null) {
+                throw new RuntimeException("Collection not available for save operation");
             }
 
-            return result;
+            writePlayerDocument(collection, player, doc);
+            return true;
         });
+
+        if (saveResult == null || !saveResult) {
+            createLocalBackup(player);
+            throw databaseFailure("Failed to save player: " + player.getUsername());
+        }
+
+        logger.info("✅ Successfully saved FRESH player with bank and health data to database: " + player.getUsername());
     }
 
     /**
-     * Enhanced save operation with comprehensive state validation and retry logic
+     * Enhanced synchronous save for critical scenarios. Attempted once so the calling thread
+     * is never held; a failure leaves a local backup.
      */
-    private YakPlayer savePlayerToDatabaseEnhanced(YakPlayer player) {
+    public YakPlayer saveSync(YakPlayer player) {
         if (player == null || !validatePlayerData(player)) {
-            createLocalBackup(player);
+            if (player != null) {
+                createLocalBackup(player);
+            }
             return player;
         }
+        // Live state is captured on the main thread by the caller (PlayerSnapshot); never read it here
 
-        Exception lastException = null;
+        if (!repositoryInitialized.get()) {
+            createLocalBackup(player);
+            logger.warning("Could not sync save player - repository not initialized: " + player.getUsername());
+            return player;
+        }
 
-        for (int attempt = 1; attempt <= MAX_RETRY_ATTEMPTS; attempt++) {
-            try {
-                logger.info("Saving FRESH player to database with bank and health data (attempt " + attempt + "): " + player.getUsername());
+        totalOperations.incrementAndGet();
 
-                Document doc = documentConverter.playerToDocument(player);
-                if (doc == null) {
-                    logger.severe("Failed to convert player to document: " + player.getUsername());
-                    createLocalBackup(player);
-                    return player;
-                }
+        try {
+            logger.info("Performing IMMEDIATE sync save with bank and health data: " + player.getUsername());
 
-                // Enhanced validation before saving
-                if (!documentConverter.validateDocument(doc)) {
-                    logger.warning("Generated document failed validation for " + player.getUsername());
-                    createLocalBackup(player);
-                    return player;
-                }
+            Document doc = playerCodec.toDocument(player);
+            if (doc == null) {
+                logger.severe("Failed to convert player to document during sync save: " + player.getUsername());
+                createLocalBackup(player);
+                failedOperations.incrementAndGet();
+                return player;
+            }
 
-                // Create backup before saving (with state validation)
-                createDatabaseBackupEnhanced(player, doc);
+            // Enhanced validation
+            if (!playerCodec.isValid(doc)) {
+                logger.warning("Generated document failed validation during sync save for " + player.getUsername());
+                createLocalBackup(player);
+                failedOperations.incrementAndGet();
+                return player;
+            }
 
-                // Perform enhanced save with state validation
-                Boolean saveResult = MongoDBManager.getInstance().performSafeOperation(() -> {
-                    MongoCollection<Document> collection = getCollectionSafely(COLLECTION_NAME);
-                    if (collection == null) {
-                        throw new RuntimeException("Collection not available for save operation");
-                    }
+            // Create backup and save with enhanced state validation
+            createDatabaseBackupEnhanced(player, doc);
 
-                    collection.replaceOne(
-                            Filters.eq("uuid", player.getUUID().toString()),
-                            doc,
-                            new ReplaceOptions().upsert(true)
-                    );
-                    return true;
-                }, MAX_RETRY_ATTEMPTS);
-
-                if (saveResult != null && saveResult) {
-                    logger.info("✅ Successfully saved FRESH player with bank and health data to database: " + player.getUsername());
-                    return player;
-                } else {
-                    lastException = new RuntimeException("Save operation returned null or false");
-                    logger.warning("Save operation failed for player: " + player.getUsername() + " (attempt " + attempt + ")");
+            Boolean saveResult = MongoDBManager.getInstance().performSafeOperation(() -> {
+                MongoCollection<Document> collection = getCollectionSafely(COLLECTION_NAME);
+                if (collection == null) {
+                    throw new RuntimeException("Collection not available for sync save");
                 }
 
-            } catch (Exception e) {
-                lastException = e;
-                logger.log(Level.WARNING, "Error saving player: " + player.getUUID() + " (attempt " + attempt + ")", e);
-
-                // Check if this is a connection state error
-                if (isConnectionStateError(e)) {
-                    connectionStateFailures.incrementAndGet();
-                    logger.warning("Connection state error during save - will retry with backoff");
-                }
+                writePlayerDocument(collection, player, doc);
+                return true;
+            });
 
-                if (attempt < MAX_RETRY_ATTEMPTS) {
-                    long delay = calculateRetryDelay(attempt);
-                    try {
-                        Thread.sleep(delay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                } else {
-                    createLocalBackup(player);
-                    logger.severe("Failed to save player after " + MAX_RETRY_ATTEMPTS + " attempts: " + player.getUsername() +
-                            " - Last error: " + (lastException != null ? lastException.getMessage() : "unknown"));
-                }
+            if (saveResult != null && saveResult) {
+                logger.info("✅ Successfully performed IMMEDIATE sync save with bank and health data for player: " + player.getUsername());
+                successfulOperations.incrementAndGet();
+                return player;
             }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error during sync save for player: " + player.getUUID(), e);
         }
 
-        // Final fallback - ensure local backup exists
+        logger.severe("Sync save failed for player: " + player.getUsername());
         createLocalBackup(player);
+        failedOperations.incrementAndGet();
         return player;
     }
 
     /**
-     * Enhanced synchronous save for critical scenarios
+     * Write only the fields that changed since the last flush. Falls back to a full upsert
+     * for new players, schema changes, repaired documents, or when the stored document is gone.
      */
-    public YakPlayer saveSync(YakPlayer player) {
-        if (player == null || !validatePlayerData(player)) {
-            if (player != null) {
-                createLocalBackup(player);
+    private void writePlayerDocument(MongoCollection<Document> collection, YakPlayer player, Document doc) {
+        DirtyFieldTracker tracker = player.getDirtyFieldTracker();
+        Bson filter = Filters.eq("uuid", player.getUUID().toString());
+
+        synchronized (tracker) {
+            DirtyFieldTracker.Delta delta = tracker.diff(doc);
+
+            if (delta.isEmpty()) {
+                skippedWrites.incrementAndGet();
+                logger.fine("No changed fields for " + player.getUsername() + " - skipping write");
+                return;
             }
-            return player;
-        }
-        Player bukkitPlayer = player.getBukkitPlayer();
-        if (bukkitPlayer != null && bukkitPlayer.isOnline()) {
-            player.setHealth(bukkitPlayer.getHealth());
-            player.setFoodLevel(bukkitPlayer.getFoodLevel());
-            player.setSaturation(bukkitPlayer.getSaturation());
-            player.setMaxHealth(Objects.requireNonNull(bukkitPlayer.getAttribute(Attribute.MAX_HEALTH)).getValue());
+
+            if (!delta.isFullWrite()) {
+                UpdateResult result = collection.updateOne(filter, delta.getUpdate());
+                if (result.getMatchedCount() > 0) {
+                    tracker.markPersisted(doc);
+                    deltaWrites.incrementAndGet();
+                    logger.fine("Delta save for " + player.getUsername() + ": " + delta.getChangedFields() + " fields");
+                    return;
+                }
+                logger.warning("Stored document missing for " + player.getUsername() + " - falling back to full write");
+            }
+
+            collection.replaceOne(filter, doc, new ReplaceOptions().upsert(true));
+            tracker.markPersisted(doc);
+            fullWrites.incrementAndGet();
         }
+    }
 
-        if (!repositoryInitialized.get()) {
+    // ================ BATCH SAVE PIPELINE ================
+
+    /**
+     * Serialize and validate a player for a batched write. Safe to call from any worker thread
+     * once the player's live state has been captured on the main thread.
+     *
+     * @return the document to write, or null if the player could not be serialized (a local
+     *         backup has been written in that case)
+     */
+    public Document buildSaveDocument(YakPlayer player) {
+        if (player == null || !validatePlayerData(player)) {
             createLocalBackup(player);
-            logger.warning("Could not sync save player - repository not initialized: " + player.getUsername());
-            return player;
+            return null;
         }
 
-        totalOperations.incrementAndGet();
-        Exception lastException = null;
+        Document doc = playerCodec.toDocument(player);
+        if (doc == null || !playerCodec.isValid(doc)) {
+            logger.warning("Generated document failed validation for batched save of " + player.getUsername());
+            createLocalBackup(player);
+            return null;
+        }
 
-        for (int attempt = 1; attempt <= MAX_RETRY_ATTEMPTS; attempt++) {
-            try {
-                logger.info("Performing IMMEDIATE sync save with bank and health data (attempt " + attempt + "): " + player.getUsername());
+        createDatabaseBackupEnhanced(player, doc);
+        return doc;
+    }
 
-                Document doc = documentConverter.playerToDocument(player);
-                if (doc == null) {
-                    logger.severe("Failed to convert player to document during sync save: " + player.getUsername());
-                    createLocalBackup(player);
-                    failedOperations.incrementAndGet();
-                    return player;
-                }
+    /**
+     * Write a batch of prepared player documents with a single unordered bulkWrite.
+     *
+     * <p>Each player's diff is taken and its baseline advanced before the write is sent, so a
+     * save of the same player that races with the batch never re-sends the same {@code $inc}.
+     * If the batch fails every player in it is reset to a full write for the next attempt.
+     *
+     * @param players players in the batch
+     * @param docs    documents from {@link #buildSaveDocument(YakPlayer)}, same order as players
+     * @return true if the batch was written (or had nothing to write)
+     */
+    public boolean writePlayerBatch(List<YakPlayer> players, List<Document> docs) {
+        if (players.isEmpty()) {
+            return true;
+        }
+        if (!repositoryInitialized.get()) {
+            players.forEach(this::createLocalBackup);
+            return false;
+        }
 
-                // Enhanced validation
-                if (!documentConverter.validateDocument(doc)) {
-                    logger.warning("Generated document failed validation during sync save for " + player.getUsername());
-                    createLocalBackup(player);
-                    failedOperations.incrementAndGet();
-                    return player;
-                }
+        totalOperations.addAndGet(players.size());
 
-                // Create backup and save with enhanced state validation
-                createDatabaseBackupEnhanced(player, doc);
+        List<WriteModel<Document>> writes = new ArrayList<>(players.size());
+        List<YakPlayer> deltaPlayers = new ArrayList<>();
+        int full = 0;
+        int skipped = 0;
 
-                Boolean saveResult = MongoDBManager.getInstance().performSafeOperation(() -> {
-                    MongoCollection<Document> collection = getCollectionSafely(COLLECTION_NAME);
-                    if (collection == null) {
-                        throw new RuntimeException("Collection not available for sync save");
-                    }
+        for (int i = 0; i < players.size(); i++) {
+            YakPlayer player = players.get(i);
+            Document doc = docs.get(i);
+            DirtyFieldTracker tracker = player.getDirtyFieldTracker();
+            Bson filter = Filters.eq("uuid", player.getUUID().toString());
 
-                    collection.replaceOne(
-                            Filters.eq("uuid", player.getUUID().toString()),
-                            doc,
-                            new ReplaceOptions().upsert(true)
-                    );
-                    return true;
-                }, 1); // Single attempt for sync save to avoid blocking
+            synchronized (tracker) {
+                DirtyFieldTracker.Delta delta = tracker.diff(doc);
+                if (delta.isEmpty()) {
+                    skipped++;
+                    continue;
+                }
 
-                if (saveResult != null && saveResult) {
-                    logger.info("✅ Successfully performed IMMEDIATE sync save with bank and health data for player: " + player.getUsername());
-                    successfulOperations.incrementAndGet();
-                    return player;
+                if (delta.isFullWrite()) {
+                    writes.add(new ReplaceOneModel<>(filter, doc, new ReplaceOptions().upsert(true)));
+                    full++;
                 } else {
-                    lastException = new RuntimeException("Sync save operation returned null or false");
+                    writes.add(new UpdateOneModel<>(filter, delta.getUpdate()));
+                    deltaPlayers.add(player);
                 }
+                tracker.markPersisted(doc);
+            }
+        }
 
-            } catch (Exception e) {
-                lastException = e;
-                logger.log(Level.SEVERE, "Error during sync save for player: " + player.getUUID() + " (attempt " + attempt + ")", e);
+        skippedWrites.addAndGet(skipped);
+        if (writes.isEmpty()) {
+            successfulOperations.addAndGet(players.size());
+            return true;
+        }
 
-                if (isConnectionStateError(e)) {
-                    connectionStateFailures.incrementAndGet();
+        BulkWriteResult result = null;
+        try {
+            result = MongoDBManager.getInstance().performSafeOperation(() -> {
+                MongoCollection<Document> collection = getCollectionSafely(COLLECTION_NAME);
+                if (collection == null) {
+                    throw new RuntimeException("Collection not available for batch save");
                 }
+                return collection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            });
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Batch save failed for " + players.size() + " players", e);
+        }
 
-                if (attempt < MAX_RETRY_ATTEMPTS) {
-                    // Shorter delay for sync operations
-                    try {
-                        Thread.sleep(Math.min(calculateRetryDelay(attempt), 1000));
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
+        if (result == null) {
+            for (YakPlayer player : players) {
+                player.getDirtyFieldTracker().markFullWriteRequired();
+            }
+            failedOperations.addAndGet(players.size());
+            return false;
+        }
+
+        // A delta against a missing document matches nothing; let those players do a full write next time
+        int expectedMatches = deltaPlayers.size() + (full - result.getUpserts().size());
+        if (result.getMatchedCount() < expectedMatches) {
+            logger.warning("Batch save matched " + result.getMatchedCount() + "/" + expectedMatches +
+                    " stored documents - scheduling full writes");
+            for (YakPlayer player : deltaPlayers) {
+                player.getDirtyFieldTracker().markFullWriteRequired();
+            }
+        }
+
+        fullWrites.addAndGet(full);
+        deltaWrites.addAndGet(deltaPlayers.size());
+        successfulOperations.addAndGet(players.size());
+        return true;
+    }
+
+    /**
+     * Flush buffered write-behind counters for the given players as one unordered bulk of
+     * {@code $inc} updates. Players whose batch fails fall back to a full write on their next save.
+     *
+     * @return number of players whose counters were written
+     */
+    public int flushPendingCounters(Collection<YakPlayer> players) {
+        if (players == null || players.isEmpty() || !repositoryInitialized.get()) {
+            return 0;
+        }
+
+        List<UpdateOneModel<Document>> writes = new ArrayList<>();
+        List<YakPlayer> flushed = new ArrayList<>();
+        for (YakPlayer player : players) {
+            if (player == null || player.getUUID() == null) continue;
+
+            Map<String, Long> increments = player.getDirtyFieldTracker().drainIncrements();
+            if (increments.isEmpty()) continue;
+
+            Document inc = new Document();
+            increments.forEach((field, delta) -> inc.append(field,
+                    delta <= Integer.MAX_VALUE ? (Object) delta.intValue() : (Object) delta));
+            writes.add(new UpdateOneModel<>(Filters.eq("uuid", player.getUUID().toString()), new Document("$inc", inc)));
+            flushed.add(player);
+        }
+
+        if (writes.isEmpty()) {
+            return 0;
+        }
+
+        Boolean result = null;
+        try {
+            result = MongoDBManager.getInstance().performSafeOperation(() -> {
+                MongoCollection<Document> collection = getCollectionSafely(COLLECTION_NAME);
+                if (collection == null) {
+                    throw new RuntimeException("Collection not available for counter flush");
                 }
+                collection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+                return true;
+            });
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Counter flush failed for " + writes.size() + " players", e);
+        }
+
+        if (result == null || !result) {
+            for (YakPlayer player : flushed) {
+                player.getDirtyFieldTracker().markFullWriteRequired();
             }
+            counterFlushFailures.incrementAndGet();
+            return 0;
         }
 
-        logger.severe("All sync save attempts failed for player: " + player.getUsername() +
-                " - Last error: " + (lastException != null ? lastException.getMessage() : "unknown"));
-        createLocalBackup(player);
-        failedOperations.incrementAndGet();
-        return player;
+        counterFlushes.incrementAndGet();
+        return writes.size();
     }
 
     @Override
     public CompletableFuture<List<YakPlayer>> findAll() {
-        return CompletableFuture.supplyAsync(() -> {
+        return submit(Priority.ANALYTICS, "find all players", () -> {
             List<YakPlayer> players = new ArrayList<>();
 
             if (!repositoryInitialized.get()) {
@@ -548,40 +653,24 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
             try {
                 logger.info("Loading all players FRESH from database with bank and health data...");
 
-                FindIterable<Document> docs = MongoDBManager.getInstance().performSafeOperation(() -> {
+                // Raw documents are decoded one at a time so one unreadable player does not end the scan
+                FindIterable<RawBsonDocument> docs = MongoDBManager.getInstance().performSafeOperation(() -> {
                     MongoCollection<Document> collection = getCollectionSafely(COLLECTION_NAME);
                     if (collection == null) {
                         throw new RuntimeException("Collection not available for findAll");
                     }
-                    return collection.find().batchSize(50); // Reduced batch size for stability
-                }, MAX_RETRY_ATTEMPTS);
+                    return collection.withDocumentClass(RawBsonDocument.class).find().batchSize(50); // Reduced batch size for stability
+                });
 
                 if (docs != null) {
                     int loadedCount = 0;
                     int errorCount = 0;
-                    int repairedCount = 0;
-
-                    for (Document doc : docs) {
-                        try {
-                            // Enhanced document validation and repair
-                            if (!documentConverter.validateDocument(doc)) {
-                                logger.fine("Attempting to repair document during findAll");
-                                doc = documentConverter.repairDocument(doc);
-                                if (doc != null) {
-                                    repairedCount++;
-                                } else {
-                                    errorCount++;
-                                    continue;
-                                }
-                            }
-
-                            YakPlayer player = documentConverter.documentToPlayer(doc);
-                            if (player != null) {
-                                players.add(player);
-                                loadedCount++;
-                            } else {
-                                errorCount++;
-                            }
+                    DecoderContext decoderContext = DecoderContext.builder().build();
+
+                    for (RawBsonDocument doc : docs) {
+                        try (BsonReader reader = doc.asBsonReader()) {
+                            players.add(playerCodec.decode(reader, decoderContext));
+                            loadedCount++;
                         } catch (Exception e) {
                             errorCount++;
                             logger.log(Level.WARNING, "Error processing document during findAll", e);
@@ -589,7 +678,7 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
                     }
 
                     logger.info("✅ Loaded " + loadedCount + " players FRESH from database with bank and health data, " +
-                            errorCount + " errors, " + repairedCount + " repaired");
+                            errorCount + " errors");
                     successfulOperations.incrementAndGet();
                 } else {
                     failedOperations.incrementAndGet();
@@ -613,7 +702,7 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
 
     @Override
     public CompletableFuture<Boolean> deleteById(UUID id) {
-        return CompletableFuture.supplyAsync(() -> {
+        return submit(Priority.SAVE, "delete player " + id, () -> {
             if (id == null) {
                 return false;
             }
@@ -632,7 +721,7 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
                         throw new RuntimeException("Collection not available for delete");
                     }
                     return collection.deleteOne(Filters.eq("uuid", id.toString()));
-                }, MAX_RETRY_ATTEMPTS);
+                });
 
                 boolean success = result != null && result.getDeletedCount() > 0;
                 if (success) {
@@ -654,7 +743,7 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
 
     @Override
     public CompletableFuture<Boolean> existsById(UUID id) {
-        return CompletableFuture.supplyAsync(() -> {
+        return submit(Priority.READ, "check player " + id, () -> {
             if (id == null) {
                 return false;
             }
@@ -673,7 +762,7 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
                         throw new RuntimeException("Collection not available for exists check");
                     }
                     return collection.countDocuments(Filters.eq("uuid", id.toString()));
-                }, MAX_RETRY_ATTEMPTS);
+                });
 
                 boolean exists = count != null && count > 0;
                 if (exists) {
@@ -690,6 +779,22 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
         });
     }
 
+    /**
+     * Run a player operation on the database gateway. The bodies above handle their own errors,
+     * so a failed future means the operation never ran (rejected, displaced or timed out in the
+     * queue). That is logged here and still surfaces as a failure, so a caller such as login
+     * never mistakes it for a missing player.
+     */
+    private <T> CompletableFuture<T> submit(Priority priority, String description,
+                                            MongoDBManager.DatabaseOperation<T> operation) {
+        return MongoDBManager.getInstance().submit(COLLECTION_NAME, priority, operation)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        logger.log(Level.WARNING, "Player database operation did not run (" + description + "): " + e.getMessage());
+                    }
+                });
+    }
+
     /**
      * Enhanced player data validation with auto-correction
      */
@@ -735,7 +840,7 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
     }
 
     /**
-     * Enhanced local backup creation
+     * Append the player to the local backup journal; identical consecutive copies are skipped
      */
     private void createLocalBackup(YakPlayer player) {
         if (player == null) {
@@ -743,25 +848,16 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
         }
 
         try {
-            if (!backupDir.exists() && !backupDir.mkdirs()) {
-                logger.warning("Failed to create backup directory");
-                return;
-            }
-
-            File playerDir = new File(backupDir, player.getUUID().toString());
-            if (!playerDir.exists() && !playerDir.mkdirs()) {
-                logger.warning("Failed to create player backup directory");
+            Document doc = playerCodec.toDocument(player);
+            if (doc == null) {
                 return;
             }
 
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            Document doc = documentConverter.playerToDocument(player);
-
-            if (doc != null) {
-                File backupFile = new File(playerDir, timestamp + "_local.json");
-                Files.write(backupFile.toPath(), doc.toJson().getBytes());
+            if (backupJournal.append(player.getUUID(), player.getUsername(), doc, "save_failure")) {
                 localBackupsCreated.incrementAndGet();
-                logger.fine("✅ Created local backup with bank and health data for player: " + player.getUsername());
+                logger.fine("✅ Journaled local backup with bank and health data for player: " + player.getUsername());
+            } else {
+                backupsSkipped.incrementAndGet();
             }
 
         } catch (Exception e) {
@@ -770,7 +866,7 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
     }
 
     /**
-     * Enhanced database backup creation with state validation
+     * Snapshot the player into the TTL-indexed backup collection when the policy says it is due
      */
     private void createDatabaseBackupEnhanced(YakPlayer player, Document doc) {
         if (player == null || doc == null) {
@@ -778,6 +874,19 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
         }
 
         try {
+            long now = System.currentTimeMillis();
+            // Rate-limited saves skip the hash, which has to serialize the whole document
+            if (backupPolicy.isWithinInterval(player.getUUID(), now)) {
+                backupsSkipped.incrementAndGet();
+                return;
+            }
+
+            long hash = BackupSnapshotPolicy.contentHash(doc);
+            if (!backupPolicy.isDue(player.getUUID(), hash, now)) {
+                backupsSkipped.incrementAndGet();
+                return;
+            }
+
             // Check if MongoDB is healthy before attempting backup
             MongoDBManager mongoDBManager = MongoDBManager.getInstance();
             if (!mongoDBManager.isHealthy()) {
@@ -786,9 +895,12 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
             }
 
             Document backupDoc = new Document(doc);
-            backupDoc.append("timestamp", System.currentTimeMillis() / 1000);
+            backupDoc.remove("_id");
+            backupDoc.append("timestamp", now / 1000);
+            backupDoc.append("backup_created_at", new Date(now));
             backupDoc.append("backup_reason", "auto_save");
             backupDoc.append("backup_version", "_v4_bank_health_fixed");
+            backupDoc.append("content_hash", hash);
             backupDoc.append("connection_state_validated", true);
 
             Boolean backupResult = MongoDBManager.getInstance().performSafeOperation(() -> {
@@ -798,9 +910,10 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
                 }
                 backupCollection.insertOne(backupDoc);
                 return true;
-            }, 1); // Single attempt for backup to avoid blocking
+            });
 
             if (backupResult != null && backupResult) {
+                backupPolicy.markTaken(player.getUUID(), hash, now);
                 databaseBackupsCreated.incrementAndGet();
                 logger.fine("✅ Created database backup with bank and health data for player: " + player.getUsername());
             } else {
@@ -841,9 +954,17 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
         return repositoryInitialized.get();
     }
 
+    /**
+     * Drop per-player bookkeeping once the player has left and their final save is done
+     */
+    public void forgetPlayer(UUID uuid) {
+        backupPolicy.forget(uuid);
+    }
+
     public void shutdown() {
         logger.info("Shutting down Enhanced YakPlayerRepository...");
         repositoryInitialized.set(false);
+        backupJournal.close();
         logger.info("Repository shutdown completed");
     }
 
@@ -858,13 +979,21 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
                 connectionStateFailures.get(),
                 localBackupsCreated.get(),
                 databaseBackupsCreated.get(),
+                backupsSkipped.get(),
                 emergencyRecoveries.get(),
                 repositoryInitialized.get(),
-                bankDataSaved.get(),
-                bankDataLoaded.get(),
-                bankDataErrors.get(),
-                healthDataPreserved.get(),
-                healthDataRepaired.get()
+                playerCodec.getBankDataSaved(),
+                playerCodec.getBankDataLoaded(),
+                playerCodec.getBankDataErrors(),
+                playerCodec.getHealthDataPreserved(),
+                playerCodec.getHealthDataRepaired(),
+                playerCodec.getMigrated(),
+                playerCodec.getRepaired(),
+                fullWrites.get(),
+                deltaWrites.get(),
+                skippedWrites.get(),
+                counterFlushes.get(),
+                counterFlushFailures.get()
         );
     }
 
@@ -878,6 +1007,7 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
         public final int connectionStateFailures;
         public final int localBackupsCreated;
         public final int databaseBackupsCreated;
+        public final int backupsSkipped;
         public final int emergencyRecoveries;
         public final boolean initialized;
         public final int bankDataSaved;
@@ -885,18 +1015,27 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
         public final int bankDataErrors;
         public final int healthDataPreserved;
         public final int healthDataRepaired;
+        public final int documentsMigrated;
+        public final int documentsRepaired;
+        public final int fullWrites;
+        public final int deltaWrites;
+        public final int skippedWrites;
+        public final int counterFlushes;
+        public final int counterFlushFailures;
 
         public RepositoryStats(int totalOperations, int successfulOperations, int failedOperations,
                                int connectionStateFailures, int localBackupsCreated, int databaseBackupsCreated,
-                               int emergencyRecoveries, boolean initialized, int bankDataSaved,
+                               int backupsSkipped, int emergencyRecoveries, boolean initialized, int bankDataSaved,
                                int bankDataLoaded, int bankDataErrors, int healthDataPreserved,
-                               int healthDataRepaired) {
+                               int healthDataRepaired, int documentsMigrated, int documentsRepaired, int fullWrites,
+                               int deltaWrites, int skippedWrites, int counterFlushes, int counterFlushFailures) {
             this.totalOperations = totalOperations;
             this.successfulOperations = successfulOperations;
             this.failedOperations = failedOperations;
             this.connectionStateFailures = connectionStateFailures;
             this.localBackupsCreated = localBackupsCreated;
             this.databaseBackupsCreated = databaseBackupsCreated;
+            this.backupsSkipped = backupsSkipped;
             this.emergencyRecoveries = emergencyRecoveries;
             this.initialized = initialized;
             this.bankDataSaved = bankDataSaved;
@@ -904,6 +1043,13 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
             this.bankDataErrors = bankDataErrors;
             this.healthDataPreserved = healthDataPreserved;
             this.healthDataRepaired = healthDataRepaired;
+            this.documentsMigrated = documentsMigrated;
+            this.documentsRepaired = documentsRepaired;
+            this.fullWrites = fullWrites;
+            this.deltaWrites = deltaWrites;
+            this.skippedWrites = skippedWrites;
+            this.counterFlushes = counterFlushes;
+            this.counterFlushFailures = counterFlushFailures;
         }
 
         public double getSuccessRate() {
@@ -914,746 +1060,15 @@ public class YakPlayerRepository implements Repository<YakPlayer, UUID> {
         @Override
         public String toString() {
             return String.format("RepositoryStats{total=%d, success=%d, failed=%d, connectionFailures=%d, " +
-                            "localBackups=%d, dbBackups=%d, emergencyRecoveries=%d, initialized=%s, successRate=%.1f%%, " +
-                            "bankSaved=%d, bankLoaded=%d, bankErrors=%d, healthPreserved=%d, healthRepaired=%d}",
+                            "localBackups=%d, dbBackups=%d, backupsSkipped=%d, emergencyRecoveries=%d, initialized=%s, successRate=%.1f%%, " +
+                            "bankSaved=%d, bankLoaded=%d, bankErrors=%d, healthPreserved=%d, healthRepaired=%d, " +
+                            "migrated=%d, repaired=%d, " +
+                            "fullWrites=%d, deltaWrites=%d, skippedWrites=%d, counterFlushes=%d, counterFlushFailures=%d}",
                     totalOperations, successfulOperations, failedOperations, connectionStateFailures,
-                    localBackupsCreated, databaseBackupsCreated, emergencyRecoveries, initialized, getSuccessRate(),
-                    bankDataSaved, bankDataLoaded, bankDataErrors, healthDataPreserved, healthDataRepaired);
-        }
-    }
-
-    /**
-     * Enhanced Document conversion helper class with BANK DATA PERSISTENCE FIXES AND HEALTH PRESERVATION
-     */
-    private class EnhancedDocumentConverter {
-
-        /**
-         * Enhanced document validation including bank and health data
-         */
-        public boolean validateDocument(Document doc) {
-            if (doc == null) {
-                return false;
-            }
-
-            // Check required fields
-            if (!doc.containsKey("uuid") || doc.getString("uuid") == null) {
-                logger.warning("Document missing required UUID field");
-                return false;
-            }
-
-            try {
-                UUID.fromString(doc.getString("uuid"));
-            } catch (Exception e) {
-                logger.warning("Document contains invalid UUID: " + doc.getString("uuid"));
-                return false;
-            }
-
-            // Check for reasonable username
-            String username = doc.getString("username");
-            if (username == null || username.trim().isEmpty() || username.length() > 16) {
-                logger.warning("Document has invalid username: " + username);
-                return false;
-            }
-
-            // ✅ FIXED: Less aggressive health validation
-            try {
-                Double health = doc.getDouble("health");
-                Double maxHealth = doc.getDouble("max_health");
-
-                if (health != null && (Double.isNaN(health) || Double.isInfinite(health) || health < 0)) {
-                    logger.warning("Document has invalid health value: " + health);
-                    return false;
-                }
-
-                if (maxHealth != null && (Double.isNaN(maxHealth) || Double.isInfinite(maxHealth) || maxHealth <= 0 || maxHealth > 10000)) {
-                    logger.warning("Document has invalid max health value: " + maxHealth);
-                    return false;
-                }
-            } catch (Exception e) {
-                logger.fine("Error validating health values: " + e.getMessage());
-            }
-
-            // BANK DATA VALIDATION
-            try {
-                Object bankInventory = doc.get("bank_inventory");
-                if (bankInventory != null) {
-                    if (bankInventory instanceof Document) {
-                        Document bankDoc = (Document) bankInventory;
-                        for (String key : bankDoc.keySet()) {
-                            try {
-                                int pageNum = Integer.parseInt(key);
-                                if (pageNum < 1 || pageNum > 10) {
-                                    logger.warning("Document has invalid bank page number: " + pageNum);
-                                    return false;
-                                }
-                            } catch (NumberFormatException e) {
-                                logger.warning("Document has non-numeric bank page key: " + key);
-                                return false;
-                            }
-                        }
-                        logger.fine("Bank data validation passed for " + bankDoc.size() + " pages");
-                    } else {
-                        logger.warning("Document has invalid bank_inventory type: " + bankInventory.getClass());
-                        return false;
-                    }
-                }
-            } catch (Exception e) {
-                logger.warning("Error validating bank data: " + e.getMessage());
-                return false;
-            }
-
-            return true;
-        }
-
-        /**
-         * Enhanced document repair including bank and health data
-         */
-        public Document repairDocument(Document doc) {
-            if (doc == null) {
-                return null;
-            }
-
-            try {
-                Document repaired = new Document(doc);
-                boolean wasRepaired = false;
-
-                // Fix missing UUID
-                if (!repaired.containsKey("uuid") || repaired.getString("uuid") == null) {
-                    logger.warning("Cannot repair document without UUID");
-                    return null;
-                }
-
-                // Fix missing username
-                if (!repaired.containsKey("username") || repaired.getString("username") == null) {
-                    repaired.append("username", "Unknown_" + System.currentTimeMillis());
-                    wasRepaired = true;
-                    logger.info("Repaired missing username");
-                }
-
-                // Fix missing timestamps
-                long currentTime = System.currentTimeMillis() / 1000;
-                if (!repaired.containsKey("first_join") || repaired.getLong("first_join") == null) {
-                    repaired.append("first_join", currentTime);
-                    wasRepaired = true;
-                }
-
-                if (!repaired.containsKey("last_login") || repaired.getLong("last_login") == null) {
-                    repaired.append("last_login", currentTime);
-                    wasRepaired = true;
-                }
-
-                // Fix invalid numeric values
-                if (repaired.getInteger("level", 0) < 1) {
-                    repaired.append("level", 1);
-                    wasRepaired = true;
-                }
-
-                if (repaired.getInteger("bank_gems", 0) < 0) {
-                    repaired.append("bank_gems", 0);
-                    wasRepaired = true;
-                }
-
-                // ✅ FIXED: Better health value repair
-                Double health = repaired.getDouble("health");
-                if (health == null) {
-                    repaired.append("health", 50.0);
-                    wasRepaired = true;
-                    healthDataRepaired.incrementAndGet();
-                }
-
-                Double maxHealth = repaired.getDouble("max_health");
-                if (maxHealth == null || Double.isNaN(maxHealth) || Double.isInfinite(maxHealth) || maxHealth <= 0 || maxHealth > 10000) {
-                    repaired.append("max_health", 50.0);
-                    wasRepaired = true;
-                    healthDataRepaired.incrementAndGet();
-                }
-
-                // Ensure health doesn't exceed max health by too much
-                health = repaired.getDouble("health");
-                maxHealth = repaired.getDouble("max_health");
-                if (health != null && maxHealth != null && health > maxHealth * 2) {
-                    repaired.append("health", maxHealth);
-                    wasRepaired = true;
-                    healthDataRepaired.incrementAndGet();
-                }
-
-                // BANK DATA REPAIR
-                try {
-                    Object bankInventory = repaired.get("bank_inventory");
-                    if (bankInventory != null && !(bankInventory instanceof Document)) {
-                        logger.warning("Repairing invalid bank_inventory type, removing corrupted data");
-                        repaired.remove("bank_inventory");
-                        wasRepaired = true;
-                    } else if (bankInventory instanceof Document) {
-                        Document bankDoc = (Document) bankInventory;
-                        Document repairedBankDoc = new Document();
-                        boolean bankRepaired = false;
-
-                        for (Map.Entry<String, Object> entry : bankDoc.entrySet()) {
-                            try {
-                                int pageNum = Integer.parseInt(entry.getKey());
-                                if (pageNum >= 1 && pageNum <= 10 && entry.getValue() instanceof String) {
-                                    repairedBankDoc.append(entry.getKey(), entry.getValue());
-                                } else {
-                                    logger.warning("Removing invalid bank page: " + entry.getKey());
-                                    bankRepaired = true;
-                                }
-                            } catch (NumberFormatException e) {
-                                logger.warning("Removing bank page with invalid key: " + entry.getKey());
-                                bankRepaired = true;
-                            }
-                        }
-
-                        if (bankRepaired) {
-                            repaired.append("bank_inventory", repairedBankDoc);
-                            wasRepaired = true;
-                            logger.info("Repaired bank inventory data");
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.warning("Error repairing bank data, removing: " + e.getMessage());
-                    repaired.remove("bank_inventory");
-                    wasRepaired = true;
-                }
-
-                if (wasRepaired) {
-                    logger.info("✅ Successfully repaired document with bank and health data for UUID: " + repaired.getString("uuid"));
-                    return repaired;
-                }
-
-                return repaired;
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Failed to repair document", e);
-                return null;
-            }
-        }
-
-        /**
-         * ✅ FIXED: Enhanced document to player conversion with PROPER HEALTH LOADING
-         */
-        public YakPlayer documentToPlayer(Document doc) {
-            if (doc == null) {
-                logger.warning("Cannot convert null document to player");
-                return null;
-            }
-
-            try {
-                String uuidStr = doc.getString("uuid");
-                if (uuidStr == null || uuidStr.trim().isEmpty()) {
-                    logger.severe("Document missing UUID field");
-                    return null;
-                }
-
-                UUID uuid;
-                try {
-                    uuid = UUID.fromString(uuidStr);
-                } catch (IllegalArgumentException e) {
-                    logger.severe("Invalid UUID format: " + uuidStr);
-                    return null;
-                }
-
-                YakPlayer player = new YakPlayer(uuid);
-
-                // Load basic information with safe defaults
-                player.setUsername(safeGetString(doc, "username", "Unknown_" + System.currentTimeMillis()));
-                player.setLastLogin(safeGetLong(doc, "last_login", System.currentTimeMillis() / 1000));
-                player.setLastLogout(safeGetLong(doc, "last_logout", 0L));
-                player.setFirstJoin(safeGetLong(doc, "first_join", System.currentTimeMillis() / 1000));
-                player.setTotalPlaytime(safeGetLong(doc, "total_playtime", 0L));
-
-                String ipAddress = safeGetString(doc, "ip_address", null);
-                if (ipAddress != null) {
-                    player.setIpAddress(ipAddress);
-                }
-
-                // Load progression with validation
-                player.setLevel(Math.max(1, Math.min(200, safeGetInteger(doc, "level", 1))));
-                player.setExp(Math.max(0, safeGetInteger(doc, "exp", 0)));
-                player.setMonsterKills(Math.max(0, safeGetInteger(doc, "monster_kills", 0)));
-                player.setPlayerKills(Math.max(0, safeGetInteger(doc, "player_kills", 0)));
-                player.setDeaths(Math.max(0, safeGetInteger(doc, "deaths", 0)));
-                player.setOreMined(Math.max(0, safeGetInteger(doc, "ore_mined", 0)));
-                player.setFishCaught(Math.max(0, safeGetInteger(doc, "fish_caught", 0)));
-                player.setBlocksBroken(Math.max(0, safeGetInteger(doc, "blocks_broken", 0)));
-                player.setDistanceTraveled(Math.max(0.0, safeGetDouble(doc, "distance_traveled", 0.0)));
-
-                // Load economic data with validation
-                player.setBankGems(Math.max(0, safeGetInteger(doc, "bank_gems", 0)));
-                player.setEliteShards(Math.max(0, safeGetInteger(doc, "elite_shards", 0)));
-
-                // Load bank data
-                player.setBankPages(Math.max(1, Math.min(10, safeGetInteger(doc, "bank_pages", 1))));
-
-                // *** CRITICAL FIX: LOAD BANK INVENTORY DATA ***
-                try {
-                    Object bankInventoryObj = doc.get("bank_inventory");
-                    if (bankInventoryObj instanceof Document) {
-                        Document bankInventoryDoc = (Document) bankInventoryObj;
-                        int loadedPages = 0;
-
-                        for (Map.Entry<String, Object> entry : bankInventoryDoc.entrySet()) {
-                            try {
-                                int pageNum = Integer.parseInt(entry.getKey());
-                                if (pageNum >= 1 && pageNum <= 10 && entry.getValue() instanceof String) {
-                                    String serializedData = (String) entry.getValue();
-                                    if (serializedData != null && !serializedData.trim().isEmpty()) {
-                                        player.setSerializedBankItems(pageNum, serializedData);
-                                        loadedPages++;
-                                    }
-                                } else {
-                                    logger.warning("Invalid bank page data: " + entry.getKey() + " = " + entry.getValue());
-                                }
-                            } catch (NumberFormatException e) {
-                                logger.warning("Invalid bank page number: " + entry.getKey());
-                            }
-                        }
-
-                        if (loadedPages > 0) {
-                            bankDataLoaded.incrementAndGet();
-                            logger.info("✅ Loaded " + loadedPages + " bank pages for player: " + player.getUsername());
-                        }
-                    } else if (bankInventoryObj != null) {
-                        logger.warning("Bank inventory data is not a Document for player: " + player.getUsername() +
-                                " - type: " + bankInventoryObj.getClass());
-                        bankDataErrors.incrementAndGet();
-                    }
-                } catch (Exception e) {
-                    logger.log(Level.WARNING, "Error loading bank inventory data for player: " + player.getUsername(), e);
-                    bankDataErrors.incrementAndGet();
-                }
-
-                // Load collection bin data
-                player.setSerializedCollectionBin(safeGetString(doc, "collection_bin", null));
-
-                // Continue with all other fields as in original...
-                // Load alignment data
-                player.setAlignment(safeGetString(doc, "alignment", "LAWFUL"));
-                player.setChaoticTime(safeGetLong(doc, "chaotic_time", 0L));
-                player.setNeutralTime(safeGetLong(doc, "neutral_time", 0L));
-                player.setAlignmentChanges(safeGetInteger(doc, "alignment_changes", 0));
-
-                // Load moderation data
-                player.setRank(safeGetString(doc, "rank", "DEFAULT"));
-                player.setBanned(safeGetBoolean(doc, "banned", false));
-                player.setBanReason(safeGetString(doc, "ban_reason", ""));
-                player.setBanExpiry(safeGetLong(doc, "ban_expiry", 0L));
-                player.setMuteTime(safeGetInteger(doc, "muted", 0));
-                player.setWarnings(safeGetInteger(doc, "warnings", 0));
-                player.setLastWarning(safeGetLong(doc, "last_warning", 0L));
-
-                // Load chat data
-                player.setChatTag(safeGetString(doc, "chat_tag", "DEFAULT"));
-                List<String> unlockedTags = safeGetStringList(doc, "unlocked_chat_tags");
-                if (unlockedTags != null) {
-                    player.setUnlockedChatTags(unlockedTags);
-                }
-                player.setChatColor(safeGetString(doc, "chat_color", "WHITE"));
-
-                // Load mount and guild data
-                player.setHorseTier(safeGetInteger(doc, "horse_tier", 0));
-                player.setHorseName(safeGetString(doc, "horse_name", ""));
-                player.setGuildName(safeGetString(doc, "guild_name", ""));
-                player.setGuildRank(safeGetString(doc, "guild_rank", ""));
-                player.setGuildContribution(safeGetInteger(doc, "guild_contribution", 0));
-
-                // Load player preferences
-                List<String> toggleList = safeGetStringList(doc, "toggle_settings");
-                if (toggleList != null) {
-                    player.setToggleSettings(new HashSet<>(toggleList));
-                }
-
-                // Load location and state data
-                player.setWorld(safeGetString(doc, "world", null));
-                player.setLocationX(safeGetDouble(doc, "location_x", 0.0));
-                player.setLocationY(safeGetDouble(doc, "location_y", 64.0)); // Safe default Y
-                player.setLocationZ(safeGetDouble(doc, "location_z", 0.0));
-                player.setLocationYaw(safeGetFloat(doc, "location_yaw", 0.0f));
-                player.setLocationPitch(safeGetFloat(doc, "location_pitch", 0.0f));
-                player.setPreviousLocation(safeGetString(doc, "previous_location", null));
-
-                // Load serialized inventory data
-                player.setSerializedInventory(safeGetString(doc, "inventory_contents", null));
-                player.setSerializedArmor(safeGetString(doc, "armor_contents", null));
-                player.setSerializedEnderChest(safeGetString(doc, "ender_chest_contents", null));
-                player.setSerializedOffhand(safeGetString(doc, "offhand_item", null));
-
-                // Load respawn items storage
-                player.setSerializedRespawnItems(safeGetString(doc, "respawn_items", null));
-                player.setRespawnItemCount(safeGetInteger(doc, "respawn_item_count", 0));
-                player.setDeathTimestamp(safeGetLong(doc, "death_timestamp", 0L));
-
-                // ✅ CRITICAL FIX: Proper health loading with preservation
-                double savedHealth = safeGetDouble(doc, "health", 50.0);
-                double savedMaxHealth = safeGetDouble(doc, "max_health", 50.0);
-
-                // ✅ IMPROVED VALIDATION: Only reset if truly invalid, not just unusual values
-                boolean healthNeedsRepair = false;
-
-                // Check for truly invalid max health (NaN, Infinite, or unreasonably extreme values)
-                if (Double.isNaN(savedMaxHealth) || Double.isInfinite(savedMaxHealth) ||
-                        savedMaxHealth <= 0 || savedMaxHealth > 10000) {
-                    logger.warning("Invalid max health detected for player: " + player.getUsername() +
-                            " (value: " + savedMaxHealth + "), using default");
-                    savedMaxHealth = 50.0;
-                    healthNeedsRepair = true;
-                    healthDataRepaired.incrementAndGet();
-                }
-
-                // Check for truly invalid health (NaN, Infinite, negative)
-                if (Double.isNaN(savedHealth) || Double.isInfinite(savedHealth) || savedHealth < 0) {
-                    logger.warning("Invalid health detected for player: " + player.getUsername() +
-                            " (value: " + savedHealth + "), setting to max health");
-                    savedHealth = savedMaxHealth;
-                    healthNeedsRepair = true;
-                    healthDataRepaired.incrementAndGet();
-                }
-
-                // ✅ ALLOW health to exceed max health temporarily - this can happen with equipment changes
-                // Only cap it if it's extremely beyond reasonable bounds
-                if (savedHealth > savedMaxHealth * 2) {
-                    logger.info("Health significantly exceeds max health for player: " + player.getUsername() +
-                            " (" + savedHealth + "/" + savedMaxHealth + "), capping to max health");
-                    savedHealth = savedMaxHealth;
-                    healthDataRepaired.incrementAndGet();
-                }
-
-                player.setHealth(savedHealth);
-                player.setMaxHealth(savedMaxHealth);
-
-                if (healthNeedsRepair) {
-                    logger.info("Repaired health values for player: " + player.getUsername() +
-                            " (Health: " + savedHealth + "/" + savedMaxHealth + ")");
-                } else {
-                    healthDataPreserved.incrementAndGet();
-                    logger.fine("Loaded health for player: " + player.getUsername() +
-                            " (Health: " + savedHealth + "/" + savedMaxHealth + ")");
-                }
-
-                player.setFoodLevel(Math.max(0, Math.min(20, safeGetInteger(doc, "food_level", 20))));
-
-                float saturation = safeGetFloat(doc, "saturation", 5.0f);
-                if (Float.isNaN(saturation) || Float.isInfinite(saturation)) {
-                    saturation = 5.0f;
-                }
-                player.setSaturation(Math.max(0, Math.min(20, saturation)));
-
-                player.setXpLevel(Math.max(0, Math.min(21863, safeGetInteger(doc, "xp_level", 0))));
-                player.setXpProgress(Math.max(0, Math.min(1, safeGetFloat(doc, "xp_progress", 0.0f))));
-                player.setTotalExperience(Math.max(0, safeGetInteger(doc, "total_experience", 0)));
-                player.setBedSpawnLocation(safeGetString(doc, "bed_spawn_location", null));
-                player.setGameMode(safeGetString(doc, "gamemode", "SURVIVAL"));
-
-                // Load combat logout state management with enhanced safety
-                String combatLogoutStateStr = safeGetString(doc, "combat_logout_state", null);
-                if (combatLogoutStateStr != null && !combatLogoutStateStr.trim().isEmpty()) {
-                    try {
-                        YakPlayer.CombatLogoutState state = YakPlayer.CombatLogoutState.valueOf(combatLogoutStateStr);
-                        player.setCombatLogoutState(state);
-                    } catch (IllegalArgumentException e) {
-                        logger.warning("Invalid combat logout state: " + combatLogoutStateStr + " for player " + player.getUsername());
-                        player.setCombatLogoutState(YakPlayer.CombatLogoutState.NONE);
-                    }
-                } else {
-                    player.setCombatLogoutState(YakPlayer.CombatLogoutState.NONE);
-                }
-
-                logger.info("✅ Successfully converted FRESH document to player with bank and health data: " + player.getUsername() +
-                        " (State: " + player.getCombatLogoutState() + ", Bank Pages: " + player.getBankPages() +
-                        ", Bank Data: " + player.getAllSerializedBankItems().size() + " pages" +
-                        ", Health: " + savedHealth + "/" + savedMaxHealth + ")");
-                return player;
-
-            } catch (Exception e) {
-                logger.log(Level.SEVERE, "Error converting document to player", e);
-                return null;
-            }
-        }
-
-        /**
-         * ✅ FIXED: Enhanced player to document conversion with PROPER HEALTH SAVING
-         */
-        public Document playerToDocument(YakPlayer player) {
-            if (player == null || player.getUUID() == null) {
-                logger.warning("Cannot convert null player or player with null UUID to document");
-                return null;
-            }
-
-            try {
-                Document doc = new Document();
-
-                // Basic identification - required fields
-                doc.append("uuid", player.getUUID().toString());
-                doc.append("username", player.getUsername() != null ? player.getUsername() : "Unknown");
-                doc.append("last_login", player.getLastLogin());
-                doc.append("last_logout", player.getLastLogout());
-                doc.append("first_join", player.getFirstJoin());
-                doc.append("total_playtime", player.getTotalPlaytime());
-
-                if (player.getIpAddress() != null && !player.getIpAddress().trim().isEmpty()) {
-                    doc.append("ip_address", player.getIpAddress());
-                }
-
-                // ✅ CRITICAL FIX: Better health saving with less aggressive validation
-                double health = player.getHealth();
-                double maxHealth = player.getMaxHealth();
-
-                // ✅ IMPROVED VALIDATION: Only "fix" truly broken values
-                boolean healthWasFixed = false;
-
-                // Only fix truly invalid max health values
-                if (Double.isNaN(maxHealth) || Double.isInfinite(maxHealth) || maxHealth <= 0 || maxHealth > 10000) {
-                    logger.warning("Fixing invalid max health before save for " + player.getUsername() +
-                            " (was: " + maxHealth + ", setting to: 50.0)");
-                    maxHealth = 50.0;
-                    healthWasFixed = true;
-                    healthDataRepaired.incrementAndGet();
-                }
-
-                // Only fix truly invalid health values
-                if (Double.isNaN(health) || Double.isInfinite(health) || health < 0) {
-                    logger.warning("Fixing invalid health before save for " + player.getUsername() +
-                            " (was: " + health + ", setting to: " + maxHealth + ")");
-                    health = maxHealth;
-                    healthWasFixed = true;
-                    healthDataRepaired.incrementAndGet();
-                }
-
-                // ✅ ALLOW health to be above max health - this is normal during equipment changes
-                // Only warn if it's extremely high
-                if (health > maxHealth * 2) {
-                    logger.info("Player " + player.getUsername() + " has health significantly above max health: " +
-                            health + "/" + maxHealth + " - this may indicate equipment was removed");
-                }
-
-                doc.append("health", health);
-                doc.append("max_health", maxHealth);
-
-                if (healthWasFixed) {
-                    logger.info("Fixed health values before saving for " + player.getUsername() +
-                            " (Health: " + health + "/" + maxHealth + ")");
-                } else {
-                    healthDataPreserved.incrementAndGet();
-                    logger.fine("Saving health for " + player.getUsername() +
-                            " (Health: " + health + "/" + maxHealth + ")");
-                }
-
-                // Enhanced food and saturation validation
-                doc.append("food_level", Math.max(0, Math.min(20, player.getFoodLevel())));
-
-                float saturation = player.getSaturation();
-                if (Float.isNaN(saturation) || Float.isInfinite(saturation)) {
-                    saturation = 5.0f;
-                }
-                doc.append("saturation", Math.max(0, Math.min(20, saturation)));
-
-                // Progression with validation
-                doc.append("level", Math.max(1, Math.min(200, player.getLevel())));
-                doc.append("exp", Math.max(0, player.getExp()));
-                doc.append("monster_kills", Math.max(0, player.getMonsterKills()));
-                doc.append("player_kills", Math.max(0, player.getPlayerKills()));
-                doc.append("deaths", Math.max(0, player.getDeaths()));
-                doc.append("ore_mined", Math.max(0, player.getOreMined()));
-                doc.append("fish_caught", Math.max(0, player.getFishCaught()));
-                doc.append("blocks_broken", Math.max(0, player.getBlocksBroken()));
-                doc.append("distance_traveled", Math.max(0.0, player.getDistanceTraveled()));
-
-                // Economic data with validation
-                doc.append("bank_gems", Math.max(0, player.getBankGems()));
-                doc.append("elite_shards", Math.max(0, player.getEliteShards()));
-
-                // Bank system data
-                doc.append("bank_pages", Math.max(1, Math.min(10, player.getBankPages())));
-
-                // *** CRITICAL FIX: SAVE BANK INVENTORY DATA ***
-                try {
-                    Map<Integer, String> bankItems = player.getAllSerializedBankItems();
-                    if (bankItems != null && !bankItems.isEmpty()) {
-                        Document bankInventoryDoc = new Document();
-                        int savedPages = 0;
-
-                        for (Map.Entry<Integer, String> entry : bankItems.entrySet()) {
-                            Integer pageNum = entry.getKey();
-                            String serializedData = entry.getValue();
-
-                            if (pageNum != null && pageNum >= 1 && pageNum <= 10 &&
-                                    serializedData != null && !serializedData.trim().isEmpty()) {
-                                bankInventoryDoc.append(pageNum.toString(), serializedData);
-                                savedPages++;
-                            }
-                        }
-
-                        if (savedPages > 0) {
-                            doc.append("bank_inventory", bankInventoryDoc);
-                            bankDataSaved.incrementAndGet();
-                            logger.info("✅ Saved " + savedPages + " bank pages for player: " + player.getUsername());
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.log(Level.SEVERE, "Error saving bank inventory data for player: " + player.getUsername(), e);
-                    bankDataErrors.incrementAndGet();
-                }
-
-                // Collection bin data
-                if (player.getSerializedCollectionBin() != null && !player.getSerializedCollectionBin().trim().isEmpty()) {
-                    doc.append("collection_bin", player.getSerializedCollectionBin());
-                }
-
-                // Continue with all other fields as in original...
-                // Alignment data
-                doc.append("alignment", player.getAlignment() != null ? player.getAlignment() : "LAWFUL");
-                doc.append("chaotic_time", player.getChaoticTime());
-                doc.append("neutral_time", player.getNeutralTime());
-                doc.append("alignment_changes", player.getAlignmentChanges());
-
-                // Moderation data
-                doc.append("rank", player.getRank() != null ? player.getRank() : "DEFAULT");
-                doc.append("banned", player.isBanned());
-                doc.append("ban_reason", player.getBanReason() != null ? player.getBanReason() : "");
-                doc.append("ban_expiry", player.getBanExpiry());
-                doc.append("muted", player.getMuteTime());
-                doc.append("warnings", player.getWarnings());
-                doc.append("last_warning", player.getLastWarning());
-
-                // Chat data
-                doc.append("chat_tag", player.getChatTag() != null ? player.getChatTag() : "DEFAULT");
-                doc.append("unlocked_chat_tags", new ArrayList<>(player.getUnlockedChatTags()));
-                doc.append("chat_color", player.getChatColor() != null ? player.getChatColor() : "WHITE");
-
-                // Mount and Guild data
-                doc.append("horse_tier", player.getHorseTier());
-                doc.append("horse_name", player.getHorseName() != null ? player.getHorseName() : "");
-                doc.append("guild_name", player.getGuildName() != null ? player.getGuildName() : "");
-                doc.append("guild_rank", player.getGuildRank() != null ? player.getGuildRank() : "");
-                doc.append("guild_contribution", player.getGuildContribution());
-
-                // Player preferences
-                doc.append("toggle_settings", new ArrayList<>(player.getToggleSettings()));
-
-                // Location and state data
-                doc.append("world", player.getWorld());
-                doc.append("location_x", player.getLocationX());
-                doc.append("location_y", player.getLocationY());
-                doc.append("location_z", player.getLocationZ());
-                doc.append("location_yaw", player.getLocationYaw());
-                doc.append("location_pitch", player.getLocationPitch());
-
-                // Serialized inventory data
-                doc.append("inventory_contents", player.getSerializedInventory());
-                doc.append("armor_contents", player.getSerializedArmor());
-                doc.append("ender_chest_contents", player.getSerializedEnderChest());
-                doc.append("offhand_item", player.getSerializedOffhand());
-
-                // Respawn items storage
-                doc.append("respawn_items", player.getSerializedRespawnItems());
-                doc.append("respawn_item_count", player.getRespawnItemCount());
-                doc.append("death_timestamp", player.getDeathTimestamp());
-
-                // Enhanced XP validation
-                doc.append("xp_level", Math.max(0, Math.min(21863, player.getXpLevel())));
-                doc.append("xp_progress", Math.max(0, Math.min(1, player.getXpProgress())));
-                doc.append("total_experience", Math.max(0, player.getTotalExperience()));
-                doc.append("bed_spawn_location", player.getBedSpawnLocation());
-                doc.append("gamemode", player.getGameMode() != null ? player.getGameMode() : "SURVIVAL");
-
-                // Combat logout state management
-                doc.append("combat_logout_state", player.getCombatLogoutState().name());
-
-                // Enhanced metadata
-                doc.append("last_save_timestamp", System.currentTimeMillis());
-                doc.append("save_version", "v4_bank_health_fixed");
-                doc.append("connection_state_validated", true);
-
-                logger.info("✅ Successfully converted player to FRESH document with bank and health data: " + player.getUsername() +
-                        " (Bank Pages: " + player.getBankPages() + ", Bank Data: " + player.getAllSerializedBankItems().size() + " pages" +
-                        ", Health: " + health + "/" + maxHealth + ")");
-                return doc;
-
-            } catch (Exception e) {
-                logger.log(Level.SEVERE, "Error converting player to document: " + player.getUsername(), e);
-                return null;
-            }
-        }
-
-        // Enhanced safe getter methods
-        private String safeGetString(Document doc, String key, String defaultValue) {
-            try {
-                String value = doc.getString(key);
-                return value != null ? value : defaultValue;
-            } catch (Exception e) {
-                logger.fine("Error getting string field " + key + ": " + e.getMessage());
-                return defaultValue;
-            }
-        }
-
-        private Integer safeGetInteger(Document doc, String key, Integer defaultValue) {
-            try {
-                Integer value = doc.getInteger(key);
-                return value != null ? value : defaultValue;
-            } catch (Exception e) {
-                logger.fine("Error getting integer field " + key + ": " + e.getMessage());
-                return defaultValue;
-            }
-        }
-
-        private Long safeGetLong(Document doc, String key, Long defaultValue) {
-            try {
-                Long value = doc.getLong(key);
-                return value != null ? value : defaultValue;
-            } catch (Exception e) {
-                logger.fine("Error getting long field " + key + ": " + e.getMessage());
-                return defaultValue;
-            }
-        }
-
-        private Double safeGetDouble(Document doc, String key, Double defaultValue) {
-            try {
-                Double value = doc.getDouble(key);
-                if (value != null && !Double.isNaN(value) && !Double.isInfinite(value)) {
-                    return value;
-                }
-                return defaultValue;
-            } catch (Exception e) {
-                logger.fine("Error getting double field " + key + ": " + e.getMessage());
-                return defaultValue;
-            }
-        }
-
-        private Float safeGetFloat(Document doc, String key, Float defaultValue) {
-            try {
-                // MongoDB might store as Double, so handle both cases
-                Object value = doc.get(key);
-                if (value instanceof Number) {
-                    float floatValue = ((Number) value).floatValue();
-                    if (!Float.isNaN(floatValue) && !Float.isInfinite(floatValue)) {
-                        return floatValue;
-                    }
-                }
-                return defaultValue;
-            } catch (Exception e) {
-                logger.fine("Error getting float field " + key + ": " + e.getMessage());
-                return defaultValue;
-            }
-        }
-
-        private Boolean safeGetBoolean(Document doc, String key, Boolean defaultValue) {
-            try {
-                Boolean value = doc.getBoolean(key);
-                return value != null ? value : defaultValue;
-            } catch (Exception e) {
-                logger.fine("Error getting boolean field " + key + ": " + e.getMessage());
-                return defaultValue;
-            }
-        }
-
-        private List<String> safeGetStringList(Document doc, String key) {
-            try {
-                @SuppressWarnings("unchecked")
-                List<String> value = doc.getList(key, String.class);
-                return value;
-            } catch (Exception e) {
-                logger.fine("Error getting string list field " + key + ": " + e.getMessage());
-                return null;
-            }
+                    localBackupsCreated, databaseBackupsCreated, backupsSkipped, emergencyRecoveries, initialized, getSuccessRate(),
+                    bankDataSaved, bankDataLoaded, bankDataErrors, healthDataPreserved, healthDataRepaired,
+                    documentsMigrated, documentsRepaired,
+                    fullWrites, deltaWrites, skippedWrites, counterFlushes, counterFlushFailures);
         }
     }
-}
\ No newline at end of file
+}
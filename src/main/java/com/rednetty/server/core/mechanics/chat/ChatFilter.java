@@ -0,0 +1,417 @@
+package com.rednetty.server.core.mechanics.chat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled banned-word filter.
+ *
+ * <p>The word list is normalized and compiled once into an Aho-Corasick automaton, so a
+ * message is checked against every word in a single left-to-right pass no matter how long
+ * the list is. Messages go through the same normalization before scanning: case folding,
+ * common leetspeak substitutions, look-alike letters from other scripts, and removal of
+ * zero-width characters. Matches only count on word boundaries, like the {@code \b...\b}
+ * regexes this replaces, and are reported in original-message offsets.
+ *
+ * <p>Instances are immutable and safe to share between chat threads; a reload compiles a
+ * new instance and swaps the reference.
+ */
+public final class ChatFilter {
+
+    /** Replacement for every matched word, same as the old regex filter */
+    public static final String MASK = "*****";
+
+    private static final int ROOT = 0;
+
+    private static final Map<Character, Character> SUBSTITUTIONS = buildSubstitutions();
+
+    // Trie, one entry per node; transitions are sorted by character
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    private final int[] wordAt;      // word ending exactly at this node, or -1
+    private final int[] outputLink;  // nearest proper suffix node that ends a word, or -1
+    private final String[] words;
+    private final int[] wordLengths;
+
+    private ChatFilter(char[][] edgeChars, int[][] edgeTargets, int[] failure, int[] wordAt,
+                       int[] outputLink, String[] words, int[] wordLengths) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.wordAt = wordAt;
+        this.outputLink = outputLink;
+        this.words = words;
+        this.wordLengths = wordLengths;
+    }
+
+    /**
+     * A banned word found in a message.
+     */
+    public static final class Match {
+        private final String word;
+        private final int start;
+        private final int end;
+
+        private Match(String word, int start, int end) {
+            this.word = word;
+            this.start = start;
+            this.end = end;
+        }
+
+        /** The list entry that matched, normalized */
+        public String getWord() {
+            return word;
+        }
+
+        /** Start offset in the original message, inclusive */
+        public int getStart() {
+            return start;
+        }
+
+        /** End offset in the original message, exclusive */
+        public int getEnd() {
+            return end;
+        }
+    }
+
+    /**
+     * Outcome of scanning one message; reusable by moderation hooks without rescanning.
+     */
+    public static final class Result {
+        private final String original;
+        private final List<Match> matches;
+        private String filtered;
+
+        private Result(String original, List<Match> matches) {
+            this.original = original;
+            this.matches = matches;
+        }
+
+        public String getOriginal() {
+            return original;
+        }
+
+        public List<Match> getMatches() {
+            return matches;
+        }
+
+        public boolean hasMatches() {
+            return !matches.isEmpty();
+        }
+
+        /**
+         * The message with every match replaced by {@link #MASK}.
+         */
+        public String getFiltered() {
+            if (filtered == null) {
+                filtered = mask();
+            }
+            return filtered;
+        }
+
+        private String mask() {
+            if (matches.isEmpty()) {
+                return original;
+            }
+            StringBuilder builder = new StringBuilder(original.length());
+            int position = 0;
+            for (Match match : matches) {
+                builder.append(original, position, match.start).append(MASK);
+                position = match.end;
+            }
+            builder.append(original, position, original.length());
+            return builder.toString();
+        }
+    }
+
+    // ================ COMPILATION ================
+
+    /**
+     * Compile a word list. Blank entries and entries that normalize to nothing are ignored.
+     */
+    public static ChatFilter compile(Collection<String> wordList) {
+        Set<String> normalizedWords = new LinkedHashSet<>();
+        for (String word : wordList) {
+            if (word == null) continue;
+            String normalized = normalize(word.trim()).text;
+            if (!normalized.isEmpty()) {
+                normalizedWords.add(normalized);
+            }
+        }
+
+        // Build the trie with hash maps, then freeze it into sorted arrays
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        children.add(new HashMap<>());
+        terminal.add(-1);
+
+        String[] words = normalizedWords.toArray(new String[0]);
+        int[] wordLengths = new int[words.length];
+        for (int w = 0; w < words.length; w++) {
+            String word = words[w];
+            wordLengths[w] = word.length();
+            int node = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    terminal.add(-1);
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            terminal.set(node, w);
+        }
+
+        int nodeCount = children.size();
+        char[][] edgeChars = new char[nodeCount][];
+        int[][] edgeTargets = new int[nodeCount][];
+        int[] wordAt = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            Map<Character, Integer> edges = children.get(node);
+            char[] chars = new char[edges.size()];
+            int i = 0;
+            for (char c : edges.keySet()) {
+                chars[i++] = c;
+            }
+            Arrays.sort(chars);
+            int[] targets = new int[chars.length];
+            for (i = 0; i < chars.length; i++) {
+                targets[i] = edges.get(chars[i]);
+            }
+            edgeChars[node] = chars;
+            edgeTargets[node] = targets;
+            wordAt[node] = terminal.get(node);
+        }
+
+        // Breadth-first pass for failure and output links
+        int[] failure = new int[nodeCount];
+        int[] outputLink = new int[nodeCount];
+        Arrays.fill(outputLink, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[ROOT]) {
+            failure[target] = ROOT;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < edgeChars[node].length; i++) {
+                char c = edgeChars[node][i];
+                int child = edgeTargets[node][i];
+
+                int fallback = failure[node];
+                int next;
+                while ((next = step(edgeChars, edgeTargets, fallback, c)) < 0 && fallback != ROOT) {
+                    fallback = failure[fallback];
+                }
+                failure[child] = next >= 0 && next != child ? next : ROOT;
+
+                int suffix = failure[child];
+                outputLink[child] = wordAt[suffix] >= 0 ? suffix : outputLink[suffix];
+                queue.add(child);
+            }
+        }
+
+        return new ChatFilter(edgeChars, edgeTargets, failure, wordAt, outputLink, words, wordLengths);
+    }
+
+    private static int step(char[][] edgeChars, int[][] edgeTargets, int node, char c) {
+        int index = Arrays.binarySearch(edgeChars[node], c);
+        return index >= 0 ? edgeTargets[node][index] : -1;
+    }
+
+    // ================ SCANNING ================
+
+    /**
+     * Scan a message in one pass.
+     *
+     * @return Non-overlapping matches, leftmost-longest first
+     */
+    public Result scan(String message) {
+        if (message == null || message.isEmpty() || words.length == 0) {
+            return new Result(message == null ? "" : message, Collections.emptyList());
+        }
+
+        Normalized normalized = normalize(message);
+        String text = normalized.text;
+
+        // Best (longest) match ending at each start position
+        int[] bestEnd = null;
+        int[] bestWord = null;
+
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = step(edgeChars, edgeTargets, state, c)) < 0 && state != ROOT) {
+                state = failure[state];
+            }
+            state = next >= 0 ? next : ROOT;
+
+            for (int node = wordAt[state] >= 0 ? state : outputLink[state]; node >= 0; node = outputLink[node]) {
+                int word = wordAt[node];
+                int start = i - wordLengths[word] + 1;
+                if (!isBoundary(message, normalized, start - 1) || !isBoundary(message, normalized, i + 1)) continue;
+
+                if (bestEnd == null) {
+                    bestEnd = new int[text.length()];
+                    bestWord = new int[text.length()];
+                    Arrays.fill(bestWord, -1);
+                }
+                if (bestWord[start] < 0 || bestEnd[start] < i + 1) {
+                    bestEnd[start] = i + 1;
+                    bestWord[start] = word;
+                }
+            }
+        }
+
+        if (bestEnd == null) {
+            return new Result(message, Collections.emptyList());
+        }
+
+        List<Match> matches = new ArrayList<>();
+        int covered = 0;
+        for (int start = 0; start < text.length(); start++) {
+            if (bestWord[start] < 0 || start < covered) continue;
+            int end = bestEnd[start];
+            matches.add(new Match(words[bestWord[start]],
+                    normalized.originalIndex[start], normalized.originalIndex[end - 1] + 1));
+            covered = end;
+        }
+        return new Result(message, Collections.unmodifiableList(matches));
+    }
+
+    public int getWordCount() {
+        return words.length;
+    }
+
+    public int getNodeCount() {
+        return failure.length;
+    }
+
+    /**
+     * Boundaries are judged on the original characters, so punctuation that normalizes to a
+     * letter ("shit!" -> "shiti") still ends a word while "sh!t" still matches inside one.
+     */
+    private static boolean isBoundary(String message, Normalized normalized, int index) {
+        if (index < 0 || index >= normalized.originalIndex.length) {
+            return true;
+        }
+        return !Character.isLetterOrDigit(message.charAt(normalized.originalIndex[index]));
+    }
+
+    // ================ NORMALIZATION ================
+
+    private static final class Normalized {
+        final String text;
+        final int[] originalIndex;
+
+        Normalized(String text, int[] originalIndex) {
+            this.text = text;
+            this.originalIndex = originalIndex;
+        }
+    }
+
+    /**
+     * Fold a string to the form the automaton works on, remembering where each folded
+     * character came from in the original.
+     */
+    private static Normalized normalize(String input) {
+        StringBuilder text = new StringBuilder(input.length());
+        int[] originalIndex = new int[input.length()];
+        int length = 0;
+
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (isInvisible(c)) continue;
+
+            Character substitute = SUBSTITUTIONS.get(c);
+            char folded = substitute != null ? substitute : Character.toLowerCase(c);
+            // Full-width Latin (U+FF01-FF5E) maps onto ASCII
+            if (folded >= '\uFF01' && folded <= '\uFF5E') {
+                folded = Character.toLowerCase((char) (folded - 0xFEE0));
+                Character again = SUBSTITUTIONS.get(folded);
+                if (again != null) folded = again;
+            }
+
+            text.append(folded);
+            originalIndex[length++] = i;
+        }
+        return new Normalized(text.toString(), Arrays.copyOf(originalIndex, length));
+    }
+
+    private static boolean isInvisible(char c) {
+        return c == '\u200B' || c == '\u200C' || c == '\u200D' || c == '\u2060' || c == '\uFEFF'
+                || c == '\u00AD' || Character.getType(c) == Character.NON_SPACING_MARK;
+    }
+
+    private static Map<Character, Character> buildSubstitutions() {
+        Map<Character, Character> map = new HashMap<>();
+
+        // Leetspeak
+        map.put('0', 'o');
+        map.put('1', 'i');
+        map.put('3', 'e');
+        map.put('4', 'a');
+        map.put('5', 's');
+        map.put('7', 't');
+        map.put('8', 'b');
+        map.put('@', 'a');
+        map.put('$', 's');
+        map.put('!', 'i');
+        map.put('|', 'l');
+
+        // Cyrillic look-alikes
+        putBoth(map, 'а', 'А', 'a');
+        putBoth(map, 'в', 'В', 'b');
+        putBoth(map, 'е', 'Е', 'e');
+        putBoth(map, 'ё', 'Ё', 'e');
+        putBoth(map, 'к', 'К', 'k');
+        putBoth(map, 'м', 'М', 'm');
+        putBoth(map, 'н', 'Н', 'h');
+        putBoth(map, 'о', 'О', 'o');
+        putBoth(map, 'р', 'Р', 'p');
+        putBoth(map, 'с', 'С', 'c');
+        putBoth(map, 'т', 'Т', 't');
+        putBoth(map, 'у', 'У', 'y');
+        putBoth(map, 'х', 'Х', 'x');
+        putBoth(map, 'і', 'І', 'i');
+        putBoth(map, 'ј', 'Ј', 'j');
+        putBoth(map, 'ѕ', 'Ѕ', 's');
+        putBoth(map, 'г', 'Г', 'r');
+
+        // Greek look-alikes
+        putBoth(map, 'α', 'Α', 'a');
+        putBoth(map, 'β', 'Β', 'b');
+        putBoth(map, 'ε', 'Ε', 'e');
+        putBoth(map, 'ι', 'Ι', 'i');
+        putBoth(map, 'κ', 'Κ', 'k');
+        putBoth(map, 'ν', 'Ν', 'n');
+        putBoth(map, 'ο', 'Ο', 'o');
+        putBoth(map, 'ρ', 'Ρ', 'p');
+        putBoth(map, 'τ', 'Τ', 't');
+        putBoth(map, 'υ', 'Υ', 'u');
+        putBoth(map, 'χ', 'Χ', 'x');
+        map.put('Η', 'h');
+        map.put('Μ', 'm');
+        map.put('Ζ', 'z');
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static void putBoth(Map<Character, Character> map, char lower, char upper, char ascii) {
+        map.put(lower, ascii);
+        map.put(upper, ascii);
+    }
+}
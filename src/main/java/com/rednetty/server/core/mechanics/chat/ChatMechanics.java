@@ -5,6 +5,7 @@ import com.rednetty.server.core.mechanics.player.moderation.ModerationMechanics;
 import com.rednetty.server.core.mechanics.player.moderation.Rank;
 import com.rednetty.server.core.mechanics.player.YakPlayer;
 import com.rednetty.server.core.mechanics.player.YakPlayerManager;
+import com.rednetty.server.core.mechanics.world.PlayerSpatialIndex;
 import com.rednetty.server.utils.text.TextUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -26,6 +27,8 @@ import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -61,6 +64,7 @@ public class ChatMechanics implements Listener {
         static final int MUTE_TIMER_INTERVAL = 20; // 1 second
         static final String MUTED_FILE = "muted.yml";
         static final String MUTED_CONFIG_PATH = "muted";
+        static final String FILTER_FILE = "banned_words.txt";
     }
 
     private static final class Messages {
@@ -102,9 +106,9 @@ public class ChatMechanics implements Listener {
     private BukkitTask muteTimerTask;
 
     // === FILTER PATTERNS ===
-    private static final List<String> BANNED_WORDS = Collections.synchronizedList(
-            new ArrayList<>(Arrays.asList("nigger")) // Add other banned words here
-    );
+    // Used when banned_words.txt is missing or empty
+    private static final List<String> DEFAULT_BANNED_WORDS = List.of("nigger");
+    private volatile ChatFilter chatFilter = ChatFilter.compile(DEFAULT_BANNED_WORDS);
     private static final Pattern IP_PATTERN = Pattern.compile(
             "\\b(?:[0-9]{1,3}\\.){3}[0-9]{1,3}\\b"
     );
@@ -208,6 +212,7 @@ public class ChatMechanics implements Listener {
 
     private void loadPersistentData() {
         loadMutedPlayers();
+        reloadChatFilter();
     }
 
     private void loadOnlinePlayerData() {
@@ -317,6 +322,47 @@ public class ChatMechanics implements Listener {
 
     // === PERSISTENCE MANAGEMENT ===
 
+    /**
+     * Recompile the chat filter from banned_words.txt (one word per line, # for comments).
+     * The previous filter stays active if the file cannot be read.
+     *
+     * @return The number of words in the active filter
+     */
+    public int reloadChatFilter() {
+        File file = new File(YakRealms.getInstance().getDataFolder(), Config.FILTER_FILE);
+
+        List<String> words = new ArrayList<>();
+        if (file.exists()) {
+            try {
+                for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                    String word = line.trim();
+                    if (!word.isEmpty() && !word.startsWith("#")) {
+                        words.add(word);
+                    }
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Error reading " + Config.FILTER_FILE + ", keeping the current chat filter", e);
+                return chatFilter.getWordCount();
+            }
+        }
+
+        if (words.isEmpty()) {
+            words.addAll(DEFAULT_BANNED_WORDS);
+        }
+
+        ChatFilter compiled = ChatFilter.compile(words);
+        chatFilter = compiled;
+        logger.info("Compiled chat filter: " + compiled.getWordCount() + " words, " + compiled.getNodeCount() + " states");
+        return compiled.getWordCount();
+    }
+
+    /**
+     * Scan a message against the banned word list without changing it; for moderation hooks.
+     */
+    public ChatFilter.Result scanMessage(String message) {
+        return chatFilter.scan(message);
+    }
+
     /**
      *  muted players loading with better error handling
      */
@@ -1006,9 +1052,8 @@ public class ChatMechanics implements Listener {
      */
     private List<Player> getNearbyPlayers(Player player) {
         try {
-            return Bukkit.getOnlinePlayers().stream()
-                    .filter(other -> isPlayerInRange(player, other))
-                    .collect(Collectors.toList());
+            return PlayerSpatialIndex.getInstance().playersWithin(player.getLocation(), Config.DEFAULT_CHAT_RANGE,
+                    other -> isPlayerInRange(player, other));
         } catch (Exception e) {
             logger.log(Level.WARNING, "Error getting nearby players", e);
             return new ArrayList<>();
@@ -1387,13 +1432,11 @@ public class ChatMechanics implements Listener {
         }
 
         try {
-            String filtered = message;
-
-            // Filter banned words (case-insensitive)
-            for (String word : BANNED_WORDS) {
-                if (word != null && !word.isEmpty()) {
-                    filtered = filtered.replaceAll("(?i)\\b" + Pattern.quote(word) + "\\b", "*****");
-                }
+            // Filter banned words in one pass over the normalized message
+            ChatFilter.Result result = chatFilter.scan(message);
+            String filtered = result.getFiltered();
+            if (result.hasMatches()) {
+                logger.fine("Chat filter masked " + result.getMatches().size() + " word(s)");
             }
 
             // Filter IP addresses
@@ -8,6 +8,9 @@ import com.rednetty.server.core.mechanics.player.YakPlayerManager;
 import com.rednetty.server.core.mechanics.player.settings.Toggles;
 import com.rednetty.server.core.mechanics.player.social.party.PartyMechanics;
 import com.rednetty.server.core.mechanics.player.stamina.Energy;
+import com.rednetty.server.core.mechanics.player.stats.ItemStats;
+import com.rednetty.server.core.mechanics.player.stats.StatProfile;
+import com.rednetty.server.core.mechanics.player.stats.StatProfileManager;
 import com.rednetty.server.core.mechanics.world.mobs.CritManager;
 import com.rednetty.server.core.mechanics.world.mobs.MobManager;
 import com.rednetty.server.core.mechanics.world.mobs.core.CustomMob;
@@ -34,7 +37,6 @@ import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
@@ -83,27 +85,14 @@ public class CombatMechanics implements Listener {
     private static final double DPS_DIVISOR = 200.0; // DPS scaling
     private static final double ARMOR_PEN_DEX_BONUS = 0.0035; // +0.35% per 100 DEX
 
-    // Lore Stat Constants (for robust parsing)
-    // NOTE: For future development, consider moving item stats to PersistentDataContainers
-    // for a more robust and language-agnostic system. This string-based parsing is
-    // maintained for backward compatibility with existing items.
+    // Lore stat labels; lines are parsed once per distinct lore by ItemStats
     private static final String LORE_CRITICAL_HIT = "CRITICAL HIT";
-    private static final String LORE_HP = "HP";
-    private static final String LORE_ARMOR = "ARMOR";
-    private static final String LORE_DPS = "DPS";
-    private static final String LORE_ENERGY_REGEN = "ENERGY REGEN";
-    private static final String LORE_HP_REGEN = "HP REGEN";
     private static final String LORE_BLOCK = "BLOCK";
     private static final String LORE_DODGE = "DODGE";
     private static final String LORE_THORNS = "THORNS";
     private static final String LORE_LIFE_STEAL = "LIFE STEAL";
     private static final String LORE_ACCURACY = "ACCURACY";
     private static final String LORE_ARMOR_PEN = "ARMOR PEN";
-    private static final String LORE_INT = "INT";
-    private static final String LORE_VIT = "VIT";
-    private static final String LORE_STR = "STR";
-    private static final String LORE_DEX = "DEX";
-    private static final String LORE_DMG = "DMG";
     private static final String LORE_ICE_DMG = "ICE DMG";
     private static final String LORE_POISON_DMG = "POISON DMG";
     private static final String LORE_FIRE_DMG = "FIRE DMG";
@@ -220,131 +209,54 @@ public class CombatMechanics implements Listener {
             weapon = MagicStaff.getLastUsedStaff(player);
         }
 
-        if (weapon != null && weapon.getType() != Material.AIR && weapon.hasItemMeta()) {
-            ItemMeta weaponMeta = weapon.getItemMeta();
-            if (weaponMeta != null && weaponMeta.hasLore()) {
-                crit = getPercent(weapon, LORE_CRITICAL_HIT);
+        ItemStats weaponStats = ItemStats.of(weapon);
+        if (weaponStats != ItemStats.EMPTY) {
+            crit = weaponStats.getAttribute(LORE_CRITICAL_HIT);
 
-                if (weapon.getType().name().contains("_AXE")) {
-                    crit += 10;
-                }
+            if (weapon.getType().name().contains("_AXE")) {
+                crit += 10;
+            }
 
-                int intel = 0;
-                for (ItemStack armor : player.getInventory().getArmorContents()) {
-                    if (armor != null && armor.getType() != Material.AIR) {
-                        intel += getElem(armor, LORE_INT);
-                    }
-                }
+            int intel = StatProfileManager.getInstance().getProfile(player).getIntellect();
 
-                if (intel > 0) {
-                    crit += Math.round(intel * INTELLIGENCE_CRIT_BONUS);
-                }
+            if (intel > 0) {
+                crit += Math.round(intel * INTELLIGENCE_CRIT_BONUS);
             }
         }
         return crit;
     }
 
-    private static int parseStatFromLore(ItemStack is, String statIdentifier, int loreLine, String splitRegex, int valueIndex) {
-        if (is == null || is.getType() == Material.AIR || !is.hasItemMeta()) return 0;
-        ItemMeta meta = is.getItemMeta();
-        if (meta == null || !meta.hasLore()) return 0;
-
-        List<String> lore = meta.getLore();
-        if (lore == null || lore.size() <= loreLine || !lore.get(loreLine).contains(statIdentifier)) return 0;
-
-        try {
-            String[] parts = lore.get(loreLine).split(splitRegex);
-            if (parts.length > valueIndex) {
-                return Integer.parseInt(parts[valueIndex].replaceAll("[^0-9]", ""));
-            }
-        } catch (Exception ignored) {}
-        return 0;
-    }
-
     public static int getHp(ItemStack is) {
-        return parseStatFromLore(is, LORE_HP, 1, ":\\s+", 1);
+        return ItemStats.of(is).getHp();
     }
 
     public static int getArmor(ItemStack is) {
-        return parseStatFromLore(is, LORE_ARMOR, 0, "\\s-\\s", 1);
+        return ItemStats.of(is).getArmor();
     }
 
     public static int getDps(ItemStack is) {
-        return parseStatFromLore(is, LORE_DPS, 0, "\\s-\\s", 1);
+        return ItemStats.of(is).getDps();
     }
 
     public static int getEnergy(ItemStack is) {
-        return parseStatFromLore(is, LORE_ENERGY_REGEN, 2, ":\\s+", 1);
+        return ItemStats.of(is).getEnergyRegen();
     }
 
     public static int getHps(ItemStack is) {
-        return parseStatFromLore(is, LORE_HP_REGEN, 2, ":\\s+", 1);
+        return ItemStats.of(is).getHpRegen();
     }
 
     public static int getPercent(ItemStack is, String type) {
-        if (is != null && is.getType() != Material.AIR && is.hasItemMeta()) {
-            ItemMeta meta = is.getItemMeta();
-            if (meta != null && meta.hasLore()) {
-                List<String> lore = meta.getLore();
-                if (lore == null) return 0;
-                for (String s : lore) {
-                    if (s.contains(type)) {
-                        try {
-                            String[] parts = s.split(":\\s");
-                            if (parts.length > 1) {
-                                return Integer.parseInt(parts[1].replaceAll("[^0-9]", ""));
-                            }
-                        } catch (NumberFormatException ignored) {}
-                    }
-                }
-            }
-        }
-        return 0;
+        return ItemStats.of(is).getAttribute(type);
     }
 
     public static int getElem(ItemStack itemStack, String type) {
-        if (itemStack != null && itemStack.getType() != Material.AIR && itemStack.hasItemMeta()) {
-            ItemMeta itemMeta = itemStack.getItemMeta();
-            if (itemMeta != null && itemMeta.hasLore()) {
-                List<String> lore = itemMeta.getLore();
-                if (lore == null) return 0;
-                for (String line : lore) {
-                    if (line.contains(type)) {
-                        try {
-                            String[] parts = line.split(":\\s+");
-                            if (parts.length > 1) {
-                                return Integer.parseInt(parts[1]);
-                            }
-                        } catch (Exception ignored) {}
-                    }
-                }
-            }
-        }
-        return 0;
+        return ItemStats.of(itemStack).getAttribute(type);
     }
 
-
     public static List<Integer> getDamageRange(ItemStack itemStack) {
-        List<Integer> damageRange = new ArrayList<>(Arrays.asList(1, 1));
-        if (itemStack != null && itemStack.getType() != Material.AIR && itemStack.hasItemMeta()) {
-            ItemMeta itemMeta = itemStack.getItemMeta();
-            if (itemMeta != null && itemMeta.hasLore()) {
-                List<String> lore = itemMeta.getLore();
-                if (lore != null && !lore.isEmpty() && lore.get(0).contains(LORE_DMG)) {
-                    try {
-                        String[] dmgValues = lore.get(0).split(LORE_DMG + ": ")[1].split(" - ");
-                        if (dmgValues.length > 1) {
-                            damageRange.set(0, Integer.parseInt(dmgValues[0]));
-                            damageRange.set(1, Integer.parseInt(dmgValues[1]));
-                        }
-                    } catch (Exception ignored) {
-                        damageRange.set(0, 1);
-                        damageRange.set(1, 1);
-                    }
-                }
-            }
-        }
-        return damageRange;
+        ItemStats stats = ItemStats.of(itemStack);
+        return new ArrayList<>(Arrays.asList(stats.getMinDamage(), stats.getMaxDamage()));
     }
 
     // ================================ PVP PROTECTION SYSTEM ================================
@@ -487,17 +399,12 @@ public class CombatMechanics implements Listener {
      * Calculate all primary and secondary stats for a player
      */
     private PlayerStats calculatePlayerStats(Player player) {
-        double dps = 0.0, vit = 0.0, str = 0.0, intel = 0.0, dex = 0.0;
-
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (armor != null && armor.getType() != Material.AIR && armor.hasItemMeta() && armor.getItemMeta().hasLore()) {
-                dps += getDps(armor);
-                vit += getElem(armor, LORE_VIT);
-                str += getElem(armor, LORE_STR);
-                intel += getElem(armor, LORE_INT);
-                dex += getElem(armor, LORE_DEX);
-            }
-        }
+        StatProfile profile = StatProfileManager.getInstance().getProfile(player);
+        double dps = profile.getDps();
+        double vit = profile.getVitality();
+        double str = profile.getStrength();
+        double intel = profile.getIntellect();
+        double dex = profile.getDexterity();
 
         // Dexterity DPS bonus
         dps += dex * DEXTERITY_DPS_BONUS;
@@ -582,15 +489,9 @@ public class CombatMechanics implements Listener {
      * Calculate block chance with strength bonus and diminishing returns
      */
     private int calculateBlockChance(Player player) {
-        int blockChance = 0;
-        int strength = 0;
-
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (armor != null && armor.getType() != Material.AIR) {
-                blockChance += getPercent(armor, LORE_BLOCK);
-                strength += getElem(armor, LORE_STR);
-            }
-        }
+        StatProfile profile = StatProfileManager.getInstance().getProfile(player);
+        int blockChance = profile.getAttribute(LORE_BLOCK);
+        int strength = profile.getStrength();
 
         blockChance += Math.round(strength * STRENGTH_BLOCK_BONUS);
         return Math.min(blockChance, MAX_BLOCK_CHANCE);
@@ -600,15 +501,9 @@ public class CombatMechanics implements Listener {
      * Calculate dodge chance with dexterity bonus and diminishing returns
      */
     private int calculateDodgeChance(Player player) {
-        int dodgeChance = 0;
-        int dexterity = 0;
-
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (armor != null && armor.getType() != Material.AIR) {
-                dodgeChance += getPercent(armor, LORE_DODGE);
-                dexterity += getElem(armor, LORE_DEX);
-            }
-        }
+        StatProfile profile = StatProfileManager.getInstance().getProfile(player);
+        int dodgeChance = profile.getAttribute(LORE_DODGE);
+        int dexterity = profile.getDexterity();
 
         dodgeChance += Math.round(dexterity * DEXTERITY_DODGE_BONUS);
         return Math.min(dodgeChance, MAX_DODGE_CHANCE);
@@ -618,15 +513,9 @@ public class CombatMechanics implements Listener {
      * Calculate armor reduction with balanced diminishing returns
      */
     private double calculateArmorReduction(Player defender, LivingEntity attacker) {
-        double armorRating = 0.0;
-        int strength = 0;
-
-        for (ItemStack armor : defender.getInventory().getArmorContents()) {
-            if (armor != null && armor.getType() != Material.AIR) {
-                armorRating += getArmor(armor);
-                strength += getElem(armor, LORE_STR);
-            }
-        }
+        StatProfile profile = StatProfileManager.getInstance().getProfile(defender);
+        double armorRating = profile.getArmor();
+        int strength = profile.getStrength();
 
         armorRating += strength * 0.1;
         double effectiveArmorPercentage = (armorRating / (armorRating + 200.0)) * 100.0;
@@ -852,11 +741,7 @@ public class CombatMechanics implements Listener {
     }
 
     private int calculateThornsChance(Player player) {
-        int thornsChance = 0;
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            thornsChance += getPercent(armor, LORE_THORNS);
-        }
-        return thornsChance;
+        return StatProfileManager.getInstance().getProfile(player).getAttribute(LORE_THORNS);
     }
 
     private int calculateLifeSteal(double damageDealt, double lifeStealPercentage) {
@@ -969,17 +854,7 @@ public class CombatMechanics implements Listener {
     }
 
     private boolean hasBonus(ItemStack item, String attribute) {
-        if (item != null && item.getType() != Material.AIR && item.hasItemMeta()) {
-            ItemMeta meta = item.getItemMeta();
-            if (meta != null && meta.hasLore()) {
-                List<String> lore = meta.getLore();
-                if (lore == null) return false;
-                for (String line : lore) {
-                    if (line.contains(attribute)) return true;
-                }
-            }
-        }
-        return false;
+        return ItemStats.of(item).has(attribute);
     }
 
     private int getAccuracy(Player player) {
@@ -2,6 +2,7 @@ package com.rednetty.server.core.mechanics.combat.death;
 
 import com.rednetty.server.YakRealms;
 import com.rednetty.server.core.mechanics.combat.death.remnant.DeathRemnantManager;
+import com.rednetty.server.core.mechanics.player.PlayerStatCounter;
 import com.rednetty.server.core.mechanics.player.YakPlayer;
 import com.rednetty.server.core.mechanics.player.YakPlayerManager;
 import com.rednetty.server.utils.inventory.InventoryUtils;
@@ -962,10 +963,11 @@ public class DeathMechanics implements Listener {
     }
 
     /**
-     * Update player death statistics
+     * Update player death statistics. The save persists the items kept for respawn; the death
+     * count itself travels as a buffered increment.
      */
     private void updatePlayerDeathStatistics(YakPlayer yakPlayer) {
-        yakPlayer.setDeaths(yakPlayer.getDeaths() + 1);
+        yakPlayer.incrementStat(PlayerStatCounter.DEATHS, 1);
         playerManager.savePlayer(yakPlayer);
     }
 
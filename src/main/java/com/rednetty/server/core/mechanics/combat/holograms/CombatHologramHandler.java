@@ -2,15 +2,11 @@ package com.rednetty.server.core.mechanics.combat.holograms;
 
 import com.rednetty.server.YakRealms;
 import com.rednetty.server.core.mechanics.player.settings.Toggles;
-import com.rednetty.server.core.mechanics.world.holograms.HologramManager;
 import com.rednetty.server.utils.ui.GradientColors;
 import org.bukkit.*;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
-import org.bukkit.util.Vector;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,80 +16,22 @@ import java.util.concurrent.atomic.AtomicInteger;
 /**
  * Advanced combat hologram handler that creates smooth arcing damage holograms
  * with proper toggle integration and collision-free animations.
+ * Animation is delegated to a {@link DamageNumberAnimator}, which drives all numbers of a
+ * world from a single task and only shows them to the players picked here.
  */
 public class CombatHologramHandler {
     private static CombatHologramHandler instance;
 
     // Animation constants
     private static final double INITIAL_HEIGHT_OFFSET = .1; // Height above target to start
-    private static final double PEAK_HEIGHT_ADDITION = .8; // Additional height for arc peak
-    private static final double HORIZONTAL_SPREAD = 1.5; // Horizontal randomness
-    private static final double ANIMATION_SPEED = 0.08; // Speed of animation (lower = slower)
-    private static final int MAX_ANIMATION_TICKS = 60; // Maximum animation duration
-    private static final double GROUND_CHECK_OFFSET = 0.4; // Ground collision detection
-    private static final double FADE_START_HEIGHT = 0.5; // Height to start fading
-
-    // Performance and cleanup constants
-    private static final int MAX_CONCURRENT_HOLOGRAMS = 50; // Prevent spam
-    private static final int CLEANUP_INTERVAL = 100; // Ticks between cleanup
-    private static final long HOLOGRAM_EXPIRY_TIME = 10000; // 10 seconds max lifetime
+
+    // Performance constants
+    private static final int MAX_CONCURRENT_HOLOGRAMS = 50; // Oldest numbers are culled beyond this
 
     // Tracking and management
-    private final Map<String, AnimatedHologram> activeHolograms = new ConcurrentHashMap<>();
+    private final DamageNumberAnimator animator = new DamageNumberAnimator(MAX_CONCURRENT_HOLOGRAMS);
     private final AtomicInteger hologramIdCounter = new AtomicInteger(0);
     private final Set<UUID> playersWithHologramsDisabled = ConcurrentHashMap.newKeySet();
-    private BukkitTask cleanupTask;
-
-    /**
-     * Represents an animated hologram with arcing movement
-     */
-    private static class AnimatedHologram {
-        final String id;
-        final Location startLocation;
-        final Location currentLocation;
-        final Vector targetDirection;
-        final String text;
-        final HologramType type;
-        final long creationTime;
-        final double peakHeight;
-        final double totalDistance;
-        final List<UUID> visibleToPlayers;
-
-        BukkitTask animationTask;
-        int animationTick;
-        boolean isActive;
-
-        AnimatedHologram(String id, Location start, String text, HologramType type, List<UUID> visibleTo) {
-            this.id = id;
-            this.startLocation = start.clone();
-            this.currentLocation = start.clone();
-            this.text = text;
-            this.type = type;
-            this.creationTime = System.currentTimeMillis();
-            this.visibleToPlayers = new ArrayList<>(visibleTo);
-            this.animationTick = 0;
-            this.isActive = true;
-
-            // Calculate arc parameters
-            double randomX = (ThreadLocalRandom.current().nextDouble() - 0.5) * HORIZONTAL_SPREAD;
-            double randomZ = (ThreadLocalRandom.current().nextDouble() - 0.5) * HORIZONTAL_SPREAD;
-            this.targetDirection = new Vector(randomX, 0, randomZ);
-            this.peakHeight = start.getY() + PEAK_HEIGHT_ADDITION;
-            this.totalDistance = Math.sqrt(randomX * randomX + randomZ * randomZ);
-        }
-
-        void stopAnimation() {
-            if (animationTask != null && !animationTask.isCancelled()) {
-                animationTask.cancel();
-            }
-            isActive = false;
-            HologramManager.removeHologram(id);
-        }
-
-        boolean isExpired() {
-            return System.currentTimeMillis() - creationTime > HOLOGRAM_EXPIRY_TIME;
-        }
-    }
 
     /**
      * Types of combat holograms - simplified icons to match game style
@@ -125,7 +63,6 @@ public class CombatHologramHandler {
     }
 
     private CombatHologramHandler() {
-        startCleanupTask();
     }
 
     public static CombatHologramHandler getInstance() {
@@ -147,14 +84,7 @@ public class CombatHologramHandler {
      */
     public void onDisable() {
         // Stop all animations
-        for (AnimatedHologram hologram : activeHolograms.values()) {
-            hologram.stopAnimation();
-        }
-        activeHolograms.clear();
-
-        if (cleanupTask != null && !cleanupTask.isCancelled()) {
-            cleanupTask.cancel();
-        }
+        animator.clear();
 
         YakRealms.log("Combat Hologram Handler has been disabled");
     }
@@ -171,13 +101,8 @@ public class CombatHologramHandler {
             return;
         }
 
-        // Prevent hologram spam
-        if (activeHolograms.size() >= MAX_CONCURRENT_HOLOGRAMS) {
-            return;
-        }
-
         // Determine who should see this hologram
-        List<UUID> visibleToPlayers = getVisiblePlayers(attacker, target);
+        List<Player> visibleToPlayers = getVisiblePlayers(attacker, target);
         if (visibleToPlayers.isEmpty()) {
             return;
         }
@@ -197,11 +122,8 @@ public class CombatHologramHandler {
         // Create hologram text
         String hologramText = createHologramText(type, value);
 
-        // Create and start animated hologram
-        AnimatedHologram animatedHologram = new AnimatedHologram(hologramId, startLocation, hologramText, type, visibleToPlayers);
-        activeHolograms.put(hologramId, animatedHologram);
-
-        startHologramAnimation(animatedHologram);
+        // Start the animation
+        animator.spawn(hologramId, startLocation, hologramText, type, visibleToPlayers);
     }
 
     /**
@@ -231,7 +153,7 @@ public class CombatHologramHandler {
             return;
         }
 
-        List<UUID> visibleToPlayers = getVisiblePlayers(attacker, target);
+        List<Player> visibleToPlayers = getVisiblePlayers(attacker, target);
         if (visibleToPlayers.isEmpty()) {
             return;
         }
@@ -240,10 +162,7 @@ public class CombatHologramHandler {
         Location startLocation = target.getLocation().clone();
         startLocation.add(0, target.getHeight() + INITIAL_HEIGHT_OFFSET, 0);
 
-        AnimatedHologram animatedHologram = new AnimatedHologram(hologramId, startLocation, text, type, visibleToPlayers);
-        activeHolograms.put(hologramId, animatedHologram);
-
-        startHologramAnimation(animatedHologram);
+        animator.spawn(hologramId, startLocation, text, type, visibleToPlayers);
     }
 
     /**
@@ -268,8 +187,8 @@ public class CombatHologramHandler {
     /**
      * Get list of players who should see this hologram
      */
-    private List<UUID> getVisiblePlayers(Entity attacker, LivingEntity target) {
-        List<UUID> visiblePlayers = new ArrayList<>();
+    private List<Player> getVisiblePlayers(Entity attacker, LivingEntity target) {
+        Set<Player> visiblePlayers = new LinkedHashSet<>();
         Location location = target.getLocation();
 
         // Check nearby players
@@ -279,7 +198,7 @@ public class CombatHologramHandler {
 
                 // Check if player has hologram damage enabled
                 if (Toggles.isToggled(player, "Hologram Damage")) {
-                    visiblePlayers.add(player.getUniqueId());
+                    visiblePlayers.add(player);
                 }
             }
         }
@@ -288,7 +207,7 @@ public class CombatHologramHandler {
         if (attacker instanceof Player) {
             Player attackerPlayer = (Player) attacker;
             if (Toggles.isToggled(attackerPlayer, "Hologram Damage")) {
-                visiblePlayers.add(attackerPlayer.getUniqueId());
+                visiblePlayers.add(attackerPlayer);
             }
         }
 
@@ -296,11 +215,11 @@ public class CombatHologramHandler {
         if (target instanceof Player) {
             Player targetPlayer = (Player) target;
             if (Toggles.isToggled(targetPlayer, "Hologram Damage")) {
-                visiblePlayers.add(targetPlayer.getUniqueId());
+                visiblePlayers.add(targetPlayer);
             }
         }
 
-        return visiblePlayers;
+        return new ArrayList<>(visiblePlayers);
     }
 
     /**
@@ -364,180 +283,24 @@ public class CombatHologramHandler {
     }
 
     /**
-     * Start the smooth arcing animation for a hologram
-     */
-    private void startHologramAnimation(AnimatedHologram hologram) {
-        hologram.animationTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!hologram.isActive || hologram.animationTick >= MAX_ANIMATION_TICKS) {
-                    hologram.stopAnimation();
-                    activeHolograms.remove(hologram.id);
-                    cancel();
-                    return;
-                }
-
-                // Calculate animation progress (0.0 to 1.0)
-                double progress = (double) hologram.animationTick / MAX_ANIMATION_TICKS;
-
-                // Calculate current position using parabolic arc
-                Location newLocation = calculateArcPosition(hologram, progress);
-
-                // Check if hologram hit the ground
-                if (newLocation.getY() <= hologram.startLocation.getWorld().getHighestBlockYAt(newLocation) + GROUND_CHECK_OFFSET) {
-                    // Add small impact effect
-                    spawnImpactEffect(newLocation, hologram.type);
-                    hologram.stopAnimation();
-                    activeHolograms.remove(hologram.id);
-                    cancel();
-                    return;
-                }
-
-                // Update hologram position
-                hologram.currentLocation.setX(newLocation.getX());
-                hologram.currentLocation.setY(newLocation.getY());
-                hologram.currentLocation.setZ(newLocation.getZ());
-
-                // Apply fade effect as it gets closer to ground
-                String displayText = applyFadeEffect(hologram.text, newLocation, hologram.startLocation);
-
-                // Update hologram
-                List<String> lines = Arrays.asList(displayText);
-                HologramManager.createOrUpdateHologram(hologram.id, hologram.currentLocation, lines, 0.25);
-
-                hologram.animationTick++;
-            }
-        }.runTaskTimer(YakRealms.getInstance(), 0L, 1L); // Run every tick for smooth animation
-    }
-
-    /**
-     * Calculate the current position in the parabolic arc
-     */
-    private Location calculateArcPosition(AnimatedHologram hologram, double progress) {
-        Location start = hologram.startLocation;
-        Vector direction = hologram.targetDirection;
-
-        // Horizontal movement (linear)
-        double newX = start.getX() + (direction.getX() * progress);
-        double newZ = start.getZ() + (direction.getZ() * progress);
-
-        // Vertical movement (parabolic arc)
-        // Use quadratic equation: y = ax² + bx + c
-        // Where the arc peaks at progress = 0.3 and falls to ground
-        double peakProgress = 0.3;
-        double newY;
-
-        if (progress <= peakProgress) {
-            // Rising phase
-            double risingProgress = progress / peakProgress;
-            newY = start.getY() + (hologram.peakHeight - start.getY()) * risingProgress;
-        } else {
-            // Falling phase
-            double fallingProgress = (progress - peakProgress) / (1.0 - peakProgress);
-            double groundY = start.getWorld().getHighestBlockYAt((int) newX, (int) newZ);
-            newY = hologram.peakHeight - (hologram.peakHeight - groundY) * (fallingProgress * fallingProgress);
-        }
-
-        return new Location(start.getWorld(), newX, newY, newZ);
-    }
-
-    /**
-     * Apply fade effect as hologram approaches ground
-     */
-    private String applyFadeEffect(String originalText, Location currentLocation, Location startLocation) {
-        double groundY = currentLocation.getWorld().getHighestBlockYAt(currentLocation);
-        double heightAboveGround = currentLocation.getY() - groundY;
-
-        if (heightAboveGround <= FADE_START_HEIGHT) {
-            // Calculate fade intensity
-            double fadeRatio = heightAboveGround / FADE_START_HEIGHT;
-
-            if (fadeRatio <= 0.3) {
-                // Very faded
-                return ChatColor.GRAY + originalText.substring(originalText.lastIndexOf('§') >= 0 ?
-                        originalText.lastIndexOf('§') + 2 : 0);
-            } else if (fadeRatio <= 0.6) {
-                // Moderately faded
-                return ChatColor.DARK_GRAY + originalText.substring(originalText.lastIndexOf('§') >= 0 ?
-                        originalText.lastIndexOf('§') + 2 : 0);
-            }
-        }
-
-        return originalText;
-    }
-
-    /**
-     * Spawn a small impact effect when hologram hits ground
-     */
-    private void spawnImpactEffect(Location location, HologramType type) {
-        try {
-            World world = location.getWorld();
-            if (world == null) return;
-
-            // Spawn appropriate particle effect
-            switch (type) {
-                case DAMAGE:
-                case CRITICAL_DAMAGE:
-                    world.spawnParticle(Particle.DAMAGE_INDICATOR, location, 3, 0.1, 0.1, 0.1, 0.01);
-                    break;
-                case HEAL:
-                case LIFESTEAL:
-                    world.spawnParticle(Particle.HEART, location, 2, 0.1, 0.1, 0.1, 0.01);
-                    break;
-                case BLOCK:
-                    world.spawnParticle(Particle.CRIT, location, 5, 0.2, 0.1, 0.2, 0.01);
-                    break;
-                case DODGE:
-                    world.spawnParticle(Particle.CLOUD, location, 3, 0.2, 0.1, 0.2, 0.01);
-                    break;
-                default:
-                    world.spawnParticle(Particle.SMOKE, location, 1, 0.1, 0.1, 0.1, 0.01);
-                    break;
-            }
-        } catch (Exception e) {
-            // Ignore particle errors
-        }
-    }
-
-    /**
-     * Start the cleanup task to remove expired holograms
+     * Get the number of active holograms (for debugging)
      */
-    private void startCleanupTask() {
-        cleanupTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                List<String> toRemove = new ArrayList<>();
-
-                for (Map.Entry<String, AnimatedHologram> entry : activeHolograms.entrySet()) {
-                    AnimatedHologram hologram = entry.getValue();
-
-                    if (!hologram.isActive || hologram.isExpired()) {
-                        hologram.stopAnimation();
-                        toRemove.add(entry.getKey());
-                    }
-                }
-
-                for (String id : toRemove) {
-                    activeHolograms.remove(id);
-                }
-            }
-        }.runTaskTimerAsynchronously(YakRealms.getInstance(), CLEANUP_INTERVAL, CLEANUP_INTERVAL);
+    public int getActiveHologramCount() {
+        return animator.size();
     }
 
     /**
-     * Get the number of active holograms (for debugging)
+     * Animation statistics (for debugging)
      */
-    public int getActiveHologramCount() {
-        return activeHolograms.size();
+    public String getAnimationStats() {
+        return String.format("CombatHolograms[active=%d, culled=%d, packets=%d]",
+                animator.size(), animator.getCulled(), animator.getPacketsSent());
     }
 
     /**
      * Force cleanup of all holograms
      */
     public void forceCleanup() {
-        for (AnimatedHologram hologram : activeHolograms.values()) {
-            hologram.stopAnimation();
-        }
-        activeHolograms.clear();
+        animator.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,440 @@
+package com.rednetty.server.core.mechanics.combat.holograms;
+
+import com.comphenix.protocol.events.PacketContainer;
+import com.rednetty.server.YakRealms;
+import com.rednetty.server.core.mechanics.combat.holograms.CombatHologramHandler.HologramType;
+import com.rednetty.server.core.mechanics.world.holograms.HologramManager;
+import com.rednetty.server.core.mechanics.world.holograms.TextDisplayPackets;
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Animates every floating combat number with one task per world instead of one task per number.
+ *
+ * <p>Each world's driver keeps its numbers in a flat array and advances all of them once per
+ * tick. The arc and the landing height are fixed when a number spawns, so a frame is a few
+ * multiplications and one relative move packet per number, built once and sent to that
+ * number's viewers. Numbers that finish in the same tick are destroyed with one packet per
+ * viewer.
+ *
+ * <p>At most {@code capacity} numbers are alive at once; spawning beyond that culls the oldest.
+ * Without ProtocolLib, frames go through {@link HologramManager} as before.
+ *
+ * <p>Main thread only.
+ */
+class DamageNumberAnimator {
+
+    // Arc constants
+    private static final double PEAK_HEIGHT_ADDITION = .8; // Additional height for arc peak
+    private static final double HORIZONTAL_SPREAD = 1.5; // Horizontal randomness
+    private static final double PEAK_PROGRESS = 0.3; // Fraction of the animation spent rising
+    private static final int MAX_ANIMATION_TICKS = 60; // Maximum animation duration
+    private static final double GROUND_CHECK_OFFSET = 0.4; // Ground collision detection
+    private static final double FADE_START_HEIGHT = 0.5; // Height to start fading
+
+    // Each frame is a fresh position, so the client should not smooth over several ticks
+    private static final int POSITION_INTERPOLATION_TICKS = 1;
+
+    private final int capacity;
+    private final boolean usePackets;
+    private final Map<UUID, WorldDriver> drivers = new HashMap<>();
+
+    private long spawnSequence = 0;
+    private int activeCount = 0;
+
+    // Metrics
+    private final AtomicLong packetsSent = new AtomicLong();
+    private final AtomicLong culled = new AtomicLong();
+
+    /**
+     * One animated number. The arc is fully described by the fields fixed at spawn.
+     */
+    private static final class DamageNumber {
+        final String id;
+        final long sequence;
+        final int entityId;
+        final UUID entityUuid;
+        final HologramType type;
+        final Player[] viewers;
+        // Normal, moderately faded and very faded text
+        final String[] texts;
+
+        final double startX, startY, startZ;
+        final double directionX, directionZ;
+        final double peakY;
+        final double groundY;
+
+        long encodedX, encodedY, encodedZ;
+        int tick;
+        int textStage;
+
+        DamageNumber(String id, long sequence, Location start, double directionX, double directionZ,
+                     double groundY, String text, HologramType type, Player[] viewers) {
+            this.id = id;
+            this.sequence = sequence;
+            this.entityId = TextDisplayPackets.nextEntityId();
+            this.entityUuid = UUID.randomUUID();
+            this.type = type;
+            this.viewers = viewers;
+            this.texts = fadeVariants(text);
+            this.startX = start.getX();
+            this.startY = start.getY();
+            this.startZ = start.getZ();
+            this.directionX = directionX;
+            this.directionZ = directionZ;
+            this.peakY = startY + PEAK_HEIGHT_ADDITION;
+            this.groundY = groundY;
+        }
+
+        double xAt(double progress) {
+            return startX + directionX * progress;
+        }
+
+        double zAt(double progress) {
+            return startZ + directionZ * progress;
+        }
+
+        double yAt(double progress) {
+            if (progress <= PEAK_PROGRESS) {
+                return startY + (peakY - startY) * (progress / PEAK_PROGRESS);
+            }
+            double fallingProgress = (progress - PEAK_PROGRESS) / (1.0 - PEAK_PROGRESS);
+            return peakY - (peakY - groundY) * (fallingProgress * fallingProgress);
+        }
+
+        int textStageAt(double y) {
+            double heightAboveGround = y - groundY;
+            if (heightAboveGround > FADE_START_HEIGHT) {
+                return 0;
+            }
+            double fadeRatio = heightAboveGround / FADE_START_HEIGHT;
+            if (fadeRatio <= 0.3) {
+                return 2;
+            }
+            return fadeRatio <= 0.6 ? 1 : 0;
+        }
+    }
+
+    DamageNumberAnimator(int capacity) {
+        this.capacity = capacity;
+        this.usePackets = TextDisplayPackets.isAvailable();
+    }
+
+    // ================ SPAWNING ================
+
+    /**
+     * Start a number arcing away from {@code start}, visible to the given players only.
+     */
+    void spawn(String id, Location start, String text, HologramType type, List<Player> viewers) {
+        World world = start.getWorld();
+        if (world == null || viewers.isEmpty()) {
+            return;
+        }
+
+        double directionX = (ThreadLocalRandom.current().nextDouble() - 0.5) * HORIZONTAL_SPREAD;
+        double directionZ = (ThreadLocalRandom.current().nextDouble() - 0.5) * HORIZONTAL_SPREAD;
+        double groundY = world.getHighestBlockYAt(
+                (int) Math.floor(start.getX() + directionX), (int) Math.floor(start.getZ() + directionZ));
+
+        DamageNumber number = new DamageNumber(id, spawnSequence++, start, directionX, directionZ,
+                groundY, text, type, viewers.toArray(new Player[0]));
+
+        if (number.startY <= groundY + GROUND_CHECK_OFFSET) {
+            // Under cover or already on the ground: nothing to animate
+            spawnImpactEffect(start, type);
+            return;
+        }
+
+        while (activeCount >= capacity && cullOldest()) {
+            // Keep culling until there is room
+        }
+
+        number.encodedX = TextDisplayPackets.encode(number.startX);
+        number.encodedY = TextDisplayPackets.encode(number.startY);
+        number.encodedZ = TextDisplayPackets.encode(number.startZ);
+        number.tick = 1;
+
+        if (usePackets) {
+            PacketContainer spawnPacket = TextDisplayPackets.spawn(number.entityId, number.entityUuid,
+                    number.encodedX, number.encodedY, number.encodedZ);
+            PacketContainer metadataPacket = TextDisplayPackets.metadata(number.entityId, number.texts[0],
+                    POSITION_INTERPOLATION_TICKS);
+            for (Player viewer : number.viewers) {
+                send(viewer, spawnPacket);
+                send(viewer, metadataPacket);
+            }
+        } else {
+            HologramManager.createOrUpdateHologram(number.id, start, List.of(number.texts[0]), 0.25);
+        }
+
+        WorldDriver driver = drivers.get(world.getUID());
+        if (driver == null) {
+            driver = new WorldDriver(world);
+            drivers.put(world.getUID(), driver);
+            driver.runTaskTimer(YakRealms.getInstance(), 1L, 1L);
+        }
+        driver.add(number);
+        activeCount++;
+    }
+
+    /**
+     * End the number that has been alive longest.
+     *
+     * @return false if there was nothing to cull
+     */
+    private boolean cullOldest() {
+        WorldDriver oldestDriver = null;
+        int oldestIndex = -1;
+        long oldestSequence = Long.MAX_VALUE;
+        for (WorldDriver driver : drivers.values()) {
+            for (int i = 0; i < driver.size; i++) {
+                if (driver.numbers[i].sequence < oldestSequence) {
+                    oldestSequence = driver.numbers[i].sequence;
+                    oldestDriver = driver;
+                    oldestIndex = i;
+                }
+            }
+        }
+
+        if (oldestDriver == null) {
+            return false;
+        }
+
+        DamageNumber number = oldestDriver.removeAt(oldestIndex);
+        despawn(Collections.singletonList(number));
+        culled.incrementAndGet();
+        return true;
+    }
+
+    // ================ DRIVER ================
+
+    /**
+     * Advances all numbers of one world; stops itself when the world has none left.
+     */
+    private final class WorldDriver extends BukkitRunnable {
+        private final World world;
+        private DamageNumber[] numbers = new DamageNumber[16];
+        private int size = 0;
+
+        WorldDriver(World world) {
+            this.world = world;
+        }
+
+        void add(DamageNumber number) {
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            numbers[size++] = number;
+        }
+
+        DamageNumber removeAt(int index) {
+            DamageNumber removed = numbers[index];
+            numbers[index] = numbers[--size];
+            numbers[size] = null;
+            activeCount--;
+            return removed;
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<DamageNumber> finished = null;
+                int i = 0;
+                while (i < size) {
+                    DamageNumber number = numbers[i];
+                    if (advance(number)) {
+                        i++;
+                        continue;
+                    }
+                    removeAt(i);
+                    if (finished == null) {
+                        finished = new ArrayList<>();
+                    }
+                    finished.add(number);
+                }
+
+                if (finished != null) {
+                    despawn(finished);
+                }
+            } catch (Exception e) {
+                YakRealms.getInstance().getLogger().log(Level.WARNING, "Error animating combat holograms", e);
+            }
+
+            if (size == 0) {
+                cancel();
+                drivers.remove(world.getUID());
+            }
+        }
+
+        /**
+         * Move one number a frame along its arc.
+         *
+         * @return false once the number has landed or run out of time
+         */
+        private boolean advance(DamageNumber number) {
+            if (number.tick >= MAX_ANIMATION_TICKS) {
+                return false;
+            }
+
+            double progress = (double) number.tick / MAX_ANIMATION_TICKS;
+            double x = number.xAt(progress);
+            double y = number.yAt(progress);
+            double z = number.zAt(progress);
+
+            if (y <= number.groundY + GROUND_CHECK_OFFSET) {
+                spawnImpactEffect(new Location(world, x, y, z), number.type);
+                return false;
+            }
+
+            int textStage = number.textStageAt(y);
+            boolean textChanged = textStage != number.textStage;
+            number.textStage = textStage;
+            number.tick++;
+
+            if (!usePackets) {
+                HologramManager.createOrUpdateHologram(number.id, new Location(world, x, y, z),
+                        List.of(number.texts[textStage]), 0.25);
+                return true;
+            }
+
+            long encodedX = TextDisplayPackets.encode(x);
+            long encodedY = TextDisplayPackets.encode(y);
+            long encodedZ = TextDisplayPackets.encode(z);
+            PacketContainer movePacket = TextDisplayPackets.move(number.entityId,
+                    encodedX - number.encodedX, encodedY - number.encodedY, encodedZ - number.encodedZ);
+            PacketContainer textPacket = textChanged
+                    ? TextDisplayPackets.text(number.entityId, number.texts[textStage]) : null;
+            number.encodedX = encodedX;
+            number.encodedY = encodedY;
+            number.encodedZ = encodedZ;
+
+            for (Player viewer : number.viewers) {
+                send(viewer, movePacket);
+                if (textPacket != null) {
+                    send(viewer, textPacket);
+                }
+            }
+            return true;
+        }
+    }
+
+    // ================ DESPAWNING ================
+
+    /**
+     * Remove finished numbers from their viewers' clients, one destroy packet per viewer.
+     */
+    private void despawn(List<DamageNumber> finished) {
+        if (!usePackets) {
+            for (DamageNumber number : finished) {
+                HologramManager.removeHologram(number.id);
+            }
+            return;
+        }
+
+        Map<Player, List<Integer>> idsByViewer = new HashMap<>();
+        for (DamageNumber number : finished) {
+            for (Player viewer : number.viewers) {
+                idsByViewer.computeIfAbsent(viewer, player -> new ArrayList<>()).add(number.entityId);
+            }
+        }
+        for (Map.Entry<Player, List<Integer>> entry : idsByViewer.entrySet()) {
+            send(entry.getKey(), TextDisplayPackets.destroy(entry.getValue()));
+        }
+    }
+
+    /**
+     * End every number immediately
+     */
+    void clear() {
+        for (WorldDriver driver : new ArrayList<>(drivers.values())) {
+            List<DamageNumber> remaining = new ArrayList<>(driver.size);
+            while (driver.size > 0) {
+                remaining.add(driver.removeAt(driver.size - 1));
+            }
+            despawn(remaining);
+            driver.cancel();
+        }
+        drivers.clear();
+        activeCount = 0;
+    }
+
+    private void send(Player viewer, PacketContainer packet) {
+        if (!viewer.isOnline()) {
+            return;
+        }
+        try {
+            TextDisplayPackets.send(viewer, packet);
+            packetsSent.incrementAndGet();
+        } catch (Exception e) {
+            YakRealms.getInstance().getLogger().log(Level.FINE,
+                    "Failed to send combat hologram packet to " + viewer.getName(), e);
+        }
+    }
+
+    // ================ EFFECTS ================
+
+    /**
+     * Normal, moderately faded and very faded versions of the text
+     */
+    private static String[] fadeVariants(String text) {
+        int lastColor = text.lastIndexOf('§');
+        String stripped = text.substring(lastColor >= 0 ? Math.min(lastColor + 2, text.length()) : 0);
+        return new String[]{text, ChatColor.DARK_GRAY + stripped, ChatColor.GRAY + stripped};
+    }
+
+    /**
+     * Spawn a small impact effect when a number hits the ground
+     */
+    private static void spawnImpactEffect(Location location, HologramType type) {
+        try {
+            World world = location.getWorld();
+            if (world == null) return;
+
+            // Spawn appropriate particle effect
+            switch (type) {
+                case DAMAGE:
+                case CRITICAL_DAMAGE:
+                    world.spawnParticle(Particle.DAMAGE_INDICATOR, location, 3, 0.1, 0.1, 0.1, 0.01);
+                    break;
+                case HEAL:
+                case LIFESTEAL:
+                    world.spawnParticle(Particle.HEART, location, 2, 0.1, 0.1, 0.1, 0.01);
+                    break;
+                case BLOCK:
+                    world.spawnParticle(Particle.CRIT, location, 5, 0.2, 0.1, 0.2, 0.01);
+                    break;
+                case DODGE:
+                    world.spawnParticle(Particle.CLOUD, location, 3, 0.2, 0.1, 0.2, 0.01);
+                    break;
+                default:
+                    world.spawnParticle(Particle.SMOKE, location, 1, 0.1, 0.1, 0.1, 0.01);
+                    break;
+            }
+        } catch (Exception e) {
+            // Ignore particle errors
+        }
+    }
+
+    // ================ METRICS ================
+
+    int size() {
+        return activeCount;
+    }
+
+    long getPacketsSent() {
+        return packetsSent.get();
+    }
+
+    long getCulled() {
+        return culled.get();
+    }
+}
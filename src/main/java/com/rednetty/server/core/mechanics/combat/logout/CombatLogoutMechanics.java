@@ -2,6 +2,7 @@ package com.rednetty.server.core.mechanics.combat.logout;
 
 import com.rednetty.server.YakRealms;
 import com.rednetty.server.core.mechanics.combat.pvp.ForceFieldManager;
+import com.rednetty.server.core.mechanics.player.PlayerStatCounter;
 import com.rednetty.server.core.mechanics.player.YakPlayer;
 import com.rednetty.server.core.mechanics.player.YakPlayerManager;
 import com.rednetty.server.utils.inventory.InventoryUtils;
@@ -739,7 +740,7 @@ public class CombatLogoutMechanics implements Listener {
         }
 
         // Increment death count and set final logout state
-        yakPlayer.setDeaths(yakPlayer.getDeaths() + 1);
+        yakPlayer.incrementStat(PlayerStatCounter.DEATHS, 1);
         yakPlayer.setCombatLogoutState(YakPlayer.CombatLogoutState.PROCESSED);
         LOGGER.info("Set combat logout state to PROCESSED");
 
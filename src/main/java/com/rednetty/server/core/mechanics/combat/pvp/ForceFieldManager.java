@@ -12,8 +12,6 @@ import com.rednetty.server.core.mechanics.player.YakPlayerManager;
 import com.rednetty.server.core.mechanics.world.WorldGuardManager;
 import org.bukkit.*;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
-import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -55,11 +53,8 @@ public class ForceFieldManager implements Listener {
     private static final int MAX_FIELD_HEIGHT = 5;
     private static final int MAX_BOUNDARY_BLOCKS = 500; // Prevent memory issues
     private static final long PLAYER_JOIN_DELAY = 5L; // ticks
-
-    // Boundary detection faces
-    private static final List<BlockFace> ADJACENT_FACES = Arrays.asList(
-            BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST
-    );
+    private static final int FIELD_REFRESH_TICKS = 20; // recompute a stationary player's wall this often
+    private static final long[] NO_BLOCKS = new long[0];
 
     // Force field materials by color
     private static final Map<Integer, Material> STAINED_GLASS_MATERIALS = new HashMap<>();
@@ -72,7 +67,7 @@ public class ForceFieldManager implements Listener {
 
     // Core components
     private BukkitTask updateTask;
-    private final Map<UUID, Set<Location>> activeForceFields = new ConcurrentHashMap<>();
+    private final Map<UUID, ActiveField> activeForceFields = new ConcurrentHashMap<>();
     private final Set<UUID> playersNeedingUpdate = new CopyOnWriteArraySet<>();
 
     // Dependencies
@@ -83,12 +78,52 @@ public class ForceFieldManager implements Listener {
     // Performance tracking
     private long lastPerformanceCheck = 0;
     private int boundaryCalculations = 0;
+    private boolean multiBlockChangeFailed = false;
 
     // Reflection cache for backwards compatibility
     private static Method getBlockDataMethod = null;
     private static Method getLegacyDataMethod = null;
     private static boolean reflectionInitialized = false;
 
+    /**
+     * Wall blocks currently shown to a player, as sorted packed block positions
+     */
+    private static final class ActiveField {
+        final UUID worldId;
+        final long[] blocks;
+        final long anchor; // packed block position the wall was computed around
+        final int computedTick;
+
+        ActiveField(UUID worldId, long[] blocks, long anchor, int computedTick) {
+            this.worldId = worldId;
+            this.blocks = blocks;
+            this.anchor = anchor;
+            this.computedTick = computedTick;
+        }
+
+        boolean contains(World world, long block) {
+            return worldId.equals(world.getUID()) && Arrays.binarySearch(blocks, block) >= 0;
+        }
+    }
+
+    /**
+     * Block changes for one chunk section, sent as a single multi block change packet
+     */
+    private static final class SectionBatch {
+        short[] positions = new short[16];
+        WrappedBlockData[] data = new WrappedBlockData[16];
+        int size;
+
+        void add(int x, int y, int z, WrappedBlockData blockData) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                data = Arrays.copyOf(data, size * 2);
+            }
+            positions[size] = (short) ((x & 15) << 8 | (z & 15) << 4 | (y & 15));
+            data[size++] = blockData;
+        }
+    }
+
     /**
      * Get the singleton instance with thread safety
      */
@@ -186,7 +221,7 @@ public class ForceFieldManager implements Listener {
                         boolean shouldHave = shouldPlayerHaveForceField(player);
                         boolean currentlyHas = activeForceFields.containsKey(playerId);
 
-                        if (shouldHave != currentlyHas || shouldHave) {
+                        if (shouldHave || currentlyHas) {
                             playersToUpdate.add(playerId);
                         }
                     }
@@ -290,39 +325,28 @@ public class ForceFieldManager implements Listener {
         boolean shouldHaveFields = shouldPlayerHaveForceField(player);
 
         if (shouldHaveFields) {
-            // Calculate boundary blocks
-            Set<Location> currentBlocks = findBoundaryBlocks(player);
-
-            // Limit block count to prevent performance issues
-            if (currentBlocks.size() > MAX_BOUNDARY_BLOCKS) {
-                YakRealms.log("Limiting force field blocks for " + player.getName() +
-                        " from " + currentBlocks.size() + " to " + MAX_BOUNDARY_BLOCKS);
-                currentBlocks = limitBlockSet(currentBlocks, MAX_BOUNDARY_BLOCKS);
-            }
+            World world = player.getWorld();
+            Location playerLoc = player.getLocation();
+            long anchor = packBlock(playerLoc.getBlockX(), playerLoc.getBlockY(), playerLoc.getBlockZ());
+            int tick = Bukkit.getCurrentTick();
 
-            Set<Location> previousBlocks = activeForceFields.getOrDefault(playerId, new HashSet<>());
+            ActiveField previous = activeForceFields.get(playerId);
+            boolean sameWorld = previous != null && previous.worldId.equals(world.getUID());
 
-            // Calculate differences
-            Set<Location> blocksToRemove = new HashSet<>(previousBlocks);
-            blocksToRemove.removeAll(currentBlocks);
-
-            Set<Location> blocksToAdd = new HashSet<>(currentBlocks);
-            blocksToAdd.removeAll(previousBlocks);
-
-            // Apply changes
-            for (Location location : blocksToRemove) {
-                sendOriginalBlockChange(player, location);
+            // Nothing moved since the last pass
+            if (sameWorld && previous.anchor == anchor && tick - previous.computedTick < FIELD_REFRESH_TICKS) {
+                return;
             }
 
-            for (Location location : blocksToAdd) {
-                sendForceFieldBlockChange(player, location);
-            }
+            long[] currentBlocks = findBoundaryBlocks(player);
+            long[] previousBlocks = sameWorld ? previous.blocks : NO_BLOCKS;
 
-            // Update tracking
-            if (currentBlocks.isEmpty()) {
+            sendFieldChanges(player, world, previousBlocks, currentBlocks);
+            if (currentBlocks.length == 0) {
+                // No wall in range; only players actually shown one are tracked
                 activeForceFields.remove(playerId);
             } else {
-                activeForceFields.put(playerId, currentBlocks);
+                activeForceFields.put(playerId, new ActiveField(world.getUID(), currentBlocks, anchor, tick));
             }
 
         } else {
@@ -332,132 +356,157 @@ public class ForceFieldManager implements Listener {
     }
 
     /**
-     * Send original block without using deprecated getData()
+     * Send the difference between two sorted wall block lists, restoring the real block where
+     * the wall is gone and glass where it is new
      */
-    private void sendOriginalBlockChange(Player player, Location location) {
-        try {
-            Block block = location.getBlock();
+    private void sendFieldChanges(Player player, World world, long[] previous, long[] current) {
+        if (previous.length == 0 && current.length == 0) {
+            return;
+        }
+
+        if (!HAS_BLOCK_DATA_API || !IS_MODERN_MC) {
+            sendLegacyFieldChanges(player, world, previous, current);
+            return;
+        }
 
-            if (HAS_BLOCK_DATA_API && IS_MODERN_MC) {
-                // Modern approach using BlockData API
-                sendModernBlockChange(player, location, block.getBlockData());
+        WrappedBlockData glass = WrappedBlockData.createData(getRedStainedGlass().createBlockData());
+        Map<Long, SectionBatch> sections = new LinkedHashMap<>();
+
+        int i = 0;
+        int j = 0;
+        while (i < previous.length || j < current.length) {
+            long block;
+            WrappedBlockData data;
+            if (j >= current.length || (i < previous.length && previous[i] < current[j])) {
+                block = previous[i++];
+                data = WrappedBlockData.createData(
+                        world.getBlockAt(blockX(block), blockY(block), blockZ(block)).getBlockData());
+            } else if (i >= previous.length || current[j] < previous[i]) {
+                block = current[j++];
+                data = glass;
             } else {
-                // Legacy approach with safe fallback
-                sendLegacyBlockChange(player, location, block.getType());
+                i++;
+                j++;
+                continue;
             }
 
-        } catch (Exception e) {
-            YakRealms.error("Failed to send original block change for " + player.getName(), e);
+            int x = blockX(block);
+            int y = blockY(block);
+            int z = blockZ(block);
+            sections.computeIfAbsent(packBlock(x >> 4, y >> 4, z >> 4), key -> new SectionBatch())
+                    .add(x, y, z, data);
+        }
+
+        for (Map.Entry<Long, SectionBatch> entry : sections.entrySet()) {
+            long section = entry.getKey();
+            sendSectionChanges(player, blockX(section), blockY(section), blockZ(section), entry.getValue());
         }
     }
 
     /**
-     * Send force field block (red stained glass)
+     * One multi block change packet for a chunk section, or single packets if the server
+     * rejects the multi block change layout
      */
-    private void sendForceFieldBlockChange(Player player, Location location) {
-        try {
-            Material glassMaterial = getRedStainedGlass();
-
-            if (HAS_BLOCK_DATA_API && IS_MODERN_MC) {
-                BlockData blockData = glassMaterial.createBlockData();
-                sendModernBlockChange(player, location, blockData);
-            } else {
-                sendLegacyBlockChange(player, location, glassMaterial);
+    private void sendSectionChanges(Player player, int sectionX, int sectionY, int sectionZ, SectionBatch batch) {
+        if (!multiBlockChangeFailed) {
+            try {
+                PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.MULTI_BLOCK_CHANGE);
+                packet.getSectionPositions().write(0, new BlockPosition(sectionX, sectionY, sectionZ));
+                packet.getShortArrays().write(0, Arrays.copyOf(batch.positions, batch.size));
+                packet.getBlockDataArrays().write(0, Arrays.copyOf(batch.data, batch.size));
+                protocolManager.sendServerPacket(player, packet);
+                return;
+            } catch (Exception e) {
+                multiBlockChangeFailed = true;
+                YakRealms.error("Multi block change packets unavailable, falling back to single block changes", e);
             }
+        }
 
-        } catch (Exception e) {
-            YakRealms.error("Failed to send force field block for " + player.getName(), e);
+        for (int k = 0; k < batch.size; k++) {
+            short position = batch.positions[k];
+            int x = sectionX << 4 | (position >> 8 & 15);
+            int y = sectionY << 4 | (position & 15);
+            int z = sectionZ << 4 | (position >> 4 & 15);
+            sendBlockChange(player, x, y, z, batch.data[k]);
         }
     }
 
     /**
-     * Modern block change using BlockData API (MC 1.13+)
+     * Per block fallback for servers without the BlockData API
      */
-    private void sendModernBlockChange(Player player, Location location, BlockData blockData) {
-        try {
-            PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.BLOCK_CHANGE);
-
-            packet.getBlockPositionModifier().write(0, new BlockPosition(
-                    location.getBlockX(), location.getBlockY(), location.getBlockZ()
-            ));
-
-            packet.getBlockData().write(0, WrappedBlockData.createData(blockData));
-            protocolManager.sendServerPacket(player, packet);
-
-        } catch (Exception e) {
-            YakRealms.error("Failed to send modern block change packet", e);
+    private void sendLegacyFieldChanges(Player player, World world, long[] previous, long[] current) {
+        Material glass = getRedStainedGlass();
+        int i = 0;
+        int j = 0;
+        while (i < previous.length || j < current.length) {
+            if (j >= current.length || (i < previous.length && previous[i] < current[j])) {
+                long block = previous[i++];
+                Material original = world.getBlockAt(blockX(block), blockY(block), blockZ(block)).getType();
+                sendBlockChange(player, blockX(block), blockY(block), blockZ(block), WrappedBlockData.createData(original));
+            } else if (i >= previous.length || current[j] < previous[i]) {
+                long block = current[j++];
+                sendBlockChange(player, blockX(block), blockY(block), blockZ(block), WrappedBlockData.createData(glass));
+            } else {
+                i++;
+                j++;
+            }
         }
     }
 
-    /**
-     * Legacy block change for older MC versions
-     */
-    private void sendLegacyBlockChange(Player player, Location location, Material material) {
+    private void sendBlockChange(Player player, int x, int y, int z, WrappedBlockData blockData) {
         try {
             PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.BLOCK_CHANGE);
-
-            packet.getBlockPositionModifier().write(0, new BlockPosition(
-                    location.getBlockX(), location.getBlockY(), location.getBlockZ()
-            ));
-
-            packet.getBlockData().write(0, WrappedBlockData.createData(material));
+            packet.getBlockPositionModifier().write(0, new BlockPosition(x, y, z));
+            packet.getBlockData().write(0, blockData);
             protocolManager.sendServerPacket(player, packet);
 
         } catch (Exception e) {
-            YakRealms.error("Failed to send legacy block change packet", e);
+            YakRealms.error("Failed to send block change packet", e);
         }
     }
 
     /**
-     * boundary detection with performance optimizations
+     * Wall blocks around a player: the transparent blocks above and below the player's feet on
+     * every safe zone border column in range, as sorted packed block positions
      */
-    private Set<Location> findBoundaryBlocks(Player player) {
-        Set<Location> boundaryBlocks = new HashSet<>();
-
-        if (!shouldPlayerHaveForceField(player)) {
-            return boundaryBlocks;
-        }
-
+    private long[] findBoundaryBlocks(Player player) {
         boundaryCalculations++;
         Location playerLoc = player.getLocation();
         World world = player.getWorld();
         int playerY = playerLoc.getBlockY();
-        int searchRadius = FORCEFIELD_RADIUS;
-
-        // Optimized boundary detection using square iteration
-        for (int x = playerLoc.getBlockX() - searchRadius; x <= playerLoc.getBlockX() + searchRadius; x++) {
-            for (int z = playerLoc.getBlockZ() - searchRadius; z <= playerLoc.getBlockZ() + searchRadius; z++) {
-
-                // Quick distance check using square distance
-                if (distanceSquared(x, z, playerLoc.getBlockX(), playerLoc.getBlockZ()) > searchRadius * searchRadius) {
-                    continue;
-                }
 
-                Location checkLoc = new Location(world, x, playerY, z);
-
-                if (isAtSafeZoneBoundary(checkLoc)) {
-                    // Add vertical blocks for wall effect
-                    int minY = Math.max(world.getMinHeight(), playerY - 1);
-                    int maxY = Math.min(world.getMaxHeight() - 1, playerY + MAX_FIELD_HEIGHT);
+        long[] columns = worldGuardManager.findSafeZoneBoundaryColumns(
+                world, playerLoc.getBlockX(), playerY, playerLoc.getBlockZ(), FORCEFIELD_RADIUS);
+        if (columns.length == 0) {
+            return NO_BLOCKS;
+        }
 
-                    for (int y = minY; y <= maxY; y++) {
-                        Location fieldBlock = new Location(world, x, y, z);
-                        Block block = fieldBlock.getBlock();
+        // Add vertical blocks for wall effect
+        int minY = Math.max(world.getMinHeight(), playerY - 1);
+        int maxY = Math.min(world.getMaxHeight() - 1, playerY + MAX_FIELD_HEIGHT);
 
-                        if (isBlockTransparent(block)) {
-                            boundaryBlocks.add(fieldBlock);
+        long[] blocks = new long[Math.min(MAX_BOUNDARY_BLOCKS, columns.length * (maxY - minY + 1))];
+        int count = 0;
 
-                            // Prevent excessive block counts
-                            if (boundaryBlocks.size() >= MAX_BOUNDARY_BLOCKS) {
-                                return boundaryBlocks;
-                            }
-                        }
+        collect:
+        for (long column : columns) {
+            int x = WorldGuardManager.columnX(column);
+            int z = WorldGuardManager.columnZ(column);
+            for (int y = minY; y <= maxY; y++) {
+                if (isBlockTransparent(world.getBlockAt(x, y, z))) {
+                    blocks[count++] = packBlock(x, y, z);
+
+                    // Prevent excessive block counts
+                    if (count >= blocks.length) {
+                        break collect;
                     }
                 }
             }
         }
 
-        return boundaryBlocks;
+        long[] result = count == blocks.length ? blocks : Arrays.copyOf(blocks, count);
+        Arrays.sort(result);
+        return result;
     }
 
     /**
@@ -499,51 +548,21 @@ public class ForceFieldManager implements Listener {
                 material.name().contains("LAVA");
     }
 
-    /**
-     * safe zone boundary detection
-     */
-    private boolean isAtSafeZoneBoundary(Location location) {
-        try {
-            boolean locationSafe = worldGuardManager.isSafeZone(location);
-
-            // Check adjacent blocks for boundary
-            for (BlockFace face : ADJACENT_FACES) {
-                Location adjacent = location.clone().add(
-                        face.getModX(), face.getModY(), face.getModZ()
-                );
-
-                boolean adjacentSafe = worldGuardManager.isSafeZone(adjacent);
-
-                if (locationSafe != adjacentSafe) {
-                    return true;
-                }
-            }
-
-        } catch (Exception e) {
-            YakRealms.error("Error checking safe zone boundary", e);
-        }
-
-        return false;
-    }
-
     /**
      * player force field removal
      */
     public void removePlayerForceField(Player player) {
         if (player == null) return;
 
-        UUID playerId = player.getUniqueId();
-        Set<Location> blocks = activeForceFields.remove(playerId);
-
-        if (blocks == null || blocks.isEmpty()) {
+        ActiveField field = activeForceFields.remove(player.getUniqueId());
+        if (field == null || field.blocks.length == 0 || !player.isOnline()) {
             return;
         }
 
         try {
-            for (Location location : blocks) {
-                if (player.isOnline()) {
-                    sendOriginalBlockChange(player, location);
-                }
+            // Blocks in another world are gone from the client already
+            if (field.worldId.equals(player.getWorld().getUID())) {
+                sendFieldChanges(player, player.getWorld(), field.blocks, NO_BLOCKS);
             }
 
         } catch (Exception e) {
@@ -571,12 +590,13 @@ public class ForceFieldManager implements Listener {
         }
 
         Player player = event.getPlayer();
-        Set<Location> forceFieldBlocks = activeForceFields.get(player.getUniqueId());
+        ActiveField field = activeForceFields.get(player.getUniqueId());
 
-        if (forceFieldBlocks != null && !forceFieldBlocks.isEmpty()) {
-            Location targetBlock = event.getTo().getBlock().getLocation();
+        if (field != null && field.blocks.length > 0) {
+            Location to = event.getTo();
+            long targetBlock = packBlock(to.getBlockX(), to.getBlockY(), to.getBlockZ());
 
-            if (forceFieldBlocks.contains(targetBlock)) {
+            if (field.contains(to.getWorld(), targetBlock)) {
                 event.setCancelled(true);
 
                 // Enhanced feedback
@@ -639,15 +659,13 @@ public class ForceFieldManager implements Listener {
     }
 
     public boolean hasActiveForceFields(Player player) {
-        if (player == null) return false;
-        Set<Location> blocks = activeForceFields.get(player.getUniqueId());
-        return blocks != null && !blocks.isEmpty();
+        return getActiveForceFieldCount(player) > 0;
     }
 
     public int getActiveForceFieldCount(Player player) {
         if (player == null) return 0;
-        Set<Location> blocks = activeForceFields.get(player.getUniqueId());
-        return blocks != null ? blocks.size() : 0;
+        ActiveField field = activeForceFields.get(player.getUniqueId());
+        return field != null ? field.blocks.length : 0;
     }
 
     /**
@@ -657,7 +675,7 @@ public class ForceFieldManager implements Listener {
         Map<String, Object> info = new HashMap<>();
         info.put("total_players_with_fields", activeForceFields.size());
         info.put("update_task_running", updateTask != null && !updateTask.isCancelled());
-        info.put("total_field_blocks", activeForceFields.values().stream().mapToInt(Set::size).sum());
+        info.put("total_field_blocks", getTotalFieldBlocks());
         info.put("boundary_calculations", boundaryCalculations);
         info.put("minecraft_version", MC_VERSION);
         info.put("is_modern_mc", IS_MODERN_MC);
@@ -665,10 +683,10 @@ public class ForceFieldManager implements Listener {
         info.put("players_needing_update", playersNeedingUpdate.size());
 
         Map<String, Integer> playerFieldCounts = new HashMap<>();
-        for (Map.Entry<UUID, Set<Location>> entry : activeForceFields.entrySet()) {
+        for (Map.Entry<UUID, ActiveField> entry : activeForceFields.entrySet()) {
             Player player = Bukkit.getPlayer(entry.getKey());
             String playerName = player != null ? player.getName() : entry.getKey().toString();
-            playerFieldCounts.put(playerName, entry.getValue().size());
+            playerFieldCounts.put(playerName, entry.getValue().blocks.length);
         }
         info.put("player_field_counts", playerFieldCounts);
 
@@ -687,29 +705,36 @@ public class ForceFieldManager implements Listener {
         activeForceFields.clear();
     }
 
-    private Set<Location> limitBlockSet(Set<Location> blocks, int maxSize) {
-        if (blocks.size() <= maxSize) return blocks;
-
-        Set<Location> limited = new HashSet<>();
-        int count = 0;
-        for (Location location : blocks) {
-            limited.add(location);
-            if (++count >= maxSize) break;
+    private int getTotalFieldBlocks() {
+        int total = 0;
+        for (ActiveField field : activeForceFields.values()) {
+            total += field.blocks.length;
         }
-        return limited;
+        return total;
+    }
+
+    // Same layout as the vanilla packed block position: 26 bits x, 26 bits z, 12 bits y
+    private static long packBlock(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int blockX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    private static int blockY(long packed) {
+        return (int) (packed << 52 >> 52);
     }
 
-    private int distanceSquared(int x1, int z1, int x2, int z2) {
-        int dx = x2 - x1;
-        int dz = z2 - z1;
-        return dx * dx + dz * dz;
+    private static int blockZ(long packed) {
+        return (int) (packed << 26 >> 38);
     }
 
     private void logPerformanceStats() {
         YakRealms.log(String.format(
                 "ForceField Performance - Players: %d, Total Blocks: %d, Boundary Calcs: %d",
                 activeForceFields.size(),
-                activeForceFields.values().stream().mapToInt(Set::size).sum(),
+                getTotalFieldBlocks(),
                 boundaryCalculations
         ));
         boundaryCalculations = 0; // Reset counter
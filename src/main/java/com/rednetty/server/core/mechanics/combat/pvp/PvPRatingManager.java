@@ -1,6 +1,7 @@
 package com.rednetty.server.core.mechanics.combat.pvp;
 
 import com.rednetty.server.YakRealms;
+import com.rednetty.server.core.mechanics.player.PlayerStatCounter;
 import com.rednetty.server.core.mechanics.player.YakPlayer;
 import com.rednetty.server.core.mechanics.player.YakPlayerManager;
 import org.bukkit.*;
@@ -233,7 +234,7 @@ public class PvPRatingManager implements Listener {
         }
 
         // Update kill counts
-        killerData.setPlayerKills(killerData.getPlayerKills() + 1);
+        killerData.incrementStat(PlayerStatCounter.PLAYER_KILLS, 1);
 
         // Track recent kills for spam protection
         trackRecentKill(killerUUID, victim.getName());
@@ -289,7 +290,7 @@ public class PvPRatingManager implements Listener {
         victimData.setKillStreak(0);
 
         // Update death count
-        victimData.setDeaths(victimData.getDeaths() + 1);
+        victimData.incrementStat(PlayerStatCounter.DEATHS, 1);
 
         // Rating loss is calculated in processKill for the killer
         // Here we just get the updated rating
@@ -30,8 +30,14 @@ import org.bukkit.util.io.BukkitObjectOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -47,6 +53,7 @@ import java.util.logging.Logger;
  * - Enhanced dirty page tracking with atomic operations
  * - Bulletproof shutdown process
  * - Bank data validation and corruption recovery
+ * - Pages stored per page in their own collection, read on first open and written only when dirty
  */
 public class BankManager implements Listener {
     // Constants
@@ -57,9 +64,11 @@ public class BankManager implements Listener {
     public static final String COLLECTION_BIN_TITLE = "Collection Bin";
     public static final int MAX_BANK_PAGES = 10;
     public static final int BASE_BANK_PAGES = 1;
+    private static final long SAVE_WAIT_SECONDS = 10;
 
     private static BankManager instance;
     private final Logger logger;
+    private final BankPageRepository pageRepository;
 
     // Adventure API serializer for backwards compatibility
     private static final LegacyComponentSerializer LEGACY_SERIALIZER = LegacyComponentSerializer.legacySection();
@@ -78,7 +87,13 @@ public class BankManager implements Listener {
     // Enhanced dirty tracking with atomic operations
     private final Map<UUID, Set<Integer>> dirtyBankPages = new ConcurrentHashMap<>();
     private final Map<UUID, Long> lastSaveTimestamp = new ConcurrentHashMap<>();
-    private final Map<UUID, Set<Integer>> currentlySaving = new ConcurrentHashMap<>();
+    // Latest write per page; later writes of a page chain onto it
+    private final Map<UUID, Map<Integer, CompletableFuture<Boolean>>> currentlySaving = new ConcurrentHashMap<>();
+
+    // Page reads in flight, dropped once the page is cached or the read fails
+    private final Map<UUID, Map<Integer, CompletableFuture<String>>> pendingPageLoads = new ConcurrentHashMap<>();
+    // Serialized contents of each cached page as loaded or last written; a page that still matches is never rewritten
+    private final Map<UUID, Map<Integer, String>> storedPageContents = new ConcurrentHashMap<>();
 
     // Performance and error tracking
     private final AtomicInteger totalBankOpens = new AtomicInteger(0);
@@ -142,6 +157,7 @@ public class BankManager implements Listener {
      */
     private BankManager() {
         this.logger = YakRealms.getInstance().getLogger();
+        this.pageRepository = new BankPageRepository(logger);
     }
 
     /**
@@ -204,7 +220,9 @@ public class BankManager implements Listener {
             int savedCount = 0;
             int skippedCount = 0;
             int errorCount = 0;
+            List<CompletableFuture<Boolean>> pageSaves = new ArrayList<>();
 
+            // Only dirty pages are written, one upsert each
             for (Map.Entry<UUID, Set<Integer>> entry : dirtyBankPages.entrySet()) {
                 UUID playerUuid = entry.getKey();
                 Set<Integer> dirtyPages = entry.getValue();
@@ -213,9 +231,6 @@ public class BankManager implements Listener {
                     continue;
                 }
 
-                // Check if YakPlayerManager is coordinating this player
-                YakPlayerManager playerManager = YakPlayerManager.getInstance();
-
                 Map<Integer, Inventory> playerBankPages = playerBanks.get(playerUuid);
                 if (playerBankPages != null) {
                     Set<Integer> pagesToSave = new HashSet<>(dirtyPages);
@@ -224,12 +239,7 @@ public class BankManager implements Listener {
                         try {
                             Inventory bankInv = playerBankPages.get(page);
                             if (bankInv != null) {
-                                if (saveBankWithCoordination(bankInv, playerUuid, page, "auto_save")) {
-                                    savedCount++;
-                                    dirtyPages.remove(page);
-                                } else {
-                                    errorCount++;
-                                }
+                                pageSaves.add(saveBankWithCoordination(bankInv, playerUuid, page, "auto_save"));
                             }
                         } catch (Exception e) {
                             logger.log(Level.WARNING, "Error auto-saving bank page " + page + " for player " + playerUuid, e);
@@ -239,6 +249,14 @@ public class BankManager implements Listener {
                 }
             }
 
+            for (CompletableFuture<Boolean> pageSave : pageSaves) {
+                if (awaitSave(pageSave)) {
+                    savedCount++;
+                } else {
+                    errorCount++;
+                }
+            }
+
             // Save collection bins
             for (Map.Entry<UUID, Inventory> entry : collectionBins.entrySet()) {
                 try {
@@ -285,13 +303,27 @@ public class BankManager implements Listener {
                     Long lastSave = lastSaveTimestamp.get(playerUuid);
                     if (lastSave == null || (currentTime - lastSave) > 600000) { // 10 minutes
                         // Force save before cleanup
+                        boolean allSaved = true;
                         try {
+                            List<CompletableFuture<Boolean>> pageSaves = new ArrayList<>();
                             Map<Integer, Inventory> bankPages = entry.getValue();
-                            for (Map.Entry<Integer, Inventory> pageEntry : bankPages.entrySet()) {
-                                saveBankWithCoordination(pageEntry.getValue(), playerUuid, pageEntry.getKey(), "cache_cleanup");
+                            for (Integer page : getDirtyPages(playerUuid)) {
+                                Inventory inventory = bankPages.get(page);
+                                if (inventory != null) {
+                                    pageSaves.add(saveBankWithCoordination(inventory, playerUuid, page, "cache_cleanup"));
+                                }
+                            }
+                            for (CompletableFuture<Boolean> pageSave : pageSaves) {
+                                allSaved &= awaitSave(pageSave);
                             }
                         } catch (Exception e) {
                             logger.log(Level.WARNING, "Error saving bank during cache cleanup for " + playerUuid, e);
+                            allSaved = false;
+                        }
+
+                        // Keep the pages cached until they are safely stored; a reload would read stale data
+                        if (!allSaved) {
+                            continue;
                         }
 
                         // Clean up cache
@@ -300,6 +332,8 @@ public class BankManager implements Listener {
                         dirtyBankPages.remove(playerUuid);
                         lastSaveTimestamp.remove(playerUuid);
                         currentlySaving.remove(playerUuid);
+                        pendingPageLoads.remove(playerUuid);
+                        storedPageContents.remove(playerUuid);
                         bankViewMap.remove(playerUuid);
                         cleanedPlayers++;
                     }
@@ -322,25 +356,35 @@ public class BankManager implements Listener {
             logger.info("Starting immediate save of " + playerBanks.size() + " player banks...");
             int savedCount = 0;
             int errorCount = 0;
+            List<CompletableFuture<Boolean>> pageSaves = new ArrayList<>();
 
             for (Map.Entry<UUID, Map<Integer, Inventory>> entry : playerBanks.entrySet()) {
                 UUID playerUuid = entry.getKey();
                 Map<Integer, Inventory> banks = entry.getValue();
 
-                for (Map.Entry<Integer, Inventory> bankEntry : banks.entrySet()) {
+                for (Integer page : getDirtyPages(playerUuid)) {
+                    Inventory inventory = banks.get(page);
+                    if (inventory == null) {
+                        continue;
+                    }
                     try {
-                        if (saveBankWithCoordination(bankEntry.getValue(), playerUuid, bankEntry.getKey(), "shutdown")) {
-                            savedCount++;
-                        } else {
-                            errorCount++;
-                        }
+                        pageSaves.add(saveBankWithCoordination(inventory, playerUuid, page, "shutdown"));
                     } catch (Exception e) {
-                        logger.log(Level.SEVERE, "Error saving bank during shutdown for " + playerUuid + " page " + bankEntry.getKey(), e);
+                        logger.log(Level.SEVERE, "Error saving bank during shutdown for " + playerUuid + " page " + page, e);
                         errorCount++;
                     }
                 }
             }
 
+            // Page writes are queued on the database gateway; wait for them while it is still running
+            for (CompletableFuture<Boolean> pageSave : pageSaves) {
+                if (awaitSave(pageSave)) {
+                    savedCount++;
+                } else {
+                    errorCount++;
+                }
+            }
+
             // Save collection bins
             for (Map.Entry<UUID, Inventory> entry : collectionBins.entrySet()) {
                 try {
@@ -361,6 +405,8 @@ public class BankManager implements Listener {
             dirtyBankPages.clear();
             lastSaveTimestamp.clear();
             currentlySaving.clear();
+            pendingPageLoads.clear();
+            storedPageContents.clear();
             bankViewMap.clear();
 
             logger.info("✅ Immediate shutdown save completed: " + savedCount + " saved, " + errorCount + " errors");
@@ -370,71 +416,86 @@ public class BankManager implements Listener {
     }
 
     /**
-     * Enhanced bank saving with coordination
+     * Write one bank page to the page collection. Writes of the same page are chained so an
+     * older copy never lands after a newer one; a failed write leaves the page dirty for the
+     * next auto-save. A page whose contents match what was loaded or last written is skipped.
+     *
+     * @return completes with whether the page was stored; never fails
      */
-    private boolean saveBankWithCoordination(Inventory inventory, UUID playerUuid, int page, String context) {
+    private CompletableFuture<Boolean> saveBankWithCoordination(Inventory inventory, UUID playerUuid, int page, String context) {
         try {
-            // Check if already saving this page
-            Set<Integer> currentSaving = currentlySaving.computeIfAbsent(playerUuid, k -> ConcurrentHashMap.newKeySet());
-            if (currentSaving.contains(page)) {
-                logger.fine("Bank page " + page + " already being saved for player " + playerUuid);
-                return false;
-            }
-
-            currentSaving.add(page);
-
-            try {
-                totalBankSaves.incrementAndGet();
+            totalBankSaves.incrementAndGet();
 
-                YakPlayer yakPlayer = YakPlayerManager.getInstance().getPlayer(playerUuid);
-                if (yakPlayer == null) {
-                    logger.warning("Cannot save bank - YakPlayer not found for UUID: " + playerUuid);
-                    failedBankSaves.incrementAndGet();
-                    return false;
-                }
+            // Whatever changes after this point is caught by the next save
+            Set<Integer> dirtyPages = dirtyBankPages.get(playerUuid);
+            if (dirtyPages != null) {
+                dirtyPages.remove(page);
+            }
 
-                // Enhanced serialization with validation
-                String serializedItems = serializeInventoryWithValidation(inventory, playerUuid, page);
-                if (serializedItems == null) {
-                    logger.warning("Failed to serialize bank inventory for player " + yakPlayer.getUsername() + " page " + page);
-                    failedBankSaves.incrementAndGet();
-                    return false;
-                }
+            // Enhanced serialization with validation
+            String serializedItems = serializeInventoryWithValidation(inventory, playerUuid, page);
+            if (serializedItems == null) {
+                logger.warning("Failed to serialize bank inventory for player " + playerUuid + " page " + page);
+                failedBankSaves.incrementAndGet();
+                markBankDirty(playerUuid, page);
+                return CompletableFuture.completedFuture(false);
+            }
 
-                // CRITICAL: Save to YakPlayer with enhanced coordination
-                yakPlayer.setSerializedBankItems(page, serializedItems);
+            Map<Integer, String> storedPages = storedPageContents.computeIfAbsent(playerUuid, k -> new ConcurrentHashMap<>());
+            if (serializedItems.equals(storedPages.put(page, serializedItems))) {
+                logger.fine("Bank page " + page + " unchanged for " + playerUuid + " (" + context + ") - skipping write");
+                return CompletableFuture.completedFuture(true);
+            }
 
-                // Update bank balance from UI item
-                updateBankBalanceFromUI(inventory, yakPlayer);
+            // The gem balance stays on the player document; only save the player when it moved
+            YakPlayer yakPlayer = YakPlayerManager.getInstance().getPlayer(playerUuid);
+            if (yakPlayer != null && updateBankBalanceFromUI(inventory, yakPlayer)) {
+                YakPlayerManager.getInstance().savePlayer(yakPlayer);
+            }
 
-                // Coordinate with YakPlayerManager for immediate save
-                YakPlayerManager playerManager = YakPlayerManager.getInstance();
-                if (playerManager != null) {
-                    // Use YakPlayerManager's coordinated save
-                    boolean saveResult = playerManager.savePlayer(yakPlayer).get();
-                    if (saveResult) {
-                        successfulBankSaves.incrementAndGet();
-                        lastSaveTimestamp.put(playerUuid, System.currentTimeMillis());
-                        logger.fine("✅ Enhanced bank save successful for " + yakPlayer.getUsername() + " page " + page + " (" + context + ")");
-                        return true;
-                    } else {
-                        logger.warning("YakPlayerManager save failed for " + yakPlayer.getUsername() + " page " + page);
-                        failedBankSaves.incrementAndGet();
-                        return false;
-                    }
+            Map<Integer, CompletableFuture<Boolean>> pageSaves =
+                    currentlySaving.computeIfAbsent(playerUuid, k -> new ConcurrentHashMap<>());
+            CompletableFuture<Boolean> write = pageSaves.compute(page, (p, previous) ->
+                    (previous == null ? CompletableFuture.completedFuture(true) : previous)
+                            .thenCompose(ignored -> pageRepository.savePage(playerUuid, p, serializedItems)));
+
+            return write.thenApply(saved -> {
+                pageSaves.remove(page, write);
+                if (saved) {
+                    successfulBankSaves.incrementAndGet();
+                    lastSaveTimestamp.put(playerUuid, System.currentTimeMillis());
+                    logger.fine("✅ Bank page " + page + " saved for " + playerUuid + " (" + context + ")");
                 } else {
-                    logger.severe("YakPlayerManager not available for bank save!");
                     failedBankSaves.incrementAndGet();
-                    return false;
+                    // The stored copy is unknown now, so the next save must not be skipped
+                    storedPages.remove(page, serializedItems);
+                    markBankDirty(playerUuid, page);
+                    logger.warning("Bank page save failed for " + playerUuid + " page " + page + " (" + context + ")");
                 }
-
-            } finally {
-                currentSaving.remove(page);
-            }
+                return saved;
+            });
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error in enhanced bank save for player " + playerUuid + " page " + page, e);
             failedBankSaves.incrementAndGet();
+            markBankDirty(playerUuid, page);
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    /**
+     * Wait for a page write from a background or shutdown task
+     */
+    private boolean awaitSave(CompletableFuture<Boolean> save) {
+        try {
+            return save.get(SAVE_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            logger.warning("Timed out waiting for a bank page save");
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
             return false;
         }
     }
@@ -532,8 +593,10 @@ public class BankManager implements Listener {
 
     /**
      * Update bank balance from UI item
+     *
+     * @return true if the stored balance changed
      */
-    private void updateBankBalanceFromUI(Inventory inventory, YakPlayer yakPlayer) {
+    private boolean updateBankBalanceFromUI(Inventory inventory, YakPlayer yakPlayer) {
         try {
             ItemStack balanceItem = inventory.getItem(BANK_SIZE - 5);
             if (balanceItem != null && balanceItem.getType() == Material.EMERALD) {
@@ -544,13 +607,17 @@ public class BankManager implements Listener {
                         String plainText = LEGACY_SERIALIZER.serialize(displayName);
                         String balanceStr = ChatColor.stripColor(plainText).split(" ")[0];
                         int bankBalance = Integer.parseInt(balanceStr);
-                        yakPlayer.setBankGems(bankBalance);
+                        if (bankBalance != yakPlayer.getBankGems()) {
+                            yakPlayer.setBankGems(bankBalance);
+                            return true;
+                        }
                     }
                 }
             }
         } catch (Exception e) {
             logger.log(Level.WARNING, "Error parsing bank balance from item", e);
         }
+        return false;
     }
 
     /**
@@ -566,7 +633,31 @@ public class BankManager implements Listener {
     }
 
     /**
-     * Enhanced bank inventory retrieval with improved caching and validation
+     * Mark a page dirty if its contents differ from what was loaded or last written
+     *
+     * @return whether the page now needs saving
+     */
+    private boolean markBankDirtyIfChanged(UUID playerUuid, int page, Inventory inventory) {
+        Map<Integer, String> storedPages = storedPageContents.get(playerUuid);
+        String stored = storedPages != null ? storedPages.get(page) : null;
+        String current = serializeInventory(inventory);
+        if (stored == null || !stored.equals(current)) {
+            markBankDirty(playerUuid, page);
+        }
+
+        Set<Integer> dirtyPages = dirtyBankPages.get(playerUuid);
+        return dirtyPages != null && dirtyPages.contains(page);
+    }
+
+    private Set<Integer> getDirtyPages(UUID playerUuid) {
+        Set<Integer> dirtyPages = dirtyBankPages.get(playerUuid);
+        return dirtyPages != null ? new HashSet<>(dirtyPages) : Collections.emptySet();
+    }
+
+    /**
+     * Enhanced bank inventory retrieval with improved caching and validation.
+     * Pages are read from the database on first use, so this returns null while a page is still
+     * loading; use {@link #openBank(Player, int)} to open a page that may not be cached yet.
      */
     public Inventory getBank(Player player, int page) {
         if (player == null || page < 1) {
@@ -605,16 +696,31 @@ public class BankManager implements Listener {
             return cachedBank;
         }
 
+        // Never block the server thread on the database; the read completes in the background
+        CompletableFuture<String> pageLoad = requestPageLoad(targetUuid, page);
+        if (!pageLoad.isDone()) {
+            logger.fine("Bank page " + page + " for player " + yakPlayer.getUsername() + " is still loading");
+            return null;
+        }
+
+        String serializedItems;
+        try {
+            serializedItems = pageLoad.join();
+        } catch (CompletionException | CancellationException e) {
+            // An unreadable page must not be shown (and later saved) as empty
+            logger.log(Level.WARNING, "Could not load bank page " + page + " for player " + yakPlayer.getUsername(), e.getCause());
+            return null;
+        }
+
         cacheMisses.incrementAndGet();
 
         // Create new bank inventory
         String title = BANK_TITLE_PREFIX + page + "/" + maxPages + BANK_TITLE_SUFFIX;
         Inventory bankInv = Bukkit.createInventory(null, BANK_SIZE, title);
 
-        // Load bank contents from YakPlayer with enhanced error handling
+        // Load bank contents with enhanced error handling
         boolean dataLoaded = false;
         try {
-            String serializedItems = yakPlayer.getSerializedBankItems(page);
             if (serializedItems != null && !serializedItems.isEmpty()) {
                 if (deserializeInventoryWithValidation(serializedItems, bankInv, targetUuid, page)) {
                     dataLoaded = true;
@@ -632,8 +738,21 @@ public class BankManager implements Listener {
         // Initialize UI elements
         initializeBankInventory(bankInv, player, page, maxPages);
 
-        // Cache the inventory
+        // Remember what is stored; a page repaired while loading is already dirty and must still be written
+        String loadedContents = serializeInventory(bankInv);
+        Map<Integer, String> storedPages = storedPageContents.computeIfAbsent(targetUuid, k -> new ConcurrentHashMap<>());
+        if (loadedContents != null && !getDirtyPages(targetUuid).contains(page)) {
+            storedPages.put(page, loadedContents);
+        } else {
+            storedPages.remove(page);
+        }
+
+        // Cache the inventory; from here on the cached page is the source of truth
         playerBankPages.put(page, bankInv);
+        Map<Integer, CompletableFuture<String>> loads = pendingPageLoads.get(targetUuid);
+        if (loads != null) {
+            loads.remove(page, pageLoad);
+        }
 
         if (dataLoaded) {
             logger.fine("Bank page " + page + " loaded and cached for player " + yakPlayer.getUsername());
@@ -644,6 +763,88 @@ public class BankManager implements Listener {
         return bankInv;
     }
 
+    /**
+     * Open a bank page, reading it from the database first if it is not cached yet
+     */
+    public void openBank(Player player, int page) {
+        whenBankPageReady(player, page, () -> {
+            Inventory bankInv = getBank(player, page);
+            if (bankInv != null) {
+                player.openInventory(bankInv);
+                player.playSound(Sound.sound(org.bukkit.Sound.BLOCK_CHEST_OPEN, Sound.Source.PLAYER, 1.0f, 1.0f),
+                        player.getLocation().x(), player.getLocation().y(), player.getLocation().z());
+            } else {
+                player.sendMessage(Component.text("Unable to access your bank at this time.", NamedTextColor.RED));
+            }
+        });
+    }
+
+    /**
+     * Run {@code task} on the main thread once the page the player would see is loaded.
+     * Cached pages run it straight away; a failed read runs it too and {@link #getBank} reports it.
+     */
+    private void whenBankPageReady(Player player, int page, Runnable task) {
+        UUID viewerUuid = player.getUniqueId();
+        UUID targetUuid = bankViewMap.getOrDefault(viewerUuid, viewerUuid);
+
+        Map<Integer, Inventory> cachedPages = playerBanks.get(targetUuid);
+        if (cachedPages != null && cachedPages.containsKey(page)) {
+            task.run();
+            return;
+        }
+
+        requestPageLoad(targetUuid, page).whenComplete((items, error) ->
+                Bukkit.getScheduler().runTask(YakRealms.getInstance(), () -> {
+                    if (player.isOnline()) {
+                        task.run();
+                    }
+                }));
+    }
+
+    /**
+     * Start (or join) the read of a page that is not cached. A read waits for any write of the
+     * same page still in flight, so a page dropped from the cache never comes back stale.
+     *
+     * <p>Pages still embedded in the player document under {@code bank_inventory} are moved to
+     * the page collection by the read; the embedded copy is then dropped from the player so the
+     * next player save unsets it.
+     */
+    private CompletableFuture<String> requestPageLoad(UUID playerUuid, int page) {
+        Map<Integer, CompletableFuture<String>> loads =
+                pendingPageLoads.computeIfAbsent(playerUuid, k -> new ConcurrentHashMap<>());
+        CompletableFuture<String> existing = loads.get(page);
+        if (existing != null) {
+            return existing;
+        }
+
+        YakPlayer yakPlayer = YakPlayerManager.getInstance().getPlayer(playerUuid);
+        String legacyItems = yakPlayer != null ? yakPlayer.getSerializedBankItems(page) : null;
+
+        Map<Integer, CompletableFuture<Boolean>> pageSaves = currentlySaving.get(playerUuid);
+        CompletableFuture<Boolean> pendingSave = pageSaves != null ? pageSaves.get(page) : null;
+
+        CompletableFuture<String> load = (pendingSave != null ? pendingSave : CompletableFuture.completedFuture(true))
+                .thenCompose(ignored -> pageRepository.loadPage(playerUuid, page, legacyItems))
+                .thenApply(items -> {
+                    if (legacyItems != null) {
+                        yakPlayer.setSerializedBankItems(page, null);
+                    }
+                    return items;
+                });
+
+        CompletableFuture<String> raced = loads.putIfAbsent(page, load);
+        if (raced != null) {
+            return raced;
+        }
+        // Let the next access retry a failed read
+        load.whenComplete((items, error) -> {
+            if (error != null) {
+                loads.remove(page, load);
+            }
+        });
+        return load;
+    }
+
     /**
      * Enhanced inventory deserialization with validation and corruption recovery
      */
@@ -869,14 +1070,7 @@ public class BankManager implements Listener {
 
         // Open bank inventory
         try {
-            Inventory bankInv = getBank(player, 1);
-            if (bankInv != null) {
-                player.openInventory(bankInv);
-                player.playSound(Sound.sound(org.bukkit.Sound.BLOCK_CHEST_OPEN, Sound.Source.PLAYER, 1.0f, 1.0f),
-                        player.getLocation().x(), player.getLocation().y(), player.getLocation().z());
-            } else {
-                player.sendMessage(Component.text("Unable to access your bank at this time.", NamedTextColor.RED));
-            }
+            openBank(player, 1);
         } catch (Exception e) {
             player.sendMessage(Component.text("There was an error opening your bank.", NamedTextColor.RED));
             logger.log(Level.SEVERE, "Error opening bank for player " + player.getName(), e);
@@ -929,7 +1123,7 @@ public class BankManager implements Listener {
             return;
         }
 
-        // Mark bank as dirty when items are modified (with enhanced tracking)
+        // The click may change the page; the save compares contents, so an unchanged page is not written
         markBankDirty(player.getUniqueId(), page);
 
         // Determine click location and action
@@ -1017,20 +1211,25 @@ public class BankManager implements Listener {
             int currentPage = Integer.parseInt(currentTitle.substring(currentTitle.indexOf("(") + 1, currentTitle.indexOf("/")));
 
             UUID playerUuid = player.getUniqueId();
-            markBankDirty(playerUuid, currentPage);
 
-            // Force save current page immediately
+            // Save the current page right away if anything on it changed
             Inventory currentInventory = player.getOpenInventory().getTopInventory();
-            saveBankWithCoordination(currentInventory, playerUuid, currentPage, "page_change");
+            if (markBankDirtyIfChanged(playerUuid, currentPage, currentInventory)) {
+                saveBankWithCoordination(currentInventory, playerUuid, currentPage, "page_change");
+            }
 
-            // Open new page
+            // Open new page once it is loaded
             player.closeInventory();
-            Inventory newBankInv = getBank(player, newPage);
-            if (newBankInv != null) {
-                player.openInventory(newBankInv);
-                player.playSound(Sound.sound(org.bukkit.Sound.ENTITY_BAT_TAKEOFF, Sound.Source.PLAYER, 1.0f, 1.25f),
-                        player.getLocation().x(), player.getLocation().y(), player.getLocation().z());
-            }
+            whenBankPageReady(player, newPage, () -> {
+                Inventory newBankInv = getBank(player, newPage);
+                if (newBankInv != null) {
+                    player.openInventory(newBankInv);
+                    player.playSound(Sound.sound(org.bukkit.Sound.ENTITY_BAT_TAKEOFF, Sound.Source.PLAYER, 1.0f, 1.25f),
+                            player.getLocation().x(), player.getLocation().y(), player.getLocation().z());
+                } else {
+                    player.sendMessage(Component.text("Could not change bank page.", NamedTextColor.RED));
+                }
+            });
 
         } catch (Exception e) {
             player.sendMessage(Component.text("Could not change bank page.", NamedTextColor.RED));
@@ -1178,12 +1377,22 @@ public class BankManager implements Listener {
         // Clear any cached bank pages to refresh UI
         Map<Integer, Inventory> playerBankPages = playerBanks.get(player.getUniqueId());
         if (playerBankPages != null) {
-            // Save all pages before clearing cache
+            // Drop clean pages now and dirty ones once stored; a page whose save failed stays cached and dirty
             UUID playerUuid = player.getUniqueId();
+            Set<Integer> dirtyPages = getDirtyPages(playerUuid);
             for (Map.Entry<Integer, Inventory> entry : playerBankPages.entrySet()) {
-                saveBankWithCoordination(entry.getValue(), playerUuid, entry.getKey(), "upgrade_cache_clear");
+                int page = entry.getKey();
+                Inventory inventory = entry.getValue();
+                if (!dirtyPages.contains(page)) {
+                    playerBankPages.remove(page, inventory);
+                    continue;
+                }
+                saveBankWithCoordination(inventory, playerUuid, page, "upgrade_cache_clear").thenAccept(saved -> {
+                    if (saved) {
+                        playerBankPages.remove(page, inventory);
+                    }
+                });
             }
-            playerBankPages.clear();
         }
     }
 
@@ -1524,21 +1733,14 @@ public class BankManager implements Listener {
                 int page = Integer.parseInt(pageStr);
                 UUID playerUuid = player.getUniqueId();
 
-                // Mark this page as dirty for saving
-                markBankDirty(playerUuid, page);
-
-                // Enhanced immediate save coordination
+                // Write just this page, and only if it changed; the result is logged when the write completes
                 Inventory bankInventory = event.getInventory();
-                boolean saveSuccess = saveBankWithCoordination(bankInventory, playerUuid, page, "inventory_close");
+                if (markBankDirtyIfChanged(playerUuid, page, bankInventory)) {
+                    saveBankWithCoordination(bankInventory, playerUuid, page, "inventory_close");
+                }
 
                 // Remove from viewing map
                 bankViewMap.remove(player.getUniqueId());
-
-                if (saveSuccess) {
-                    logger.fine("✅ Bank closed and saved successfully for player " + player.getName() + " page " + page);
-                } else {
-                    logger.warning("Bank save failed on close for player " + player.getName() + " page " + page);
-                }
             } catch (Exception e) {
                 logger.log(Level.SEVERE, "Error saving bank on close for player " + player.getName(), e);
             }
@@ -1694,6 +1896,8 @@ public class BankManager implements Listener {
                 cacheMisses.get(),
                 bankDataCorruptions.get(),
                 bankDataRecoveries.get(),
+                pageRepository.getPagesLoaded(),
+                pageRepository.getPagesMigrated(),
                 playerBanks.size(),
                 dirtyBankPages.values().stream().mapToInt(Set::size).sum(),
                 collectionBins.size()
@@ -1712,13 +1916,15 @@ public class BankManager implements Listener {
         public final int cacheMisses;
         public final int dataCorruptions;
         public final int dataRecoveries;
+        public final int pagesLoaded;
+        public final int pagesMigrated;
         public final int cachedPlayers;
         public final int dirtyPages;
         public final int collectionBins;
 
         public BankStats(int totalOpens, int totalSaves, int successfulSaves, int failedSaves,
                          int cacheHits, int cacheMisses, int dataCorruptions, int dataRecoveries,
-                         int cachedPlayers, int dirtyPages, int collectionBins) {
+                         int pagesLoaded, int pagesMigrated, int cachedPlayers, int dirtyPages, int collectionBins) {
             this.totalOpens = totalOpens;
             this.totalSaves = totalSaves;
             this.successfulSaves = successfulSaves;
@@ -1727,6 +1933,8 @@ public class BankManager implements Listener {
             this.cacheMisses = cacheMisses;
             this.dataCorruptions = dataCorruptions;
             this.dataRecoveries = dataRecoveries;
+            this.pagesLoaded = pagesLoaded;
+            this.pagesMigrated = pagesMigrated;
             this.cachedPlayers = cachedPlayers;
             this.dirtyPages = dirtyPages;
             this.collectionBins = collectionBins;
@@ -1744,10 +1952,10 @@ public class BankManager implements Listener {
         @Override
         public String toString() {
             return String.format("BankStats{opens=%d, saves=%d/%d (%.1f%%), cache=%d/%d (%.1f%%), " +
-                            "corruptions=%d, recoveries=%d, cached=%d, dirty=%d, bins=%d}",
+                            "corruptions=%d, recoveries=%d, pagesLoaded=%d, migrated=%d, cached=%d, dirty=%d, bins=%d}",
                     totalOpens, successfulSaves, totalSaves, getSaveSuccessRate(),
                     cacheHits, cacheHits + cacheMisses, getCacheHitRate(),
-                    dataCorruptions, dataRecoveries, cachedPlayers, dirtyPages, collectionBins);
+                    dataCorruptions, dataRecoveries, pagesLoaded, pagesMigrated, cachedPlayers, dirtyPages, collectionBins);
         }
     }
 }
\ No newline at end of file
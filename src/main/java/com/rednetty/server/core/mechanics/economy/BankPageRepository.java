@@ -0,0 +1,182 @@
+package com.rednetty.server.core.mechanics.economy;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import com.rednetty.server.core.database.DatabaseGateway.Priority;
+import com.rednetty.server.core.database.MongoDBManager;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bank pages stored one document per page in {@code player_banks}, keyed by player and page.
+ * A page is only read when it is first opened and only the page that changed is written, so
+ * bank contents no longer ride along with every player load and save.
+ */
+public class BankPageRepository {
+    private static final String COLLECTION_NAME = "player_banks";
+
+    private final Logger logger;
+    private volatile MongoCollection<Document> collection;
+
+    // Statistics
+    private final AtomicInteger pagesLoaded = new AtomicInteger(0);
+    private final AtomicInteger pagesMigrated = new AtomicInteger(0);
+    private final AtomicInteger pagesSaved = new AtomicInteger(0);
+    private final AtomicInteger saveFailures = new AtomicInteger(0);
+
+    BankPageRepository(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Resolve the collection on first use, creating its index once
+     */
+    private MongoCollection<Document> getCollection() {
+        MongoCollection<Document> pages = collection;
+        if (pages != null) {
+            return pages;
+        }
+
+        synchronized (this) {
+            if (collection == null) {
+                MongoDBManager mongoDBManager = MongoDBManager.getInstance();
+                if (!mongoDBManager.isConnected()) {
+                    return null;
+                }
+                MongoCollection<Document> created = mongoDBManager.getCollection(COLLECTION_NAME);
+                try {
+                    created.createIndex(Indexes.ascending("uuid", "page"), new IndexOptions().unique(true));
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "Could not create bank page index", e);
+                }
+                collection = created;
+            }
+            return collection;
+        }
+    }
+
+    private static Bson pageFilter(UUID playerUuid, int page) {
+        return Filters.and(Filters.eq("uuid", playerUuid.toString()), Filters.eq("page", page));
+    }
+
+    // ================ LOAD ================
+
+    /**
+     * Read one page. {@code legacyItems} is the copy still embedded in the player document, if
+     * any: when the collection has no such page yet it is inserted there first (never over an
+     * existing page) and returned.
+     *
+     * <p>Completes with null for a page that was never stored, and exceptionally when the
+     * database could not be asked, so a failed read is never mistaken for an empty page.
+     */
+    public CompletableFuture<String> loadPage(UUID playerUuid, int page, String legacyItems) {
+        return MongoDBManager.getInstance().submit(COLLECTION_NAME, Priority.READ, () -> {
+            MongoCollection<Document> pages = getCollection();
+            if (pages == null) {
+                throw new IllegalStateException("Bank page collection unavailable");
+            }
+
+            Optional<String> items = findItems(pages, playerUuid, page);
+            if (items.isEmpty() && legacyItems != null) {
+                UpdateResult result = MongoDBManager.getInstance().performSafeOperation(() ->
+                        pages.updateOne(pageFilter(playerUuid, page),
+                                Updates.combine(
+                                        Updates.setOnInsert("items", legacyItems),
+                                        Updates.setOnInsert("updated_at", System.currentTimeMillis())),
+                                new UpdateOptions().upsert(true)));
+                if (result == null) {
+                    throw new IllegalStateException("Bank page migration failed for " + playerUuid + " page " + page);
+                }
+
+                if (result.getUpsertedId() != null) {
+                    pagesMigrated.incrementAndGet();
+                    items = Optional.of(legacyItems);
+                } else {
+                    // Stored by someone else in the meantime; theirs wins
+                    items = findItems(pages, playerUuid, page);
+                }
+            }
+
+            pagesLoaded.incrementAndGet();
+            return items.orElse(null);
+        });
+    }
+
+    private Optional<String> findItems(MongoCollection<Document> pages, UUID playerUuid, int page) {
+        Optional<String> items = MongoDBManager.getInstance().performSafeOperation(() -> {
+            Document document = pages.find(pageFilter(playerUuid, page))
+                    .projection(Projections.include("items"))
+                    .first();
+            return Optional.ofNullable(document != null ? document.getString("items") : null);
+        });
+        if (items == null) {
+            throw new IllegalStateException("Bank page read failed for " + playerUuid + " page " + page);
+        }
+        return items;
+    }
+
+    // ================ SAVE ================
+
+    /**
+     * Upsert one page. Completes with false instead of failing.
+     */
+    public CompletableFuture<Boolean> savePage(UUID playerUuid, int page, String serializedItems) {
+        return MongoDBManager.getInstance().submit(COLLECTION_NAME, Priority.SAVE, () -> {
+                    MongoCollection<Document> pages = getCollection();
+                    if (pages == null) {
+                        return false;
+                    }
+
+                    UpdateResult result = MongoDBManager.getInstance().performSafeOperation(() ->
+                            pages.updateOne(pageFilter(playerUuid, page),
+                                    Updates.combine(
+                                            Updates.set("items", serializedItems),
+                                            Updates.set("updated_at", System.currentTimeMillis())),
+                                    new UpdateOptions().upsert(true)));
+                    return result != null;
+                })
+                .exceptionally(e -> {
+                    logger.log(Level.WARNING, "Bank page save did not run for " + playerUuid + " page " + page + ": " + e.getMessage());
+                    return false;
+                })
+                .thenApply(saved -> {
+                    if (saved) {
+                        pagesSaved.incrementAndGet();
+                    } else {
+                        saveFailures.incrementAndGet();
+                    }
+                    return saved;
+                });
+    }
+
+    // ================ STATISTICS ================
+
+    public int getPagesLoaded() {
+        return pagesLoaded.get();
+    }
+
+    public int getPagesMigrated() {
+        return pagesMigrated.get();
+    }
+
+    public int getPagesSaved() {
+        return pagesSaved.get();
+    }
+
+    public int getSaveFailures() {
+        return saveFailures.get();
+    }
+}
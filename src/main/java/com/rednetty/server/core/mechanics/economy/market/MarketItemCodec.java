@@ -0,0 +1,232 @@
+package com.rednetty.server.core.mechanics.economy.market;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Streams {@link MarketItem} directly between BSON and objects.
+ *
+ * <p>Documents without {@code schema_version} predate it (schema 1): their times may be stored
+ * as 32-bit ints, their category as a display name, and amount or tags may be missing. Those
+ * are migrated while decoding and written back at the current version on the item's next save.
+ * A document that cannot be turned into an item decodes to null, which callers skip.
+ */
+final class MarketItemCodec implements Codec<MarketItem> {
+    private static final Logger logger = Logger.getLogger(MarketItemCodec.class.getName());
+
+    /** Written with every item */
+    static final int SCHEMA_VERSION = 2;
+
+    private final AtomicInteger migrated = new AtomicInteger(0);
+    private final AtomicInteger unreadable = new AtomicInteger(0);
+
+    @Override
+    public Class<MarketItem> getEncoderClass() {
+        return MarketItem.class;
+    }
+
+    // ================ DECODE ================
+
+    @Override
+    public MarketItem decode(BsonReader reader, DecoderContext decoderContext) {
+        ObjectId mongoId = null;
+        String itemId = null;
+        String ownerUuid = null;
+        String ownerName = null;
+        String materialName = null;
+        String displayName = null;
+        String category = null;
+        String itemData = null;
+        int price = 0;
+        int amount = 1;
+        int views = 0;
+        int minLevel = 1;
+        boolean featured = false;
+        Long listedTime = null;
+        Long expiresTime = null;
+        String[] tags = null;
+        int version = 1;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            BsonType type = reader.getCurrentBsonType();
+            if (type == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+
+            switch (name) {
+                case "_id":
+                    if (type == BsonType.OBJECT_ID) mongoId = reader.readObjectId(); else reader.skipValue();
+                    break;
+                case "item_id": itemId = readString(reader); break;
+                case "owner_uuid": ownerUuid = readString(reader); break;
+                case "owner_name": ownerName = readString(reader); break;
+                case "material": materialName = readString(reader); break;
+                case "display_name": displayName = readString(reader); break;
+                case "category": category = readString(reader); break;
+                case "item_data": itemData = readString(reader); break;
+                case "price": price = (int) readLong(reader, 0); break;
+                case "amount": amount = (int) readLong(reader, 1); break;
+                case "views": views = (int) readLong(reader, 0); break;
+                case "min_level": minLevel = (int) readLong(reader, 1); break;
+                case "is_featured":
+                    if (type == BsonType.BOOLEAN) featured = reader.readBoolean(); else reader.skipValue();
+                    break;
+                case "listed_time": listedTime = readLong(reader, null); break;
+                case "expires_time": expiresTime = readLong(reader, null); break;
+                case "tags": tags = readTags(reader); break;
+                case "schema_version": version = (int) readLong(reader, 1); break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.readEndDocument();
+
+        if (itemId == null || ownerUuid == null || listedTime == null || expiresTime == null) {
+            unreadable.incrementAndGet();
+            logger.warning("Skipping market item document with missing fields: " + itemId);
+            return null;
+        }
+
+        MarketItem item;
+        try {
+            item = new MarketItem(UUID.fromString(itemId), UUID.fromString(ownerUuid), ownerName, price,
+                    materialName, displayName, amount, MarketCategory.fromString(category), listedTime,
+                    expiresTime, itemData);
+        } catch (IllegalArgumentException e) {
+            unreadable.incrementAndGet();
+            logger.warning("Skipping market item document with invalid ids: " + itemId);
+            return null;
+        }
+
+        if (mongoId != null) {
+            item.setMongoId(mongoId.toString());
+        }
+        item.setViews(views);
+        item.setFeatured(featured);
+        item.setMinLevel(minLevel);
+        if (tags != null) {
+            item.setTags(tags);
+        }
+
+        if (version < SCHEMA_VERSION) {
+            migrated.incrementAndGet();
+        }
+        return item;
+    }
+
+    private static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return reader.readString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    /**
+     * Any numeric width; schema 1 documents mixed int32, int64 and double
+     */
+    private static Long readLong(BsonReader reader, Long defaultValue) {
+        switch (reader.getCurrentBsonType()) {
+            case INT32:
+                return (long) reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case DOUBLE:
+                return (long) reader.readDouble();
+            default:
+                reader.skipValue();
+                return defaultValue;
+        }
+    }
+
+    private static String[] readTags(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+
+        List<String> tags = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String tag = readString(reader);
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+        reader.readEndArray();
+        return tags.toArray(new String[0]);
+    }
+
+    // ================ ENCODE ================
+
+    @Override
+    public void encode(BsonWriter writer, MarketItem item, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeString("item_id", item.getItemId().toString());
+        writer.writeString("owner_uuid", item.getOwnerUuid().toString());
+        writeString(writer, "owner_name", item.getOwnerName());
+        writer.writeInt32("price", item.getPrice());
+        writer.writeString("category", item.getCategory().name());
+        writer.writeInt64("listed_time", item.getListedTime());
+        writer.writeInt64("expires_time", item.getExpiresTime());
+        writer.writeInt32("views", item.getViews());
+        writer.writeBoolean("is_featured", item.isFeatured());
+        writer.writeInt32("min_level", item.getMinLevel());
+        writeString(writer, "display_name", item.getDisplayName());
+        writeString(writer, "material", item.getMaterialName());
+        writer.writeInt32("amount", item.getAmount());
+
+        writer.writeStartArray("tags");
+        for (String tag : item.getTags()) {
+            if (tag != null) {
+                writer.writeString(tag);
+            } else {
+                writer.writeNull();
+            }
+        }
+        writer.writeEndArray();
+
+        writeString(writer, "server_name", item.getServerName());
+
+        // Only add item_data if it exists
+        if (item.getSerializedItemData() != null && !item.getSerializedItemData().isEmpty()) {
+            writer.writeString("item_data", item.getSerializedItemData());
+        }
+
+        writer.writeInt32("schema_version", SCHEMA_VERSION);
+        writer.writeEndDocument();
+    }
+
+    private static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        } else {
+            writer.writeNull(name);
+        }
+    }
+
+    // ================ STATISTICS ================
+
+    int getMigrated() {
+        return migrated.get();
+    }
+
+    int getUnreadable() {
+        return unreadable.get();
+    }
+}
@@ -35,6 +35,7 @@ import java.util.stream.Collectors;
  */
 public class MarketManager implements Listener {
     private static MarketManager instance;
+    private static final int OFFLINE_PAYOUT_ATTEMPTS = 3;
     private final MarketRepository repository;
     private final YakRealms plugin;
     private final Logger logger;
@@ -643,15 +644,7 @@ public class MarketManager implements Listener {
                     sellerData.setBankGems(sellerData.getBankGems() + sellerPayment);
                 } else {
                     // Handle offline seller
-                    YakPlayerManager.getInstance().getRepository()
-                            .findById(marketItem.getOwnerUuid())
-                            .thenAccept(sellerOpt -> {
-                                if (sellerOpt.isPresent()) {
-                                    YakPlayer seller = sellerOpt.get();
-                                    seller.setBankGems(seller.getBankGems() + sellerPayment);
-                                    YakPlayerManager.getInstance().getRepository().save(seller);
-                                }
-                            });
+                    payOfflineSeller(marketItem.getOwnerUuid(), sellerPayment, itemId, 1);
                 }
 
                 // Give item to buyer
@@ -693,6 +686,39 @@ public class MarketManager implements Listener {
         });
     }
 
+    /**
+     * Credit a sale to a seller who is offline. The database may reject or time out the load or
+     * the save while it is unavailable; the payout is then retried, and if it still cannot be
+     * made the owed amount is logged so it can be paid by hand.
+     */
+    private void payOfflineSeller(UUID sellerUuid, int amount, UUID itemId, int attempt) {
+        YakPlayerManager.getInstance().getRepository()
+                .findById(sellerUuid)
+                .thenCompose(sellerOpt -> {
+                    // Empty only when the lookup succeeded; an unreachable database fails the future instead
+                    if (sellerOpt.isEmpty()) {
+                        logger.severe("Market payout lost: seller " + sellerUuid + " not found, owed " + amount +
+                                " gems for item " + itemId);
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    YakPlayer seller = sellerOpt.get();
+                    seller.setBankGems(seller.getBankGems() + amount);
+                    return YakPlayerManager.getInstance().getRepository().save(seller);
+                })
+                .exceptionally(e -> {
+                    if (attempt < OFFLINE_PAYOUT_ATTEMPTS) {
+                        logger.warning("Market payout to offline seller " + sellerUuid + " failed (attempt " + attempt +
+                                "), retrying: " + e.getMessage());
+                        Bukkit.getScheduler().runTaskLaterAsynchronously(plugin,
+                                () -> payOfflineSeller(sellerUuid, amount, itemId, attempt + 1), 20L * 30 * attempt);
+                    } else {
+                        logger.severe("Market payout lost: could not pay offline seller " + sellerUuid + " " + amount +
+                                " gems for item " + itemId + " after " + attempt + " attempts: " + e.getMessage());
+                    }
+                    return null;
+                });
+    }
+
     /**
      * Remove an item listing
      */
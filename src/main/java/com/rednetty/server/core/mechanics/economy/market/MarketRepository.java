@@ -5,6 +5,7 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.*;
 import com.mongodb.client.result.DeleteResult;
 import com.rednetty.server.YakRealms;
+import com.rednetty.server.core.database.DatabaseGateway.Priority;
 import com.rednetty.server.core.database.MongoDBManager;
 import com.rednetty.server.core.database.Repository;
 import org.bson.Document;
@@ -15,6 +16,7 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,7 +29,9 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
     private static final Logger logger = Logger.getLogger(MarketRepository.class.getName());
 
     private MongoCollection<Document> collection;
+    private MongoCollection<MarketItem> itemCollection;
     private MongoCollection<Document> expiredCollection;
+    private final MarketItemCodec itemCodec = new MarketItemCodec();
     private final YakRealms plugin;
 
     // Caching system
@@ -77,7 +81,9 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
         try {
             MongoDBManager mongoDBManager = MongoDBManager.getInstance();
             if (mongoDBManager.isConnected()) {
+                mongoDBManager.registerCodec(itemCodec);
                 this.collection = mongoDBManager.getCollection(COLLECTION_NAME);
+                this.itemCollection = collection.withDocumentClass(MarketItem.class);
                 this.expiredCollection = mongoDBManager.getCollection(EXPIRED_COLLECTION_NAME);
                 logger.info("Market repository initialized with MongoDB");
             } else {
@@ -219,29 +225,26 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
 
     @Override
     public CompletableFuture<Optional<MarketItem>> findById(UUID itemId) {
-        return CompletableFuture.supplyAsync(() -> {
-            totalQueries++;
-
-            // Check cache first
-            CachedMarketItem cached = itemCache.get(itemId);
-            if (cached != null && !cached.isExpired(CACHE_DURATION)) {
-                cacheHits++;
-                return Optional.of(cached.getItem());
-            }
+        totalQueries++;
+
+        // Check cache first
+        CachedMarketItem cached = itemCache.get(itemId);
+        if (cached != null && !cached.isExpired(CACHE_DURATION)) {
+            cacheHits++;
+            return CompletableFuture.completedFuture(Optional.of(cached.getItem()));
+        }
 
-            if (collection == null) return Optional.empty();
+        return submit(Priority.READ, Optional::empty, () -> {
+            if (itemCollection == null) return Optional.empty();
 
             try {
-                Document doc = MongoDBManager.getInstance().performSafeOperation(() ->
-                        collection.find(Filters.eq("item_id", itemId.toString())).first()
+                MarketItem item = MongoDBManager.getInstance().performSafeOperation(() ->
+                        itemCollection.find(Filters.eq("item_id", itemId.toString())).first()
                 );
 
-                if (doc != null) {
-                    MarketItem item = documentToMarketItem(doc);
-                    if (item != null) {
-                        itemCache.put(itemId, new CachedMarketItem(item));
-                        return Optional.of(item);
-                    }
+                if (item != null) {
+                    itemCache.put(itemId, new CachedMarketItem(item));
+                    return Optional.of(item);
                 }
             } catch (Exception e) {
                 logger.log(Level.SEVERE, "Error finding market item by ID: " + itemId, e);
@@ -261,21 +264,21 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
      */
     public CompletableFuture<List<MarketItem>> findActiveItems(MarketCategory category, String searchQuery,
                                                                SortOrder sortOrder, int skip, int limit) {
-        return CompletableFuture.supplyAsync(() -> {
-            totalQueries++;
-
-            // Create cache key
-            String cacheKey = String.format("%s_%s_%s_%d_%d",
-                    category, searchQuery, sortOrder, skip, limit);
-
-            // Check search cache
-            List<MarketItem> cached = searchCache.get(cacheKey);
-            if (cached != null && System.currentTimeMillis() - lastCacheUpdate < SEARCH_CACHE_DURATION) {
-                cacheHits++;
-                return new ArrayList<>(cached);
-            }
+        totalQueries++;
 
-            if (collection == null) return new ArrayList<>();
+        // Create cache key
+        String cacheKey = String.format("%s_%s_%s_%d_%d",
+                category, searchQuery, sortOrder, skip, limit);
+
+        // Check search cache
+        List<MarketItem> cached = searchCache.get(cacheKey);
+        if (cached != null && System.currentTimeMillis() - lastCacheUpdate < SEARCH_CACHE_DURATION) {
+            cacheHits++;
+            return CompletableFuture.completedFuture(new ArrayList<>(cached));
+        }
+
+        return submit(Priority.READ, ArrayList::new, () -> {
+            if (itemCollection == null) return new ArrayList<>();
 
             try {
                 List<Bson> filters = new ArrayList<>();
@@ -305,8 +308,8 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
                 // Sort order
                 Bson sort = getSortBson(sortOrder);
 
-                FindIterable<Document> iterable = MongoDBManager.getInstance().performSafeOperation(() ->
-                        collection.find(combinedFilter)
+                FindIterable<MarketItem> iterable = MongoDBManager.getInstance().performSafeOperation(() ->
+                        itemCollection.find(combinedFilter)
                                 .sort(sort)
                                 .skip(skip)
                                 .limit(limit)
@@ -314,8 +317,7 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
 
                 List<MarketItem> results = new ArrayList<>();
                 if (iterable != null) {
-                    for (Document doc : iterable) {
-                        MarketItem item = documentToMarketItem(doc);
+                    for (MarketItem item : iterable) {
                         if (item != null && item.isValid()) {
                             results.add(item);
                             // Cache individual items
@@ -339,8 +341,8 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
      * Find items by owner
      */
     public CompletableFuture<List<MarketItem>> findByOwner(UUID ownerUuid) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (collection == null) return new ArrayList<>();
+        return submit(Priority.READ, ArrayList::new, () -> {
+            if (itemCollection == null) return new ArrayList<>();
 
             try {
                 Bson filter = Filters.and(
@@ -348,15 +350,14 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
                         Filters.gt("expires_time", Instant.now().getEpochSecond())
                 );
 
-                FindIterable<Document> iterable = MongoDBManager.getInstance().performSafeOperation(() ->
-                        collection.find(filter)
+                FindIterable<MarketItem> iterable = MongoDBManager.getInstance().performSafeOperation(() ->
+                        itemCollection.find(filter)
                                 .sort(new Document("listed_time", -1))
                 );
 
                 List<MarketItem> results = new ArrayList<>();
                 if (iterable != null) {
-                    for (Document doc : iterable) {
-                        MarketItem item = documentToMarketItem(doc);
+                    for (MarketItem item : iterable) {
                         if (item != null) {
                             results.add(item);
                         }
@@ -375,7 +376,7 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
      * Get category statistics
      */
     public CompletableFuture<Map<MarketCategory, Integer>> getCategoryStats() {
-        return CompletableFuture.supplyAsync(() -> {
+        return submit(Priority.ANALYTICS, HashMap::new, () -> {
             if (collection == null) return new HashMap<>();
 
             try {
@@ -406,7 +407,7 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
      * Get price statistics for a category
      */
     public CompletableFuture<PriceStats> getPriceStats(MarketCategory category) {
-        return CompletableFuture.supplyAsync(() -> {
+        return submit(Priority.ANALYTICS, () -> new PriceStats(0, 0, 0, 0), () -> {
             if (collection == null) return new PriceStats(0, 0, 0, 0);
 
             try {
@@ -446,16 +447,14 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
 
     @Override
     public CompletableFuture<MarketItem> save(MarketItem item) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (collection == null || item == null) return item;
+        return submit(Priority.SAVE, () -> item, () -> {
+            if (itemCollection == null || item == null) return item;
 
             try {
-                Document doc = marketItemToDocument(item);
-
                 MongoDBManager.getInstance().performSafeOperation(() -> {
-                    collection.replaceOne(
+                    itemCollection.replaceOne(
                             Filters.eq("item_id", item.getItemId().toString()),
-                            doc,
+                            item,
                             new ReplaceOptions().upsert(true)
                     );
                     return null;
@@ -483,7 +482,7 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
 
     @Override
     public CompletableFuture<Boolean> deleteById(UUID itemId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return submit(Priority.SAVE, () -> false, () -> {
             if (collection == null) return false;
 
             try {
@@ -510,12 +509,12 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
 
     @Override
     public CompletableFuture<Boolean> existsById(UUID itemId) {
-        return CompletableFuture.supplyAsync(() -> {
-            // Check cache first
-            if (itemCache.containsKey(itemId)) {
-                return true;
-            }
+        // Check cache first
+        if (itemCache.containsKey(itemId)) {
+            return CompletableFuture.completedFuture(true);
+        }
 
+        return submit(Priority.READ, () -> false, () -> {
             if (collection == null) return false;
 
             try {
@@ -531,6 +530,19 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
         });
     }
 
+    /**
+     * Run a market query on the database gateway. Rejected or timed out operations resolve to
+     * {@code fallback}, matching what the query itself returns on error.
+     */
+    private <T> CompletableFuture<T> submit(Priority priority, Supplier<T> fallback,
+                                            MongoDBManager.DatabaseOperation<T> operation) {
+        return MongoDBManager.getInstance().submit(COLLECTION_NAME, priority, operation)
+                .exceptionally(e -> {
+                    logger.log(Level.WARNING, "Market database operation did not run: " + e.getMessage());
+                    return fallback.get();
+                });
+    }
+
     /**
      * Get sort BSON object
      */
@@ -550,81 +562,6 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
         }
     }
 
-    /**
-     * Convert Document to MarketItem
-     */
-    private MarketItem documentToMarketItem(Document doc) {
-        try {
-            UUID itemId = UUID.fromString(doc.getString("item_id"));
-            UUID ownerUuid = UUID.fromString(doc.getString("owner_uuid"));
-            String ownerName = doc.getString("owner_name");
-            int price = doc.getInteger("price", 0);
-            String materialName = doc.getString("material");
-            String displayName = doc.getString("display_name");
-            Integer amount = doc.getInteger("amount");
-            if (amount == null) amount = 1;
-
-            MarketCategory category = MarketCategory.fromString(doc.getString("category"));
-            long listedTime = doc.getLong("listed_time");
-            long expiresTime = doc.getLong("expires_time");
-            String serializedItemData = doc.getString("item_data");
-
-            // Create the item using full constructor
-            MarketItem item = new MarketItem(itemId, ownerUuid, ownerName, price, materialName,
-                    displayName, amount, category, listedTime, expiresTime, serializedItemData);
-
-            // Set additional fields
-            if (doc.getObjectId("_id") != null) {
-                item.setMongoId(doc.getObjectId("_id").toString());
-            }
-            item.setViews(doc.getInteger("views", 0));
-            item.setFeatured(doc.getBoolean("is_featured", false));
-            item.setMinLevel(doc.getInteger("min_level", 1));
-
-            @SuppressWarnings("unchecked")
-            List<String> tagsList = doc.getList("tags", String.class);
-            if (tagsList != null) {
-                item.setTags(tagsList.toArray(new String[0]));
-            }
-
-            return item;
-
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Error converting document to market item", e);
-            return null;
-        }
-    }
-
-    /**
-     * Convert MarketItem to Document
-     */
-    private Document marketItemToDocument(MarketItem item) {
-        Document doc = new Document();
-
-        doc.append("item_id", item.getItemId().toString())
-                .append("owner_uuid", item.getOwnerUuid().toString())
-                .append("owner_name", item.getOwnerName())
-                .append("price", item.getPrice())
-                .append("category", item.getCategory().name())
-                .append("listed_time", item.getListedTime())
-                .append("expires_time", item.getExpiresTime())
-                .append("views", item.getViews())
-                .append("is_featured", item.isFeatured())
-                .append("min_level", item.getMinLevel())
-                .append("display_name", item.getDisplayName())
-                .append("material", item.getMaterialName())
-                .append("amount", item.getAmount())
-                .append("tags", Arrays.asList(item.getTags()))
-                .append("server_name", item.getServerName());
-
-        // Only add item_data if it exists
-        if (item.getSerializedItemData() != null && !item.getSerializedItemData().isEmpty()) {
-            doc.append("item_data", item.getSerializedItemData());
-        }
-
-        return doc;
-    }
-
     /**
      * Clear all caches
      */
@@ -646,6 +583,8 @@ public class MarketRepository implements Repository<MarketItem, UUID> {
         stats.put("itemCacheSize", itemCache.size());
         stats.put("searchCacheSize", searchCache.size());
         stats.put("categoryCacheSize", categoryCache.size());
+        stats.put("migratedItems", itemCodec.getMigrated());
+        stats.put("unreadableItems", itemCodec.getUnreadable());
         return stats;
     }
 
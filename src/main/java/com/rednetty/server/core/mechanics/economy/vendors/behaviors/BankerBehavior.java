@@ -20,7 +20,7 @@ public class BankerBehavior implements VendorBehavior {
 
         // Open bank page 1
         try {
-            player.openInventory(BankManager.getInstance().getBank(player, 1));
+            BankManager.getInstance().openBank(player, 1);
         } catch (Exception e) {
             player.sendMessage(ChatColor.RED + "There was an error opening your bank.");
         }
@@ -3,8 +3,10 @@ package com.rednetty.server.core.mechanics.item.drops;
 import com.rednetty.server.YakRealms;
 import com.rednetty.server.core.mechanics.item.drops.buff.LootBuffManager;
 import com.rednetty.server.core.mechanics.item.drops.types.EliteDropConfig;
+import com.rednetty.server.core.mechanics.player.PlayerStatCounter;
 import com.rednetty.server.core.mechanics.player.YakPlayer;
 import com.rednetty.server.core.mechanics.player.YakPlayerManager;
+import com.rednetty.server.core.mechanics.world.PlayerSpatialIndex;
 import com.rednetty.server.core.mechanics.world.mobs.MobManager;
 import com.rednetty.server.core.mechanics.world.mobs.utils.MobUtils;
 import com.rednetty.server.core.mechanics.world.teleport.TeleportBookSystem;
@@ -1087,25 +1089,16 @@ public class DropsHandler implements Listener {
 
         if (notifiedPlayers.isEmpty()) {
             Location entityLocation = entity.getLocation();
-            List<Player> nearbyPlayers = entityLocation.getWorld().getPlayers().stream()
-                    .filter(player -> player.getLocation().distance(entityLocation) <= NEARBY_PLAYER_NOTIFICATION_RANGE)
-                    .filter(Player::isOnline)
-                    .collect(Collectors.toList());
-
-            if (!nearbyPlayers.isEmpty()) {
-                Player closestPlayer = nearbyPlayers.stream()
-                        .min(Comparator.comparingDouble(player ->
-                                player.getLocation().distance(entityLocation)))
-                        .orElse(null);
+            Player closestPlayer = PlayerSpatialIndex.getInstance()
+                    .nearest(entityLocation, NEARBY_PLAYER_NOTIFICATION_RANGE, null);
 
-                if (closestPlayer != null) {
-                    lootNotifier.sendDropNotification(closestPlayer, item, entity, isBossLoot);
-                    notifiedPlayers.add(closestPlayer);
+            if (closestPlayer != null) {
+                lootNotifier.sendDropNotification(closestPlayer, item, entity, isBossLoot);
+                notifiedPlayers.add(closestPlayer);
 
-                    if (logger.isLoggable(java.util.logging.Level.FINE)) {
-                        logger.fine("§6[DropsHandler] §7Enhanced notification sent to nearby player: " + closestPlayer.getName() +
-                                " for " + entity.getType() + " drop (fallback method)");
-                    }
+                if (logger.isLoggable(java.util.logging.Level.FINE)) {
+                    logger.fine("§6[DropsHandler] §7Enhanced notification sent to nearby player: " + closestPlayer.getName() +
+                            " for " + entity.getType() + " drop (fallback method)");
                 }
             }
         }
@@ -1159,17 +1152,11 @@ public class DropsHandler implements Listener {
         if (killer != null) {
             YakPlayer yakPlayer = playerManager.getPlayer(killer);
             if (yakPlayer != null) {
-                int mobTier = MobUtils.getMobTier(entity);
-                switch (mobTier) {
-                    case 1 -> yakPlayer.setT1Kills(yakPlayer.getT1Kills() + 1);
-                    case 2 -> yakPlayer.setT2Kills(yakPlayer.getT2Kills() + 1);
-                    case 3 -> yakPlayer.setT3Kills(yakPlayer.getT3Kills() + 1);
-                    case 4 -> yakPlayer.setT4Kills(yakPlayer.getT4Kills() + 1);
-                    case 5 -> yakPlayer.setT5Kills(yakPlayer.getT5Kills() + 1);
-                    case 6 -> yakPlayer.setT6Kills(yakPlayer.getT6Kills() + 1);
-                    default -> { /* No tracking for unknown tiers */ }
+                // Write-behind: buffered and flushed in a batch instead of a full save per kill
+                PlayerStatCounter tierCounter = PlayerStatCounter.forMobTier(MobUtils.getMobTier(entity));
+                if (tierCounter != null) {
+                    yakPlayer.incrementStat(tierCounter, 1);
                 }
-                YakPlayerManager.getInstance().savePlayer(yakPlayer);
             }
         }
     }
@@ -0,0 +1,426 @@
+package com.rednetty.server.core.mechanics.player;
+
+import com.rednetty.server.core.database.YakPlayerRepository;
+import org.bson.Document;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Three-stage save pipeline used by autosave and shutdown.
+ *
+ * <ol>
+ *   <li><b>Capture</b> - main thread, time-sliced: a {@link PlayerSnapshot} is taken per player
+ *       until the per-tick budget is spent, then the rest waits for the next tick</li>
+ *   <li><b>Serialize</b> - worker pool: snapshots are applied (item serialization) and documents
+ *       are built and validated in parallel, without touching live Bukkit state</li>
+ *   <li><b>Write</b> - every {@code batchSize} players become one unordered {@code bulkWrite};
+ *       the write pool size bounds how many batches are in flight at once</li>
+ * </ol>
+ *
+ * <p>Stages overlap: the first batch is written while later players are still being captured.
+ * Only one autosave cycle runs at a time; a cycle that is still running when the next one is
+ * due causes that one to be skipped.
+ */
+public class AutoSavePipeline {
+
+    private static final Logger logger = Logger.getLogger(AutoSavePipeline.class.getName());
+    private static final int LATENCY_SAMPLES = 1024;
+
+    private final Plugin plugin;
+    private final YakPlayerRepository repository;
+    private final Function<YakPlayer, PlayerSnapshot> capture;
+    private final ExecutorService serializeExecutor;
+    private final ExecutorService writeExecutor;
+    private final int batchSize;
+    private final long captureBudgetNanos;
+
+    private final AtomicBoolean cycleRunning = new AtomicBoolean(false);
+    private BukkitTask captureTask; // Main thread only; null once the running cycle has left the capture stage
+
+    // Metrics
+    private final AtomicInteger cyclesCompleted = new AtomicInteger(0);
+    private final AtomicInteger cyclesSkipped = new AtomicInteger(0);
+    private final AtomicInteger playersSaved = new AtomicInteger(0);
+    private final AtomicInteger playersFailed = new AtomicInteger(0);
+    private final AtomicInteger batchesWritten = new AtomicInteger(0);
+    private final AtomicInteger batchesFailed = new AtomicInteger(0);
+    private volatile long lastCycleMillis = 0;
+    private volatile long maxCycleMillis = 0;
+    private volatile int lastCyclePlayers = 0;
+    private volatile int lastBatchSize = 0;
+    private final long[] latencySamples = new long[LATENCY_SAMPLES];
+    private int latencyIndex = 0;
+    private int latencyCount = 0;
+
+    /**
+     * @param capture           takes a snapshot of the player on the main thread; returns null to skip the player
+     * @param serializeThreads  worker threads for document building
+     * @param maxInFlight       maximum concurrent bulk writes
+     * @param batchSize         players per bulk write
+     * @param captureBudgetMillis main-thread time per tick for the capture stage
+     */
+    public AutoSavePipeline(Plugin plugin, YakPlayerRepository repository, Function<YakPlayer, PlayerSnapshot> capture,
+                            int serializeThreads, int maxInFlight, int batchSize, double captureBudgetMillis) {
+        this.plugin = plugin;
+        this.repository = repository;
+        this.capture = capture;
+        this.batchSize = Math.max(1, batchSize);
+        this.captureBudgetNanos = (long) (Math.max(0.1, captureBudgetMillis) * 1_000_000L);
+
+        this.serializeExecutor = Executors.newFixedThreadPool(Math.max(1, serializeThreads), r -> {
+            Thread thread = new Thread(r, "YakPlayerManager-Serialize");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writeExecutor = Executors.newFixedThreadPool(Math.max(1, maxInFlight), r -> {
+            Thread thread = new Thread(r, "YakPlayerManager-BatchWrite");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * One player moving through the pipeline
+     */
+    private static final class Entry {
+        final YakPlayer player;
+        final long capturedAt;
+        final CompletableFuture<Document> document;
+
+        Entry(YakPlayer player, long capturedAt, CompletableFuture<Document> document) {
+            this.player = player;
+            this.capturedAt = capturedAt;
+            this.document = document;
+        }
+    }
+
+    /**
+     * State of one save cycle
+     */
+    private final class Cycle {
+        final long startedAt = System.nanoTime();
+        final ArrayDeque<YakPlayer> toCapture;
+        final Map<YakPlayer, PlayerSnapshot> preCaptured;
+        final List<CompletableFuture<List<YakPlayer>>> batches = new ArrayList<>();
+        List<Entry> currentBatch = new ArrayList<>();
+        int captured = 0;
+
+        /**
+         * @param preCaptured snapshots taken by the caller (null values allowed), or null to capture here
+         */
+        Cycle(Collection<YakPlayer> players, Map<YakPlayer, PlayerSnapshot> preCaptured) {
+            this.toCapture = new ArrayDeque<>(players);
+            this.preCaptured = preCaptured;
+        }
+
+        /**
+         * Capture players until the budget runs out.
+         *
+         * @return true once every player has been captured
+         */
+        boolean captureSlice(long budgetNanos) {
+            long deadline = System.nanoTime() + budgetNanos;
+            while (!toCapture.isEmpty()) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                YakPlayer player = toCapture.pollFirst();
+                captureOne(player);
+            }
+            flushBatch();
+            return true;
+        }
+
+        void captureAll() {
+            while (!toCapture.isEmpty()) {
+                captureOne(toCapture.pollFirst());
+            }
+            flushBatch();
+        }
+
+        private void captureOne(YakPlayer player) {
+            PlayerSnapshot snapshot;
+            try {
+                if (preCaptured != null) {
+                    snapshot = preCaptured.get(player);
+                } else {
+                    snapshot = capture.apply(player);
+                    if (snapshot == null) {
+                        return;
+                    }
+                }
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Capture failed for " + player.getUsername() + " - skipping this cycle", e);
+                playersFailed.incrementAndGet();
+                return;
+            }
+
+            captured++;
+            CompletableFuture<Document> document = CompletableFuture.supplyAsync(() -> {
+                player.applySnapshot(snapshot, true);
+                return repository.buildSaveDocument(player);
+            }, serializeExecutor);
+            currentBatch.add(new Entry(player, System.nanoTime(), document));
+            if (currentBatch.size() >= batchSize) {
+                flushBatch();
+            }
+        }
+
+        private void flushBatch() {
+            if (currentBatch.isEmpty()) {
+                return;
+            }
+            List<Entry> batch = currentBatch;
+            currentBatch = new ArrayList<>();
+
+            CompletableFuture<?>[] documents = batch.stream().map(entry -> entry.document).toArray(CompletableFuture[]::new);
+            batches.add(CompletableFuture.allOf(documents)
+                    .handleAsync((ignored, error) -> writeBatch(batch), writeExecutor));
+        }
+
+        CompletableFuture<List<YakPlayer>> completion() {
+            return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+                List<YakPlayer> failed = new ArrayList<>();
+                for (CompletableFuture<List<YakPlayer>> batch : batches) {
+                    failed.addAll(batch.join());
+                }
+
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                lastCycleMillis = millis;
+                maxCycleMillis = Math.max(maxCycleMillis, millis);
+                lastCyclePlayers = captured;
+                cyclesCompleted.incrementAndGet();
+                return failed;
+            });
+        }
+    }
+
+    // ================ ENTRY POINTS ================
+
+    /**
+     * Start an autosave cycle. Must be called from the main thread; capture is spread over
+     * the following ticks and serialization and writes run in the background.
+     *
+     * @return false if the previous cycle is still running
+     */
+    public boolean startCycle(Collection<YakPlayer> players) {
+        if (players.isEmpty()) {
+            return true;
+        }
+        if (!cycleRunning.compareAndSet(false, true)) {
+            BukkitTask task = captureTask;
+            if (task == null || !task.isCancelled()) {
+                cyclesSkipped.incrementAndGet();
+                logger.warning("Previous autosave cycle still running - skipping this one");
+                return false;
+            }
+            // Cancelled from outside (e.g. scheduler.cancelTasks) before capture finished
+            logger.warning("Previous autosave capture was cancelled - starting a new cycle");
+        }
+
+        Cycle cycle = new Cycle(players, null);
+        try {
+            captureTask = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    boolean done = true;
+                    try {
+                        done = cycle.captureSlice(captureBudgetNanos);
+                    } catch (Throwable t) {
+                        logger.log(Level.SEVERE, "Autosave capture stage failed", t);
+                    } finally {
+                        if (done) {
+                            cancel();
+                            captureTask = null;
+                            finishCycle(cycle);
+                        }
+                    }
+                }
+            }.runTaskTimer(plugin, 0L, 1L);
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Could not schedule autosave capture", e);
+            captureTask = null;
+            cycleRunning.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Release the cycle slot once every batch captured so far has been written or has failed
+     */
+    private void finishCycle(Cycle cycle) {
+        try {
+            cycle.completion().whenComplete((failed, error) -> {
+                if (error != null) {
+                    logger.log(Level.WARNING, "Autosave cycle failed", error);
+                } else if (!failed.isEmpty()) {
+                    logger.warning("Autosave could not persist " + failed.size() + " players; they will be retried next cycle");
+                }
+                cycleRunning.set(false);
+            });
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Autosave cycle failed", e);
+            cycleRunning.set(false);
+        }
+    }
+
+    /**
+     * Serialize and write every player right away and wait for the result. Used on shutdown,
+     * where the main thread is no longer serving ticks.
+     *
+     * @param snapshots player to snapshot taken by the caller; a null snapshot saves the player's current data as is
+     * @return players that could not be written in time or whose batch failed
+     */
+    public List<YakPlayer> saveAllBlocking(Map<YakPlayer, PlayerSnapshot> snapshots, long timeoutMillis) {
+        if (snapshots.isEmpty()) {
+            return List.of();
+        }
+
+        Collection<YakPlayer> players = snapshots.keySet();
+        Cycle cycle = new Cycle(players, snapshots);
+        cycle.captureAll();
+        try {
+            return cycle.completion().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.severe("Shutdown save pipeline timed out after " + timeoutMillis + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Shutdown save pipeline failed", e);
+        }
+
+        // Anything whose batch did not complete successfully is reported back for a fallback save
+        List<YakPlayer> unsaved = new ArrayList<>();
+        List<YakPlayer> all = new ArrayList<>(players);
+        for (CompletableFuture<List<YakPlayer>> batch : cycle.batches) {
+            if (!batch.isDone() || batch.isCompletedExceptionally()) {
+                return all;
+            }
+            unsaved.addAll(batch.join());
+        }
+        return unsaved;
+    }
+
+    public void shutdown() {
+        serializeExecutor.shutdown();
+        writeExecutor.shutdown();
+        try {
+            if (!serializeExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                serializeExecutor.shutdownNow();
+            }
+            if (!writeExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                writeExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            serializeExecutor.shutdownNow();
+            writeExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ================ WRITE STAGE ================
+
+    private List<YakPlayer> writeBatch(List<Entry> batch) {
+        List<YakPlayer> players = new ArrayList<>(batch.size());
+        List<Document> docs = new ArrayList<>(batch.size());
+        long[] capturedAt = new long[batch.size()];
+        List<YakPlayer> failed = new ArrayList<>();
+
+        for (Entry entry : batch) {
+            Document doc = entry.document.isCompletedExceptionally() ? null : entry.document.getNow(null);
+            if (doc == null) {
+                failed.add(entry.player);
+                continue;
+            }
+            capturedAt[players.size()] = entry.capturedAt;
+            players.add(entry.player);
+            docs.add(doc);
+        }
+
+        lastBatchSize = players.size();
+        boolean written;
+        try {
+            written = repository.writePlayerBatch(players, docs);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Batch write failed for " + players.size() + " players", e);
+            written = false;
+        }
+
+        if (written) {
+            batchesWritten.incrementAndGet();
+            playersSaved.addAndGet(players.size());
+            long now = System.nanoTime();
+            // Only players that were actually written; failed snapshots never reached the database
+            for (int i = 0; i < players.size(); i++) {
+                recordLatency(now - capturedAt[i]);
+            }
+        } else {
+            batchesFailed.incrementAndGet();
+            failed.addAll(players);
+        }
+        playersFailed.addAndGet(failed.size());
+        return failed;
+    }
+
+    // ================ METRICS ================
+
+    private synchronized void recordLatency(long nanos) {
+        latencySamples[latencyIndex] = nanos;
+        latencyIndex = (latencyIndex + 1) % LATENCY_SAMPLES;
+        if (latencyCount < LATENCY_SAMPLES) {
+            latencyCount++;
+        }
+    }
+
+    /**
+     * 99th percentile capture-to-ack latency over the last {@value #LATENCY_SAMPLES} players
+     */
+    public synchronized double getP99LatencyMillis() {
+        if (latencyCount == 0) {
+            return 0.0;
+        }
+        long[] sorted = Arrays.copyOf(latencySamples, latencyCount);
+        Arrays.sort(sorted);
+        int index = Math.min(latencyCount - 1, (int) Math.ceil(latencyCount * 0.99) - 1);
+        return sorted[index] / 1_000_000.0;
+    }
+
+    public boolean isCycleRunning() {
+        return cycleRunning.get();
+    }
+
+    public long getLastCycleMillis() {
+        return lastCycleMillis;
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public String getDiagnosticInfo() {
+        return String.format("AutoSavePipeline{cycles=%d, skipped=%d, lastCycle=%dms (%d players), maxCycle=%dms, " +
+                        "batchSize=%d, lastBatch=%d, batches=%d, failedBatches=%d, saved=%d, failed=%d, p99=%.1fms}",
+                cyclesCompleted.get(), cyclesSkipped.get(), lastCycleMillis, lastCyclePlayers, maxCycleMillis,
+                batchSize, lastBatchSize, batchesWritten.get(), batchesFailed.get(), playersSaved.get(),
+                playersFailed.get(), getP99LatencyMillis());
+    }
+}
@@ -0,0 +1,171 @@
+package com.rednetty.server.core.mechanics.player;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.potion.PotionEffect;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable copy of the live Bukkit state a save needs.
+ *
+ * <p>{@link #capture(Player)} must run on the main thread; it only clones item stacks and
+ * reads primitives, so it is cheap enough to do for many players per tick. Everything
+ * expensive - item serialization, document building, the database write - then works from
+ * the snapshot on any thread via {@link YakPlayer#applySnapshot(PlayerSnapshot, boolean)},
+ * without touching the live inventory again.
+ */
+public final class PlayerSnapshot {
+
+    private final UUID playerId;
+    private final long capturedAt;
+
+    private final ItemStack[] inventory;
+    private final ItemStack[] armor;
+    private final ItemStack[] enderChest;
+    private final ItemStack offhand;
+
+    private final Location location;
+    private final double health;
+    private final double maxHealth;
+    private final int foodLevel;
+    private final float saturation;
+    private final int xpLevel;
+    private final float xpProgress;
+    private final int totalExperience;
+    private final String gameMode;
+    private final List<PotionEffect> potionEffects;
+
+    private PlayerSnapshot(Player player, boolean withInventory) {
+        this.playerId = player.getUniqueId();
+        this.capturedAt = System.nanoTime();
+
+        if (withInventory) {
+            PlayerInventory playerInventory = player.getInventory();
+            this.inventory = copy(playerInventory.getContents());
+            this.armor = copy(playerInventory.getArmorContents());
+            this.enderChest = copy(player.getEnderChest().getContents());
+            this.offhand = copy(playerInventory.getItemInOffHand());
+        } else {
+            this.inventory = null;
+            this.armor = null;
+            this.enderChest = null;
+            this.offhand = null;
+        }
+
+        Location current = player.getLocation();
+        this.location = current.getWorld() != null ? current : null;
+        this.health = player.getHealth();
+        this.maxHealth = player.getMaxHealth();
+        this.foodLevel = player.getFoodLevel();
+        this.saturation = player.getSaturation();
+        this.xpLevel = player.getLevel();
+        this.xpProgress = player.getExp();
+        this.totalExperience = player.getTotalExperience();
+        this.gameMode = player.getGameMode().name();
+        this.potionEffects = List.copyOf(player.getActivePotionEffects());
+    }
+
+    /**
+     * Copy the player's current state. Main thread only.
+     */
+    public static PlayerSnapshot capture(Player player) {
+        return new PlayerSnapshot(player, true);
+    }
+
+    /**
+     * Copy only location and stats, skipping the item clones. Main thread only.
+     */
+    public static PlayerSnapshot captureStats(Player player) {
+        return new PlayerSnapshot(player, false);
+    }
+
+    private static ItemStack[] copy(ItemStack[] contents) {
+        ItemStack[] copy = new ItemStack[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            copy[i] = copy(contents[i]);
+        }
+        return copy;
+    }
+
+    private static ItemStack copy(ItemStack item) {
+        return item == null || item.getType() == Material.AIR ? null : item.clone();
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Capture time in {@link System#nanoTime()} units; used to drop snapshots that arrive out of order
+     */
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+
+    public boolean hasInventory() {
+        return inventory != null;
+    }
+
+    // The arrays are never handed out of the package, which keeps the snapshot immutable
+
+    ItemStack[] inventory() {
+        return inventory;
+    }
+
+    ItemStack[] armor() {
+        return armor;
+    }
+
+    ItemStack[] enderChest() {
+        return enderChest;
+    }
+
+    ItemStack offhand() {
+        return offhand;
+    }
+
+    Location location() {
+        return location;
+    }
+
+    double health() {
+        return health;
+    }
+
+    double maxHealth() {
+        return maxHealth;
+    }
+
+    int foodLevel() {
+        return foodLevel;
+    }
+
+    float saturation() {
+        return saturation;
+    }
+
+    int xpLevel() {
+        return xpLevel;
+    }
+
+    float xpProgress() {
+        return xpProgress;
+    }
+
+    int totalExperience() {
+        return totalExperience;
+    }
+
+    String gameMode() {
+        return gameMode;
+    }
+
+    List<PotionEffect> potionEffects() {
+        return potionEffects;
+    }
+}
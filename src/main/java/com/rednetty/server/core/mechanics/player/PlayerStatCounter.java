@@ -0,0 +1,57 @@
+package com.rednetty.server.core.mechanics.player;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Hot player statistics that are persisted write-behind.
+ *
+ * <p>Incrementing a counter through {@link YakPlayer#incrementStat(PlayerStatCounter, int)}
+ * updates the in-memory value right away and records the delta in the player's
+ * {@link com.rednetty.server.core.database.DirtyFieldTracker}. The delta is written later as
+ * part of a batched {@code $inc} by {@link YakPlayerManager}, or as part of the next regular
+ * save of the player, whichever comes first.
+ */
+public enum PlayerStatCounter {
+    PLAYER_KILLS("player_kills", (player, amount) -> player.setPlayerKills(player.getPlayerKills() + amount)),
+    DEATHS("deaths", (player, amount) -> player.setDeaths(player.getDeaths() + amount)),
+    T1_KILLS("t1_kills", (player, amount) -> player.setT1Kills(player.getT1Kills() + amount)),
+    T2_KILLS("t2_kills", (player, amount) -> player.setT2Kills(player.getT2Kills() + amount)),
+    T3_KILLS("t3_kills", (player, amount) -> player.setT3Kills(player.getT3Kills() + amount)),
+    T4_KILLS("t4_kills", (player, amount) -> player.setT4Kills(player.getT4Kills() + amount)),
+    T5_KILLS("t5_kills", (player, amount) -> player.setT5Kills(player.getT5Kills() + amount)),
+    T6_KILLS("t6_kills", (player, amount) -> player.setT6Kills(player.getT6Kills() + amount));
+
+    private final String field;
+    private final ObjIntConsumer<YakPlayer> applier;
+
+    PlayerStatCounter(String field, ObjIntConsumer<YakPlayer> applier) {
+        this.field = field;
+        this.applier = applier;
+    }
+
+    /**
+     * @return the document field this counter is stored in
+     */
+    public String getField() {
+        return field;
+    }
+
+    void apply(YakPlayer player, int amount) {
+        applier.accept(player, amount);
+    }
+
+    /**
+     * Counter for kills of a mob of the given tier, or null for tiers that are not tracked
+     */
+    public static PlayerStatCounter forMobTier(int tier) {
+        return switch (tier) {
+            case 1 -> T1_KILLS;
+            case 2 -> T2_KILLS;
+            case 3 -> T3_KILLS;
+            case 4 -> T4_KILLS;
+            case 5 -> T5_KILLS;
+            case 6 -> T6_KILLS;
+            default -> null;
+        };
+    }
+}
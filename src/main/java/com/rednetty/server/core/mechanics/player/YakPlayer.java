@@ -3,8 +3,11 @@ package com.rednetty.server.core.mechanics.player;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 import com.rednetty.server.YakRealms;
+import com.rednetty.server.core.database.DirtyFieldTracker;
 import com.rednetty.server.core.mechanics.chat.ChatTag;
 import com.rednetty.server.core.mechanics.player.moderation.Rank;
+import com.rednetty.server.utils.inventory.ItemSerializer;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import net.kyori.adventure.text.Component;
@@ -17,11 +20,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.util.io.BukkitObjectInputStream;
-import org.bukkit.util.io.BukkitObjectOutputStream;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -59,6 +58,10 @@ public class YakPlayer {
     @BsonId
     private final UUID uuid;
 
+    // Persistence bookkeeping - which stored fields changed since the last flush
+    @Setter(AccessLevel.NONE)
+    private final transient DirtyFieldTracker dirtyFieldTracker = new DirtyFieldTracker();
+
     @Expose @SerializedName("username") @BsonProperty("username")
     private String username;
 
@@ -343,20 +346,26 @@ public class YakPlayer {
 
     // SIMPLIFIED Inventory persistence - single method, no complex state checking
     @Expose @SerializedName("inventory_contents") @BsonProperty("inventory_contents")
-    private String serializedInventory;
+    private byte[] serializedInventory;
 
     @Expose @SerializedName("armor_contents") @BsonProperty("armor_contents")
-    private String serializedArmor;
+    private byte[] serializedArmor;
 
     @Expose @SerializedName("ender_chest_contents") @BsonProperty("ender_chest_contents")
-    private String serializedEnderChest;
+    private byte[] serializedEnderChest;
 
     @Expose @SerializedName("offhand_item") @BsonProperty("offhand_item")
-    private String serializedOffhand;
+    private byte[] serializedOffhand;
 
     @Expose @SerializedName("inventory_save_timestamp") @BsonProperty("inventory_save_timestamp")
     private long inventorySaveTimestamp = 0;
 
+    // nanoTime of the newest PlayerSnapshot applied to this player, for inventory and for stats
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private transient long lastInventorySnapshot = 0;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private transient long lastStatsSnapshot = 0;
+
     // Respawn items (for death system)
     @Expose @SerializedName("respawn_items") @BsonProperty("respawn_items")
     private String serializedRespawnItems;
@@ -381,6 +390,7 @@ public class YakPlayer {
     @Expose @SerializedName("bank_achievements") @BsonProperty("bank_achievements")
     private final Set<String> bankAchievements = ConcurrentHashMap.newKeySet();
 
+    // Legacy embedded bank pages; BankManager moves each one to the player_banks collection on first access
     @Expose @SerializedName("bank_inventory") @BsonProperty("bank_inventory")
     private final Map<Integer, String> serializedBankItems = new ConcurrentHashMap<>();
 
@@ -521,7 +531,7 @@ public class YakPlayer {
 
     /**
      * SINGLE inventory update method - reliable and simple
-     * No complex state checking, no "force" variants
+     * No complex state checking, no "force" variants. Main thread only.
      */
     public void updateInventory(Player player) {
         if (player == null || !player.isOnline()) {
@@ -529,35 +539,55 @@ public class YakPlayer {
             return;
         }
 
-        try {
-            logger.fine("Updating inventory for player: " + player.getName());
+        applySnapshot(PlayerSnapshot.capture(player), true);
+    }
 
-            // Update location first
-            Location location = player.getLocation();
-            if (location != null && location.getWorld() != null) {
-                updateLocation(location);
-            }
+    /**
+     * Store a snapshot taken on the main thread. Safe to call from any thread; snapshots
+     * that arrive after a newer one has been applied are ignored.
+     *
+     * @param includeInventory false to take only location and stats, e.g. while a combat logout is processed
+     */
+    public synchronized void applySnapshot(PlayerSnapshot snapshot, boolean includeInventory) {
+        if (snapshot == null) {
+            return;
+        }
+        long capturedAt = snapshot.getCapturedAt();
 
-            // Get current inventory state
-            ItemStack[] inventoryContents = player.getInventory().getContents();
-            ItemStack[] armorContents = player.getInventory().getArmorContents();
-            ItemStack[] enderContents = player.getEnderChest().getContents();
-            ItemStack offhandItem = player.getInventory().getItemInOffHand();
+        if (includeInventory && snapshot.hasInventory() && isNewer(capturedAt, lastInventorySnapshot)) {
+            lastInventorySnapshot = capturedAt;
+            try {
+                // Update location first
+                if (snapshot.location() != null) {
+                    updateLocation(snapshot.location());
+                }
 
-            // Serialize with validation
-            this.serializedInventory = ItemSerializer.serializeItemStacks(inventoryContents);
-            this.serializedArmor = ItemSerializer.serializeItemStacks(armorContents);
-            this.serializedEnderChest = ItemSerializer.serializeItemStacks(enderContents);
-            this.serializedOffhand = ItemSerializer.serializeItemStack(offhandItem);
-            this.inventorySaveTimestamp = System.currentTimeMillis();
+                // Serialize with validation
+                this.serializedInventory = ItemSerializer.encodeItemStacks(snapshot.inventory());
+                this.serializedArmor = ItemSerializer.encodeItemStacks(snapshot.armor());
+                this.serializedEnderChest = ItemSerializer.encodeItemStacks(snapshot.enderChest());
+                this.serializedOffhand = ItemSerializer.encodeItemStack(snapshot.offhand());
+                this.inventorySaveTimestamp = System.currentTimeMillis();
 
-            logger.fine("Inventory update completed for " + player.getName());
+                logger.fine("Inventory update completed for " + username);
 
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Inventory update failed for " + player.getName(), e);
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Inventory update failed for " + username, e);
+            }
+        }
+
+        if (isNewer(capturedAt, lastStatsSnapshot)) {
+            lastStatsSnapshot = capturedAt;
+            applyStatsSnapshot(snapshot);
+        } else {
+            logger.fine("Ignoring stale stats snapshot for " + username);
         }
     }
 
+    private static boolean isNewer(long capturedAt, long lastApplied) {
+        return lastApplied == 0 || capturedAt - lastApplied >= 0;
+    }
+
     /**
      * SINGLE inventory application method - reliable and simple
      */
@@ -593,12 +623,12 @@ public class YakPlayer {
     }
 
     private void applyMainInventory(Player player) {
-        if (serializedInventory == null || serializedInventory.isEmpty()) {
+        if (serializedInventory == null || serializedInventory.length == 0) {
             return;
         }
 
         try {
-            ItemStack[] contents = ItemSerializer.deserializeItemStacks(serializedInventory);
+            ItemStack[] contents = ItemSerializer.decodeItemStacks(serializedInventory);
             if (contents != null) {
                 int inventorySize = player.getInventory().getSize();
                 for (int i = 0; i < contents.length && i < inventorySize; i++) {
@@ -613,12 +643,12 @@ public class YakPlayer {
     }
 
     private void applyArmor(Player player) {
-        if (serializedArmor == null || serializedArmor.isEmpty()) {
+        if (serializedArmor == null || serializedArmor.length == 0) {
             return;
         }
 
         try {
-            ItemStack[] armor = ItemSerializer.deserializeItemStacks(serializedArmor);
+            ItemStack[] armor = ItemSerializer.decodeItemStacks(serializedArmor);
             if (armor != null && armor.length >= 4) {
                 player.getInventory().setArmorContents(armor);
             }
@@ -628,12 +658,12 @@ public class YakPlayer {
     }
 
     private void applyEnderChest(Player player) {
-        if (serializedEnderChest == null || serializedEnderChest.isEmpty()) {
+        if (serializedEnderChest == null || serializedEnderChest.length == 0) {
             return;
         }
 
         try {
-            ItemStack[] enderContents = ItemSerializer.deserializeItemStacks(serializedEnderChest);
+            ItemStack[] enderContents = ItemSerializer.decodeItemStacks(serializedEnderChest);
             if (enderContents != null) {
                 for (int i = 0; i < enderContents.length && i < 27; i++) {
                     if (enderContents[i] != null && enderContents[i].getType() != Material.AIR) {
@@ -647,12 +677,12 @@ public class YakPlayer {
     }
 
     private void applyOffhand(Player player) {
-        if (serializedOffhand == null || serializedOffhand.isEmpty()) {
+        if (serializedOffhand == null || serializedOffhand.length == 0) {
             return;
         }
 
         try {
-            ItemStack offhandItem = ItemSerializer.deserializeItemStack(serializedOffhand);
+            ItemStack offhandItem = ItemSerializer.decodeItemStack(serializedOffhand);
             if (offhandItem != null) {
                 player.getInventory().setItemInOffHand(offhandItem);
             }
@@ -875,49 +905,67 @@ public class YakPlayer {
 
     // ==================== STATS MANAGEMENT ====================
 
+    /**
+     * Increment a hot statistic without forcing a save. The new value is visible immediately;
+     * persistence happens through the batched counter flush or the next regular save.
+     */
+    public void incrementStat(PlayerStatCounter counter, int amount) {
+        if (counter == null || amount <= 0) return;
+
+        counter.apply(this, amount);
+        dirtyFieldTracker.addIncrement(counter.getField(), amount);
+    }
+
+    /**
+     * Main thread only; see {@link #applySnapshot(PlayerSnapshot, boolean)} for async callers
+     */
     public void updateStats(Player player) {
         if (player == null) {
             logger.warning("Cannot update stats for null player");
             return;
         }
 
+        applySnapshot(PlayerSnapshot.captureStats(player), false);
+    }
+
+    private void applyStatsSnapshot(PlayerSnapshot snapshot) {
         try {
             // Proper health handling with validation
-            double playerHealth = player.getHealth();
-            double playerMaxHealth = player.getMaxHealth();
+            double playerHealth = snapshot.health();
+            double playerMaxHealth = snapshot.maxHealth();
 
             // Validate and store health values
             if (playerMaxHealth > 0 && !Double.isNaN(playerMaxHealth) && !Double.isInfinite(playerMaxHealth)) {
                 this.maxHealth = playerMaxHealth;
             } else {
                 this.maxHealth = DEFAULT_MAX_HEALTH;
-                logger.warning("Invalid max health detected for " + player.getName() + ", using default");
+                logger.warning("Invalid max health detected for " + username + ", using default");
             }
 
             if (playerHealth >= 0 && playerHealth <= this.maxHealth && !Double.isNaN(playerHealth) && !Double.isInfinite(playerHealth)) {
                 this.health = playerHealth;
             } else {
                 this.health = this.maxHealth;
-                logger.warning("Invalid health detected for " + player.getName() + ", using max health");
+                logger.warning("Invalid health detected for " + username + ", using max health");
             }
 
             // Update other stats with validation
-            this.foodLevel = Math.max(0, Math.min(20, player.getFoodLevel()));
+            this.foodLevel = Math.max(0, Math.min(20, snapshot.foodLevel()));
 
-            float playerSaturation = player.getSaturation();
+            float playerSaturation = snapshot.saturation();
             this.saturation = Float.isNaN(playerSaturation) || Float.isInfinite(playerSaturation) ? 5.0f : Math.max(0, Math.min(20, playerSaturation));
 
-            this.xpLevel = Math.max(0, Math.min(21863, player.getLevel()));
+            this.xpLevel = Math.max(0, Math.min(21863, snapshot.xpLevel()));
 
-            float playerExp = player.getExp();
+            float playerExp = snapshot.xpProgress();
             this.xpProgress = Float.isNaN(playerExp) || Float.isInfinite(playerExp) ? 0.0f : Math.max(0, Math.min(1, playerExp));
 
-            this.totalExperience = Math.max(0, player.getTotalExperience());
-            this.gameMode = player.getGameMode().name();
+            this.totalExperience = Math.max(0, snapshot.totalExperience());
+            this.gameMode = snapshot.gameMode();
 
-            updatePotionEffects(player);
+            updatePotionEffects(snapshot.potionEffects());
         } catch (Exception e) {
-            logger.log(Level.WARNING, "Error updating stats for " + player.getName(), e);
+            logger.log(Level.WARNING, "Error updating stats for " + username, e);
         }
     }
 
@@ -1042,10 +1090,10 @@ public class YakPlayer {
         applyStats(player, false);
     }
 
-    private void updatePotionEffects(Player player) {
+    private void updatePotionEffects(Collection<PotionEffect> effects) {
         try {
             activePotionEffects.clear();
-            for (PotionEffect effect : player.getActivePotionEffects()) {
+            for (PotionEffect effect : effects) {
                 try {
                     String serialized = PotionEffectSerializer.serialize(effect);
                     if (serialized != null) {
@@ -1056,7 +1104,7 @@ public class YakPlayer {
                 }
             }
         } catch (Exception e) {
-            logger.log(Level.WARNING, "Error updating potion effects for " + player.getName(), e);
+            logger.log(Level.WARNING, "Error updating potion effects for " + username, e);
         }
     }
 
@@ -1692,62 +1740,6 @@ public class YakPlayer {
         COMPLETED       // Rejoin completed
     }
 
-    // ==================== SIMPLIFIED ITEM SERIALIZER ====================
-
-    public static class ItemSerializer {
-        private static final Logger logger = YakRealms.getInstance().getLogger();
-
-        public static String serializeItemStacks(ItemStack[] items) {
-            if (items == null) {
-                return "";
-            }
-
-            try {
-                try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                     BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream)) {
-
-                    dataOutput.writeObject(items);
-                    return Base64.getEncoder().encodeToString(outputStream.toByteArray());
-                }
-            } catch (Exception e) {
-                logger.log(Level.SEVERE, "Failed to serialize item stacks", e);
-                return "";
-            }
-        }
-
-        public static ItemStack[] deserializeItemStacks(String data) {
-            if (data == null || data.trim().isEmpty()) {
-                return new ItemStack[0];
-            }
-
-            try {
-                byte[] decodedData = Base64.getDecoder().decode(data);
-                try (ByteArrayInputStream inputStream = new ByteArrayInputStream(decodedData);
-                     BukkitObjectInputStream dataInput = new BukkitObjectInputStream(inputStream)) {
-
-                    Object obj = dataInput.readObject();
-                    if (obj instanceof ItemStack[] items) {
-                        return items;
-                    }
-                }
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "Failed to deserialize item stacks", e);
-            }
-            return new ItemStack[0];
-        }
-
-        public static String serializeItemStack(ItemStack item) {
-            if (item == null || item.getType() == Material.AIR) return "";
-            return serializeItemStacks(new ItemStack[]{item});
-        }
-
-        public static ItemStack deserializeItemStack(String data) {
-            if (data == null || data.isEmpty()) return null;
-            ItemStack[] items = deserializeItemStacks(data);
-            return (items != null && items.length > 0) ? items[0] : null;
-        }
-    }
-
     // ==================== POTION EFFECT SERIALIZER ====================
 
     private static class PotionEffectSerializer {
@@ -60,9 +60,14 @@ public class YakPlayerManager implements Listener, CommandExecutor {
     private static final long DATA_LOAD_TIMEOUT_MS = 10000L;
     private static final long LOADING_TIMEOUT_TICKS = 400L;
     private static final long DEFAULT_AUTO_SAVE_INTERVAL_TICKS = 6000L;
+    private static final long DEFAULT_COUNTER_FLUSH_INTERVAL_TICKS = 100L;
     private static final long BAN_CHECK_TIMEOUT_SECONDS = 5L;
     private static final int MAX_CONCURRENT_OPERATIONS = 10;
     private static final int DEFAULT_IO_THREADS = 4;
+    private static final int DEFAULT_SAVE_BATCH_SIZE = 50;
+    private static final int DEFAULT_SAVE_MAX_IN_FLIGHT = 2;
+    private static final double DEFAULT_SAVE_CAPTURE_BUDGET_MS = 2.0;
+    private static final long SHUTDOWN_SAVE_TIMEOUT_MS = 20000L;
 
     // State tracking (simplified)
     public enum PlayerState {
@@ -72,6 +77,8 @@ public class YakPlayerManager implements Listener, CommandExecutor {
     // Core dependencies
     @Getter
     private YakPlayerRepository repository;
+    @Getter
+    private AutoSavePipeline autoSavePipeline;
     private final Plugin plugin;
 
     // Combat logout coordination
@@ -124,12 +131,14 @@ public class YakPlayerManager implements Listener, CommandExecutor {
 
     // Configuration
     private final long autoSaveInterval;
+    private final long counterFlushInterval;
 
     // World management
     private volatile World defaultWorld;
 
     // Background tasks
     private BukkitTask autoSaveTask;
+    private BukkitTask counterFlushTask;
     private BukkitTask loadingMonitorTask;
     private BukkitTask emergencyRecoveryTask;
 
@@ -150,6 +159,8 @@ public class YakPlayerManager implements Listener, CommandExecutor {
         this.plugin = YakRealms.getInstance();
         this.autoSaveInterval = plugin.getConfig().getLong("player_manager.auto_save_interval_ticks",
                 DEFAULT_AUTO_SAVE_INTERVAL_TICKS);
+        this.counterFlushInterval = Math.max(20L, plugin.getConfig().getLong("player_manager.counter_flush_interval_ticks",
+                DEFAULT_COUNTER_FLUSH_INTERVAL_TICKS));
 
         int ioThreads = plugin.getConfig().getInt("player_manager.io_threads", DEFAULT_IO_THREADS);
         this.ioExecutor = Executors.newFixedThreadPool(ioThreads, r -> {
@@ -390,6 +401,13 @@ public class YakPlayerManager implements Listener, CommandExecutor {
                 return false;
             }
 
+            this.autoSavePipeline = new AutoSavePipeline(plugin, repository, this::captureForSave,
+                    plugin.getConfig().getInt("player_manager.autosave.serialize_threads",
+                            Math.max(2, Runtime.getRuntime().availableProcessors() / 2)),
+                    plugin.getConfig().getInt("player_manager.autosave.max_in_flight_batches", DEFAULT_SAVE_MAX_IN_FLIGHT),
+                    plugin.getConfig().getInt("player_manager.autosave.batch_size", DEFAULT_SAVE_BATCH_SIZE),
+                    plugin.getConfig().getDouble("player_manager.autosave.capture_budget_ms", DEFAULT_SAVE_CAPTURE_BUDGET_MS));
+
             // YakPlayerRepository initialized successfully
             return true;
 
@@ -410,7 +428,7 @@ public class YakPlayerManager implements Listener, CommandExecutor {
     }
 
     private void startBackgroundTasks() {
-        // Auto-save task
+        // Auto-save task - starts a pipeline cycle on the main thread; capture is time-sliced from there
         autoSaveTask = new BukkitRunnable() {
             @Override
             public void run() {
@@ -418,7 +436,17 @@ public class YakPlayerManager implements Listener, CommandExecutor {
                     performAutoSave();
                 }
             }
-        }.runTaskTimerAsynchronously(plugin, autoSaveInterval, autoSaveInterval);
+        }.runTaskTimer(plugin, autoSaveInterval, autoSaveInterval);
+
+        // Write-behind stat counter flush - one batched $inc for all players with pending counters
+        counterFlushTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                if (!shutdownInProgress) {
+                    flushPendingCounters();
+                }
+            }
+        }.runTaskTimerAsynchronously(plugin, counterFlushInterval, counterFlushInterval);
 
         // Loading monitor
         loadingMonitorTask = new BukkitRunnable() {
@@ -500,6 +528,9 @@ public class YakPlayerManager implements Listener, CommandExecutor {
 
         } catch (Exception e) {
             logger.log(Level.WARNING, "Error checking ban status for " + playerName, e);
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER,
+                    Component.text("Could not load your character. Please try again in a moment.")
+                            .color(NamedTextColor.RED));
         }
     }
 
@@ -597,6 +628,7 @@ public class YakPlayerManager implements Listener, CommandExecutor {
 
                     // Loaded existing player: " + player.getName()
                 } else {
+                    // Only reached when the lookup succeeded; a failed lookup throws out of get()
                     yakPlayer = new YakPlayer(player);
                     // Created new player: " + player.getName()
                     repository.saveSync(yakPlayer);
@@ -974,8 +1006,10 @@ public class YakPlayerManager implements Listener, CommandExecutor {
             setPlayerState(uuid, PlayerState.FAILED);
             logger.log(Level.SEVERE, "Loading failed for: " + player.getName(), error);
 
+            // Their stored profile is unknown, so never stand in a fresh one that would be saved over it
             if (player.isOnline()) {
-                performEmergencyPlayerRecovery(player);
+                player.kick(Component.text("Could not load your character. Please try again in a moment.")
+                        .color(NamedTextColor.RED));
             }
 
             cleanupLoadingState(uuid);
@@ -1080,12 +1114,12 @@ public class YakPlayerManager implements Listener, CommandExecutor {
             } else {
                 // ATOMIC DATA UPDATE: Normal quit processing with thread safety
                 try {
-                    // Queue the inventory/stats update operation atomically
+                    // Copy live state here on the main thread; the queued operation only serializes it
+                    PlayerSnapshot snapshot = PlayerSnapshot.capture(player);
                     CompletableFuture<Boolean> updateFuture = queuePlayerOperation(
                         PlayerOperation.OperationType.UPDATE_INVENTORY, uuid, () -> {
                             try {
-                                yakPlayer.updateInventory(player);
-                                yakPlayer.updateStats(player);
+                                yakPlayer.applySnapshot(snapshot, true);
                                 logger.fine("Thread-safe inventory and stats updated for " + playerName);
                             } catch (Exception e) {
                                 logger.log(Level.SEVERE, "Failed to update inventory/stats in operation queue for " + playerName, e);
@@ -1116,6 +1150,7 @@ public class YakPlayerManager implements Listener, CommandExecutor {
             // ATOMIC CLEANUP: Thread-safe cleanup operations
             yakPlayer.disconnect();
             onlinePlayers.remove(uuid);
+            repository.forgetPlayer(uuid);
             cleanupPlayerState(uuid, "normal_quit");
 
             // Set quit message
@@ -1155,6 +1190,8 @@ public class YakPlayerManager implements Listener, CommandExecutor {
                 CompletableFuture<Boolean> saveFuture = queuePlayerOperation(
                     PlayerOperation.OperationType.SAVE, uuid, () -> {
                         try {
+                            // Push buffered counters first so they survive even if the full save fails
+                            repository.flushPendingCounters(List.of(yakPlayer));
                             YakPlayer result = repository.saveSync(yakPlayer);
                             if (result == null) {
                                 throw new RuntimeException("Save returned null");
@@ -1257,6 +1294,8 @@ public class YakPlayerManager implements Listener, CommandExecutor {
                         // Emergency save successful for " + playerName"
                     } catch (Exception e) {
                         logger.log(Level.SEVERE, "Emergency save failed for " + playerName, e);
+                    } finally {
+                        repository.forgetPlayer(uuid);
                     }
                 }, saveExecutor);
             }
@@ -1288,36 +1327,32 @@ public class YakPlayerManager implements Listener, CommandExecutor {
 
     private void performAutoSave() {
         try {
-            int savedCount = 0;
-
-            for (YakPlayer yakPlayer : onlinePlayers.values()) {
-                try {
-                    Player bukkitPlayer = yakPlayer.getBukkitPlayer();
-                    if (bukkitPlayer != null && bukkitPlayer.isOnline()) {
-                        // Skip auto-save if combat logout is being processed
-                        if (yakPlayer.getCombatLogoutState() == YakPlayer.CombatLogoutState.PROCESSING) {
-                            logger.fine("Skipping auto-save for " + yakPlayer.getUsername() + " - combat logout processing");
-                            continue;
-                        }
-
-                        yakPlayer.updateInventory(bukkitPlayer);
-                        yakPlayer.updateStats(bukkitPlayer);
-                        repository.saveSync(yakPlayer);
-                        savedCount++;
-                    }
-                } catch (Exception e) {
-                    logger.log(Level.WARNING, "Auto-save failed for player: " + yakPlayer.getUsername(), e);
-                }
-            }
-
-            if (savedCount > 0) {
-                // Auto-save completed: " + savedCount + " players saved"
-            }
+            autoSavePipeline.startCycle(new ArrayList<>(onlinePlayers.values()));
         } catch (Exception e) {
             logger.log(Level.WARNING, "Error in auto-save", e);
         }
     }
 
+    /**
+     * Capture stage of the save pipeline; main thread only.
+     *
+     * @return the snapshot to save, or null if the player should not be saved in this cycle
+     */
+    private PlayerSnapshot captureForSave(YakPlayer yakPlayer) {
+        Player bukkitPlayer = yakPlayer.getBukkitPlayer();
+        if (bukkitPlayer == null || !bukkitPlayer.isOnline()) {
+            return null;
+        }
+
+        // Skip auto-save if combat logout is being processed
+        if (yakPlayer.getCombatLogoutState() == YakPlayer.CombatLogoutState.PROCESSING) {
+            logger.fine("Skipping auto-save for " + yakPlayer.getUsername() + " - combat logout processing");
+            return null;
+        }
+
+        return PlayerSnapshot.capture(bukkitPlayer);
+    }
+
     private void monitorLoadingPlayers() {
         try {
             long currentTime = System.currentTimeMillis();
@@ -1444,11 +1479,29 @@ public class YakPlayerManager implements Listener, CommandExecutor {
             return CompletableFuture.completedFuture(false);
         }
 
+        PlayerSnapshot snapshot = captureIfOnMainThread(yakPlayer);
         return CompletableFuture.supplyAsync(() -> {
-            return savePlayerSync(yakPlayer, false);
+            return savePlayerSync(yakPlayer, false, snapshot);
         }, saveExecutor);
     }
 
+    /**
+     * Snapshot live state when called from the main thread. Off the main thread the live
+     * inventory is not safe to read, so the save uses the last captured state instead.
+     */
+    private PlayerSnapshot captureIfOnMainThread(YakPlayer yakPlayer) {
+        Player bukkitPlayer = yakPlayer.getBukkitPlayer();
+        if (bukkitPlayer == null || !bukkitPlayer.isOnline() || !Bukkit.isPrimaryThread()) {
+            return null;
+        }
+        try {
+            return PlayerSnapshot.capture(bukkitPlayer);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed to snapshot " + yakPlayer.getUsername() + " for save", e);
+            return null;
+        }
+    }
+
     /**
      * THREAD-SAFE Enhanced save method with combat state coordination and atomic operations
      */
@@ -1459,41 +1512,40 @@ public class YakPlayerManager implements Listener, CommandExecutor {
 
         UUID playerId = yakPlayer.getBukkitPlayer() != null ? 
             yakPlayer.getBukkitPlayer().getUniqueId() : null;
+        PlayerSnapshot snapshot = captureIfOnMainThread(yakPlayer);
         
         if (playerId == null) {
             // Fallback to direct save if no player ID available
             return CompletableFuture.supplyAsync(() -> {
-                return savePlayerSync(yakPlayer, forceCombatSave);
+                return savePlayerSync(yakPlayer, forceCombatSave, snapshot);
             }, saveExecutor);
         }
 
         // Use thread-safe operation queue for coordinated save
         return queuePlayerOperation(PlayerOperation.OperationType.SAVE, playerId, () -> {
-            savePlayerSync(yakPlayer, forceCombatSave);
+            savePlayerSync(yakPlayer, forceCombatSave, snapshot);
         });
     }
 
     /**
      * Synchronous save implementation with proper combat state handling
      */
-    private synchronized boolean savePlayerSync(YakPlayer yakPlayer, boolean forceCombatSave) {
+    private synchronized boolean savePlayerSync(YakPlayer yakPlayer, boolean forceCombatSave, PlayerSnapshot snapshot) {
         try {
             // Get current combat state and lock it for the duration of save
             YakPlayer.CombatLogoutState currentCombatState = yakPlayer.getCombatLogoutState();
-            Player bukkitPlayer = yakPlayer.getBukkitPlayer();
             
             // Update player data based on combat state
-            if (bukkitPlayer != null && bukkitPlayer.isOnline()) {
+            if (snapshot != null) {
                 if (forceCombatSave || currentCombatState == YakPlayer.CombatLogoutState.NONE || 
                     currentCombatState == YakPlayer.CombatLogoutState.COMPLETED) {
-                    // Safe to update inventory from live player
-                    yakPlayer.updateInventory(bukkitPlayer);
-                    yakPlayer.updateStats(bukkitPlayer);
+                    // Safe to update inventory from the snapshot
+                    yakPlayer.applySnapshot(snapshot, true);
                     logger.fine("Updated inventory and stats for " + yakPlayer.getUsername() + 
                               " (combat state: " + currentCombatState + ")");
                 } else {
                     // Combat logout processing - only update non-inventory data
-                    yakPlayer.updateStats(bukkitPlayer);
+                    yakPlayer.applySnapshot(snapshot, false);
                     logger.fine("Updated stats only for " + yakPlayer.getUsername() + 
                               " (combat logout processing)");
                 }
@@ -1551,7 +1603,7 @@ public class YakPlayerManager implements Listener, CommandExecutor {
                     yakPlayer.setCombatLogoutState(YakPlayer.CombatLogoutState.NONE);
                     
                     // Force save the corrected state
-                    boolean saveSuccess = savePlayerSync(yakPlayer, true);
+                    boolean saveSuccess = savePlayerSync(yakPlayer, true, null);
                     if (saveSuccess) {
                         logger.info("Successfully recovered combat data for " + yakPlayer.getUsername());
                         return true;
@@ -1570,7 +1622,7 @@ public class YakPlayerManager implements Listener, CommandExecutor {
                         combatLogoutMechanics.handleCombatLogoutRejoin(uuid);
                         yakPlayer.setCombatLogoutState(YakPlayer.CombatLogoutState.COMPLETED);
                         
-                        boolean saveSuccess = savePlayerSync(yakPlayer, true);
+                        boolean saveSuccess = savePlayerSync(yakPlayer, true, null);
                         if (saveSuccess) {
                             logger.info("Resolved combat logout coordination conflict for " + yakPlayer.getUsername());
                             inventoryConflictsPrevented.incrementAndGet();
@@ -1763,11 +1815,18 @@ public class YakPlayerManager implements Listener, CommandExecutor {
         try {
             // Cancel background tasks
             if (autoSaveTask != null) autoSaveTask.cancel();
+            if (counterFlushTask != null) counterFlushTask.cancel();
             if (loadingMonitorTask != null) loadingMonitorTask.cancel();
             if (emergencyRecoveryTask != null) emergencyRecoveryTask.cancel();
 
+            // Final counter flush so nothing buffered is lost even if a player save fails
+            flushPendingCounters();
+
             // Save all players
             saveAllPlayersOnShutdown();
+            if (autoSavePipeline != null) {
+                autoSavePipeline.shutdown();
+            }
 
             // Shutdown executors
             ioExecutor.shutdown();
@@ -1805,56 +1864,71 @@ public class YakPlayerManager implements Listener, CommandExecutor {
         }
     }
 
-    private void saveAllPlayersOnShutdown() {
-        // Starting shutdown save for " + onlinePlayers.size() + " players..."
+    /**
+     * Write buffered stat counters for every online player in one batch
+     */
+    private void flushPendingCounters() {
+        if (repository == null) return;
 
-        int savedCount = 0;
+        try {
+            List<YakPlayer> pending = new ArrayList<>();
+            for (YakPlayer yakPlayer : onlinePlayers.values()) {
+                if (yakPlayer.getDirtyFieldTracker().hasPendingIncrements()) {
+                    pending.add(yakPlayer);
+                }
+            }
+            if (!pending.isEmpty()) {
+                repository.flushPendingCounters(pending);
+            }
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Error flushing pending stat counters", e);
+        }
+    }
 
-        for (YakPlayer yakPlayer : new ArrayList<>(onlinePlayers.values())) {
+    private void saveAllPlayersOnShutdown() {
+        List<YakPlayer> players = new ArrayList<>(onlinePlayers.values());
+        if (players.isEmpty() || repository == null) {
+            return;
+        }
+
+        Map<YakPlayer, PlayerSnapshot> snapshots = new LinkedHashMap<>();
+        for (YakPlayer yakPlayer : players) {
+            PlayerSnapshot snapshot = null;
             try {
                 Player player = yakPlayer.getBukkitPlayer();
                 if (player != null && player.isOnline()) {
                     // Only update inventory if not in combat logout processing
                     if (yakPlayer.getCombatLogoutState() != YakPlayer.CombatLogoutState.PROCESSING) {
-                        yakPlayer.updateInventory(player);
-                        yakPlayer.updateStats(player);
+                        snapshot = PlayerSnapshot.capture(player);
                     }
                 }
-
                 yakPlayer.disconnect();
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Failed to capture player on shutdown: " + yakPlayer.getUsername(), e);
+            }
+            snapshots.put(yakPlayer, snapshot);
+        }
 
-                boolean saved = false;
-                for (int attempt = 1; attempt <= 3 && !saved; attempt++) {
-                    try {
-                        YakPlayer result = repository.saveSync(yakPlayer);
-                        if (result != null) {
-                            saved = true;
-                            savedCount++;
-                            // Shutdown save successful (attempt " + attempt + ") for " + yakPlayer.getUsername()
-                        }
-                    } catch (Exception e) {
-                        logger.log(Level.SEVERE, "✗ Shutdown save attempt " + attempt + " failed for " + yakPlayer.getUsername(), e);
-                        if (attempt < 3) {
-                            try {
-                                Thread.sleep(100 * attempt);
-                            } catch (InterruptedException ie) {
-                                Thread.currentThread().interrupt();
-                                break;
-                            }
-                        }
-                    }
-                }
+        // Item serialization and writes happen on the pipeline workers
+        List<YakPlayer> unsaved = autoSavePipeline != null
+                ? autoSavePipeline.saveAllBlocking(snapshots, SHUTDOWN_SAVE_TIMEOUT_MS)
+                : players;
 
-                if (!saved) {
+        // Per-player fallback with its own retries and local backup for anything the batches missed
+        for (YakPlayer yakPlayer : unsaved) {
+            try {
+                yakPlayer.applySnapshot(snapshots.get(yakPlayer), true);
+                if (repository.saveSync(yakPlayer) == null) {
                     logger.log(Level.SEVERE, "CRITICAL: All shutdown save attempts failed for " + yakPlayer.getUsername());
                 }
-
             } catch (Exception e) {
                 logger.log(Level.SEVERE, "Failed to save player on shutdown: " + yakPlayer.getUsername(), e);
             }
         }
 
-        // Shutdown save completed: " + savedCount + "/" + onlinePlayers.size() + " players saved"
+        if (!unsaved.isEmpty()) {
+            logger.warning("Shutdown batch save missed " + unsaved.size() + "/" + players.size() + " players - used fallback saves");
+        }
     }
 
     // ==================== COMMAND HANDLING ====================
@@ -8,6 +8,7 @@ import com.rednetty.server.core.mechanics.player.YakPlayer;
 import com.rednetty.server.core.mechanics.player.YakPlayerManager;
 import com.rednetty.server.core.mechanics.player.settings.Toggles;
 import com.rednetty.server.core.mechanics.player.social.party.PartyMechanics;
+import com.rednetty.server.core.mechanics.world.PlayerSpatialIndex;
 import org.bukkit.*;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.entity.*;
@@ -277,18 +278,7 @@ public class CombatListener extends BaseListener {
      * Finds the nearest player to a location
      */
     private Player findNearestPlayer(Location location, double maxDistance) {
-        Player nearest = null;
-        double nearestDistance = maxDistance;
-        
-        for (Player player : location.getWorld().getPlayers()) {
-            double distance = player.getLocation().distance(location);
-            if (distance < nearestDistance) {
-                nearest = player;
-                nearestDistance = distance;
-            }
-        }
-        
-        return nearest;
+        return PlayerSpatialIndex.getInstance().nearest(location, maxDistance, null);
     }
 
     /**
@@ -1,17 +1,21 @@
 package com.rednetty.server.core.mechanics.player.listeners;
 
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent;
 import com.rednetty.server.YakRealms;
 import com.rednetty.server.core.mechanics.item.HealthPotion;
 import com.rednetty.server.core.mechanics.item.scroll.ItemAPI;
 import com.rednetty.server.core.mechanics.player.YakPlayer;
 import com.rednetty.server.core.mechanics.player.YakPlayerManager;
 import com.rednetty.server.core.mechanics.player.settings.Toggles;
+import com.rednetty.server.core.mechanics.player.stats.StatProfileManager;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemDamageEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
@@ -466,6 +470,43 @@ public class EquipmentListener extends BaseListener {
         }
     }
 
+    /**
+     * Rebuild the stat profile after any armor slot change - equip, unequip, swap, death
+     * restore or a plugin setting armor directly
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArmorChange(PlayerArmorChangeEvent event) {
+        StatProfileManager.getInstance().invalidate(event.getPlayer());
+    }
+
+    /**
+     * Durability loss on equipped armor
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onArmorDurabilityChange(PlayerItemDamageEvent event) {
+        if (isArmor(event.getItem().getType())) {
+            StatProfileManager.getInstance().invalidate(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArmorBreak(PlayerItemBreakEvent event) {
+        if (isArmor(event.getBrokenItem().getType())) {
+            StatProfileManager.getInstance().invalidate(event.getPlayer());
+        }
+    }
+
+    /**
+     * Check if a material is armor
+     */
+    private boolean isArmor(Material material) {
+        String name = material.name();
+        return name.endsWith("_HELMET") ||
+                name.endsWith("_CHESTPLATE") ||
+                name.endsWith("_LEGGINGS") ||
+                name.endsWith("_BOOTS");
+    }
+
     /**
      * Check if a material is a weapon
      */
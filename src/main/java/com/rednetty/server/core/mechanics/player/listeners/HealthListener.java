@@ -5,6 +5,8 @@ import com.rednetty.server.core.mechanics.combat.pvp.AlignmentMechanics;
 import com.rednetty.server.core.mechanics.player.YakPlayerManager;
 import com.rednetty.server.core.mechanics.player.settings.Toggles;
 import com.rednetty.server.core.mechanics.player.stats.PlayerStatsCalculator;
+import com.rednetty.server.core.mechanics.player.stats.StatProfile;
+import com.rednetty.server.core.mechanics.player.stats.StatProfileManager;
 import org.bukkit.*;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -76,20 +78,15 @@ public class HealthListener extends BaseListener {
         try {
             // Calculate base health and bonuses using PlayerStatsCalculator
             double baseHealth = 50.0; // Base health
-            double totalHpBonus = 0.0;
-            double vitalityBonus = 0.0;
 
-            // Check armor pieces for HP and VIT bonuses
+            // HP and VIT bonuses summed over the equipped armor
+            StatProfile profile = StatProfileManager.getInstance().getProfile(player);
+            double totalHpBonus = profile.getHp();
+            double vitalityBonus = profile.getVitality();
+
+            // Show frost armor effects if applicable
             for (ItemStack item : player.getInventory().getArmorContents()) {
                 if (PlayerStatsCalculator.hasValidItemStats(item)) {
-                    // Add direct HP bonus
-                    totalHpBonus += PlayerStatsCalculator.getHp(item);
-
-                    // Add vitality bonus
-                    int vitality = PlayerStatsCalculator.getElementalAttribute(item, "VIT");
-                    vitalityBonus += vitality;
-
-                    // Show frost armor effects if applicable
                     applyFrostArmorEffect(player, item);
                 }
             }
@@ -477,17 +474,8 @@ public class HealthListener extends BaseListener {
         }
 
         // Check if player has any equipment that affects health
-        for (ItemStack item : player.getInventory().getArmorContents()) {
-            if (PlayerStatsCalculator.hasValidItemStats(item)) {
-                // Check if item has HP or VIT bonuses
-                if (PlayerStatsCalculator.getHp(item) > 0 ||
-                        PlayerStatsCalculator.getElementalAttribute(item, "VIT") > 0) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        StatProfile profile = StatProfileManager.getInstance().getProfile(player);
+        return profile.getHp() > 0 || profile.getVitality() > 0;
     }
 
     /**
@@ -498,6 +486,7 @@ public class HealthListener extends BaseListener {
         Player player = event.getPlayer();
         if (player != null) {
             pendingRecalculations.remove(player.getName());
+            StatProfileManager.getInstance().remove(player.getUniqueId());
         }
     }
 
@@ -1096,7 +1096,7 @@ public class PartyMechanics implements Listener {
             Bukkit.getScheduler().runTaskLater(YakRealms.getInstance(), () -> {
                 try {
                     PartyScoreboards.updatePlayerScoreboard(player);
-                    PartyScoreboards.updateAllPlayerColors();
+                    PartyScoreboards.refreshPlayerForViewers(player);
                 } catch (Exception e) {
                     logger.warning("Error updating scoreboards for joined player " + player.getName() + ": " + e.getMessage());
                 }
@@ -1113,12 +1113,18 @@ public class PartyMechanics implements Listener {
 
         try {
             // INTEGRATED: Clean up scoreboard for quitting player
+            List<Player> partyMembers = getPartyMembers(player);
             PartyScoreboards.cleanupPlayer(player);
+            PartyScoreboards.removePlayerFromViewers(player);
 
-            // Update remaining players' scoreboards
+            // Update the sidebars of the party members left online
             Bukkit.getScheduler().runTaskLater(YakRealms.getInstance(), () -> {
                 try {
-                    PartyScoreboards.refreshAllPartyScoreboards();
+                    for (Player member : partyMembers) {
+                        if (member.isOnline() && !member.equals(player)) {
+                            PartyScoreboards.updatePlayerScoreboard(member);
+                        }
+                    }
                 } catch (Exception e) {
                     logger.warning("Error refreshing scoreboards after player quit: " + e.getMessage());
                 }
@@ -1179,17 +1185,8 @@ public class PartyMechanics implements Listener {
         if (player == null || !player.isOnline()) return;
 
         try {
-            // If player is in a party, update all party members' scoreboards
-            if (isInParty(player)) {
-                for (Player partyMember : getPartyMembers(player)) {
-                    if (partyMember != null && partyMember.isOnline()) {
-                        PartyScoreboards.updatePlayerScoreboard(partyMember);
-                    }
-                }
-            }
-
-            // Update the player's own scoreboard
-            PartyScoreboards.updatePlayerScoreboard(player);
+            // Pushes the new health to every viewer and to the party members' sidebars
+            PartyScoreboards.updatePlayerHealth(player);
 
         } catch (Exception e) {
             // Ignore health update errors to prevent spam
@@ -21,6 +21,7 @@ import net.kyori.adventure.title.Title;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Party scoreboards with full Adventure API support for Paper Spigot 1.21.7
@@ -31,21 +32,26 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Simplified update logic to prevent throttling issues
  * - Improved team management to handle both party roles and alignment colors
  * - Full backwards compatibility through Adventure API legacy serializer
+ * - Each viewer's applied scoreboard state is kept in memory and changes are diffed against
+ *   it, so party, alignment, rank and health changes only send the entries that changed
  */
 public class PartyScoreboards {
-    private static final Map<UUID, Scoreboard> playerScoreboards = new ConcurrentHashMap<>();
+    private static final Map<UUID, ViewerState> viewerStates = new ConcurrentHashMap<>();
     private static final Map<UUID, BossBar> partyHealthBars = new ConcurrentHashMap<>();
-    private static final Map<UUID, Long> lastUpdateTimes = new ConcurrentHashMap<>();
 
-    // Track entries for cleanup
-    private static final Map<UUID, Set<String>> activeScoreboardEntries = new ConcurrentHashMap<>();
+    // Per-target state shared by every viewer: rank/alignment team and last published health
+    private static final Map<UUID, String> baseTeams = new ConcurrentHashMap<>();
+    private static final Map<UUID, Integer> publishedHealth = new ConcurrentHashMap<>();
 
     // Visual effects system
     private static final Map<UUID, PartyVisualEffects> partyVisuals = new ConcurrentHashMap<>();
 
-    // Reduced throttling for better responsiveness
-    private static final long UPDATE_COOLDOWN = 50; // Reduced from 100ms
-    private static final long FORCE_REFRESH_INTERVAL = 2000; // Reduced from 5000ms
+    // Metrics - one update is one team, score or objective change, i.e. roughly one packet
+    private static final AtomicLong scoreboardUpdates = new AtomicLong();
+    private static final AtomicLong checksumRepairs = new AtomicLong();
+    private static volatile long lastRateSampleTime = System.currentTimeMillis();
+    private static volatile long lastRateSampleCount = 0;
+    private static volatile double updatesPerSecond = 0;
 
     // Team name constants - SIMPLIFIED to avoid conflicts
     private static final String CHAOTIC_TEAM = "chaotic";
@@ -56,6 +62,14 @@ public class PartyScoreboards {
     private static final String ADMIN_MANAGER_TEAM = "admin_manager";
     private static final String ADMIN_GM_TEAM = "admin_gm";
 
+    // Party role variants of the alignment teams, e.g. "lawful_leader"
+    private static final String LEADER_SUFFIX = "_leader";
+    private static final String OFFICER_SUFFIX = "_officer";
+    private static final String MEMBER_SUFFIX = "_member";
+
+    private static final String HEALTH_OBJECTIVE = "health";
+    private static final String PARTY_OBJECTIVE = "party_data";
+
     // Adventure API color constants
     private static final NamedTextColor PARTY_PRIMARY = NamedTextColor.LIGHT_PURPLE; // Light purple
     private static final NamedTextColor PARTY_ACCENT = NamedTextColor.GOLD;  // Gold
@@ -264,19 +278,40 @@ public class PartyScoreboards {
         }
     }
 
+    /**
+     * What has been applied to one viewer's scoreboard. Every update is diffed against this
+     * so only entries that actually changed are sent. Only touched on the main thread.
+     */
+    private static final class ViewerState {
+        private final Scoreboard scoreboard;
+        private final Map<String, String> teams = new HashMap<>();      // entry -> team name
+        private final Map<String, Integer> health = new HashMap<>();    // entry -> below-name score
+        private final Map<String, Integer> sidebar = new HashMap<>();   // line -> sidebar score
+        private int teamChecksum;                                       // XOR of entryChecksum over teams
+
+        private ViewerState(Scoreboard scoreboard) {
+            this.scoreboard = scoreboard;
+        }
+    }
+
     /**
      * Get or create a player's scoreboard with proper error handling
      */
     public static Scoreboard getPlayerScoreboard(Player player) {
+        ViewerState state = getViewerState(player);
+        return state != null ? state.scoreboard : null;
+    }
+
+    private static ViewerState getViewerState(Player player) {
         if (player == null || !player.isOnline()) {
             return null;
         }
 
         UUID playerId = player.getUniqueId();
 
-        Scoreboard existingScoreboard = playerScoreboards.get(playerId);
-        if (existingScoreboard != null) {
-            return existingScoreboard;
+        ViewerState existingState = viewerStates.get(playerId);
+        if (existingState != null) {
+            return existingState;
         }
 
         try {
@@ -293,244 +328,187 @@ public class PartyScoreboards {
                 return null;
             }
 
-            // Setup teams and health display
-            setupTeams(scoreboard);
-            setupHealthDisplay(scoreboard);
+            // Teams are registered on first use; the health objective is needed by everyone
+            ViewerState state = new ViewerState(scoreboard);
+            ensureHealthObjective(state);
 
-            playerScoreboards.put(playerId, scoreboard);
-            activeScoreboardEntries.put(playerId, ConcurrentHashMap.newKeySet());
-
-            return scoreboard;
+            viewerStates.put(playerId, state);
+            return state;
         } catch (Exception e) {
             Bukkit.getLogger().severe("Error creating scoreboard for " + player.getName() + ": " + e.getMessage());
             return null;
         }
     }
 
+    // ================ TEAMS ================
+
     /**
-     * Setup teams with alignment-based coloring and party role prefixes (Adventure API)
+     * Get a team on the viewer's scoreboard, registering it with its color and prefix if needed.
+     * Team names encode everything about their look, so a team is never restyled after creation.
      */
-    private static void setupTeams(Scoreboard scoreboard) {
-        if (scoreboard == null) return;
-
-        try {
-            // Clear existing teams safely
-            Set<Team> existingTeams = new HashSet<>(scoreboard.getTeams());
-            for (Team team : existingTeams) {
-                try {
-                    team.unregister();
-                } catch (Exception e) {
-                    // Ignore individual team cleanup errors
-                }
-            }
-
-            // Admin teams (highest priority) with Adventure API
-            createTeamSafelyAdventure(scoreboard, ADMIN_DEV_TEAM, LEADER_COLOR,
-                    Component.text("⚡ DEV ").color(LEADER_COLOR), Component.empty());
-
-            createTeamSafelyAdventure(scoreboard, ADMIN_MANAGER_TEAM, OFFICER_COLOR,
-                    Component.text("★ MANAGER ").color(OFFICER_COLOR), Component.empty());
-
-            createTeamSafelyAdventure(scoreboard, ADMIN_GM_TEAM, NamedTextColor.AQUA,
-                    Component.text("♦ GM ").color(NamedTextColor.AQUA), Component.empty());
+    private static Team ensureTeam(ViewerState state, String name) {
+        Team team = state.scoreboard.getTeam(name);
+        if (team != null) {
+            return team;
+        }
 
-            // Alignment teams with colors but NO prefixes (party prefixes added dynamically)
-            createTeamSafelyAdventure(scoreboard, CHAOTIC_TEAM, CHAOTIC_COLOR,
-                    Component.empty(), Component.empty());
-            createTeamSafelyAdventure(scoreboard, NEUTRAL_TEAM, NEUTRAL_COLOR,
-                    Component.empty(), Component.empty());
-            createTeamSafelyAdventure(scoreboard, LAWFUL_TEAM, LAWFUL_COLOR,
-                    Component.empty(), Component.empty());
-            createTeamSafelyAdventure(scoreboard, DEFAULT_TEAM, DEFAULT_COLOR,
-                    Component.empty(), Component.empty());
+        String base = name;
+        Component prefix = Component.empty();
+        if (name.endsWith(LEADER_SUFFIX)) {
+            base = name.substring(0, name.length() - LEADER_SUFFIX.length());
+            prefix = getPartyRolePrefix(true, false);
+        } else if (name.endsWith(OFFICER_SUFFIX)) {
+            base = name.substring(0, name.length() - OFFICER_SUFFIX.length());
+            prefix = getPartyRolePrefix(false, true);
+        } else if (name.endsWith(MEMBER_SUFFIX)) {
+            base = name.substring(0, name.length() - MEMBER_SUFFIX.length());
+            prefix = getPartyRolePrefix(false, false);
+        }
 
-        } catch (Exception e) {
-            Bukkit.getLogger().warning("Error setting up teams: " + e.getMessage());
+        team = state.scoreboard.registerNewTeam(name);
+        switch (base) {
+            case ADMIN_DEV_TEAM:
+                team.color(LEADER_COLOR);
+                prefix = Component.text("⚡ DEV ").color(LEADER_COLOR);
+                break;
+            case ADMIN_MANAGER_TEAM:
+                team.color(OFFICER_COLOR);
+                prefix = Component.text("★ MANAGER ").color(OFFICER_COLOR);
+                break;
+            case ADMIN_GM_TEAM:
+                team.color(NamedTextColor.AQUA);
+                prefix = Component.text("♦ GM ").color(NamedTextColor.AQUA);
+                break;
+            case CHAOTIC_TEAM:
+                team.color(CHAOTIC_COLOR);
+                break;
+            case NEUTRAL_TEAM:
+                team.color(NEUTRAL_COLOR);
+                break;
+            case LAWFUL_TEAM:
+                team.color(LAWFUL_COLOR);
+                break;
+            default:
+                team.color(DEFAULT_COLOR);
+                break;
         }
+        team.prefix(prefix);
+        recordUpdate();
+        return team;
     }
 
-    /**
-     * Safely create a team with Adventure API components
-     */
-    private static void createTeamSafelyAdventure(Scoreboard scoreboard, String name, NamedTextColor color, Component prefix, Component suffix) {
-        if (scoreboard == null || name == null) return;
-
-        try {
-            Team existingTeam = scoreboard.getTeam(name);
-            if (existingTeam != null) {
-                existingTeam.unregister();
-            }
-
-            Team team = scoreboard.registerNewTeam(name);
-            if (team != null) {
-                // Set team color for name display
-                team.color(color != null ? color : DEFAULT_COLOR);
-
-                if (prefix != null) team.prefix(prefix);
-                if (suffix != null) team.suffix(suffix);
-            }
-        } catch (Exception e) {
-            Bukkit.getLogger().warning("Failed to create Adventure team " + name + ": " + e.getMessage());
-        }
+    private static boolean isAdminTeam(String teamName) {
+        return ADMIN_DEV_TEAM.equals(teamName) || ADMIN_MANAGER_TEAM.equals(teamName) || ADMIN_GM_TEAM.equals(teamName);
     }
 
     /**
-     * Setup health display with Adventure API
+     * The team a viewer should see the target in: the target's rank/alignment team, or its
+     * party role variant when both share a party. Admin teams keep their rank prefix.
      */
-    private static void setupHealthDisplay(Scoreboard scoreboard) {
-        if (scoreboard == null) return;
+    private static String desiredTeam(Player target, boolean sameParty, PartyMechanics partyMechanics) {
+        String base = baseTeams.computeIfAbsent(target.getUniqueId(), id -> determinePlayerTeam(target));
+        if (!sameParty || isAdminTeam(base)) {
+            return base;
+        }
+        if (partyMechanics.isPartyLeader(target)) {
+            return base + LEADER_SUFFIX;
+        }
+        if (partyMechanics.isPartyOfficer(target)) {
+            return base + OFFICER_SUFFIX;
+        }
+        return base + MEMBER_SUFFIX;
+    }
 
-        try {
-            // Clear existing health objective
-            Objective existingHealth = scoreboard.getObjective("health");
-            if (existingHealth != null) {
-                existingHealth.unregister();
-            }
+    private static void applyTeam(ViewerState state, String entry, String teamName) {
+        String current = state.teams.get(entry);
+        if (teamName.equals(current)) {
+            return;
+        }
 
-            // Create health objective for above-head display with Adventure API
-            Objective healthObjective = scoreboard.registerNewObjective(
-                    "health", "health", Component.text("♥").color(HEALTH_COLOR));
-            healthObjective.setDisplaySlot(DisplaySlot.BELOW_NAME);
+        // Joining a team implicitly leaves the previous one
+        ensureTeam(state, teamName).addEntry(entry);
+        recordUpdate();
 
-            // Initialize health for all online players immediately
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                try {
-                    if (player != null && player.isOnline()) {
-                        int health = (int) Math.ceil(player.getHealth());
-                        healthObjective.getScore(player.getName()).setScore(health);
-                    }
-                } catch (Exception e) {
-                    // Skip this player if there's an error
-                }
-            }
-        } catch (Exception e) {
-            Bukkit.getLogger().warning("Failed to setup Adventure health display: " + e.getMessage());
+        if (current != null) {
+            state.teamChecksum ^= entryChecksum(entry, current);
         }
+        state.teams.put(entry, teamName);
+        state.teamChecksum ^= entryChecksum(entry, teamName);
     }
 
-    /**
-     * Update player scoreboard with simplified logic
-     */
-    public static void updatePlayerScoreboard(Player player) {
-        if (player == null || !player.isOnline()) {
+    private static void removeTeamEntry(ViewerState state, String entry) {
+        String current = state.teams.remove(entry);
+        if (current == null) {
             return;
         }
 
-        UUID playerId = player.getUniqueId();
-        PartyMechanics partyMechanics = PartyMechanics.getInstance();
-        if (partyMechanics == null) {
-            return;
+        Team team = state.scoreboard.getTeam(current);
+        if (team != null && team.hasEntry(entry)) {
+            team.removeEntry(entry);
+            recordUpdate();
         }
+        state.teamChecksum ^= entryChecksum(entry, current);
+    }
 
-        try {
-            Scoreboard scoreboard = getPlayerScoreboard(player);
-            if (scoreboard == null) {
-                return;
-            }
-
-            // Update team assignments first (for name colors)
-            updatePlayerTeamAssignments(player, scoreboard, partyMechanics);
-
-            if (partyMechanics.isInParty(player)) {
-                // Update party sidebar
-                updatePartyObjective(player, scoreboard, partyMechanics);
-                updatePartyHealthBar(player, partyMechanics);
-            } else {
-                // Clear party sidebar
-                clearPartyObjective(player, scoreboard);
-                clearPartyHealthBar(playerId);
-            }
-
-            // Ensure health display is working
-            updateHealthDisplay(scoreboard);
-
-            // Apply scoreboard to player
-            if (player.getScoreboard() != scoreboard) {
-                player.setScoreboard(scoreboard);
-            }
-
-            lastUpdateTimes.put(playerId, System.currentTimeMillis());
+    /**
+     * Bring every online player's team on the viewer's scoreboard up to date
+     */
+    private static void syncTeams(Player viewer, ViewerState state, PartyMechanics partyMechanics) {
+        Set<UUID> viewerParty = getPartyIds(viewer, partyMechanics);
+        Set<String> online = new HashSet<>();
 
-        } catch (Exception e) {
-            Bukkit.getLogger().warning("Error updating scoreboard for " + player.getName() + ": " + e.getMessage());
+        for (Player target : Bukkit.getOnlinePlayers()) {
+            if (target == null || !target.isOnline()) continue;
 
-            // Recovery: clear and recreate
             try {
-                cleanupPlayer(player);
-            } catch (Exception ex) {
-                Bukkit.getLogger().severe("Failed to cleanup after scoreboard error for " + player.getName());
+                online.add(target.getName());
+                applyTeam(state, target.getName(),
+                        desiredTeam(target, viewerParty.contains(target.getUniqueId()), partyMechanics));
+            } catch (Exception e) {
+                // Skip this player if assignment fails
             }
         }
-    }
-
-    /**
-     * Update team assignments with party role prefixes AND alignment colors (Adventure API)
-     */
-    private static void updatePlayerTeamAssignments(Player viewer, Scoreboard scoreboard, PartyMechanics partyMechanics) {
-        if (viewer == null || !viewer.isOnline() || scoreboard == null || partyMechanics == null) {
-            return;
-        }
 
-        try {
-            // Clear all team entries safely
-            for (Team team : scoreboard.getTeams()) {
-                try {
-                    Set<String> entries = new HashSet<>(team.getEntries());
-                    for (String entry : entries) {
-                        try {
-                            team.removeEntry(entry);
-                        } catch (Exception e) {
-                            // Ignore individual entry removal errors
-                        }
-                    }
-                } catch (Exception e) {
-                    // Ignore team clearing errors
+        if (state.teams.size() > online.size()) {
+            for (String entry : new ArrayList<>(state.teams.keySet())) {
+                if (!online.contains(entry)) {
+                    removeTeamEntry(state, entry);
                 }
             }
+        }
+    }
 
-            // Get viewer's party members
-            List<Player> viewerPartyMembers = null;
-            if (partyMechanics.isInParty(viewer)) {
-                viewerPartyMembers = partyMechanics.getPartyMembers(viewer);
-            }
+    private static Set<UUID> getPartyIds(Player player, PartyMechanics partyMechanics) {
+        if (!partyMechanics.isInParty(player)) {
+            return Collections.emptySet();
+        }
 
-            // Assign teams for all online players
-            for (Player target : Bukkit.getOnlinePlayers()) {
-                if (target == null || !target.isOnline()) continue;
+        Set<UUID> ids = new HashSet<>();
+        for (Player member : partyMechanics.getPartyMembers(player)) {
+            ids.add(member.getUniqueId());
+        }
+        return ids;
+    }
 
-                try {
-                    // Determine team and apply party prefix if needed
-                    String teamName = determinePlayerTeam(target);
-                    Team team = scoreboard.getTeam(teamName);
-
-                    if (team != null) {
-                        // Add party role prefix dynamically with Adventure API
-                        Component partyPrefix = getPartyRolePrefixComponent(target, viewer, viewerPartyMembers, partyMechanics);
-                        if (partyPrefix != null && !partyPrefix.equals(Component.empty())) {
-                            // Update team prefix to include party role
-                            Component currentPrefix = team.prefix();
-                            if (currentPrefix == null) currentPrefix = Component.empty();
-
-                            // Only add party prefix if not already an admin
-                            String currentPrefixString = componentToLegacy(currentPrefix);
-                            if (!currentPrefixString.contains("DEV") && !currentPrefixString.contains("MANAGER") && !currentPrefixString.contains("GM")) {
-                                team.prefix(partyPrefix);
-                            }
-                        }
+    private static int entryChecksum(String entry, String teamName) {
+        return entry.hashCode() * 31 + teamName.hashCode();
+    }
 
-                        team.addEntry(target.getName());
-                    }
-                } catch (Exception e) {
-                    // Skip this player if assignment fails
-                }
+    /**
+     * Checksum of the team entries actually registered on a scoreboard, comparable to
+     * {@link ViewerState#teamChecksum}. Reads server-side state only; sends nothing.
+     */
+    private static int actualTeamChecksum(Scoreboard scoreboard) {
+        int checksum = 0;
+        for (Team team : scoreboard.getTeams()) {
+            for (String entry : team.getEntries()) {
+                checksum ^= entryChecksum(entry, team.getName());
             }
-
-            viewer.setScoreboard(scoreboard);
-        } catch (Exception e) {
-            Bukkit.getLogger().warning("Error updating Adventure team assignments for " + viewer.getName() + ": " + e.getMessage());
         }
+        return checksum;
     }
 
+
     /**
      * Determine player team based on rank and alignment only
      */
@@ -589,15 +567,7 @@ public class PartyScoreboards {
         try {
             // Only show party prefixes if both players are in the same party
             if (viewerPartyMembers != null && viewerPartyMembers.contains(target)) {
-                if (partyMechanics.isPartyLeader(target)) {
-                    return Component.text("★").color(LEADER_COLOR)
-                            .append(Component.text("[P] ").color(PARTY_PRIMARY));
-                } else if (partyMechanics.isPartyOfficer(target)) {
-                    return Component.text("♦").color(OFFICER_COLOR)
-                            .append(Component.text("[P] ").color(PARTY_PRIMARY));
-                } else {
-                    return Component.text("[P] ").color(PARTY_PRIMARY);
-                }
+                return getPartyRolePrefix(partyMechanics.isPartyLeader(target), partyMechanics.isPartyOfficer(target));
             }
         } catch (Exception e) {
             // Return empty on error
@@ -606,34 +576,229 @@ public class PartyScoreboards {
         return Component.empty();
     }
 
+    private static Component getPartyRolePrefix(boolean leader, boolean officer) {
+        if (leader) {
+            return Component.text("★").color(LEADER_COLOR)
+                    .append(Component.text("[P] ").color(PARTY_PRIMARY));
+        } else if (officer) {
+            return Component.text("♦").color(OFFICER_COLOR)
+                    .append(Component.text("[P] ").color(PARTY_PRIMARY));
+        }
+        return Component.text("[P] ").color(PARTY_PRIMARY);
+    }
+
+    // ================ HEALTH ================
+
+    private static Objective ensureHealthObjective(ViewerState state) {
+        Objective objective = state.scoreboard.getObjective(HEALTH_OBJECTIVE);
+        if (objective == null) {
+            objective = state.scoreboard.registerNewObjective(
+                    HEALTH_OBJECTIVE, "health", Component.text("♥").color(HEALTH_COLOR));
+            objective.setDisplaySlot(DisplaySlot.BELOW_NAME);
+            state.health.clear();
+            recordUpdate();
+        }
+        return objective;
+    }
+
+    private static void applyHealth(ViewerState state, Objective objective, String entry, int health) {
+        Integer current = state.health.get(entry);
+        if (current != null && current == health) {
+            return;
+        }
+        objective.getScore(entry).setScore(health);
+        state.health.put(entry, health);
+        recordUpdate();
+    }
+
+    private static void syncHealth(ViewerState state) {
+        Objective objective = ensureHealthObjective(state);
+        for (Player target : Bukkit.getOnlinePlayers()) {
+            if (target == null || !target.isOnline()) continue;
+
+            try {
+                applyHealth(state, objective, target.getName(), currentHealth(target));
+            } catch (Exception e) {
+                // Skip this player
+            }
+        }
+    }
+
+    private static int currentHealth(Player player) {
+        return (int) Math.ceil(player.getHealth());
+    }
+
+    // ================ UPDATES ================
+
     /**
-     * Update party objective with cleaner entry management (Adventure API)
+     * Bring a viewer's whole scoreboard up to date. Used when the viewer's own situation
+     * changes (join, party membership); every entry is diffed, so unchanged entries cost
+     * nothing on the wire.
      */
-    private static void updatePartyObjective(Player player, Scoreboard scoreboard, PartyMechanics partyMechanics) {
-        if (player == null || !player.isOnline() || scoreboard == null || partyMechanics == null) {
+    public static void updatePlayerScoreboard(Player player) {
+        if (player == null || !player.isOnline()) {
             return;
         }
 
         UUID playerId = player.getUniqueId();
+        PartyMechanics partyMechanics = PartyMechanics.getInstance();
+        if (partyMechanics == null) {
+            return;
+        }
 
         try {
-            // Clear existing party objective
-            Objective existing = scoreboard.getObjective(DisplaySlot.SIDEBAR);
-            if (existing != null) {
-                existing.unregister();
+            ViewerState state = getViewerState(player);
+            if (state == null) {
+                return;
             }
 
-            // Clear tracked entries
-            Set<String> currentEntries = activeScoreboardEntries.computeIfAbsent(playerId, k -> ConcurrentHashMap.newKeySet());
-            currentEntries.clear();
+            // Update team assignments first (for name colors)
+            syncTeams(player, state, partyMechanics);
 
-            // Create new party objective with Adventure API
-            Component objectiveTitle = Component.text("✦ ").color(PARTY_PRIMARY)
-                    .append(Component.text("PARTY").color(PARTY_PRIMARY).decorate(TextDecoration.BOLD))
-                    .append(Component.text(" ✦").color(PARTY_PRIMARY));
+            if (partyMechanics.isInParty(player)) {
+                // Update party sidebar
+                updatePartyObjective(player, state, partyMechanics);
+                updatePartyHealthBar(player, partyMechanics);
+            } else {
+                // Clear party sidebar
+                clearPartyObjective(state);
+                clearPartyHealthBar(playerId);
+            }
+
+            syncHealth(state);
+            applyScoreboard(player, state);
+
+        } catch (Exception e) {
+            Bukkit.getLogger().warning("Error updating scoreboard for " + player.getName() + ": " + e.getMessage());
+
+            // Recovery: clear and recreate
+            try {
+                cleanupPlayer(player);
+            } catch (Exception ex) {
+                Bukkit.getLogger().severe("Failed to cleanup after scoreboard error for " + player.getName());
+            }
+        }
+    }
+
+    private static void applyScoreboard(Player player, ViewerState state) {
+        if (player.getScoreboard() != state.scoreboard) {
+            player.setScoreboard(state.scoreboard);
+            recordUpdate();
+        }
+    }
+
+    /**
+     * Update how every viewer sees one player. Used when the player's rank, alignment or
+     * party role changes, and on join; costs one diff per viewer instead of a full rebuild.
+     */
+    public static void refreshPlayerForViewers(Player target) {
+        if (target == null || !target.isOnline()) {
+            return;
+        }
+
+        PartyMechanics partyMechanics = PartyMechanics.getInstance();
+        if (partyMechanics == null) {
+            return;
+        }
+
+        UUID targetId = target.getUniqueId();
+        String entry = target.getName();
+        int health = currentHealth(target);
+
+        baseTeams.put(targetId, determinePlayerTeam(target));
+        publishedHealth.put(targetId, health);
+        Set<UUID> targetParty = getPartyIds(target, partyMechanics);
+
+        for (Map.Entry<UUID, ViewerState> viewer : viewerStates.entrySet()) {
+            try {
+                ViewerState state = viewer.getValue();
+                applyTeam(state, entry, desiredTeam(target, targetParty.contains(viewer.getKey()), partyMechanics));
+                applyHealth(state, ensureHealthObjective(state), entry, health);
+            } catch (Exception e) {
+                // Continue with other viewers
+            }
+        }
+    }
+
+    /**
+     * Remove a player who left from every other viewer's scoreboard
+     */
+    public static void removePlayerFromViewers(Player target) {
+        if (target == null) {
+            return;
+        }
+
+        String entry = target.getName();
+        baseTeams.remove(target.getUniqueId());
+        publishedHealth.remove(target.getUniqueId());
+
+        for (ViewerState state : viewerStates.values()) {
+            try {
+                removeTeamEntry(state, entry);
+                if (state.health.remove(entry) != null) {
+                    state.scoreboard.resetScores(entry);
+                    recordUpdate();
+                }
+            } catch (Exception e) {
+                // Continue with other viewers
+            }
+        }
+    }
+
+    /**
+     * Publish a player's health: the below-name score for every viewer if it changed, and
+     * the party sidebar and health bar of each party member.
+     */
+    public static void updatePlayerHealth(Player target) {
+        if (target == null || !target.isOnline()) {
+            return;
+        }
+
+        int health = currentHealth(target);
+        Integer previous = publishedHealth.put(target.getUniqueId(), health);
+        if (previous == null || previous != health) {
+            String entry = target.getName();
+            for (ViewerState state : viewerStates.values()) {
+                try {
+                    applyHealth(state, ensureHealthObjective(state), entry, health);
+                } catch (Exception e) {
+                    // Continue with other viewers
+                }
+            }
+        }
+
+        updatePartySidebars(target);
+    }
+
+    private static void updatePartySidebars(Player player) {
+        PartyMechanics partyMechanics = PartyMechanics.getInstance();
+        if (partyMechanics == null || !partyMechanics.isInParty(player)) {
+            return;
+        }
+
+        for (Player member : partyMechanics.getPartyMembers(player)) {
+            if (member == null || !member.isOnline()) continue;
+
+            ViewerState state = viewerStates.get(member.getUniqueId());
+            if (state != null) {
+                updatePartyObjective(member, state, partyMechanics);
+                updatePartyHealthBar(member, partyMechanics);
+            }
+        }
+    }
+
+    // ================ SIDEBAR ================
 
-            Objective partyObjective = scoreboard.registerNewObjective("party_data", "dummy", objectiveTitle);
-            partyObjective.setDisplaySlot(DisplaySlot.SIDEBAR);
+    /**
+     * Update party objective, sending only the lines that changed (Adventure API)
+     */
+    private static void updatePartyObjective(Player player, ViewerState state, PartyMechanics partyMechanics) {
+        if (player == null || !player.isOnline() || state == null || partyMechanics == null) {
+            return;
+        }
+
+        try {
+            Map<String, Integer> desired = new HashMap<>();
 
             List<Player> partyMembers = partyMechanics.getPartyMembers(player);
             if (partyMembers != null && !partyMembers.isEmpty()) {
@@ -642,13 +807,10 @@ public class PartyScoreboards {
                         Component.text("Members: ").color(NamedTextColor.GRAY)
                                 .append(Component.text(partyMembers.size()).color(NamedTextColor.WHITE))
                 );
-                partyObjective.getScore(sizeIndicator).setScore(15);
-                currentEntries.add(sizeIndicator);
+                desired.put(sizeIndicator, 15);
 
                 // Add separator
-                String separator = " ";
-                partyObjective.getScore(separator).setScore(14);
-                currentEntries.add(separator);
+                desired.put(" ", 14);
 
                 // Sort members: leader first, then officers, then regular members
                 partyMembers.sort((p1, p2) -> {
@@ -675,20 +837,50 @@ public class PartyScoreboards {
                     String displayName = formatPartyMemberName(member, partyMechanics, scoreIndex, usedNames);
                     if (displayName == null) continue;
 
-                    int health = (int) Math.ceil(member.getHealth());
-                    partyObjective.getScore(displayName).setScore(health);
-                    currentEntries.add(displayName);
+                    desired.put(displayName, currentHealth(member));
                     usedNames.add(displayName);
                     scoreIndex--;
 
                     if (scoreIndex < 0) break;
                 }
             }
+
+            Objective partyObjective = state.scoreboard.getObjective(PARTY_OBJECTIVE);
+            if (partyObjective == null) {
+                Component objectiveTitle = Component.text("✦ ").color(PARTY_PRIMARY)
+                        .append(Component.text("PARTY").color(PARTY_PRIMARY).decorate(TextDecoration.BOLD))
+                        .append(Component.text(" ✦").color(PARTY_PRIMARY));
+
+                partyObjective = state.scoreboard.registerNewObjective(PARTY_OBJECTIVE, "dummy", objectiveTitle);
+                partyObjective.setDisplaySlot(DisplaySlot.SIDEBAR);
+                state.sidebar.clear();
+                recordUpdate();
+            }
+
+            // Drop lines that are gone, then set lines that are new or changed
+            Iterator<Map.Entry<String, Integer>> applied = state.sidebar.entrySet().iterator();
+            while (applied.hasNext()) {
+                String line = applied.next().getKey();
+                if (!desired.containsKey(line)) {
+                    state.scoreboard.resetScores(line);
+                    applied.remove();
+                    recordUpdate();
+                }
+            }
+
+            for (Map.Entry<String, Integer> line : desired.entrySet()) {
+                if (!line.getValue().equals(state.sidebar.get(line.getKey()))) {
+                    partyObjective.getScore(line.getKey()).setScore(line.getValue());
+                    state.sidebar.put(line.getKey(), line.getValue());
+                    recordUpdate();
+                }
+            }
         } catch (Exception e) {
             Bukkit.getLogger().warning("Error updating party objective for " + player.getName() + ": " + e.getMessage());
         }
     }
 
+
     /**
      * Format party member name with role and health indicators (Adventure API)
      */
@@ -779,58 +971,21 @@ public class PartyScoreboards {
     /**
      * Clear party objective properly
      */
-    private static void clearPartyObjective(Player player, Scoreboard scoreboard) {
-        if (player == null || scoreboard == null) return;
-
-        UUID playerId = player.getUniqueId();
+    private static void clearPartyObjective(ViewerState state) {
+        if (state == null) return;
 
         try {
-            // Remove sidebar objective
-            Objective sidebarObjective = scoreboard.getObjective(DisplaySlot.SIDEBAR);
+            Objective sidebarObjective = state.scoreboard.getObjective(PARTY_OBJECTIVE);
             if (sidebarObjective != null) {
                 sidebarObjective.unregister();
+                recordUpdate();
             }
-
-            // Clear tracked entries
-            Set<String> currentEntries = activeScoreboardEntries.get(playerId);
-            if (currentEntries != null) {
-                currentEntries.clear();
-            }
+            state.sidebar.clear();
         } catch (Exception e) {
-            Bukkit.getLogger().warning("Error clearing party objective for " + player.getName() + ": " + e.getMessage());
+            Bukkit.getLogger().warning("Error clearing party objective: " + e.getMessage());
         }
     }
 
-    /**
-     * Update health display to work properly
-     */
-    private static void updateHealthDisplay(Scoreboard scoreboard) {
-        if (scoreboard == null) return;
-
-        try {
-            Objective healthObjective = scoreboard.getObjective("health");
-            if (healthObjective == null) {
-                setupHealthDisplay(scoreboard);
-                healthObjective = scoreboard.getObjective("health");
-            }
-
-            if (healthObjective != null) {
-                for (Player player : Bukkit.getOnlinePlayers()) {
-                    if (player == null || !player.isOnline()) continue;
-
-                    try {
-                        int health = (int) Math.ceil(player.getHealth());
-                        Score score = healthObjective.getScore(player.getName());
-                        score.setScore(health);
-                    } catch (Exception e) {
-                        // Skip this player
-                    }
-                }
-            }
-        } catch (Exception e) {
-            Bukkit.getLogger().warning("Error updating health display: " + e.getMessage());
-        }
-    }
 
     /**
      * Update party health bar (Adventure API)
@@ -953,11 +1108,10 @@ public class PartyScoreboards {
             return;
         }
 
-        // Clear cache and force update
-        lastUpdateTimes.remove(player.getUniqueId());
         updatePlayerScoreboard(player);
     }
 
+
     /**
      * Clear a player's party scoreboard
      */
@@ -969,9 +1123,9 @@ public class PartyScoreboards {
         UUID playerId = player.getUniqueId();
 
         try {
-            Scoreboard scoreboard = getPlayerScoreboard(player);
-            if (scoreboard != null) {
-                clearPartyObjective(player, scoreboard);
+            ViewerState state = getViewerState(player);
+            if (state != null) {
+                clearPartyObjective(state);
                 clearPartyHealthBar(playerId);
 
                 // Reset to main scoreboard
@@ -980,6 +1134,7 @@ public class PartyScoreboards {
                     Scoreboard mainScoreboard = manager.getMainScoreboard();
                     if (mainScoreboard != null) {
                         player.setScoreboard(mainScoreboard);
+                        recordUpdate();
                     }
                 }
             }
@@ -1029,21 +1184,24 @@ public class PartyScoreboards {
     }
 
     /**
-     * Update health for all players
+     * Publish health changes for all players. Runs every second to catch health changes
+     * that fire no event; only players whose health changed are pushed to viewers.
      */
     public static void updateAllPlayerHealth() {
-        for (Player viewer : Bukkit.getOnlinePlayers()) {
-            if (viewer == null || !viewer.isOnline()) continue;
+        for (Player target : Bukkit.getOnlinePlayers()) {
+            if (target == null || !target.isOnline()) continue;
 
             try {
-                Scoreboard scoreboard = viewer.getScoreboard();
-                if (scoreboard != null) {
-                    updateHealthDisplay(scoreboard);
+                Integer published = publishedHealth.get(target.getUniqueId());
+                if (published == null || published != currentHealth(target)) {
+                    updatePlayerHealth(target);
                 }
             } catch (Exception e) {
                 // Continue with other players
             }
         }
+
+        sampleUpdateRate();
     }
 
     /**
@@ -1072,10 +1230,8 @@ public class PartyScoreboards {
         UUID playerId = player.getUniqueId();
 
         try {
-            playerScoreboards.remove(playerId);
-            lastUpdateTimes.remove(playerId);
+            viewerStates.remove(playerId);
             partyVisuals.remove(playerId);
-            activeScoreboardEntries.remove(playerId);
             clearPartyHealthBar(playerId);
         } catch (Exception e) {
             Bukkit.getLogger().warning("Error cleaning up player " + player.getName() + ": " + e.getMessage());
@@ -1100,11 +1256,11 @@ public class PartyScoreboards {
                 }
             }
 
-            playerScoreboards.clear();
+            viewerStates.clear();
             partyHealthBars.clear();
-            lastUpdateTimes.clear();
+            baseTeams.clear();
+            publishedHealth.clear();
             partyVisuals.clear();
-            activeScoreboardEntries.clear();
         } catch (Exception e) {
             Bukkit.getLogger().warning("Error cleaning up all party scoreboards: " + e.getMessage());
         }
@@ -1119,24 +1275,18 @@ public class PartyScoreboards {
         }
 
         try {
-            // Force refresh for the changed player
-            refreshPlayerScoreboard(player);
-
-            // Update all other players' views of this player
-            for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                if (onlinePlayer != null && onlinePlayer.isOnline() && !onlinePlayer.equals(player)) {
-                    try {
-                        refreshPlayerScoreboard(onlinePlayer);
-                    } catch (Exception e) {
-                        // Continue with other players
-                    }
-                }
+            // Make sure the changed player has a scoreboard, then update everyone's view of them
+            if (!viewerStates.containsKey(player.getUniqueId())) {
+                updatePlayerScoreboard(player);
             }
+            refreshPlayerForViewers(player);
+            updatePartySidebars(player);
 
-            // Schedule a delayed update to ensure all changes are applied
+            // Re-check shortly after, in case the alignment is stored after this call
             Bukkit.getScheduler().runTaskLater(YakRealms.getInstance(), () -> {
                 try {
-                    updateAllPlayerColors();
+                    refreshPlayerForViewers(player);
+                    updatePartySidebars(player);
                 } catch (Exception e) {
                     Bukkit.getLogger().warning("Error in delayed alignment update: " + e.getMessage());
                 }
@@ -1152,8 +1302,8 @@ public class PartyScoreboards {
      */
     public static void forceRefreshAll() {
         try {
-            // Clear all caches
-            lastUpdateTimes.clear();
+            // Re-resolve every player's rank/alignment team
+            baseTeams.clear();
 
             // Update all players
             for (Player player : Bukkit.getOnlinePlayers()) {
@@ -1174,28 +1324,42 @@ public class PartyScoreboards {
     }
 
     /**
-     * Validate and repair scoreboard integrity
+     * Validate and repair scoreboard integrity. Rank/alignment drift is caught with one
+     * lookup per player; each viewer's scoreboard is checked against its applied state by
+     * checksum, and only a mismatching viewer is rebuilt.
      */
     public static void validateAndRepairScoreboards() {
         PartyMechanics partyMechanics = PartyMechanics.getInstance();
         if (partyMechanics == null) return;
 
+        // Players whose rank or alignment changed without a scoreboard notification
+        for (Player target : Bukkit.getOnlinePlayers()) {
+            if (target == null || !target.isOnline()) continue;
+
+            try {
+                if (!determinePlayerTeam(target).equals(baseTeams.get(target.getUniqueId()))) {
+                    refreshPlayerForViewers(target);
+                }
+            } catch (Exception e) {
+                // Continue with other players
+            }
+        }
+
         for (Player player : Bukkit.getOnlinePlayers()) {
             if (player == null || !player.isOnline()) continue;
 
             try {
-                Scoreboard scoreboard = player.getScoreboard();
+                ViewerState state = viewerStates.get(player.getUniqueId());
+                Scoreboard current = player.getScoreboard();
 
                 // Check if player's scoreboard needs repair
-                if (scoreboard == null || scoreboard == Bukkit.getScoreboardManager().getMainScoreboard()) {
+                if (state == null || current == null || current == Bukkit.getScoreboardManager().getMainScoreboard()) {
+                    updatePlayerScoreboard(player);
+                } else if (state.scoreboard.getObjective(HEALTH_OBJECTIVE) == null
+                        || actualTeamChecksum(state.scoreboard) != state.teamChecksum) {
+                    checksumRepairs.incrementAndGet();
+                    viewerStates.remove(player.getUniqueId());
                     updatePlayerScoreboard(player);
-                } else {
-                    // Validate health objective
-                    Objective healthObj = scoreboard.getObjective("health");
-                    if (healthObj == null) {
-                        setupHealthDisplay(scoreboard);
-                        player.setScoreboard(scoreboard);
-                    }
                 }
 
             } catch (Exception e) {
@@ -1211,21 +1375,54 @@ public class PartyScoreboards {
         }
     }
 
+    // ================ METRICS ================
+
+    private static void recordUpdate() {
+        scoreboardUpdates.incrementAndGet();
+    }
+
+    private static void sampleUpdateRate() {
+        long now = System.currentTimeMillis();
+        long count = scoreboardUpdates.get();
+        long elapsed = now - lastRateSampleTime;
+        if (elapsed > 0) {
+            updatesPerSecond = (count - lastRateSampleCount) * 1000.0 / elapsed;
+        }
+        lastRateSampleTime = now;
+        lastRateSampleCount = count;
+    }
+
+    /**
+     * Scoreboard packets sent per second, sampled by the health update task
+     */
+    public static double getPacketsPerSecond() {
+        return updatesPerSecond;
+    }
+
     /**
      * Get party statistics for debugging
      */
     public static Map<String, Object> getPartyStats() {
+        int sidebarEntries = 0;
+        for (ViewerState state : viewerStates.values()) {
+            sidebarEntries += state.sidebar.size();
+        }
+
         Map<String, Object> stats = new HashMap<>();
-        stats.put("active_scoreboards", playerScoreboards.size());
+        stats.put("active_scoreboards", viewerStates.size());
         stats.put("active_health_bars", partyHealthBars.size());
         stats.put("cached_visuals", partyVisuals.size());
-        stats.put("tracked_updates", lastUpdateTimes.size());
-        stats.put("active_entries", activeScoreboardEntries.size());
+        stats.put("tracked_players", baseTeams.size());
+        stats.put("active_entries", sidebarEntries);
+        stats.put("scoreboard_packets_total", scoreboardUpdates.get());
+        stats.put("scoreboard_packets_per_second", String.format("%.1f", updatesPerSecond));
+        stats.put("checksum_repairs", checksumRepairs.get());
         stats.put("adventure_api_enabled", true);
         stats.put("chatcolor_deprecated_removed", true);
         return stats;
     }
 
+
     // ========================================
     // ADVENTURE API SPECIFIC METHODS
     // ========================================
@@ -1375,4 +1572,4 @@ public class PartyScoreboards {
 
         return result;
     }
-}
\ No newline at end of file
+}
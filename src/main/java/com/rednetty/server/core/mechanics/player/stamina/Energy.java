@@ -3,12 +3,14 @@ package com.rednetty.server.core.mechanics.player.stamina;
 import com.rednetty.server.YakRealms;
 import com.rednetty.server.core.mechanics.player.YakPlayer;
 import com.rednetty.server.core.mechanics.player.YakPlayerManager;
+import com.rednetty.server.core.mechanics.player.stats.ItemStats;
+import com.rednetty.server.core.mechanics.player.stats.StatProfile;
+import com.rednetty.server.core.mechanics.player.stats.StatProfileManager;
 import com.rednetty.server.core.mechanics.world.WorldGuardManager;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.*;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -21,14 +23,11 @@ import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.PlayerInventory;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -356,21 +355,20 @@ public class Energy implements Listener {
     // ==================== ENERGY CALCULATIONS ====================
 
     private float calculateEnergyRegeneration(Player player) {
-        PlayerInventory inventory = player.getInventory();
         float energy = BASE_ENERGY_INCREASE;
 
-        // Check armor pieces for energy bonuses (same logic as old system)
-        for (ItemStack armorPiece : inventory.getArmorContents()) {
-            if (isValidArmorPiece(armorPiece)) {
-                int addedEnergy = getEnergyFromItem(armorPiece);
-                int addedIntel = getIntelFromItem(armorPiece);
+        // Check armor pieces for energy bonuses (same logic as old system, rounded per piece)
+        StatProfile profile = StatProfileManager.getInstance().getProfile(player);
+        for (int i = 0; i < profile.getPieceCount(); i++) {
+            ItemStats piece = profile.getPiece(i);
+            int addedEnergy = piece.getEnergyRegen();
+            int addedIntel = piece.getIntellect();
 
-                if (addedIntel > 0) {
-                    addedEnergy += Math.round(addedIntel * ENERGY_INCREASE_PER_INTEL);
-                }
-
-                energy += addedEnergy * ENERGY_PER_ARMOR_PIECE;
+            if (addedIntel > 0) {
+                addedEnergy += Math.round(addedIntel * ENERGY_INCREASE_PER_INTEL);
             }
+
+            energy += addedEnergy * ENERGY_PER_ARMOR_PIECE;
         }
 
         return energy / MAX_ENERGY;
@@ -439,59 +437,6 @@ public class Energy implements Listener {
         }
     }
 
-    private boolean isValidArmorPiece(ItemStack armor) {
-        return armor != null && armor.getType() != Material.AIR && armor.hasItemMeta();
-    }
-
-    private int getEnergyFromItem(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) return 0;
-        ItemMeta meta = item.getItemMeta();
-
-        List<Component> lore = meta.lore();
-        if (lore == null) return 0;
-
-        try {
-            for (Component componentLine : lore) {
-                // Serialize component to legacy string for backwards compatibility with old item lore
-                String line = LegacyComponentSerializer.legacySection().serialize(componentLine);
-                if (line.contains("ENERGY REGEN")) {
-                    String[] parts = ChatColor.stripColor(line).split(": ");
-                    if (parts.length > 1) {
-                        return Integer.parseInt(parts[1].replace("%", ""));
-                    }
-                }
-            }
-        } catch (Exception e) {
-            logger.fine("Error parsing energy from item: " + e.getMessage());
-        }
-        return 0;
-    }
-
-    private int getIntelFromItem(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) return 0;
-        ItemMeta meta = item.getItemMeta();
-
-        List<Component> lore = meta.lore();
-        if (lore == null) return 0;
-
-        try {
-            for (Component componentLine : lore) {
-                // Serialize component to legacy string for backwards compatibility with old item lore
-                String line = LegacyComponentSerializer.legacySection().serialize(componentLine);
-                if (line.contains("INT:")) {
-                    String[] parts = ChatColor.stripColor(line).split(": ");
-                    if (parts.length > 1) {
-                        return Integer.parseInt(parts[1]);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            logger.fine("Error parsing intelligence from item: " + e.getMessage());
-        }
-        return 0;
-    }
-
-
     private void handleEnergyDepletion(Player player) {
         // Set regeneration cooldown
         regenCooldowns.put(player.getUniqueId(), System.currentTimeMillis());
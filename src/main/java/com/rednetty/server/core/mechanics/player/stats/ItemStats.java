@@ -0,0 +1,295 @@
+package com.rednetty.server.core.mechanics.player.stats;
+
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import io.papermc.paper.datacomponent.item.ItemLore;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable, parsed view of the stat lines on an item's lore.
+ *
+ * <p>Every lore line of the form {@code LABEL: value} is parsed once into a label to value
+ * map: {@code +120}, {@code 10/s} and {@code 5%} all read as their digits, and a range such
+ * as {@code ARMOR: 5 - 7%} reads as its upper bound. {@code DMG: min - max} is kept as the
+ * weapon damage range. Results are cached by lore content, so the same item seen again -
+ * every hit, every regen tick - costs one map lookup instead of a split/regex per stat.
+ *
+ * <p>Items are identified by their lore rather than by instance, because Bukkit hands out
+ * fresh ItemStack mirrors on every inventory read and any lore edit (orbs, enchants) must
+ * produce new stats. The lore is read as the item's data component rather than through
+ * {@code getItemMeta()}, so a cache hit neither clones the meta nor converts the lore to
+ * legacy strings; only a miss does that conversion, to parse.
+ */
+public final class ItemStats {
+
+    private static final int CACHE_SIZE = 4096;
+
+    private static final String LABEL_DMG = "DMG";
+    private static final String LABEL_HP = "HP";
+    private static final String LABEL_HP_REGEN = "HP REGEN";
+    private static final String LABEL_HPS = "HPS";
+    private static final String LABEL_ENERGY_REGEN = "ENERGY REGEN";
+    private static final String LABEL_ARMOR = "ARMOR";
+    private static final String LABEL_DPS = "DPS";
+
+    /** Stats of an item without lore; damage defaults to 1 - 1 like the old parsers */
+    public static final ItemStats EMPTY = new ItemStats(Map.of(), 1, 1, false);
+
+    private static final LegacyComponentSerializer LEGACY_SERIALIZER = LegacyComponentSerializer.legacySection();
+
+    // Keyed by the immutable lore component, compared by value
+    private static final Map<ItemLore, ItemStats> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<ItemLore, ItemStats>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ItemLore, ItemStats> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private static final AtomicLong cacheHits = new AtomicLong();
+    private static final AtomicLong cacheMisses = new AtomicLong();
+
+    private final Map<String, Integer> attributes;
+    private final int minDamage;
+    private final int maxDamage;
+    private final boolean hasDamage;
+
+    // Hot stats resolved once at parse time
+    private final int hp;
+    private final int hpRegen;
+    private final int energyRegen;
+    private final int armor;
+    private final int dps;
+    private final int strength;
+    private final int dexterity;
+    private final int intellect;
+    private final int vitality;
+
+    private ItemStats(Map<String, Integer> attributes, int minDamage, int maxDamage, boolean hasDamage) {
+        this.attributes = attributes;
+        this.minDamage = minDamage;
+        this.maxDamage = maxDamage;
+        this.hasDamage = hasDamage;
+
+        this.hp = attributes.getOrDefault(LABEL_HP, 0);
+        this.hpRegen = attributes.getOrDefault(LABEL_HP_REGEN, attributes.getOrDefault(LABEL_HPS, 0));
+        this.energyRegen = attributes.getOrDefault(LABEL_ENERGY_REGEN, 0);
+        this.armor = attributes.getOrDefault(LABEL_ARMOR, 0);
+        this.dps = attributes.getOrDefault(LABEL_DPS, 0);
+        this.strength = attributes.getOrDefault("STR", 0);
+        this.dexterity = attributes.getOrDefault("DEX", 0);
+        this.intellect = attributes.getOrDefault("INT", 0);
+        this.vitality = attributes.getOrDefault("VIT", 0);
+    }
+
+    /**
+     * Get the stats of an item, parsing its lore only if this lore has not been seen before.
+     *
+     * @param item The item, may be null
+     * @return The item's stats, {@link #EMPTY} if it has no lore
+     */
+    public static ItemStats of(ItemStack item) {
+        if (item == null || item.getType() == Material.AIR) {
+            return EMPTY;
+        }
+
+        ItemLore lore = item.getData(DataComponentTypes.LORE);
+        if (lore == null || lore.lines().isEmpty()) {
+            return EMPTY;
+        }
+
+        ItemStats cached = CACHE.get(lore);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return cached;
+        }
+
+        cacheMisses.incrementAndGet();
+        ItemStats parsed = parse(toLegacy(lore));
+        CACHE.put(lore, parsed);
+        return parsed;
+    }
+
+    /**
+     * The lore as {@code getLore()} would return it
+     */
+    private static List<String> toLegacy(ItemLore lore) {
+        List<Component> lines = lore.lines();
+        List<String> legacy = new ArrayList<>(lines.size());
+        for (Component line : lines) {
+            legacy.add(LEGACY_SERIALIZER.serialize(line));
+        }
+        return legacy;
+    }
+
+    private static ItemStats parse(List<String> lore) {
+        Map<String, Integer> attributes = new LinkedHashMap<>();
+        int minDamage = 1;
+        int maxDamage = 1;
+        boolean damageFound = false;
+
+        for (String rawLine : lore) {
+            if (rawLine == null) continue;
+            String line = ChatColor.stripColor(rawLine);
+
+            int separator = line.indexOf(':');
+            if (separator <= 0) continue;
+
+            String label = line.substring(0, separator).trim();
+            String value = line.substring(separator + 1).trim();
+            if (label.isEmpty() || value.isEmpty()) continue;
+
+            int rangeIndex = value.indexOf(" - ");
+            if (LABEL_DMG.equals(label)) {
+                if (!damageFound && rangeIndex > 0) {
+                    int min = digits(value.substring(0, rangeIndex));
+                    int max = digits(value.substring(rangeIndex + 3));
+                    if (min > 0 && max >= min) {
+                        minDamage = min;
+                        maxDamage = max;
+                        damageFound = true;
+                    }
+                }
+                continue;
+            }
+
+            // First occurrence wins, like the line-by-line parsers this replaces
+            int parsed = digits(rangeIndex > 0 ? value.substring(rangeIndex + 3) : value);
+            attributes.putIfAbsent(label, parsed);
+        }
+
+        return new ItemStats(Collections.unmodifiableMap(attributes), minDamage, maxDamage, damageFound);
+    }
+
+    private static int digits(String text) {
+        long value = 0;
+        boolean any = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = Math.min(Integer.MAX_VALUE, value * 10 + (c - '0'));
+                any = true;
+            }
+        }
+        return any ? (int) value : 0;
+    }
+
+    // ================ ACCESSORS ================
+
+    public int getMinDamage() {
+        return minDamage;
+    }
+
+    public int getMaxDamage() {
+        return maxDamage;
+    }
+
+    public int getHp() {
+        return hp;
+    }
+
+    public int getHpRegen() {
+        return hpRegen;
+    }
+
+    public int getEnergyRegen() {
+        return energyRegen;
+    }
+
+    public int getArmor() {
+        return armor;
+    }
+
+    public int getDps() {
+        return dps;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public int getDexterity() {
+        return dexterity;
+    }
+
+    public int getIntellect() {
+        return intellect;
+    }
+
+    public int getVitality() {
+        return vitality;
+    }
+
+    /**
+     * Value of a stat line such as {@code BLOCK}, {@code CRITICAL HIT} or {@code ICE DMG}.
+     * An exact label match is preferred; otherwise the first line (in lore order) whose label
+     * contains the name is used.
+     *
+     * @return The value, or 0 if the item has no such line
+     */
+    public int getAttribute(String name) {
+        Integer exact = attributes.get(name);
+        if (exact != null) {
+            return exact;
+        }
+        for (Map.Entry<String, Integer> entry : attributes.entrySet()) {
+            if (entry.getKey().contains(name)) {
+                return entry.getValue();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return Every parsed stat line except DMG, label to value, in lore order; unmodifiable
+     */
+    public Map<String, Integer> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @return true if the item has a stat line whose label is or contains {@code name}
+     */
+    public boolean has(String name) {
+        if (attributes.containsKey(name)) {
+            return true;
+        }
+        if (hasDamage && LABEL_DMG.contains(name)) {
+            return true;
+        }
+        for (String label : attributes.keySet()) {
+            if (label.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ================ CACHE STATISTICS ================
+
+    public static long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public static long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public static int getCacheSize() {
+        return CACHE.size();
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+    }
+}
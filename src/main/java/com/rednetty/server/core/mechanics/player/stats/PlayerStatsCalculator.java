@@ -7,12 +7,12 @@ import org.bukkit.inventory.ItemStack;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Utility class for calculating player statistics from equipment and attributes.
  * This class centralizes all stat calculation logic for use across the server.
+ * Per-item values come from the cached {@link ItemStats} of each item; equipment totals
+ * come from the player's {@link StatProfile}, which is only rebuilt when equipment changes.
  */
 public class PlayerStatsCalculator {
 
@@ -20,12 +20,6 @@ public class PlayerStatsCalculator {
     private static final int MAX_BLOCK_CHANCE = 60;
     private static final int MAX_DODGE_CHANCE = 60;
 
-    // Regex patterns for extracting numeric values
-    private static final Pattern HP_PATTERN = Pattern.compile("HP: \\+(\\d+)");
-    private static final Pattern HP_REGEN_PATTERN = Pattern.compile("HP REGEN: \\+(\\d+)/s");
-    private static final Pattern ENERGY_REGEN_PATTERN = Pattern.compile("ENERGY REGEN: \\+(\\d+)%");
-    private static final Pattern DAMAGE_PATTERN = Pattern.compile("DMG: (\\d+) - (\\d+)");
-
     // Instance for static import access
     public static final PlayerStatsCalculator get = new PlayerStatsCalculator();
 
@@ -39,11 +33,7 @@ public class PlayerStatsCalculator {
         int totalArmor = 0;
 
         // Add armor from equipped items
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (hasValidItemStats(armor)) {
-                totalArmor += getArmorValue(armor);
-            }
-        }
+        totalArmor += profile(player).getArmor();
 
         // Add STR bonus to armor
         int strength = calculateTotalAttribute(player, "STR");
@@ -64,11 +54,7 @@ public class PlayerStatsCalculator {
         int totalDps = 0;
 
         // Add DPS from equipped items
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (hasValidItemStats(armor)) {
-                totalDps += getDpsValue(armor);
-            }
-        }
+        totalDps += profile(player).getDps();
 
         // Add DEX bonus to DPS
         int dexterity = calculateTotalAttribute(player, "DEX");
@@ -89,11 +75,7 @@ public class PlayerStatsCalculator {
         int totalRegen = 5; // Base regeneration
 
         // Add regen from equipped items
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (hasValidItemStats(armor)) {
-                totalRegen += getHpsFromItem(armor);
-            }
-        }
+        totalRegen += profile(player).getHpRegen();
 
         // Add VIT bonus to HP regen
         int vitality = calculateTotalAttribute(player, "VIT");
@@ -114,11 +96,7 @@ public class PlayerStatsCalculator {
         int totalEnergy = 100; // Base energy
 
         // Add energy from equipped items
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (hasValidItemStats(armor)) {
-                totalEnergy += getEnergyFromItem(armor);
-            }
-        }
+        totalEnergy += profile(player).getEnergyRegen();
 
         // Add INT bonus to Energy
         int intellect = calculateTotalAttribute(player, "INT");
@@ -139,11 +117,7 @@ public class PlayerStatsCalculator {
         int totalDodge = 0;
 
         // Add dodge from equipped items
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (hasValidItemStats(armor)) {
-                totalDodge += getAttributePercent(armor, "DODGE");
-            }
-        }
+        totalDodge += profile(player).getAttribute("DODGE");
 
         // Add DEX bonus to dodge
         int dexterity = calculateTotalAttribute(player, "DEX");
@@ -165,11 +139,7 @@ public class PlayerStatsCalculator {
         int totalBlock = 0;
 
         // Add block from equipped items
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (hasValidItemStats(armor)) {
-                totalBlock += getAttributePercent(armor, "BLOCK");
-            }
-        }
+        totalBlock += profile(player).getAttribute("BLOCK");
 
         // Add STR bonus to block
         int strength = calculateTotalAttribute(player, "STR");
@@ -193,7 +163,7 @@ public class PlayerStatsCalculator {
 
         // Add base critical chance from weapon
         if (weapon != null && hasValidItemStats(weapon)) {
-            critChance += getAttributePercent(weapon, "CRITICAL HIT");
+            critChance += ItemStats.of(weapon).getAttribute("CRITICAL HIT");
 
             // Weapon type bonus (axes have higher crit chance)
             if (weapon.getType().name().contains("_AXE")) {
@@ -218,16 +188,12 @@ public class PlayerStatsCalculator {
      * @return The total attribute value
      */
     public static int calculateTotalAttribute(Player player, String attribute) {
-        int total = 0;
-
         // Sum the attribute from all equipped armor
-        for (ItemStack armor : player.getInventory().getArmorContents()) {
-            if (hasValidItemStats(armor)) {
-                total += getElementalAttribute(armor, attribute);
-            }
-        }
+        return profile(player).getAttribute(attribute);
+    }
 
-        return total;
+    private static StatProfile profile(Player player) {
+        return StatProfileManager.getInstance().getProfile(player);
     }
 
     /**
@@ -237,20 +203,7 @@ public class PlayerStatsCalculator {
      * @return The HP value
      */
     public static int getHp(ItemStack item) {
-        if (!hasValidItemStats(item)) {
-            return 0;
-        }
-
-        List<String> lore = item.getItemMeta().getLore();
-        for (String line : lore) {
-            if (line.contains("HP: +")) {
-                Matcher matcher = HP_PATTERN.matcher(line);
-                if (matcher.find()) {
-                    return Integer.parseInt(matcher.group(1));
-                }
-            }
-        }
-        return 0;
+        return ItemStats.of(item).getHp();
     }
 
     /**
@@ -260,20 +213,7 @@ public class PlayerStatsCalculator {
      * @return The HP regen value
      */
     public static int getHps(ItemStack item) {
-        if (!hasValidItemStats(item)) {
-            return 0;
-        }
-
-        List<String> lore = item.getItemMeta().getLore();
-        for (String line : lore) {
-            if (line.contains("HP REGEN")) {
-                Matcher matcher = HP_REGEN_PATTERN.matcher(line);
-                if (matcher.find()) {
-                    return Integer.parseInt(matcher.group(1));
-                }
-            }
-        }
-        return 0;
+        return ItemStats.of(item).getHpRegen();
     }
 
     /**
@@ -283,20 +223,7 @@ public class PlayerStatsCalculator {
      * @return The energy regen value
      */
     public static int getEnergy(ItemStack item) {
-        if (!hasValidItemStats(item)) {
-            return 0;
-        }
-
-        List<String> lore = item.getItemMeta().getLore();
-        for (String line : lore) {
-            if (line.contains("ENERGY REGEN")) {
-                Matcher matcher = ENERGY_REGEN_PATTERN.matcher(line);
-                if (matcher.find()) {
-                    return Integer.parseInt(matcher.group(1));
-                }
-            }
-        }
-        return 0;
+        return ItemStats.of(item).getEnergyRegen();
     }
 
     /**
@@ -306,24 +233,8 @@ public class PlayerStatsCalculator {
      * @return List containing [minDamage, maxDamage]
      */
     public static List<Integer> getDamageRange(ItemStack weapon) {
-        List<Integer> range = new ArrayList<>(Arrays.asList(1, 1));
-
-        if (hasValidItemStats(weapon)) {
-            List<String> lore = weapon.getItemMeta().getLore();
-
-            for (String line : lore) {
-                if (line.contains("DMG:")) {
-                    Matcher matcher = DAMAGE_PATTERN.matcher(line);
-                    if (matcher.find()) {
-                        range.set(0, Integer.parseInt(matcher.group(1)));
-                        range.set(1, Integer.parseInt(matcher.group(2)));
-                        break;
-                    }
-                }
-            }
-        }
-
-        return range;
+        ItemStats stats = ItemStats.of(weapon);
+        return new ArrayList<>(Arrays.asList(stats.getMinDamage(), stats.getMaxDamage()));
     }
 
     /**
@@ -333,21 +244,7 @@ public class PlayerStatsCalculator {
      * @return The armor value
      */
     public static int getArmorValue(ItemStack item) {
-        if (hasValidItemStats(item)) {
-            List<String> lore = item.getItemMeta().getLore();
-
-            for (String line : lore) {
-                if (line.contains("ARMOR")) {
-                    try {
-                        return Integer.parseInt(line.split(" - ")[1].split("%")[0]);
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                }
-            }
-        }
-
-        return 0;
+        return ItemStats.of(item).getArmor();
     }
 
     /**
@@ -357,21 +254,7 @@ public class PlayerStatsCalculator {
      * @return The DPS value
      */
     public static int getDpsValue(ItemStack item) {
-        if (hasValidItemStats(item)) {
-            List<String> lore = item.getItemMeta().getLore();
-
-            for (String line : lore) {
-                if (line.contains("DPS")) {
-                    try {
-                        return Integer.parseInt(line.split(" - ")[1].split("%")[0]);
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                }
-            }
-        }
-
-        return 0;
+        return ItemStats.of(item).getDps();
     }
 
     /**
@@ -381,23 +264,7 @@ public class PlayerStatsCalculator {
      * @return The HPS value
      */
     public static int getHpsFromItem(ItemStack item) {
-        if (hasValidItemStats(item)) {
-            List<String> lore = item.getItemMeta().getLore();
-
-            for (String line : lore) {
-                if (line.contains("HP REGEN") || line.contains("HPS")) {
-                    try {
-                        // Extract the numeric value
-                        String valueText = line.replaceAll("[^0-9]", "");
-                        return Integer.parseInt(valueText);
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                }
-            }
-        }
-
-        return 0;
+        return ItemStats.of(item).getHpRegen();
     }
 
     /**
@@ -407,23 +274,7 @@ public class PlayerStatsCalculator {
      * @return The energy value
      */
     public static int getEnergyFromItem(ItemStack item) {
-        if (hasValidItemStats(item)) {
-            List<String> lore = item.getItemMeta().getLore();
-
-            for (String line : lore) {
-                if (line.contains("ENERGY REGEN")) {
-                    try {
-                        // Extract the numeric value
-                        String valueText = line.split("\\+")[1].split("%")[0].trim();
-                        return Integer.parseInt(valueText);
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                }
-            }
-        }
-
-        return 0;
+        return ItemStats.of(item).getEnergyRegen();
     }
 
     /**
@@ -434,21 +285,7 @@ public class PlayerStatsCalculator {
      * @return The attribute value
      */
     public static int getElementalAttribute(ItemStack item, String attribute) {
-        if (hasValidItemStats(item)) {
-            List<String> lore = item.getItemMeta().getLore();
-
-            for (String line : lore) {
-                if (line.contains(attribute + ":")) {
-                    try {
-                        return Integer.parseInt(line.split(": ")[1]);
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                }
-            }
-        }
-
-        return 0;
+        return ItemStats.of(item).getAttribute(attribute);
     }
 
     /**
@@ -459,21 +296,7 @@ public class PlayerStatsCalculator {
      * @return The attribute percentage
      */
     public static int getAttributePercent(ItemStack item, String attribute) {
-        if (hasValidItemStats(item)) {
-            List<String> lore = item.getItemMeta().getLore();
-
-            for (String line : lore) {
-                if (line.contains(attribute)) {
-                    try {
-                        return Integer.parseInt(line.split(": ")[1].split("%")[0]);
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                }
-            }
-        }
-
-        return 0;
+        return ItemStats.of(item).getAttribute(attribute);
     }
 
     /**
@@ -484,17 +307,7 @@ public class PlayerStatsCalculator {
      * @return true if the item has the attribute
      */
     public static boolean hasBonus(ItemStack item, String attribute) {
-        if (hasValidItemStats(item)) {
-            List<String> lore = item.getItemMeta().getLore();
-
-            for (String line : lore) {
-                if (line.contains(attribute)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return ItemStats.of(item).has(attribute);
     }
 
     /**
@@ -0,0 +1,163 @@
+package com.rednetty.server.core.mechanics.player.stats;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable sum of the stats of every armor piece a player has equipped.
+ *
+ * <p>Built by {@link StatProfileManager} when the player's equipment changes and read by
+ * combat, regen and energy code in place of walking the armor contents on every hit or
+ * tick. The per-piece {@link ItemStats} are kept for the few formulas that round per piece.
+ */
+public final class StatProfile {
+
+    /** Profile of a player with no stat-bearing armor */
+    public static final StatProfile EMPTY = new StatProfile(new ItemStats[0]);
+
+    private final ItemStats[] pieces;
+    private final Map<String, Integer> totals;
+
+    private final int armor;
+    private final int dps;
+    private final int hp;
+    private final int hpRegen;
+    private final int energyRegen;
+    private final int strength;
+    private final int dexterity;
+    private final int intellect;
+    private final int vitality;
+
+    private StatProfile(ItemStats[] pieces) {
+        this.pieces = pieces;
+
+        Map<String, Integer> sums = new HashMap<>();
+        int armor = 0, dps = 0, hp = 0, hpRegen = 0, energyRegen = 0;
+        int strength = 0, dexterity = 0, intellect = 0, vitality = 0;
+
+        for (ItemStats piece : pieces) {
+            armor += piece.getArmor();
+            dps += piece.getDps();
+            hp += piece.getHp();
+            hpRegen += piece.getHpRegen();
+            energyRegen += piece.getEnergyRegen();
+            strength += piece.getStrength();
+            dexterity += piece.getDexterity();
+            intellect += piece.getIntellect();
+            vitality += piece.getVitality();
+
+            for (Map.Entry<String, Integer> entry : piece.getAttributes().entrySet()) {
+                sums.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+        }
+
+        this.totals = Collections.unmodifiableMap(sums);
+        this.armor = armor;
+        this.dps = dps;
+        this.hp = hp;
+        this.hpRegen = hpRegen;
+        this.energyRegen = energyRegen;
+        this.strength = strength;
+        this.dexterity = dexterity;
+        this.intellect = intellect;
+        this.vitality = vitality;
+    }
+
+    /**
+     * Aggregate the given armor contents. Null and lore-less pieces contribute nothing.
+     */
+    public static StatProfile of(ItemStack[] armorContents) {
+        if (armorContents == null || armorContents.length == 0) {
+            return EMPTY;
+        }
+
+        ItemStats[] pieces = new ItemStats[armorContents.length];
+        int count = 0;
+        for (ItemStack item : armorContents) {
+            ItemStats stats = ItemStats.of(item);
+            if (stats != ItemStats.EMPTY) {
+                pieces[count++] = stats;
+            }
+        }
+
+        if (count == 0) {
+            return EMPTY;
+        }
+        if (count < pieces.length) {
+            ItemStats[] trimmed = new ItemStats[count];
+            System.arraycopy(pieces, 0, trimmed, 0, count);
+            pieces = trimmed;
+        }
+        return new StatProfile(pieces);
+    }
+
+    public int getArmor() {
+        return armor;
+    }
+
+    public int getDps() {
+        return dps;
+    }
+
+    public int getHp() {
+        return hp;
+    }
+
+    public int getHpRegen() {
+        return hpRegen;
+    }
+
+    public int getEnergyRegen() {
+        return energyRegen;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public int getDexterity() {
+        return dexterity;
+    }
+
+    public int getIntellect() {
+        return intellect;
+    }
+
+    public int getVitality() {
+        return vitality;
+    }
+
+    /**
+     * Total of a stat line across all pieces, with the same lookup rules as
+     * {@link ItemStats#getAttribute(String)}.
+     */
+    public int getAttribute(String name) {
+        Integer exact = totals.get(name);
+        if (exact != null) {
+            return exact;
+        }
+
+        int total = 0;
+        for (ItemStats piece : pieces) {
+            total += piece.getAttribute(name);
+        }
+        return total;
+    }
+
+    /**
+     * Number of equipped pieces that carry stats
+     */
+    public int getPieceCount() {
+        return pieces.length;
+    }
+
+    /**
+     * Stats of one stat-bearing piece, for formulas that round per piece.
+     */
+    public ItemStats getPiece(int index) {
+        return pieces[index];
+    }
+}
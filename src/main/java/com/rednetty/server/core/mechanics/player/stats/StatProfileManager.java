@@ -0,0 +1,106 @@
+package com.rednetty.server.core.mechanics.player.stats;
+
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds one {@link StatProfile} per online player.
+ *
+ * <p>{@code EquipmentListener} calls {@link #invalidate(Player)} when armor is equipped or
+ * removed, loses durability or breaks. Held-item and hand-swap changes do not invalidate,
+ * since the profile covers armor only. The next {@link #getProfile(Player)} rebuilds the
+ * profile from the armor contents and every read after that is a map lookup. Several invalidations in a row
+ * (a full armor swap fires one per slot) cost a single rebuild.
+ */
+public class StatProfileManager {
+
+    private static StatProfileManager instance;
+
+    private final Map<UUID, StatProfile> profiles = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong recomputes = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private StatProfileManager() {
+    }
+
+    public static StatProfileManager getInstance() {
+        if (instance == null) {
+            synchronized (StatProfileManager.class) {
+                if (instance == null) {
+                    instance = new StatProfileManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the player's current equipment profile, rebuilding it if the equipment changed
+     * since the last read.
+     */
+    public StatProfile getProfile(Player player) {
+        if (player == null) {
+            return StatProfile.EMPTY;
+        }
+
+        reads.incrementAndGet();
+        StatProfile profile = profiles.get(player.getUniqueId());
+        if (profile != null) {
+            return profile;
+        }
+
+        recomputes.incrementAndGet();
+        profile = StatProfile.of(player.getInventory().getArmorContents());
+        profiles.put(player.getUniqueId(), profile);
+        return profile;
+    }
+
+    /**
+     * Drop the player's profile so the next read rebuilds it.
+     */
+    public void invalidate(Player player) {
+        if (player == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        profiles.remove(player.getUniqueId());
+    }
+
+    public void remove(UUID playerId) {
+        profiles.remove(playerId);
+    }
+
+    public void clear() {
+        profiles.clear();
+    }
+
+    // ================ METRICS ================
+
+    public long getReads() {
+        return reads.get();
+    }
+
+    public long getRecomputes() {
+        return recomputes.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    public String getDiagnosticInfo() {
+        long readCount = reads.get();
+        long recomputeCount = recomputes.get();
+        double readsPerRecompute = recomputeCount == 0 ? readCount : (double) readCount / recomputeCount;
+        return String.format("StatProfiles[cached=%d, reads=%d, recomputes=%d, invalidations=%d, reads/recompute=%.1f, itemCache=%d (hits=%d, misses=%d)]",
+                profiles.size(), readCount, recomputeCount, invalidations.get(), readsPerRecompute,
+                ItemStats.getCacheSize(), ItemStats.getCacheHits(), ItemStats.getCacheMisses());
+    }
+}
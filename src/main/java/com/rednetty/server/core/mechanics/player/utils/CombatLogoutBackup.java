@@ -262,9 +262,9 @@ public class CombatLogoutBackup {
      */
     private static class BackupData {
         final long timestamp;
-        final String inventoryData;
-        final String armorData;
-        final String offhandData;
+        final byte[] inventoryData;
+        final byte[] armorData;
+        final byte[] offhandData;
         final String alignment;
         final double health;
         final double maxHealth;
@@ -0,0 +1,331 @@
+package com.rednetty.server.core.mechanics.world;
+
+import com.rednetty.server.YakRealms;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Per-world grid of online players keyed by chunk, for radius queries that would otherwise
+ * scan every online player.
+ *
+ * <p>Cells are updated on the main thread from move, vehicle move, teleport, respawn and world
+ * change events, and only when a player crosses a chunk border. Queries visit the cells that
+ * overlap the search sphere and test exact distances against the players' live locations,
+ * so they cost O(players nearby) rather than O(players online). The cell maps are
+ * concurrent, so queries are also safe from the async chat thread.
+ *
+ * <p>If the index is not enabled, queries fall back to scanning the world's players.
+ */
+public class PlayerSpatialIndex implements Listener {
+
+    private static PlayerSpatialIndex instance;
+
+    private final Logger logger;
+
+    // World -> chunk key -> players in that chunk
+    private final Map<UUID, Map<Long, Set<Player>>> grids = new ConcurrentHashMap<>();
+    private final Map<UUID, CellRef> playerCells = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = false;
+
+    private static final class CellRef {
+        final UUID worldId;
+        final long chunkKey;
+
+        CellRef(UUID worldId, long chunkKey) {
+            this.worldId = worldId;
+            this.chunkKey = chunkKey;
+        }
+    }
+
+    private PlayerSpatialIndex() {
+        this.logger = YakRealms.getInstance().getLogger();
+    }
+
+    public static PlayerSpatialIndex getInstance() {
+        if (instance == null) {
+            synchronized (PlayerSpatialIndex.class) {
+                if (instance == null) {
+                    instance = new PlayerSpatialIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void onEnable() {
+        Bukkit.getPluginManager().registerEvents(this, YakRealms.getInstance());
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            update(player, player.getLocation());
+        }
+        enabled = true;
+        logger.info("Player spatial index enabled (" + playerCells.size() + " players indexed)");
+    }
+
+    public void onDisable() {
+        enabled = false;
+        HandlerList.unregisterAll(this);
+        grids.clear();
+        playerCells.clear();
+    }
+
+    // ================ QUERIES ================
+
+    /**
+     * All players within {@code radius} blocks (3D distance) of {@code center}.
+     */
+    public List<Player> playersWithin(Location center, double radius) {
+        return playersWithin(center, radius, null);
+    }
+
+    /**
+     * Players within {@code radius} blocks (3D distance) of {@code center} that pass the filter.
+     *
+     * @param filter Optional filter, may be null
+     */
+    public List<Player> playersWithin(Location center, double radius, Predicate<Player> filter) {
+        World world = center == null ? null : center.getWorld();
+        if (world == null) {
+            return Collections.emptyList();
+        }
+
+        List<Player> result = new ArrayList<>();
+        double radiusSquared = radius * radius;
+        for (Player player : candidates(world, center, radius)) {
+            if (!player.isOnline() || (filter != null && !filter.test(player))) continue;
+            if (distanceSquared(player, center) <= radiusSquared) {
+                result.add(player);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The closest player within {@code radius} blocks that passes the filter.
+     *
+     * @param filter Optional filter, may be null
+     * @return The nearest match, or null if none
+     */
+    public Player nearest(Location center, double radius, Predicate<Player> filter) {
+        World world = center == null ? null : center.getWorld();
+        if (world == null) {
+            return null;
+        }
+
+        Player nearest = null;
+        double nearestSquared = radius * radius;
+        for (Player player : candidates(world, center, radius)) {
+            if (!player.isOnline() || (filter != null && !filter.test(player))) continue;
+            double distance = distanceSquared(player, center);
+            if (distance <= nearestSquared) {
+                nearest = player;
+                nearestSquared = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Whether any player is within {@code radius} blocks; stops at the first hit.
+     */
+    public boolean anyWithin(Location center, double radius) {
+        World world = center == null ? null : center.getWorld();
+        if (world == null) {
+            return false;
+        }
+
+        double radiusSquared = radius * radius;
+        for (Player player : candidates(world, center, radius)) {
+            if (player.isOnline() && distanceSquared(player, center) <= radiusSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getIndexedPlayerCount() {
+        return playerCells.size();
+    }
+
+    /**
+     * Players in the chunks overlapping the search square, or every player in the world when
+     * the index is off or the square covers more cells than the world has players.
+     */
+    private Iterable<Player> candidates(World world, Location center, double radius) {
+        Map<Long, Set<Player>> grid = grids.get(world.getUID());
+        if (!enabled) {
+            return world.getPlayers();
+        }
+        if (grid == null || grid.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int minChunkX = floorToChunk(center.getX() - radius);
+        int maxChunkX = floorToChunk(center.getX() + radius);
+        int minChunkZ = floorToChunk(center.getZ() - radius);
+        int maxChunkZ = floorToChunk(center.getZ() + radius);
+
+        long cellCount = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        if (cellCount > grid.size()) {
+            // Cheaper to walk the occupied cells than the empty ones in range
+            List<Player> all = new ArrayList<>();
+            for (Set<Player> cell : grid.values()) {
+                all.addAll(cell);
+            }
+            return all;
+        }
+
+        List<Player> found = new ArrayList<>();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Set<Player> cell = grid.get(chunkKey(chunkX, chunkZ));
+                if (cell != null) {
+                    found.addAll(cell);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static double distanceSquared(Player player, Location center) {
+        Location location = player.getLocation();
+        if (location.getWorld() != center.getWorld()) {
+            return Double.MAX_VALUE;
+        }
+        double dx = location.getX() - center.getX();
+        double dy = location.getY() - center.getY();
+        double dz = location.getZ() - center.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    // ================ MAINTENANCE ================
+
+    private void update(Player player, Location location) {
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        UUID worldId = world.getUID();
+        long key = chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        CellRef previous = playerCells.get(player.getUniqueId());
+        if (previous != null && previous.chunkKey == key && previous.worldId.equals(worldId)) {
+            return;
+        }
+
+        if (previous != null) {
+            removeFromCell(player, previous);
+        }
+        grids.computeIfAbsent(worldId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet())
+                .add(player);
+        playerCells.put(player.getUniqueId(), new CellRef(worldId, key));
+    }
+
+    private void remove(Player player) {
+        CellRef previous = playerCells.remove(player.getUniqueId());
+        if (previous != null) {
+            removeFromCell(player, previous);
+        }
+    }
+
+    private void removeFromCell(Player player, CellRef ref) {
+        Map<Long, Set<Player>> grid = grids.get(ref.worldId);
+        if (grid == null) {
+            return;
+        }
+        grid.computeIfPresent(ref.chunkKey, (key, cell) -> {
+            cell.remove(player);
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    private static int floorToChunk(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> 4;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    // ================ EVENTS ================
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        update(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        // Most move events are head rotation or sub-block steps
+        if (from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ()
+                && from.getWorld() == to.getWorld()) {
+            return;
+        }
+        update(event.getPlayer(), to);
+    }
+
+    /**
+     * Riders (e.g. mounted players) get no {@link PlayerMoveEvent}; follow the vehicle instead
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMove(VehicleMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ()
+                && from.getWorld() == to.getWorld()) {
+            return;
+        }
+        for (Entity passenger : event.getVehicle().getPassengers()) {
+            if (passenger instanceof Player player) {
+                update(player, to);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent event) {
+        update(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        update(event.getPlayer(), event.getRespawnLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        update(event.getPlayer(), event.getPlayer().getLocation());
+    }
+}
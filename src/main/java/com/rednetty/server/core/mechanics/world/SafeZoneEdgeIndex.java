@@ -0,0 +1,175 @@
+package com.rednetty.server.core.mechanics.world;
+
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.GlobalProtectedRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Columns that can sit on a border between PvP states, bucketed by chunk, so a force field
+ * only has to look at the few border columns near a player instead of every column in range.
+ *
+ * <p>Candidates are the columns on either side of the outline of every region that sets a PvP
+ * flag. Whether a candidate is a safe zone border at a given height is still answered by the
+ * {@link ZoneIndex}, which also covers overlapping regions and vertical bounds.
+ */
+final class SafeZoneEdgeIndex {
+
+    // Polygons with a larger bounding box only contribute their bounding box outline
+    private static final long MAX_POLYGON_SCAN_COLUMNS = 1L << 24;
+
+    // Chunk key -> one bit per column, indexed (x & 15) << 4 | (z & 15)
+    private final Map<Long, long[]> cells = new HashMap<>();
+    private final long revision;
+    private int candidateCount;
+
+    private SafeZoneEdgeIndex(long revision) {
+        this.revision = revision;
+    }
+
+    long getRevision() {
+        return revision;
+    }
+
+    int getCandidateCount() {
+        return candidateCount;
+    }
+
+    // ================ BUILD ================
+
+    /**
+     * Trace every PvP-flagged region. Can take seconds for large polygons, so it runs off the
+     * main thread and only reads the regions.
+     */
+    static SafeZoneEdgeIndex build(RegionManager manager, long revision, Logger logger) {
+        SafeZoneEdgeIndex index = new SafeZoneEdgeIndex(revision);
+        for (ProtectedRegion region : manager.getRegions().values()) {
+            if (region instanceof GlobalProtectedRegion || ZoneIndex.effectivePvp(region) == null) {
+                continue;
+            }
+
+            BlockVector3 min = region.getMinimumPoint();
+            BlockVector3 max = region.getMaximumPoint();
+            long area = (long) (max.getBlockX() - min.getBlockX() + 3) * (max.getBlockZ() - min.getBlockZ() + 3);
+
+            if (region instanceof ProtectedCuboidRegion) {
+                index.markRectangle(min.getBlockX(), min.getBlockZ(), max.getBlockX(), max.getBlockZ());
+            } else if (area <= MAX_POLYGON_SCAN_COLUMNS) {
+                index.markOutline(region, min.getBlockX(), min.getBlockZ(), max.getBlockX(), max.getBlockZ());
+            } else {
+                logger.warning("Region " + region.getId() + " is too large to trace, using its bounding box for force field edges");
+                index.markRectangle(min.getBlockX(), min.getBlockZ(), max.getBlockX(), max.getBlockZ());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Mark the inner and outer ring of a rectangle
+     */
+    private void markRectangle(int minX, int minZ, int maxX, int maxZ) {
+        for (int x = minX - 1; x <= maxX + 1; x++) {
+            mark(x, minZ - 1);
+            mark(x, minZ);
+            mark(x, maxZ);
+            mark(x, maxZ + 1);
+        }
+        for (int z = minZ; z <= maxZ; z++) {
+            mark(minX - 1, z);
+            mark(minX, z);
+            mark(maxX, z);
+            mark(maxX + 1, z);
+        }
+    }
+
+    /**
+     * Mark every column whose membership differs from one of its horizontal neighbours
+     */
+    private void markOutline(ProtectedRegion region, int minX, int minZ, int maxX, int maxZ) {
+        // Inside flags for the bounding box plus a one column margin
+        int width = maxX - minX + 3;
+        int depth = maxZ - minZ + 3;
+        boolean[] inside = new boolean[width * depth];
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < depth; j++) {
+                inside[i * depth + j] = region.contains(BlockVector2.at(minX - 1 + i, minZ - 1 + j));
+            }
+        }
+
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < depth; j++) {
+                boolean here = inside[i * depth + j];
+                if ((i > 0 && inside[(i - 1) * depth + j] != here)
+                        || (i + 1 < width && inside[(i + 1) * depth + j] != here)
+                        || (j > 0 && inside[i * depth + j - 1] != here)
+                        || (j + 1 < depth && inside[i * depth + j + 1] != here)) {
+                    mark(minX - 1 + i, minZ - 1 + j);
+                }
+            }
+        }
+    }
+
+    private void mark(int x, int z) {
+        long[] bits = cells.computeIfAbsent(chunkKey(x >> 4, z >> 4), key -> new long[4]);
+        int column = (x & 15) << 4 | (z & 15);
+        long bit = 1L << column;
+        if ((bits[column >> 6] & bit) == 0) {
+            bits[column >> 6] |= bit;
+            candidateCount++;
+        }
+    }
+
+    // ================ QUERY ================
+
+    /**
+     * Safe zone border columns at height {@code y} within {@code radius} of the centre
+     *
+     * @return columns packed with {@link WorldGuardManager#packColumn(int, int)}
+     */
+    long[] findBoundaryColumns(ZoneIndex zones, World world, int centerX, int y, int centerZ, int radius) {
+        long[] result = new long[16];
+        int count = 0;
+        int radiusSquared = radius * radius;
+
+        for (int chunkX = (centerX - radius) >> 4; chunkX <= (centerX + radius) >> 4; chunkX++) {
+            for (int chunkZ = (centerZ - radius) >> 4; chunkZ <= (centerZ + radius) >> 4; chunkZ++) {
+                long[] bits = cells.get(chunkKey(chunkX, chunkZ));
+                if (bits == null) continue;
+
+                for (int word = 0; word < bits.length; word++) {
+                    long remaining = bits[word];
+                    while (remaining != 0) {
+                        int column = word << 6 | Long.numberOfTrailingZeros(remaining);
+                        remaining &= remaining - 1;
+
+                        int x = (chunkX << 4) | (column >> 4);
+                        int z = (chunkZ << 4) | (column & 15);
+                        int dx = x - centerX;
+                        int dz = z - centerZ;
+                        if (dx * dx + dz * dz > radiusSquared || !zones.isBoundary(world, x, y, z)) {
+                            continue;
+                        }
+
+                        if (count == result.length) {
+                            result = Arrays.copyOf(result, count * 2);
+                        }
+                        result[count++] = WorldGuardManager.packColumn(x, z);
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
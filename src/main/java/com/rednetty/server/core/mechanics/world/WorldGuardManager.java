@@ -19,11 +19,15 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages integration with WorldGuard for zone detection and management
@@ -33,9 +37,25 @@ public class WorldGuardManager implements Listener {
     private boolean worldGuardEnabled = false;
     private StateFlag safeZoneFlag;
 
+    /**
+     * PvP state of a location: PvP denied, PvP explicitly allowed, or no PvP flag set
+     */
+    public enum ZoneType {
+        SAFE, CHAOTIC, NEUTRAL
+    }
+
     // Cache of region lists by world to improve performance
     private final Map<String, Set<ProtectedRegion>> safeZoneRegions = new HashMap<>();
 
+    // Rasterized zone state answering isSafeZone and boundary checks
+    private final ZoneIndex zoneIndex = new ZoneIndex(YakRealms.getInstance().getLogger());
+    private boolean zoneIndexEnabled = false;
+
+    // Candidate border columns per world, rebuilt off the main thread when the zone index revision moves on
+    private final Map<UUID, SafeZoneEdgeIndex> edgeIndexes = new ConcurrentHashMap<>();
+    // World -> revision whose edge index is being built
+    private final Map<UUID, Long> edgeIndexBuilds = new ConcurrentHashMap<>();
+
     /**
      * Get the singleton instance
      *
@@ -66,12 +86,19 @@ public class WorldGuardManager implements Listener {
     private void initialize() {
         try {
             // Initialize WorldGuard flags and cache regions
-            updateRegionCache();
             worldGuardEnabled = true;
+            updateRegionCache();
+
+            if (YakRealms.getInstance().getConfig().getBoolean("worldguard.zone-index.enabled", true)) {
+                zoneIndex.start(YakRealms.getInstance().getConfig().getInt("worldguard.zone-index.refresh-seconds", 10));
+                zoneIndexEnabled = true;
+            }
             YakRealms.log("WorldGuard integration enabled successfully.");
         } catch (Exception e) {
             YakRealms.error("Failed to initialize WorldGuard integration", e);
             worldGuardEnabled = false;
+            zoneIndex.stop();
+            zoneIndexEnabled = false;
         }
     }
 
@@ -85,6 +112,10 @@ public class WorldGuardManager implements Listener {
             return;
         }
 
+        if (zoneIndexEnabled) {
+            zoneIndex.rebuild();
+        }
+
         RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
 
         for (World world : Bukkit.getWorlds()) {
@@ -140,11 +171,72 @@ public class WorldGuardManager implements Listener {
             return isDefaultSafeZone(location);
         }
 
+        if (zoneIndexEnabled) {
+            return zoneIndex.isSafe(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        }
+
         // Use WorldGuard's region query
         RegionQuery query = WorldGuard.getInstance().getPlatform().getRegionContainer().createQuery();
         return (query.queryState(BukkitAdapter.adapt(location), null, Flags.PVP) == StateFlag.State.DENY);
     }
 
+    /**
+     * Check if a block position is in a safe zone (no PvP)
+     *
+     * @return true if the position is in a safe zone
+     */
+    public boolean isSafeZone(World world, int x, int y, int z) {
+        if (world == null) {
+            return false;
+        }
+        if (zoneIndexEnabled && isWorldGuardAvailable()) {
+            return zoneIndex.isSafe(world, x, y, z);
+        }
+        return isSafeZone(new Location(world, x, y, z));
+    }
+
+    /**
+     * Get the PvP zone type of a location
+     *
+     * @param location The location to check
+     * @return The zone type, NEUTRAL if it cannot be determined
+     */
+    public ZoneType zoneAt(Location location) {
+        if (location == null || location.getWorld() == null) {
+            return ZoneType.NEUTRAL;
+        }
+
+        if (!isWorldGuardAvailable()) {
+            return isDefaultSafeZone(location) ? ZoneType.SAFE : ZoneType.NEUTRAL;
+        }
+
+        if (zoneIndexEnabled) {
+            return zoneIndex.zoneAt(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        }
+
+        RegionQuery query = WorldGuard.getInstance().getPlatform().getRegionContainer().createQuery();
+        StateFlag.State state = query.queryState(BukkitAdapter.adapt(location), null, Flags.PVP);
+        if (state == StateFlag.State.DENY) {
+            return ZoneType.SAFE;
+        }
+        return state == StateFlag.State.ALLOW ? ZoneType.CHAOTIC : ZoneType.NEUTRAL;
+    }
+
+    /**
+     * Check if a block position is at the boundary of a safe zone
+     *
+     * @return true if the position is at a safe zone boundary
+     */
+    public boolean isAtSafeZoneBoundary(World world, int x, int y, int z) {
+        if (world == null || !isWorldGuardAvailable()) {
+            return false;
+        }
+        if (zoneIndexEnabled) {
+            return zoneIndex.isBoundary(world, x, y, z);
+        }
+        return isAtSafeZoneBoundary(new Location(world, x, y, z));
+    }
+
     /**
      * Check if a location is at the boundary of a safe zone
      *
@@ -160,6 +252,10 @@ public class WorldGuardManager implements Listener {
             return false;
         }
 
+        if (zoneIndexEnabled) {
+            return zoneIndex.isBoundary(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        }
+
         // Check current location
         boolean currentIsSafe = isSafeZone(location);
 
@@ -178,6 +274,92 @@ public class WorldGuardManager implements Listener {
         return false;
     }
 
+    /**
+     * Find the safe zone border columns at height {@code y} within {@code radius} of a centre
+     * column. Columns are packed with {@link #packColumn(int, int)}.
+     *
+     * @return packed border columns, empty if there are none
+     */
+    public long[] findSafeZoneBoundaryColumns(World world, int centerX, int y, int centerZ, int radius) {
+        if (world == null || !isWorldGuardAvailable()) {
+            return new long[0];
+        }
+
+        if (zoneIndexEnabled) {
+            SafeZoneEdgeIndex edges = getEdgeIndex(world);
+            if (edges != null) {
+                return edges.findBoundaryColumns(zoneIndex, world, centerX, y, centerZ, radius);
+            }
+        }
+
+        // No index, probe every column in range
+        long[] result = new long[16];
+        int count = 0;
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                int dx = x - centerX;
+                int dz = z - centerZ;
+                if (dx * dx + dz * dz > radius * radius || !isAtSafeZoneBoundary(world, x, y, z)) {
+                    continue;
+                }
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count * 2);
+                }
+                result[count++] = packColumn(x, z);
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Edge index for a world. A stale or missing index is rebuilt asynchronously; until it is
+     * ready the previous one keeps being served, or null if there is none yet.
+     */
+    private SafeZoneEdgeIndex getEdgeIndex(World world) {
+        long revision = zoneIndex.getRevision();
+        UUID worldId = world.getUID();
+        SafeZoneEdgeIndex edges = edgeIndexes.get(worldId);
+        if (edges != null && edges.getRevision() == revision) {
+            return edges;
+        }
+
+        if (edgeIndexBuilds.putIfAbsent(worldId, revision) == null) {
+            RegionManager regionManager = WorldGuard.getInstance().getPlatform().getRegionContainer().get(BukkitAdapter.adapt(world));
+            if (regionManager == null) {
+                edgeIndexBuilds.remove(worldId);
+                return edges;
+            }
+
+            String worldName = world.getName();
+            Bukkit.getScheduler().runTaskAsynchronously(YakRealms.getInstance(), () -> {
+                try {
+                    SafeZoneEdgeIndex built = SafeZoneEdgeIndex.build(regionManager, revision, YakRealms.getInstance().getLogger());
+                    if (Bukkit.getWorld(worldId) != null) {
+                        edgeIndexes.put(worldId, built);
+                        YakRealms.log("Indexed " + built.getCandidateCount() + " zone border columns in " + worldName);
+                    }
+                } catch (Exception e) {
+                    YakRealms.error("Failed to index zone border columns in " + worldName, e);
+                } finally {
+                    edgeIndexBuilds.remove(worldId);
+                }
+            });
+        }
+        return edges;
+    }
+
+    public static long packColumn(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    public static int columnX(long column) {
+        return (int) (column >> 32);
+    }
+
+    public static int columnZ(long column) {
+        return (int) column;
+    }
+
     /**
      * Get all safe zone regions that apply to a location
      *
@@ -231,6 +413,20 @@ public class WorldGuardManager implements Listener {
         }
     }
 
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        zoneIndex.forgetWorld(event.getWorld());
+        edgeIndexes.remove(event.getWorld().getUID());
+        edgeIndexBuilds.remove(event.getWorld().getUID());
+    }
+
+    /**
+     * Zone index statistics for diagnostics
+     */
+    public String getZoneIndexInfo() {
+        return zoneIndexEnabled ? zoneIndex.getDiagnosticInfo() : "Zone index: disabled";
+    }
+
     @EventHandler
     public void onBlockBreak(BlockBreakEvent event) {
         if (event.getPlayer().getGameMode() == GameMode.SURVIVAL) {
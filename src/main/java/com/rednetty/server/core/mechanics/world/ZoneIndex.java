@@ -0,0 +1,492 @@
+package com.rednetty.server.core.mechanics.world;
+
+import com.rednetty.server.YakRealms;
+import com.rednetty.server.core.mechanics.world.WorldGuardManager.ZoneType;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.protection.ApplicableRegionSet;
+import com.sk89q.worldguard.protection.flags.Flags;
+import com.sk89q.worldguard.protection.flags.StateFlag;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.GlobalProtectedRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionQuery;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * PvP zone state rasterized into per-chunk column bitsets, so zone checks are array lookups
+ * instead of WorldGuard region queries.
+ *
+ * <p>A chunk is rasterized the first time it is looked up. Each column is sampled with the
+ * same {@link RegionQuery#queryState} call {@link WorldGuardManager} used before, once per Y
+ * band, where the bands are cut at the vertical bounds of the regions touching the chunk.
+ * Chunks that no region border crosses are sampled once per band and share constant
+ * instances where possible.
+ *
+ * <p>WorldGuard has no region change event, so a refresh task compares a fingerprint of every
+ * region (shape, priority, parent and effective PvP flag) with the previous pass and drops
+ * only the chunks covered by regions that changed.
+ */
+class ZoneIndex {
+
+    private static final int COLUMNS = 256;
+    private static final int WORDS = COLUMNS / 64;
+
+    private static final byte NEUTRAL = 0;
+    private static final byte SAFE = 1;
+    private static final byte CHAOTIC = 2;
+
+    private final Logger logger;
+
+    // World -> chunk key -> rasterized chunk
+    private final Map<UUID, Map<Long, ZoneChunk>> chunks = new ConcurrentHashMap<>();
+    // World -> region id -> fingerprint from the last refresh
+    private final Map<UUID, Map<String, RegionFingerprint>> fingerprints = new HashMap<>();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong rasterizedChunks = new AtomicLong();
+    private final AtomicLong invalidatedChunks = new AtomicLong();
+
+    // Bumped whenever region changes may have moved a zone border
+    private volatile long revision = 0;
+
+    private BukkitTask refreshTask;
+
+    ZoneIndex(Logger logger) {
+        this.logger = logger;
+    }
+
+    // ================ LIFECYCLE ================
+
+    void start(int refreshSeconds) {
+        stop();
+        rebuild();
+        if (refreshSeconds <= 0) {
+            return;
+        }
+        long period = refreshSeconds * 20L;
+        refreshTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                try {
+                    refresh();
+                } catch (Exception e) {
+                    logger.warning("Zone index refresh failed: " + e.getMessage());
+                }
+            }
+        }.runTaskTimer(YakRealms.getInstance(), period, period);
+    }
+
+    void stop() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+    }
+
+    /**
+     * Drop every rasterized chunk and take fresh region fingerprints
+     */
+    void rebuild() {
+        revision++;
+        chunks.clear();
+        fingerprints.clear();
+        for (World world : Bukkit.getWorlds()) {
+            RegionManager manager = regionManager(world);
+            if (manager != null) {
+                fingerprints.put(world.getUID(), fingerprint(manager));
+            }
+        }
+    }
+
+    void forgetWorld(World world) {
+        chunks.remove(world.getUID());
+        fingerprints.remove(world.getUID());
+    }
+
+    /**
+     * Invalidate the chunks covered by regions added, removed or changed since the last pass
+     */
+    void refresh() {
+        for (World world : Bukkit.getWorlds()) {
+            RegionManager manager = regionManager(world);
+            if (manager == null) {
+                forgetWorld(world);
+                continue;
+            }
+
+            Map<String, RegionFingerprint> current = fingerprint(manager);
+            Map<String, RegionFingerprint> previous = fingerprints.put(world.getUID(), current);
+            if (previous == null || previous.equals(current)) {
+                continue;
+            }
+
+            List<RegionFingerprint> changed = new ArrayList<>();
+            for (Map.Entry<String, RegionFingerprint> entry : current.entrySet()) {
+                RegionFingerprint before = previous.get(entry.getKey());
+                if (!entry.getValue().equals(before)) {
+                    changed.add(entry.getValue());
+                    if (before != null) {
+                        changed.add(before);
+                    }
+                }
+            }
+            for (Map.Entry<String, RegionFingerprint> entry : previous.entrySet()) {
+                if (!current.containsKey(entry.getKey())) {
+                    changed.add(entry.getValue());
+                }
+            }
+
+            revision++;
+            invalidate(world, changed);
+        }
+    }
+
+    long getRevision() {
+        return revision;
+    }
+
+    private void invalidate(World world, List<RegionFingerprint> changed) {
+        Map<Long, ZoneChunk> worldChunks = chunks.get(world.getUID());
+        if (worldChunks == null || worldChunks.isEmpty()) {
+            return;
+        }
+
+        for (RegionFingerprint region : changed) {
+            if (region.global) {
+                invalidatedChunks.addAndGet(worldChunks.size());
+                worldChunks.clear();
+                return;
+            }
+        }
+
+        int before = worldChunks.size();
+        worldChunks.keySet().removeIf(key -> {
+            int chunkX = (int) (key >> 32);
+            int chunkZ = (int) (long) key;
+            for (RegionFingerprint region : changed) {
+                if (region.coversChunk(chunkX, chunkZ)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        int removed = before - worldChunks.size();
+        if (removed > 0) {
+            invalidatedChunks.addAndGet(removed);
+            logger.fine("Zone index dropped " + removed + " chunks in " + world.getName() + " after region changes");
+        }
+    }
+
+    // ================ LOOKUPS ================
+
+    ZoneType zoneAt(World world, int x, int y, int z) {
+        switch (stateAt(world, x, y, z)) {
+            case SAFE:
+                return ZoneType.SAFE;
+            case CHAOTIC:
+                return ZoneType.CHAOTIC;
+            default:
+                return ZoneType.NEUTRAL;
+        }
+    }
+
+    boolean isSafe(World world, int x, int y, int z) {
+        return stateAt(world, x, y, z) == SAFE;
+    }
+
+    /**
+     * True if the column is safe and a horizontal neighbour is not, or the other way round
+     */
+    boolean isBoundary(World world, int x, int y, int z) {
+        boolean safe = isSafe(world, x, y, z);
+        return isSafe(world, x + 1, y, z) != safe
+                || isSafe(world, x - 1, y, z) != safe
+                || isSafe(world, x, y, z + 1) != safe
+                || isSafe(world, x, y, z - 1) != safe;
+    }
+
+    private byte stateAt(World world, int x, int y, int z) {
+        lookups.incrementAndGet();
+        Map<Long, ZoneChunk> worldChunks = chunks.computeIfAbsent(world.getUID(), id -> new ConcurrentHashMap<>());
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        long key = chunkKey(chunkX, chunkZ);
+
+        ZoneChunk chunk = worldChunks.get(key);
+        if (chunk == null) {
+            chunk = rasterize(world, chunkX, chunkZ);
+            worldChunks.put(key, chunk);
+        }
+        return chunk.state((x & 15) << 4 | (z & 15), y);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    // ================ RASTERIZATION ================
+
+    private ZoneChunk rasterize(World world, int chunkX, int chunkZ) {
+        rasterizedChunks.incrementAndGet();
+        RegionManager manager = regionManager(world);
+        if (manager == null) {
+            return ZoneChunk.UNIFORM_NEUTRAL;
+        }
+
+        int minX = chunkX << 4;
+        int minZ = chunkZ << 4;
+        int worldMinY = world.getMinHeight();
+        int worldMaxY = world.getMaxHeight();
+
+        ProtectedCuboidRegion bounds = new ProtectedCuboidRegion("__zone_index__",
+                BlockVector3.at(minX, worldMinY, minZ), BlockVector3.at(minX + 15, worldMaxY - 1, minZ + 15));
+        ApplicableRegionSet touching = manager.getApplicableRegions(bounds);
+
+        // Cut Y bands at region floors and ceilings; note whether any border crosses the chunk
+        TreeSet<Integer> cuts = new TreeSet<>();
+        cuts.add(worldMinY);
+        boolean uniform = true;
+        for (ProtectedRegion region : touching) {
+            if (region instanceof GlobalProtectedRegion) continue;
+
+            int floor = region.getMinimumPoint().getBlockY();
+            int ceiling = region.getMaximumPoint().getBlockY() + 1;
+            if (floor > worldMinY && floor < worldMaxY) cuts.add(floor);
+            if (ceiling > worldMinY && ceiling < worldMaxY) cuts.add(ceiling);
+
+            if (!(region instanceof ProtectedCuboidRegion) || !coversColumns(region, minX, minZ)) {
+                uniform = false;
+            }
+        }
+
+        int[] floors = new int[cuts.size()];
+        int band = 0;
+        for (int floor : cuts) {
+            floors[band++] = floor;
+        }
+
+        RegionQuery query = WorldGuard.getInstance().getPlatform().getRegionContainer().createQuery();
+        com.sk89q.worldedit.world.World weWorld = BukkitAdapter.adapt(world);
+
+        if (uniform) {
+            byte[] states = new byte[floors.length];
+            for (int i = 0; i < floors.length; i++) {
+                states[i] = sample(query, weWorld, minX + 8, floors[i], minZ + 8);
+            }
+            return ZoneChunk.uniform(floors, states);
+        }
+
+        long[][] safe = new long[floors.length][WORDS];
+        long[][] chaotic = new long[floors.length][WORDS];
+        for (int column = 0; column < COLUMNS; column++) {
+            int x = minX + (column >> 4);
+            int z = minZ + (column & 15);
+            for (int i = 0; i < floors.length; i++) {
+                byte state = sample(query, weWorld, x, floors[i], z);
+                if (state == SAFE) {
+                    safe[i][column >> 6] |= 1L << column;
+                } else if (state == CHAOTIC) {
+                    chaotic[i][column >> 6] |= 1L << column;
+                }
+            }
+        }
+        return new ZoneChunk(floors, safe, chaotic);
+    }
+
+    private static boolean coversColumns(ProtectedRegion region, int minX, int minZ) {
+        BlockVector3 min = region.getMinimumPoint();
+        BlockVector3 max = region.getMaximumPoint();
+        boolean covers = min.getBlockX() <= minX && max.getBlockX() >= minX + 15
+                && min.getBlockZ() <= minZ && max.getBlockZ() >= minZ + 15;
+        boolean disjoint = max.getBlockX() < minX || min.getBlockX() > minX + 15
+                || max.getBlockZ() < minZ || min.getBlockZ() > minZ + 15;
+        return covers || disjoint;
+    }
+
+    private static byte sample(RegionQuery query, com.sk89q.worldedit.world.World world, int x, int y, int z) {
+        StateFlag.State state = query.queryState(
+                new com.sk89q.worldedit.util.Location(world, x + 0.5, y, z + 0.5), null, Flags.PVP);
+        if (state == StateFlag.State.DENY) {
+            return SAFE;
+        }
+        return state == StateFlag.State.ALLOW ? CHAOTIC : NEUTRAL;
+    }
+
+    private static RegionManager regionManager(World world) {
+        return WorldGuard.getInstance().getPlatform().getRegionContainer().get(BukkitAdapter.adapt(world));
+    }
+
+    // ================ FINGERPRINTS ================
+
+    /**
+     * PvP flag of a region, inherited from its parents if it sets none itself
+     */
+    static StateFlag.State effectivePvp(ProtectedRegion region) {
+        Set<ProtectedRegion> visited = new HashSet<>();
+        for (ProtectedRegion current = region; current != null && visited.add(current); current = current.getParent()) {
+            StateFlag.State state = current.getFlag(Flags.PVP);
+            if (state != null) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, RegionFingerprint> fingerprint(RegionManager manager) {
+        Map<String, RegionFingerprint> result = new HashMap<>();
+        for (ProtectedRegion region : manager.getRegions().values()) {
+            result.put(region.getId(), new RegionFingerprint(region));
+        }
+        ProtectedRegion global = manager.getRegion("__global__");
+        if (global != null) {
+            result.put(global.getId(), new RegionFingerprint(global));
+        }
+        return result;
+    }
+
+    /**
+     * Everything about a region that can change the PvP state it produces
+     */
+    private static final class RegionFingerprint {
+        final boolean global;
+        final int minX, minY, minZ, maxX, maxY, maxZ;
+        final int priority;
+        final String parent;
+        final StateFlag.State pvp;
+        final int shapeHash;
+
+        RegionFingerprint(ProtectedRegion region) {
+            BlockVector3 min = region.getMinimumPoint();
+            BlockVector3 max = region.getMaximumPoint();
+            this.global = region instanceof GlobalProtectedRegion;
+            this.minX = min.getBlockX();
+            this.minY = min.getBlockY();
+            this.minZ = min.getBlockZ();
+            this.maxX = max.getBlockX();
+            this.maxY = max.getBlockY();
+            this.maxZ = max.getBlockZ();
+            this.priority = region.getPriority();
+            this.parent = region.getParent() != null ? region.getParent().getId() : null;
+            this.pvp = ZoneIndex.effectivePvp(region);
+
+            List<BlockVector2> points = region.getPoints();
+            this.shapeHash = points != null ? points.hashCode() : 0;
+        }
+
+        boolean coversChunk(int chunkX, int chunkZ) {
+            return global || ((minX >> 4) <= chunkX && chunkX <= (maxX >> 4)
+                    && (minZ >> 4) <= chunkZ && chunkZ <= (maxZ >> 4));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RegionFingerprint)) return false;
+            RegionFingerprint other = (RegionFingerprint) o;
+            return global == other.global && minX == other.minX && minY == other.minY && minZ == other.minZ
+                    && maxX == other.maxX && maxY == other.maxY && maxZ == other.maxZ
+                    && priority == other.priority && shapeHash == other.shapeHash
+                    && Objects.equals(parent, other.parent) && pvp == other.pvp;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(minX, minY, minZ, maxX, maxY, maxZ, priority, parent, pvp, shapeHash);
+        }
+    }
+
+    // ================ CHUNK DATA ================
+
+    /**
+     * Zone state of one chunk: Y bands, each with a safe and a chaotic bit per column.
+     * Columns are indexed {@code (x & 15) << 4 | (z & 15)}.
+     */
+    private static final class ZoneChunk {
+        static final ZoneChunk UNIFORM_NEUTRAL = new ZoneChunk(new int[]{Integer.MIN_VALUE}, new byte[]{NEUTRAL});
+        static final ZoneChunk UNIFORM_SAFE = new ZoneChunk(new int[]{Integer.MIN_VALUE}, new byte[]{SAFE});
+        static final ZoneChunk UNIFORM_CHAOTIC = new ZoneChunk(new int[]{Integer.MIN_VALUE}, new byte[]{CHAOTIC});
+
+        // Band i covers floors[i] up to floors[i + 1]; the first band also covers everything below
+        private final int[] floors;
+        // Set for chunks without region borders; the bitsets are unused then
+        private final byte[] uniformStates;
+        private final long[][] safe;
+        private final long[][] chaotic;
+
+        ZoneChunk(int[] floors, long[][] safe, long[][] chaotic) {
+            this.floors = floors;
+            this.uniformStates = null;
+            this.safe = safe;
+            this.chaotic = chaotic;
+        }
+
+        private ZoneChunk(int[] floors, byte[] uniformStates) {
+            this.floors = floors;
+            this.uniformStates = uniformStates;
+            this.safe = null;
+            this.chaotic = null;
+        }
+
+        static ZoneChunk uniform(int[] floors, byte[] states) {
+            if (states.length == 1) {
+                switch (states[0]) {
+                    case SAFE:
+                        return UNIFORM_SAFE;
+                    case CHAOTIC:
+                        return UNIFORM_CHAOTIC;
+                    default:
+                        return UNIFORM_NEUTRAL;
+                }
+            }
+            return new ZoneChunk(floors, states);
+        }
+
+        byte state(int column, int y) {
+            int band = 0;
+            while (band + 1 < floors.length && y >= floors[band + 1]) {
+                band++;
+            }
+            if (uniformStates != null) {
+                return uniformStates[band];
+            }
+            long bit = 1L << column;
+            if ((safe[band][column >> 6] & bit) != 0) {
+                return SAFE;
+            }
+            return (chaotic[band][column >> 6] & bit) != 0 ? CHAOTIC : NEUTRAL;
+        }
+    }
+
+    // ================ DIAGNOSTICS ================
+
+    String getDiagnosticInfo() {
+        int cached = 0;
+        for (Map<Long, ZoneChunk> worldChunks : chunks.values()) {
+            cached += worldChunks.size();
+        }
+        return "Zone index: " + cached + " chunks cached, "
+                + rasterizedChunks.get() + " rasterized, "
+                + invalidatedChunks.get() + " invalidated, "
+                + lookups.get() + " lookups";
+    }
+}
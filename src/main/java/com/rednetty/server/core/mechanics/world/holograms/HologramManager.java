@@ -7,6 +7,7 @@ import org.bukkit.World;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
+import org.bukkit.event.HandlerList;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.scheduler.BukkitTask;
 
@@ -25,6 +26,11 @@ import java.util.logging.Logger;
  * -  cleanup and orphan detection
  * - Better thread safety and state management
  * - Aggressive dead hologram removal
+ *
+ * When ProtocolLib is present, holograms are rendered by {@link PacketHologramRenderer} as
+ * client-side text displays: nothing is spawned in the world, so the orphan, health and
+ * emergency scans are not started and only a light sweep for dead mobs and idle holograms
+ * runs. The ArmorStand implementation below remains the fallback without ProtocolLib.
  */
 public class HologramManager {
 
@@ -58,6 +64,7 @@ public class HologramManager {
     private static final AtomicBoolean systemInitialized = new AtomicBoolean(false);
     private static final AtomicLong sessionId = new AtomicLong(System.currentTimeMillis());
     private static final AtomicLong hologramVersion = new AtomicLong(1); // NEW: version tracking
+    private static volatile PacketHologramRenderer packetRenderer; // null when using ArmorStands
 
     // ================ STATISTICS ================
     private static final AtomicLong totalHologramsCreated = new AtomicLong(0);
@@ -669,6 +676,11 @@ public class HologramManager {
 
         performInitialCleanup();
 
+        if (Bukkit.getPluginManager().isPluginEnabled("ProtocolLib") && initializePacketBackend()) {
+            logger.info("HologramManager enabled successfully (packet backend)");
+            return;
+        }
+
         // Start periodic cleanup task - more frequent
         cleanupTask = Bukkit.getScheduler().runTaskTimer(YakRealms.getInstance(), () -> {
             try {
@@ -708,8 +720,66 @@ public class HologramManager {
         logger.info("HologramManager enabled successfully");
     }
 
+    private static boolean initializePacketBackend() {
+        try {
+            PacketHologramRenderer renderer = new PacketHologramRenderer(logger);
+            Bukkit.getPluginManager().registerEvents(renderer, YakRealms.getInstance());
+            packetRenderer = renderer;
+        } catch (Exception | LinkageError e) {
+            logger.warning("[HologramManager] Packet backend unavailable, using ArmorStands: " + e.getMessage());
+            return false;
+        }
+
+        // Virtual holograms cannot be orphaned in the world, so one sweep replaces the entity scans
+        cleanupTask = Bukkit.getScheduler().runTaskTimer(YakRealms.getInstance(), () -> {
+            try {
+                performPacketSweep();
+            } catch (Exception e) {
+                logger.severe("[HologramManager] Error in cleanup task: " + e.getMessage());
+            }
+        }, CLEANUP_INTERVAL, CLEANUP_INTERVAL);
+        return true;
+    }
+
+    private static boolean isPacketBackend() {
+        return packetRenderer != null;
+    }
+
     // ================ CLEANUP OPERATIONS ================
 
+    /**
+     * Remove virtual holograms whose mob is gone or that nothing has updated for
+     * {@link #MAX_HOLOGRAM_AGE_MS}
+     */
+    private static synchronized void performPacketSweep() {
+        PacketHologramRenderer renderer = packetRenderer;
+        if (renderer == null) {
+            return;
+        }
+
+        long currentTime = System.currentTimeMillis();
+        int removedCount = 0;
+        for (PacketHologramRenderer.VirtualHologram hologram : renderer.getAll()) {
+            boolean stale = currentTime - hologram.getLastUpdateTime() > MAX_HOLOGRAM_AGE_MS;
+            if (!stale && hologram.getMobUuid() != null) {
+                try {
+                    Entity mobEntity = Bukkit.getEntity(UUID.fromString(hologram.getMobUuid()));
+                    stale = mobEntity == null || mobEntity.isDead() || !mobEntity.isValid();
+                } catch (IllegalArgumentException e) {
+                    stale = true;
+                }
+            }
+
+            if (stale) {
+                removeHologram(hologram.getId());
+                removedCount++;
+            }
+        }
+
+        totalOrphansRemoved.addAndGet(removedCount);
+        lastCleanupTime = currentTime;
+    }
+
     private static void performInitialCleanup() {
         int removedCount = 0;
 
@@ -1043,6 +1113,13 @@ public class HologramManager {
             return false;
         }
 
+        if (!systemInitialized.get()) {
+            initializeCleanupSystem();
+        }
+        if (isPacketBackend()) {
+            return updateVirtualHologram(id, location, lines, lineSpacing, mobUuid);
+        }
+
         // Prevent duplicate creation
         if (activeCreations.contains(id)) {
             totalDuplicatesPrevented.incrementAndGet();
@@ -1121,6 +1198,44 @@ public class HologramManager {
         }
     }
 
+    private static boolean updateVirtualHologram(String id, Location location, List<String> lines, double lineSpacing, String mobUuid) {
+        if (mobUuid != null) {
+            String existingHologramId = mobToHologramId.get(mobUuid);
+            if (existingHologramId != null && !existingHologramId.equals(id)) {
+                removeHologram(existingHologramId);
+            }
+        }
+
+        boolean exists = packetRenderer.contains(id);
+        if (!exists && mobUuid != null) {
+            // Don't create for a dead mob
+            try {
+                Entity mobEntity = Bukkit.getEntity(UUID.fromString(mobUuid));
+                if (mobEntity == null || mobEntity.isDead() || !mobEntity.isValid()) {
+                    removeHologramByMob(mobUuid);
+                    return false;
+                }
+            } catch (IllegalArgumentException e) {
+                removeHologramByMob(mobUuid);
+                return false;
+            }
+        }
+
+        try {
+            boolean changed = packetRenderer.createOrUpdate(id, location, lines, lineSpacing, mobUuid);
+            if (!exists) {
+                totalHologramsCreated.incrementAndGet();
+                if (mobUuid != null) {
+                    mobToHologramId.put(mobUuid, id);
+                }
+            }
+            return changed;
+        } catch (Exception e) {
+            logger.warning("[HologramManager] Failed to update hologram " + id + ": " + e.getMessage());
+            return false;
+        }
+    }
+
     public static synchronized boolean updateHologramEfficiently(String id, Location location, List<String> lines, double lineSpacing) {
         return updateHologramEfficiently(id, location, lines, lineSpacing, null);
     }
@@ -1134,6 +1249,17 @@ public class HologramManager {
             return;
         }
 
+        if (isPacketBackend()) {
+            PacketHologramRenderer.VirtualHologram hologram = packetRenderer.remove(id);
+            if (hologram != null) {
+                totalHologramsRemoved.incrementAndGet();
+                if (hologram.getMobUuid() != null) {
+                    mobToHologramId.remove(hologram.getMobUuid(), id);
+                }
+            }
+            return;
+        }
+
         hologramLock.writeLock().lock();
         try {
             Hologram hologram = holograms.remove(id);
@@ -1166,6 +1292,14 @@ public class HologramManager {
     }
 
     public static synchronized void forceCleanupAll() {
+        if (isPacketBackend()) {
+            int removed = packetRenderer.size();
+            packetRenderer.removeAll();
+            totalHologramsRemoved.addAndGet(removed);
+            mobToHologramId.clear();
+            return;
+        }
+
         hologramLock.writeLock().lock();
         try {
             List<String> hologramIds = new ArrayList<>(holograms.keySet());
@@ -1233,6 +1367,12 @@ public class HologramManager {
         // Force cleanup all holograms
         forceCleanupAll();
 
+        if (packetRenderer != null) {
+            HandlerList.unregisterAll(packetRenderer);
+            logger.info("[HologramManager] Packet backend sent " + packetRenderer.getPacketsSent() + " packets");
+            packetRenderer = null;
+        }
+
         // Reset system state
         systemInitialized.set(false);
         lastCleanupTime = 0;
@@ -1247,6 +1387,9 @@ public class HologramManager {
 
     public static synchronized boolean hologramExists(String id) {
         if (id == null) return false;
+        if (isPacketBackend()) {
+            return packetRenderer.contains(id);
+        }
 
         hologramLock.readLock().lock();
         try {
@@ -1258,6 +1401,10 @@ public class HologramManager {
     }
 
     public static synchronized int getHologramCount() {
+        if (isPacketBackend()) {
+            return packetRenderer.size();
+        }
+
         hologramLock.readLock().lock();
         try {
             return holograms.size();
@@ -1285,6 +1432,15 @@ public class HologramManager {
             stats.append("Session ID: ").append(sessionId.get()).append("\n");
             stats.append("Current Version: ").append(hologramVersion.get()).append("\n");
 
+            PacketHologramRenderer renderer = packetRenderer;
+            stats.append("Backend: ").append(renderer != null ? "packet" : "armorstand").append("\n");
+            if (renderer != null) {
+                stats.append("Virtual Holograms: ").append(renderer.size()).append("\n");
+                stats.append("Packets Sent: ").append(renderer.getPacketsSent()).append("\n");
+                stats.append("Viewers: ").append(renderer.getViewerCount()).append("\n");
+                stats.append("Indexed Chunks: ").append(renderer.getIndexedChunkCount()).append("\n");
+            }
+
             // Hologram type breakdown
             Map<String, Integer> typeBreakdown = new HashMap<>();
             for (Hologram hologram : holograms.values()) {
@@ -1315,6 +1471,11 @@ public class HologramManager {
     }
 
     public static synchronized void updateHologram(String id, List<String> newLines) {
+        if (isPacketBackend()) {
+            packetRenderer.updateText(id, newLines);
+            return;
+        }
+
         hologramLock.readLock().lock();
         try {
             Hologram hologram = holograms.get(id);
@@ -1327,6 +1488,10 @@ public class HologramManager {
     }
 
     public static synchronized boolean moveHologram(String id, Location newLocation) {
+        if (isPacketBackend()) {
+            return packetRenderer.move(id, newLocation);
+        }
+
         hologramLock.readLock().lock();
         try {
             Hologram hologram = holograms.get(id);
@@ -1340,6 +1505,10 @@ public class HologramManager {
     }
 
     public static synchronized void performMaintenance() {
+        if (isPacketBackend()) {
+            performPacketSweep();
+            return;
+        }
         performPeriodicCleanup();
         performOrphanScan();
         performEmergencyCleanup();
@@ -0,0 +1,555 @@
+package com.rednetty.server.core.mechanics.world.holograms;
+
+import com.comphenix.protocol.events.PacketContainer;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hologram backend that exists only on the client: each hologram is a fake {@code TextDisplay}
+ * spawned, moved and destroyed with ProtocolLib packets, so there is no server-side entity to
+ * tick, track, persist or leak.
+ *
+ * <p>Holograms are indexed by chunk. A player sees the holograms within
+ * {@link #VIEW_RADIUS_CHUNKS} chunks of their own chunk; visibility is recomputed when the
+ * player changes chunk and when a hologram changes chunk, and each change only sends spawn or
+ * destroy packets for the difference.
+ *
+ * <p>All methods are synchronized; packets are sent from whichever thread changes the state.
+ */
+class PacketHologramRenderer implements Listener {
+
+    private static final int VIEW_RADIUS_CHUNKS = 4;
+
+    // Matches the client's interpolation of living entities, so nameplates keep pace with mobs
+    private static final int POSITION_INTERPOLATION_TICKS = 3;
+
+    private final Logger logger;
+
+    private final Map<String, VirtualHologram> holograms = new HashMap<>();
+    // World -> chunk key -> holograms in that chunk
+    private final Map<UUID, Map<Long, Set<VirtualHologram>>> chunkIndex = new HashMap<>();
+    // Player -> holograms currently spawned on their client
+    private final Map<UUID, Set<VirtualHologram>> viewerHolograms = new HashMap<>();
+
+    private final AtomicLong packetsSent = new AtomicLong();
+
+    /**
+     * Client-side state of one hologram. Positions are kept in the protocol's 1/4096 block
+     * fixed point so relative moves never drift from what the client was told.
+     */
+    static final class VirtualHologram {
+        private final String id;
+        private final String mobUuid;
+        private final int entityId;
+        private final UUID entityUuid;
+        private final Set<UUID> viewers = new HashSet<>();
+
+        private World world;
+        private long encodedX;
+        private long encodedY;
+        private long encodedZ;
+        private long chunkKey;
+        private String text;
+        private int lineCount;
+        private double lineSpacing;
+        private volatile long lastUpdateTime;
+
+        private VirtualHologram(String id, String mobUuid, int entityId) {
+            this.id = id;
+            this.mobUuid = mobUuid;
+            this.entityId = entityId;
+            this.entityUuid = UUID.randomUUID();
+        }
+
+        String getId() { return id; }
+        String getMobUuid() { return mobUuid; }
+        int getLineCount() { return lineCount; }
+        long getLastUpdateTime() { return lastUpdateTime; }
+    }
+
+    PacketHologramRenderer(Logger logger) {
+        this.logger = logger;
+    }
+
+    // ================ HOLOGRAM OPERATIONS ================
+
+    synchronized boolean contains(String id) {
+        return holograms.containsKey(id);
+    }
+
+    synchronized VirtualHologram get(String id) {
+        return holograms.get(id);
+    }
+
+    synchronized Collection<VirtualHologram> getAll() {
+        return new ArrayList<>(holograms.values());
+    }
+
+    synchronized int size() {
+        return holograms.size();
+    }
+
+    /**
+     * Create a hologram or bring an existing one to the given location and lines. The top line
+     * sits at {@code location}, matching the ArmorStand layout.
+     *
+     * @return true if anything was created or changed
+     */
+    synchronized boolean createOrUpdate(String id, Location location, List<String> lines, double lineSpacing, String mobUuid) {
+        String text = String.join("\n", lines);
+        // A TextDisplay is anchored at the bottom of its text block
+        double bottomY = location.getY() - lineSpacing * (lines.size() - 1);
+
+        VirtualHologram hologram = holograms.get(id);
+        if (hologram == null) {
+            hologram = new VirtualHologram(id, mobUuid, TextDisplayPackets.nextEntityId());
+            hologram.text = text;
+            hologram.lineCount = lines.size();
+            hologram.lineSpacing = lineSpacing;
+            hologram.lastUpdateTime = System.currentTimeMillis();
+            place(hologram, location.getWorld(), location.getX(), bottomY, location.getZ());
+            holograms.put(id, hologram);
+            index(hologram);
+            refreshViewersOf(hologram);
+            return true;
+        }
+
+        boolean changed = false;
+        if (!text.equals(hologram.text)) {
+            hologram.text = text;
+            hologram.lineCount = lines.size();
+            hologram.lineSpacing = lineSpacing;
+            PacketContainer metadata = textPacket(hologram);
+            for (Player viewer : onlineViewers(hologram)) {
+                send(viewer, metadata);
+            }
+            changed = true;
+        }
+
+        if (moveTo(hologram, location.getWorld(), location.getX(), bottomY, location.getZ())) {
+            changed = true;
+        }
+
+        if (changed) {
+            hologram.lastUpdateTime = System.currentTimeMillis();
+        }
+        return changed;
+    }
+
+    synchronized boolean updateText(String id, List<String> lines) {
+        VirtualHologram hologram = holograms.get(id);
+        if (hologram == null || lines == null || lines.isEmpty()) {
+            return false;
+        }
+
+        World world = hologram.world;
+        double x = TextDisplayPackets.decode(hologram.encodedX);
+        double topY = TextDisplayPackets.decode(hologram.encodedY) + hologram.lineSpacing * (hologram.lineCount - 1);
+        double z = TextDisplayPackets.decode(hologram.encodedZ);
+        return createOrUpdate(id, new Location(world, x, topY, z), lines, hologram.lineSpacing, hologram.mobUuid);
+    }
+
+    synchronized boolean move(String id, Location location) {
+        VirtualHologram hologram = holograms.get(id);
+        if (hologram == null || location == null || location.getWorld() == null) {
+            return false;
+        }
+
+        double bottomY = location.getY() - hologram.lineSpacing * (hologram.lineCount - 1);
+        boolean moved = moveTo(hologram, location.getWorld(), location.getX(), bottomY, location.getZ());
+        if (moved) {
+            hologram.lastUpdateTime = System.currentTimeMillis();
+        }
+        return moved;
+    }
+
+    /**
+     * @return The removed hologram, or null if there was none
+     */
+    synchronized VirtualHologram remove(String id) {
+        VirtualHologram hologram = holograms.remove(id);
+        if (hologram == null) {
+            return null;
+        }
+
+        unindex(hologram);
+        PacketContainer destroy = destroyPacket(hologram);
+        for (Player viewer : onlineViewers(hologram)) {
+            send(viewer, destroy);
+        }
+        for (UUID viewerId : hologram.viewers) {
+            Set<VirtualHologram> visible = viewerHolograms.get(viewerId);
+            if (visible != null) {
+                visible.remove(hologram);
+            }
+        }
+        hologram.viewers.clear();
+        return hologram;
+    }
+
+    synchronized void removeAll() {
+        for (String id : new ArrayList<>(holograms.keySet())) {
+            remove(id);
+        }
+        chunkIndex.clear();
+        viewerHolograms.clear();
+    }
+
+    // ================ MOVEMENT ================
+
+    private boolean moveTo(VirtualHologram hologram, World world, double x, double y, double z) {
+        long newX = TextDisplayPackets.encode(x);
+        long newY = TextDisplayPackets.encode(y);
+        long newZ = TextDisplayPackets.encode(z);
+        if (world == hologram.world && newX == hologram.encodedX && newY == hologram.encodedY && newZ == hologram.encodedZ) {
+            return false;
+        }
+
+        long dx = newX - hologram.encodedX;
+        long dy = newY - hologram.encodedY;
+        long dz = newZ - hologram.encodedZ;
+        boolean relative = world == hologram.world && TextDisplayPackets.fitsRelativeMove(dx)
+                && TextDisplayPackets.fitsRelativeMove(dy) && TextDisplayPackets.fitsRelativeMove(dz);
+
+        long oldChunk = hologram.chunkKey;
+        if (relative) {
+            PacketContainer movePacket = movePacket(hologram, dx, dy, dz);
+            for (Player viewer : onlineViewers(hologram)) {
+                send(viewer, movePacket);
+            }
+            hologram.encodedX = newX;
+            hologram.encodedY = newY;
+            hologram.encodedZ = newZ;
+            hologram.chunkKey = chunkKey(blockToChunk(x), blockToChunk(z));
+        } else {
+            // Too far for a relative move: respawn at the new position for whoever can see it
+            unindex(hologram);
+            hideFromAll(hologram);
+            place(hologram, world, x, y, z);
+            index(hologram);
+            refreshViewersOf(hologram);
+            return true;
+        }
+
+        if (hologram.chunkKey != oldChunk) {
+            reindex(hologram, oldChunk);
+            refreshViewersOf(hologram);
+        }
+        return true;
+    }
+
+    private void place(VirtualHologram hologram, World world, double x, double y, double z) {
+        hologram.world = world;
+        hologram.encodedX = TextDisplayPackets.encode(x);
+        hologram.encodedY = TextDisplayPackets.encode(y);
+        hologram.encodedZ = TextDisplayPackets.encode(z);
+        hologram.chunkKey = chunkKey(blockToChunk(x), blockToChunk(z));
+    }
+
+    // ================ VISIBILITY ================
+
+    /**
+     * Spawn the hologram for players who are now in range and destroy it for those who left
+     */
+    private void refreshViewersOf(VirtualHologram hologram) {
+        int chunkX = (int) (hologram.chunkKey >> 32);
+        int chunkZ = (int) hologram.chunkKey;
+
+        Set<UUID> inRange = new HashSet<>();
+        for (Player player : hologram.world.getPlayers()) {
+            if (isInRange(player.getLocation(), chunkX, chunkZ)) {
+                inRange.add(player.getUniqueId());
+                if (!hologram.viewers.contains(player.getUniqueId())) {
+                    show(player, hologram);
+                }
+            }
+        }
+
+        for (UUID viewerId : new ArrayList<>(hologram.viewers)) {
+            if (!inRange.contains(viewerId)) {
+                Player viewer = Bukkit.getPlayer(viewerId);
+                if (viewer != null) {
+                    hide(viewer, hologram);
+                } else {
+                    hologram.viewers.remove(viewerId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Spawn the holograms that are now in range of a player and destroy the ones that are not
+     */
+    private void refreshViewer(Player player, Location location) {
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        Set<VirtualHologram> visible = viewerHolograms.computeIfAbsent(player.getUniqueId(), id -> new HashSet<>());
+        Set<VirtualHologram> inRange = new HashSet<>();
+
+        Map<Long, Set<VirtualHologram>> grid = chunkIndex.get(world.getUID());
+        if (grid != null) {
+            int centerX = location.getBlockX() >> 4;
+            int centerZ = location.getBlockZ() >> 4;
+            for (int chunkX = centerX - VIEW_RADIUS_CHUNKS; chunkX <= centerX + VIEW_RADIUS_CHUNKS; chunkX++) {
+                for (int chunkZ = centerZ - VIEW_RADIUS_CHUNKS; chunkZ <= centerZ + VIEW_RADIUS_CHUNKS; chunkZ++) {
+                    Set<VirtualHologram> cell = grid.get(chunkKey(chunkX, chunkZ));
+                    if (cell != null) {
+                        inRange.addAll(cell);
+                    }
+                }
+            }
+        }
+
+        for (VirtualHologram hologram : new ArrayList<>(visible)) {
+            if (!inRange.contains(hologram)) {
+                hide(player, hologram);
+            }
+        }
+        for (VirtualHologram hologram : inRange) {
+            if (!visible.contains(hologram)) {
+                show(player, hologram);
+            }
+        }
+    }
+
+    private void show(Player player, VirtualHologram hologram) {
+        send(player, spawnPacket(hologram));
+        send(player, fullMetadataPacket(hologram));
+        hologram.viewers.add(player.getUniqueId());
+        viewerHolograms.computeIfAbsent(player.getUniqueId(), id -> new HashSet<>()).add(hologram);
+    }
+
+    private void hide(Player player, VirtualHologram hologram) {
+        send(player, destroyPacket(hologram));
+        hologram.viewers.remove(player.getUniqueId());
+        Set<VirtualHologram> visible = viewerHolograms.get(player.getUniqueId());
+        if (visible != null) {
+            visible.remove(hologram);
+        }
+    }
+
+    private void hideFromAll(VirtualHologram hologram) {
+        for (UUID viewerId : new ArrayList<>(hologram.viewers)) {
+            Player viewer = Bukkit.getPlayer(viewerId);
+            if (viewer != null) {
+                hide(viewer, hologram);
+            }
+        }
+        hologram.viewers.clear();
+    }
+
+    /**
+     * Forget what a player's client has, without sending anything; used when the client has
+     * dropped its entities itself (world change, respawn, disconnect).
+     */
+    private void forgetViewer(UUID playerId) {
+        Set<VirtualHologram> visible = viewerHolograms.remove(playerId);
+        if (visible != null) {
+            for (VirtualHologram hologram : visible) {
+                hologram.viewers.remove(playerId);
+            }
+        }
+    }
+
+    private boolean isInRange(Location location, int chunkX, int chunkZ) {
+        return Math.abs((location.getBlockX() >> 4) - chunkX) <= VIEW_RADIUS_CHUNKS
+                && Math.abs((location.getBlockZ() >> 4) - chunkZ) <= VIEW_RADIUS_CHUNKS;
+    }
+
+    private List<Player> onlineViewers(VirtualHologram hologram) {
+        List<Player> players = new ArrayList<>(hologram.viewers.size());
+        for (UUID viewerId : hologram.viewers) {
+            Player player = Bukkit.getPlayer(viewerId);
+            if (player != null) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
+    // ================ CHUNK INDEX ================
+
+    private void index(VirtualHologram hologram) {
+        chunkIndex.computeIfAbsent(hologram.world.getUID(), id -> new HashMap<>())
+                .computeIfAbsent(hologram.chunkKey, key -> new HashSet<>())
+                .add(hologram);
+    }
+
+    private void unindex(VirtualHologram hologram) {
+        removeFromCell(hologram, hologram.world, hologram.chunkKey);
+    }
+
+    private void reindex(VirtualHologram hologram, long oldChunkKey) {
+        removeFromCell(hologram, hologram.world, oldChunkKey);
+        index(hologram);
+    }
+
+    private void removeFromCell(VirtualHologram hologram, World world, long key) {
+        Map<Long, Set<VirtualHologram>> grid = chunkIndex.get(world.getUID());
+        if (grid == null) {
+            return;
+        }
+        Set<VirtualHologram> cell = grid.get(key);
+        if (cell != null) {
+            cell.remove(hologram);
+            if (cell.isEmpty()) {
+                grid.remove(key);
+            }
+        }
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int blockToChunk(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> 4;
+    }
+
+    // ================ PACKETS ================
+
+    private PacketContainer spawnPacket(VirtualHologram hologram) {
+        return TextDisplayPackets.spawn(hologram.entityId, hologram.entityUuid,
+                hologram.encodedX, hologram.encodedY, hologram.encodedZ);
+    }
+
+    private PacketContainer fullMetadataPacket(VirtualHologram hologram) {
+        return TextDisplayPackets.metadata(hologram.entityId, hologram.text, POSITION_INTERPOLATION_TICKS);
+    }
+
+    private PacketContainer textPacket(VirtualHologram hologram) {
+        return TextDisplayPackets.text(hologram.entityId, hologram.text);
+    }
+
+    private PacketContainer movePacket(VirtualHologram hologram, long dx, long dy, long dz) {
+        return TextDisplayPackets.move(hologram.entityId, dx, dy, dz);
+    }
+
+    private PacketContainer destroyPacket(VirtualHologram hologram) {
+        return TextDisplayPackets.destroy(List.of(hologram.entityId));
+    }
+
+    private void send(Player player, PacketContainer packet) {
+        try {
+            TextDisplayPackets.send(player, packet);
+            packetsSent.incrementAndGet();
+        } catch (Exception e) {
+            logger.log(Level.FINE, "[HologramManager] Failed to send hologram packet to " + player.getName(), e);
+        }
+    }
+
+    // ================ STATISTICS ================
+
+    long getPacketsSent() {
+        return packetsSent.get();
+    }
+
+    synchronized int getViewerCount() {
+        return viewerHolograms.size();
+    }
+
+    synchronized int getIndexedChunkCount() {
+        int count = 0;
+        for (Map<Long, Set<VirtualHologram>> grid : chunkIndex.values()) {
+            count += grid.size();
+        }
+        return count;
+    }
+
+    // ================ EVENTS ================
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        synchronized (this) {
+            forgetViewer(event.getPlayer().getUniqueId());
+            refreshViewer(event.getPlayer(), event.getPlayer().getLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        synchronized (this) {
+            forgetViewer(event.getPlayer().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if ((from.getBlockX() >> 4) == (to.getBlockX() >> 4) && (from.getBlockZ() >> 4) == (to.getBlockZ() >> 4)
+                && from.getWorld() == to.getWorld()) {
+            return;
+        }
+        synchronized (this) {
+            refreshViewer(event.getPlayer(), to);
+        }
+    }
+
+    /**
+     * Riders get no {@link PlayerMoveEvent} while mounted; follow the vehicle instead
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMove(VehicleMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if ((from.getBlockX() >> 4) == (to.getBlockX() >> 4) && (from.getBlockZ() >> 4) == (to.getBlockZ() >> 4)
+                && from.getWorld() == to.getWorld()) {
+            return;
+        }
+        for (Entity passenger : event.getVehicle().getPassengers()) {
+            if (passenger instanceof Player player) {
+                synchronized (this) {
+                    refreshViewer(player, to);
+                }
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent event) {
+        if (event.getTo() == null || event.getTo().getWorld() != event.getFrom().getWorld()) {
+            return; // Handled by the world change event
+        }
+        synchronized (this) {
+            refreshViewer(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        synchronized (this) {
+            forgetViewer(event.getPlayer().getUniqueId());
+            refreshViewer(event.getPlayer(), event.getPlayer().getLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        synchronized (this) {
+            forgetViewer(event.getPlayer().getUniqueId());
+            refreshViewer(event.getPlayer(), event.getRespawnLocation());
+        }
+    }
+}
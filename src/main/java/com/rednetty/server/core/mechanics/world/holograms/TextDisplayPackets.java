@@ -0,0 +1,140 @@
+package com.rednetty.server.core.mechanics.world.holograms;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builders for the packets of a client-side {@code TextDisplay}, shared by the virtual
+ * hologram backend and the combat damage numbers.
+ *
+ * <p>Positions are in the protocol's 1/4096 block fixed point (see {@link #encode(double)}) so
+ * callers can track exactly what the client was told and send relative moves without drift.
+ * Nothing here may be called unless {@link #isAvailable()} returned true; the ProtocolLib
+ * classes are only resolved on first use.
+ */
+public final class TextDisplayPackets {
+
+    // TextDisplay metadata indices (1.20.2+)
+    private static final int POSITION_INTERPOLATION_INDEX = 10;
+    private static final int BILLBOARD_INDEX = 15;
+    private static final int TEXT_INDEX = 23;
+    private static final int STYLE_FLAGS_INDEX = 27;
+
+    private static final byte BILLBOARD_CENTER = 3;
+    private static final byte STYLE_DEFAULT_BACKGROUND = 0x04;
+
+    private static final LegacyComponentSerializer LEGACY_SERIALIZER = LegacyComponentSerializer.legacySection();
+
+    private TextDisplayPackets() {
+    }
+
+    public static boolean isAvailable() {
+        return Bukkit.getPluginManager().isPluginEnabled("ProtocolLib");
+    }
+
+    public static int nextEntityId() {
+        return Bukkit.getUnsafe().nextEntityId();
+    }
+
+    public static long encode(double coordinate) {
+        return (long) Math.floor(coordinate * 4096.0);
+    }
+
+    public static double decode(long encoded) {
+        return encoded / 4096.0;
+    }
+
+    public static boolean fitsRelativeMove(long delta) {
+        return delta >= Short.MIN_VALUE && delta <= Short.MAX_VALUE;
+    }
+
+    // ================ PACKETS ================
+
+    public static PacketContainer spawn(int entityId, UUID entityUuid, long encodedX, long encodedY, long encodedZ) {
+        PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+        packet.getIntegers().write(0, entityId);
+        packet.getUUIDs().write(0, entityUuid);
+        packet.getEntityTypeModifier().write(0, EntityType.TEXT_DISPLAY);
+        packet.getDoubles()
+                .write(0, decode(encodedX))
+                .write(1, decode(encodedY))
+                .write(2, decode(encodedZ));
+        return packet;
+    }
+
+    /**
+     * Full metadata for a freshly spawned display: centered billboard, default background and
+     * the given text, with moves interpolated over {@code interpolationTicks}.
+     */
+    public static PacketContainer metadata(int entityId, String legacyText, int interpolationTicks) {
+        List<WrappedDataValue> values = new ArrayList<>(4);
+        values.add(new WrappedDataValue(POSITION_INTERPOLATION_INDEX,
+                WrappedDataWatcher.Registry.get(Integer.class), interpolationTicks));
+        values.add(new WrappedDataValue(BILLBOARD_INDEX,
+                WrappedDataWatcher.Registry.get(Byte.class), BILLBOARD_CENTER));
+        values.add(textValue(legacyText));
+        values.add(new WrappedDataValue(STYLE_FLAGS_INDEX,
+                WrappedDataWatcher.Registry.get(Byte.class), STYLE_DEFAULT_BACKGROUND));
+        return metadataPacket(entityId, values);
+    }
+
+    /**
+     * Metadata that only replaces the text of an already spawned display
+     */
+    public static PacketContainer text(int entityId, String legacyText) {
+        return metadataPacket(entityId, List.of(textValue(legacyText)));
+    }
+
+    /**
+     * Relative move; each delta must satisfy {@link #fitsRelativeMove(long)}
+     */
+    public static PacketContainer move(int entityId, long dx, long dy, long dz) {
+        PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.REL_ENTITY_MOVE);
+        packet.getIntegers().write(0, entityId);
+        packet.getShorts().write(0, (short) dx).write(1, (short) dy).write(2, (short) dz);
+        packet.getBooleans().write(0, false);
+        return packet;
+    }
+
+    public static PacketContainer destroy(List<Integer> entityIds) {
+        PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+        packet.getIntLists().write(0, entityIds);
+        return packet;
+    }
+
+    /**
+     * Send a packet to one player, skipping ProtocolLib's outbound listeners.
+     *
+     * @throws Exception if the packet could not be written
+     */
+    public static void send(Player player, PacketContainer packet) throws Exception {
+        ProtocolLibrary.getProtocolManager().sendServerPacket(player, packet, false);
+    }
+
+    private static PacketContainer metadataPacket(int entityId, List<WrappedDataValue> values) {
+        PacketContainer packet = ProtocolLibrary.getProtocolManager().createPacket(PacketType.Play.Server.ENTITY_METADATA);
+        packet.getIntegers().write(0, entityId);
+        packet.getDataValueCollectionModifier().write(0, values);
+        return packet;
+    }
+
+    private static WrappedDataValue textValue(String legacyText) {
+        String json = GsonComponentSerializer.gson().serialize(LEGACY_SERIALIZER.deserialize(legacyText));
+        return new WrappedDataValue(TEXT_INDEX,
+                WrappedDataWatcher.Registry.getChatComponentSerializer(false),
+                WrappedChatComponent.fromJson(json).getHandle());
+    }
+}
@@ -3,6 +3,7 @@ package com.rednetty.server.core.mechanics.world.lootchests;
 import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
 import com.rednetty.server.YakRealms;
+import com.rednetty.server.core.mechanics.world.PlayerSpatialIndex;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -577,9 +578,7 @@ public class LootChestManager implements Listener {
 
             // Special mythic announcement
             if (vault.getTier() == ChestTier.TIER_6) {
-                vault.getLocation().getWorld().getPlayers().stream()
-                        .filter(p -> p.getLocation().distance(vault.getLocation()) <= 30)
-                        .filter(p -> !p.equals(player))
+                PlayerSpatialIndex.getInstance().playersWithin(vault.getLocation(), 30, p -> !p.equals(player))
                         .forEach(p -> {
                             p.sendMessage("§6⚡ §c" + player.getName() + " §7opened a §c§lMythic Vault§7!");
                             p.playSound(p.getLocation(), Sound.ENTITY_LIGHTNING_BOLT_THUNDER, 0.2f, 1.5f);
@@ -0,0 +1,219 @@
+package com.rednetty.server.core.mechanics.world.mobs;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import com.rednetty.server.YakRealms;
+import com.rednetty.server.core.mechanics.world.mobs.spawners.MobSpawner;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Horse;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Keeps {@link MobManager} and spawner mob registries in sync from entity lifecycle events
+ * instead of polling every tracked entity.
+ *
+ * <ul>
+ *   <li>An entity leaving its world (despawn, removal, chunk unload) is untracked on the spot.
+ *       Deaths are still handled by {@link MobManager#onEntityDeath}, which runs first.</li>
+ *   <li>Living entities that spawn or load from disk are checked once after a short grace
+ *       period; if no mob registered them by then they are untracked and killed, as the old
+ *       10-second world scan did.</li>
+ * </ul>
+ *
+ * <p>The full-world scans remain as a rare reconciliation job. Anything it finds is a
+ * divergence, i.e. an event the tracker missed, and is counted and logged.
+ */
+class MobLifecycleTracker implements Listener {
+
+    // Time a new entity has to get registered before it counts as untracked
+    private static final long UNTRACKED_GRACE_TICKS = 40L;
+    private static final long DEFAULT_RECONCILE_INTERVAL_SECONDS = 300L;
+
+    private final MobManager mobManager;
+    private final Logger logger;
+    private final long reconcileIntervalTicks;
+
+    // Entities waiting out the grace period, with the tick they were seen
+    private final Map<UUID, PendingEntity> pendingEntities = new LinkedHashMap<>();
+    private long currentTick = 0;
+
+    private BukkitTask pendingTask;
+    private BukkitTask reconcileTask;
+
+    // Event-driven work
+    private final AtomicLong removalsTracked = new AtomicLong();
+    private final AtomicLong untrackedKilled = new AtomicLong();
+
+    // Reconciliation findings, each one an event the tracker missed
+    private final AtomicLong reconcileRuns = new AtomicLong();
+    private final AtomicLong staleMobsFound = new AtomicLong();
+    private final AtomicLong staleSpawnerMobsFound = new AtomicLong();
+    private final AtomicLong untrackedMobsFound = new AtomicLong();
+    private volatile long lastReconcileDivergence = 0;
+
+    private static final class PendingEntity {
+        final LivingEntity entity;
+        final long seenTick;
+
+        PendingEntity(LivingEntity entity, long seenTick) {
+            this.entity = entity;
+            this.seenTick = seenTick;
+        }
+    }
+
+    MobLifecycleTracker(MobManager mobManager) {
+        this.mobManager = mobManager;
+        this.logger = YakRealms.getInstance().getLogger();
+        long seconds = YakRealms.getInstance().getConfig().getLong("mechanics.mobs.reconcile-interval-seconds",
+                DEFAULT_RECONCILE_INTERVAL_SECONDS);
+        this.reconcileIntervalTicks = Math.max(60L, seconds) * 20L;
+    }
+
+    void start() {
+        Bukkit.getPluginManager().registerEvents(this, YakRealms.getInstance());
+
+        pendingTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                currentTick += 20L;
+                try {
+                    processPendingEntities();
+                } catch (Exception e) {
+                    logger.warning("[MobLifecycleTracker] Pending entity check error: " + e.getMessage());
+                }
+            }
+        }.runTaskTimer(YakRealms.getInstance(), 20L, 20L);
+
+        reconcileTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                try {
+                    reconcile();
+                } catch (Exception e) {
+                    logger.warning("[MobLifecycleTracker] Reconciliation error: " + e.getMessage());
+                }
+            }
+        }.runTaskTimer(YakRealms.getInstance(), reconcileIntervalTicks, reconcileIntervalTicks);
+    }
+
+    void stop() {
+        HandlerList.unregisterAll(this);
+        if (pendingTask != null) pendingTask.cancel();
+        if (reconcileTask != null) reconcileTask.cancel();
+        pendingEntities.clear();
+    }
+
+    // ================ EVENTS ================
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        if (!(event.getEntity() instanceof LivingEntity entity) || entity instanceof Player) {
+            return;
+        }
+
+        pendingEntities.remove(entity.getUniqueId());
+        if (mobManager.handleEntityRemoved(entity)) {
+            removalsTracked.incrementAndGet();
+        }
+        MobSpawner.getInstance().handleMobRemoved(entity);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntitySpawn(EntitySpawnEvent event) {
+        if (event.getEntity() instanceof LivingEntity entity) {
+            watch(entity);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof LivingEntity living) {
+                watch(living);
+            }
+        }
+    }
+
+    private void watch(LivingEntity entity) {
+        if (isExempt(entity) || mobManager.isTrackedEntity(entity.getUniqueId())) {
+            return;
+        }
+        pendingEntities.putIfAbsent(entity.getUniqueId(), new PendingEntity(entity, currentTick));
+    }
+
+    /**
+     * Kill entities that are still unregistered once their grace period is over
+     */
+    private void processPendingEntities() {
+        Iterator<PendingEntity> iterator = pendingEntities.values().iterator();
+        while (iterator.hasNext()) {
+            PendingEntity pending = iterator.next();
+            if (currentTick - pending.seenTick < UNTRACKED_GRACE_TICKS) {
+                break; // Insertion order, so everything after this is newer
+            }
+            iterator.remove();
+
+            LivingEntity entity = pending.entity;
+            if (!entity.isValid() || mobManager.isTrackedEntity(entity.getUniqueId())) {
+                continue;
+            }
+            if (mobManager.killUntrackedEntity(entity)) {
+                untrackedKilled.incrementAndGet();
+            }
+        }
+    }
+
+    private static boolean isExempt(LivingEntity entity) {
+        return entity instanceof Player || entity instanceof Horse || entity instanceof ArmorStand;
+    }
+
+    // ================ RECONCILIATION ================
+
+    /**
+     * Run the old full scans and count whatever the events missed
+     */
+    void reconcile() {
+        if (mobManager.isShuttingDown()) {
+            return;
+        }
+
+        int staleMobs = mobManager.reconcileTrackedMobs();
+        int staleSpawnerMobs = MobSpawner.getInstance().reconcileSpawnerMobs();
+        int untrackedMobs = mobManager.killAllUntrackedMobs();
+        mobManager.performCleanup();
+
+        reconcileRuns.incrementAndGet();
+        staleMobsFound.addAndGet(staleMobs);
+        staleSpawnerMobsFound.addAndGet(staleSpawnerMobs);
+        untrackedMobsFound.addAndGet(untrackedMobs);
+        lastReconcileDivergence = staleMobs + staleSpawnerMobs + untrackedMobs;
+
+        if (lastReconcileDivergence > 0) {
+            logger.warning("[MobLifecycleTracker] Reconciliation found " + staleMobs + " stale tracked mobs, "
+                    + staleSpawnerMobs + " stale spawner mobs and " + untrackedMobs + " untracked mobs");
+        }
+    }
+
+    // ================ DIAGNOSTICS ================
+
+    String getDiagnosticInfo() {
+        return String.format("Lifecycle[removals=%d, untrackedKilled=%d, pending=%d, reconciles=%d, "
+                        + "divergence: stale=%d, staleSpawner=%d, untracked=%d, last=%d]",
+                removalsTracked.get(), untrackedKilled.get(), pendingEntities.size(), reconcileRuns.get(),
+                staleMobsFound.get(), staleSpawnerMobsFound.get(), untrackedMobsFound.get(), lastReconcileDivergence);
+    }
+}
@@ -10,6 +10,7 @@ import com.rednetty.server.core.mechanics.world.mobs.core.MobType;
 import com.rednetty.server.core.mechanics.world.mobs.core.WorldBoss;
 import com.rednetty.server.core.mechanics.world.mobs.spawners.MobSpawner;
 import com.rednetty.server.core.mechanics.world.mobs.spawners.SpawnerMetrics;
+import com.rednetty.server.core.mechanics.world.mobs.tasks.MobTickScheduler;
 import com.rednetty.server.core.mechanics.world.mobs.utils.MobUtils;
 import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.text.Component;
@@ -101,6 +102,7 @@ public class MobManager implements Listener {
 
     // ================ COMPONENTS ================
     private final MobSpawner spawner;
+    private final MobTickScheduler tickScheduler;
     private final Logger logger;
     private final YakRealms plugin;
     private WorldBoss activeWorldBoss;
@@ -118,8 +120,7 @@ public class MobManager implements Listener {
 
     // ================ TASKS ================
     private BukkitTask mainTask;
-    private BukkitTask cleanupTask;
-    private BukkitTask untrackedMobTask;
+    private final MobLifecycleTracker lifecycleTracker;
 
     // ================ STATISTICS ================
     private final AtomicLong totalMobsSpawned = new AtomicLong(0);
@@ -136,6 +137,12 @@ public class MobManager implements Listener {
 
         initializeMobTypeMapping();
         loadConfiguration();
+
+        this.tickScheduler = new MobTickScheduler(
+                plugin.getConfig().getInt("mechanics.mobs.tick-scheduler.buckets", MobTickScheduler.DEFAULT_BUCKETS),
+                plugin.getConfig().getDouble("mechanics.mobs.tick-scheduler.near-range", 32.0),
+                plugin.getConfig().getDouble("mechanics.mobs.tick-scheduler.budget-ms", 8.0));
+        this.lifecycleTracker = new MobLifecycleTracker(this);
     }
 
     public static MobManager getInstance() {
@@ -501,6 +508,7 @@ public class MobManager implements Listener {
             mobLock.writeLock().lock();
             try {
                 CustomMob removedMob = activeMobs.remove(entityId);
+                tickScheduler.unregister(entityId);
                 if (removedMob != null && removedMob.getUniqueMobId() != null) {
                     mobsByUniqueId.remove(removedMob.getUniqueMobId());
                 }
@@ -569,8 +577,7 @@ public class MobManager implements Listener {
 
             // Cancel all tasks first
             if (mainTask != null) mainTask.cancel();
-            if (cleanupTask != null) cleanupTask.cancel();
-            if (untrackedMobTask != null) untrackedMobTask.cancel();
+            lifecycleTracker.stop();
 
             // Comprehensive entity cleanup
             performShutdownCleanup();
@@ -692,7 +699,6 @@ public class MobManager implements Listener {
                     if (!isShuttingDown.get()) {
                         updateActiveMobs();
                         checkMobPositions();
-                        validateEntityTracking();
                     }
                 } catch (Exception e) {
                     if (!isShuttingDown.get()) {
@@ -703,37 +709,8 @@ public class MobManager implements Listener {
             }
         }.runTaskTimer(plugin, 20L, 1L); // Every tick for smooth updates
 
-        // Untracked mob cleanup task
-        untrackedMobTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                try {
-                    if (!isShuttingDown.get()) {
-                        killAllUntrackedMobs();
-                    }
-                } catch (Exception e) {
-                    if (!isShuttingDown.get()) {
-                        logWarning(Component.text("Untracked mob cleanup error: " + e.getMessage(), NamedTextColor.YELLOW));
-                    }
-                }
-            }
-        }.runTaskTimer(plugin, 200L, 200L); // Every 10 seconds
-
-        // Cleanup task
-        cleanupTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                try {
-                    if (!isShuttingDown.get()) {
-                        performCleanup();
-                    }
-                } catch (Exception e) {
-                    if (!isShuttingDown.get()) {
-                        logWarning(Component.text("Cleanup task error: " + e.getMessage(), NamedTextColor.YELLOW));
-                    }
-                }
-            }
-        }.runTaskTimer(plugin, 1200L, 1200L); // Every minute
+        // Tracking is kept in sync by entity events; the full scans only run as reconciliation
+        lifecycleTracker.start();
 
         logInfo(Component.text("Essential tasks started successfully", NamedTextColor.GREEN));
     }
@@ -741,38 +718,37 @@ public class MobManager implements Listener {
     // ================ ACTIVE MOBS MANAGEMENT ================
 
     /**
-     * Update active mobs with simplified system
+     * Update active mobs through the sharded tick scheduler - only mobs that are due this
+     * tick are visited, within the configured per-tick budget
      */
     private void updateActiveMobs() {
         if (activeWorldBoss != null && activeWorldBoss.isValid()) {
             activeWorldBoss.tick();
         }
 
-        mobLock.writeLock().lock();
-        try {
-            Iterator<Map.Entry<UUID, CustomMob>> iterator = activeMobs.entrySet().iterator();
-            while (iterator.hasNext()) {
-                Map.Entry<UUID, CustomMob> entry = iterator.next();
-                CustomMob mob = entry.getValue();
+        tickScheduler.tick(this::tickScheduledMob);
+    }
 
-                if (mob == null || !mob.isValid()) {
-                    if (mob != null) {
-                        mob.remove();  // Trigger hologram cleanup
-                        if (mob.getUniqueMobId() != null) {
-                            mobsByUniqueId.remove(mob.getUniqueMobId());
-                        }
-                    }
-                    CritManager.getInstance().removeCrit(entry.getKey());
-                    iterator.remove();
-                    continue;
-                }
+    private void tickScheduledMob(UUID entityId, CustomMob mob) {
+        if (!mob.isValid()) {
+            mob.remove();  // Trigger hologram cleanup
 
-                // Tick the mob
-                mob.tick();
+            mobLock.writeLock().lock();
+            try {
+                activeMobs.remove(entityId);
+                if (mob.getUniqueMobId() != null) {
+                    mobsByUniqueId.remove(mob.getUniqueMobId());
+                }
+            } finally {
+                mobLock.writeLock().unlock();
             }
-        } finally {
-            mobLock.writeLock().unlock();
+
+            tickScheduler.unregister(entityId);
+            CritManager.getInstance().removeCrit(entityId);
+            return;
         }
+
+        mob.tick();
     }
 
     // ================ MOB REGISTRATION ================
@@ -788,6 +764,7 @@ public class MobManager implements Listener {
         mobLock.writeLock().lock();
         try {
             activeMobs.put(entity.getUniqueId(), mob);
+            tickScheduler.register(entity.getUniqueId(), mob);
 
             if (mob.getUniqueMobId() != null) {
                 mobsByUniqueId.put(mob.getUniqueMobId(), mob);
@@ -820,6 +797,7 @@ public class MobManager implements Listener {
         mobLock.writeLock().lock();
         try {
             activeMobs.remove(entityId);
+            tickScheduler.unregister(entityId);
 
             if (mob.getUniqueMobId() != null) {
                 mobsByUniqueId.remove(mob.getUniqueMobId());
@@ -856,6 +834,9 @@ public class MobManager implements Listener {
             CustomMob mob = getCustomMob(entity);
             if (mob == null) return;
 
+            // Keep mobs under attack on the every-tick path
+            tickScheduler.promote(entity.getUniqueId());
+
             // Execute player detection behaviors
             MobBehaviorManager.getInstance().executePlayerDetected(mob, player);
 
@@ -1059,7 +1040,13 @@ public class MobManager implements Listener {
 
     // ================ ENTITY VALIDATION ================
 
-    private void validateEntityTracking() {
+    /**
+     * Drop tracked mobs whose entity is gone. Removals normally arrive through
+     * {@link MobLifecycleTracker}, so anything found here is a missed event.
+     *
+     * @return number of stale mobs removed
+     */
+    int reconcileTrackedMobs() {
         try {
             mobLock.readLock().lock();
             Set<UUID> invalidEntities = new HashSet<>();
@@ -1086,6 +1073,7 @@ public class MobManager implements Listener {
                             }
                         }
                         activeMobs.remove(invalidId);
+                        tickScheduler.unregister(invalidId);
                         CritManager.getInstance().removeCrit(invalidId);
                     }
                 } finally {
@@ -1093,11 +1081,41 @@ public class MobManager implements Listener {
                     mobLock.writeLock().unlock();
                 }
             }
+            return invalidEntities.size();
         } finally {
             mobLock.readLock().unlock();
         }
     }
 
+    /**
+     * Untrack a mob whose entity left its world (despawn, removal or chunk unload)
+     *
+     * @return true if the entity was a tracked mob
+     */
+    boolean handleEntityRemoved(LivingEntity entity) {
+        UUID entityId = entity.getUniqueId();
+        CustomMob mob = activeMobs.get(entityId);
+
+        mobTargets.remove(entity);
+        if (mob == null) {
+            damageContributions.remove(entityId);
+            processedEntities.remove(entityId);
+            return false;
+        }
+
+        mob.remove();  // Trigger hologram cleanup and unregister
+        removeFromAllTrackingSystems(entityId);
+        return true;
+    }
+
+    boolean isTrackedEntity(UUID entityId) {
+        return activeMobs.containsKey(entityId);
+    }
+
+    boolean isShuttingDown() {
+        return isShuttingDown.get();
+    }
+
     private boolean isEntityValidAndTracked(LivingEntity entity) {
         if (entity == null || !entity.isValid() || entity.isDead()) {
             return false;
@@ -1123,7 +1141,7 @@ public class MobManager implements Listener {
 
     // ================ CLEANUP OPERATIONS ================
 
-    private void performCleanup() {
+    void performCleanup() {
         try {
             cleanupDamageTracking();
             cleanupEntityMappings();
@@ -1720,10 +1738,16 @@ public class MobManager implements Listener {
         info.append("Total Mobs Removed: ").append(totalMobsRemoved.get()).append("\n");
         info.append("Duplicate Spawns Prevented: ").append(duplicateSpawnsPrevented.get()).append("\n");
         info.append("Active Spawning Operations: ").append(activeSpawning.size()).append("\n");
+        info.append(tickScheduler.getDiagnosticInfo());
+        info.append(lifecycleTracker.getDiagnosticInfo()).append("\n");
 
         return info.toString();
     }
 
+    public MobTickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
+
     public String getCleanupStatus() {
         return String.format("Enhanced Cleanup Status: shutting_down=%s, cleanup_completed=%s, active_mobs=%d, unique_tracked=%d",
                 isShuttingDown.get(), cleanupCompleted.get(), activeMobs.size(), mobsByUniqueId.size());
@@ -1741,6 +1765,7 @@ public class MobManager implements Listener {
         try {
             activeMobs.clear();
             mobsByUniqueId.clear();
+            tickScheduler.clear();
         } finally {
             mobLock.writeLock().unlock();
         }
@@ -1814,25 +1839,8 @@ public class MobManager implements Listener {
                     continue;
                 }
 
-                try {
-                    markEntityAsCleanupKill(entity);
-
-                    if (debug) {
-                        logInfo(Component.text("Killing untracked mob: " + entity.getType() +
-                                " at " + formatLocation(entity.getLocation()) +
-                                " ID: " + entity.getUniqueId().toString().substring(0, 8), NamedTextColor.GRAY));
-                    }
-
-                    entity.setHealth(0);
-                    entity.damage(999999);
-                    entity.remove();
+                if (killUntrackedEntity(entity)) {
                     killed++;
-
-                } catch (Exception e) {
-                    if (debug) {
-                        logWarning(Component.text("Failed to kill untracked entity " +
-                                entity.getType() + ": " + e.getMessage(), NamedTextColor.YELLOW));
-                    }
                 }
             }
 
@@ -1847,6 +1855,35 @@ public class MobManager implements Listener {
         return killed;
     }
 
+    /**
+     * Kill a single entity that no mob owns, without drops
+     *
+     * @return true if the entity was killed
+     */
+    boolean killUntrackedEntity(LivingEntity entity) {
+        try {
+            markEntityAsCleanupKill(entity);
+
+            if (debug) {
+                logInfo(Component.text("Killing untracked mob: " + entity.getType() +
+                        " at " + formatLocation(entity.getLocation()) +
+                        " ID: " + entity.getUniqueId().toString().substring(0, 8), NamedTextColor.GRAY));
+            }
+
+            entity.setHealth(0);
+            entity.damage(999999);
+            entity.remove();
+            return true;
+
+        } catch (Exception e) {
+            if (debug) {
+                logWarning(Component.text("Failed to kill untracked entity " +
+                        entity.getType() + ": " + e.getMessage(), NamedTextColor.YELLOW));
+            }
+            return false;
+        }
+    }
+
     // ================ MOB SPAWNING ================
 
     public LivingEntity spawnMobFromSpawner(Location location, String type, int tier, boolean elite) {
@@ -5,10 +5,13 @@ import com.rednetty.server.core.mechanics.item.drops.DropsManager;
 import com.rednetty.server.core.mechanics.item.drops.DropConfig;
 import com.rednetty.server.core.mechanics.world.mobs.CritManager;
 import com.rednetty.server.core.mechanics.world.mobs.MobManager;
+import com.rednetty.server.core.mechanics.world.PlayerSpatialIndex;
 import com.rednetty.server.core.mechanics.world.mobs.behaviors.MobBehaviorManager;
 import com.rednetty.server.core.mechanics.world.mobs.utils.MobUtils;
 import com.rednetty.server.core.mechanics.world.holograms.HologramManager;
+import com.rednetty.server.utils.async.EntityTaskDispatcher;
 import com.rednetty.server.utils.ui.GradientColors;
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -153,6 +156,12 @@ public class CustomMob {
     // Special modifiers
     @Getter public int lightningMultiplier = 0;
 
+    // Reused every tick so dispatch does not allocate
+    @Getter(AccessLevel.NONE)
+    private final EntityTaskDispatcher.Task tickCycle = this::runTickCycle;
+    @Getter(AccessLevel.NONE)
+    private final EntityTaskDispatcher.Task displayRefresh = this::updateDisplayElements;
+
     /**
      * Creates a new CustomMob instance with basic configuration.
      * 
@@ -260,7 +269,8 @@ public class CustomMob {
      * All operations within this method are designed to be thread-safe, with proper volatile
      * field access patterns and atomic state updates.
      * 
-     * @implNote Uses Paper's entity scheduling system when available for better performance
+     * @implNote Dispatches through {@link EntityTaskDispatcher}, which runs inline on the main
+     * thread and only uses the entity scheduler under regionized threading
      * @see #updateCombatState() for combat mechanics
      * @see #updateDisplayElements() for visual updates
      * @see #preventSunlightDamage() for environmental protection
@@ -275,41 +285,27 @@ public class CustomMob {
         }
 
         try {
-            // Use Paper's entity scheduler if available for better performance
-            boolean usedPaperScheduler = false;
-            try {
-                // Try to use Paper entity scheduler (may not exist in all versions)
-                Object scheduler = currentEntity.getClass().getMethod("getScheduler").invoke(currentEntity);
-                if (scheduler != null) {
-                    // Use reflection to call scheduler.run() safely
-                    scheduler.getClass().getMethod("run", 
-                        org.bukkit.plugin.Plugin.class, Runnable.class, Runnable.class)
-                        .invoke(scheduler, YakRealms.getInstance(), (Runnable) () -> {
-                            updateCombatState();
-                            updateDisplayElements();
-                            preventSunlightDamage();
-                            MobBehaviorManager.getInstance().executeTick(this);
-                        }, null);
-                    usedPaperScheduler = true;
-                }
-            } catch (Exception paperError) {
-                // Paper scheduler not available or failed, use fallback
-            }
-            
-            if (!usedPaperScheduler) {
-                // Fallback for non-Paper implementations or when Paper scheduler fails
-                updateCombatState();
-                updateDisplayElements();
-                preventSunlightDamage();
-                MobBehaviorManager.getInstance().executeTick(this);
-            }
-
+            EntityTaskDispatcher.dispatch(YakRealms.getInstance(), currentEntity, tickCycle);
         } catch (Exception e) {
             logError("Tick processing error for mob " + uniqueMobId, e);
             // Continue execution to prevent system-wide failures
         }
     }
 
+    /**
+     * One tick worth of mob state updates, run on the entity's owning thread.
+     */
+    private void runTickCycle() {
+        try {
+            updateCombatState();
+            updateDisplayElements();
+            preventSunlightDamage();
+            MobBehaviorManager.getInstance().executeTick(this);
+        } catch (Exception e) {
+            logError("Tick processing error for mob " + uniqueMobId, e);
+        }
+    }
+
     /**
      * Spawns the mob at the specified location using Paper 1.21.8 optimized entity creation.
      * 
@@ -671,24 +667,9 @@ public class CustomMob {
                 currentEntity.customName(displayComponent);
                 currentEntity.setCustomNameVisible(true);
                 
-                // Paper optimization: Batch entity updates when possible (with fallback)
-                try {
-                    Object scheduler = currentEntity.getClass().getMethod("getScheduler").invoke(currentEntity);
-                    if (scheduler != null) {
-                        scheduler.getClass().getMethod("run", 
-                            org.bukkit.plugin.Plugin.class, Runnable.class, Runnable.class)
-                            .invoke(scheduler, YakRealms.getInstance(), (Runnable) () -> {
-                                // Additional visual effects for special mob types
-                                if (isWorldBoss() && inCombat) {
-                                    applyWorldBossVisualEffects();
-                                }
-                            }, null);
-                    }
-                } catch (Exception paperError) {
-                    // Fallback: Apply effects immediately
-                    if (isWorldBoss() && inCombat) {
-                        applyWorldBossVisualEffects();
-                    }
+                // Additional visual effects for special mob types
+                if (isWorldBoss() && inCombat) {
+                    applyWorldBossVisualEffects();
                 }
             }
 
@@ -2012,18 +1993,7 @@ public class CustomMob {
      * Finds the nearest player to the mob within range
      */
     private Player findNearestPlayerForMob(LivingEntity mobEntity, double maxDistance) {
-        Player nearest = null;
-        double nearestDistance = maxDistance;
-        
-        for (Player player : mobEntity.getWorld().getPlayers()) {
-            double distance = player.getLocation().distance(mobEntity.getLocation());
-            if (distance < nearestDistance) {
-                nearest = player;
-                nearestDistance = distance;
-            }
-        }
-        
-        return nearest;
+        return PlayerSpatialIndex.getInstance().nearest(mobEntity.getLocation(), maxDistance, null);
     }
 
     /**
@@ -2616,30 +2586,15 @@ public class CustomMob {
      * on the main thread if called from an async context. Uses Paper 1.21.8's
      * improved entity scheduling when available.
      * 
-     * @implNote Prefers Paper's entity scheduler over global scheduler for better performance
+     * @implNote Runs inline on the main thread, otherwise on the entity's own scheduler
      */
     public void refreshHealthBar() {
         if (!isValid()) return;
         
         final LivingEntity currentEntity = entity;
         if (currentEntity != null) {
-            // Try to use Paper's entity-specific scheduler for better performance
-            boolean usedPaperScheduler = false;
-            try {
-                Object scheduler = currentEntity.getClass().getMethod("getScheduler").invoke(currentEntity);
-                if (scheduler != null) {
-                    scheduler.getClass().getMethod("run", 
-                        org.bukkit.plugin.Plugin.class, Runnable.class, Runnable.class)
-                        .invoke(scheduler, YakRealms.getInstance(), 
-                            (Runnable) this::updateDisplayElements, null);
-                    usedPaperScheduler = true;
-                }
-            } catch (Exception paperError) {
-                // Paper scheduler not available or failed
-            }
-            
-            if (!usedPaperScheduler) {
-                // Fallback to global scheduler
+            if (!EntityTaskDispatcher.dispatch(YakRealms.getInstance(), currentEntity, displayRefresh)) {
+                // Entity retired from its scheduler - fall back to the global scheduler
                 Bukkit.getScheduler().runTask(YakRealms.getInstance(), this::updateDisplayElements);
             }
         }
@@ -17,6 +17,7 @@ import org.bukkit.scheduler.BukkitTask;
 import java.io.File;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 /**
@@ -31,6 +32,7 @@ public class MobSpawner implements Listener {
     private final Map<String, Set<String>> spawnerGroups = new HashMap<>();
     private final Map<String, String> templates = new HashMap<>();
     private final Map<String, SpawnerCreationSession> creationSessions = new HashMap<>();
+    private final SpawnerGrid spawnerGrid = new SpawnerGrid();
 
     // ================ CONFIGURATION ================
     private boolean enabled = true;
@@ -51,6 +53,13 @@ public class MobSpawner implements Listener {
     private BukkitTask mainTask;
     private BukkitTask saveTask;
 
+    // ================ METRICS ================
+    private volatile int activeSpawnerCount = 0;
+    private volatile int dormantSpawnerCount = 0;
+    private volatile long lastProcessNanos = 0;
+    private final AtomicLong totalProcessNanos = new AtomicLong();
+    private final AtomicLong processRuns = new AtomicLong();
+
     private final Logger logger;
     private final YakRealms plugin;
 
@@ -262,6 +271,7 @@ public class MobSpawner implements Listener {
             // Clear existing data
             spawners.clear();
             locationToId.clear();
+            spawnerGrid.clear();
             spawnerGroups.clear();
 
             // Reset flags
@@ -293,6 +303,8 @@ public class MobSpawner implements Listener {
                 try {
                     if (spawnersLoaded) {
                         saveSpawners();
+                        // Pick up detection range changes made through spawner properties
+                        spawnerGrid.recomputeMaxDetectionRange();
                     }
                 } catch (Exception e) {
                     logger.warning("§c[MobSpawner] Save error: " + e.getMessage());
@@ -362,28 +374,41 @@ public class MobSpawner implements Listener {
 
     /**
      *  spawner processing with better error handling
+     * Only spawners within detection range of a player are ticked; the rest stay dormant and
+     * cost nothing until someone walks into range.
      */
     private void processAllSpawners() {
         if (!enabled || !spawnersLoaded) return;
 
+        long startNanos = System.nanoTime();
         int processedCount = 0;
         int errorCount = 0;
 
-        for (Map.Entry<String, Spawner> entry : spawners.entrySet()) {
-            String spawnerId = entry.getKey();
-            Spawner spawnerInstance = entry.getValue();
+        Set<Spawner> activeSpawners = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (player.isValid()) {
+                spawnerGrid.collectActivated(player.getLocation(), activeSpawners);
+            }
+        }
 
+        for (Spawner spawnerInstance : activeSpawners) {
             try {
                 spawnerInstance.tick();
                 processedCount++;
 
             } catch (Exception e) {
                 errorCount++;
-                logger.warning("§c[MobSpawner] Spawner " + spawnerId + " error: " + e.getMessage());
+                logger.warning("§c[MobSpawner] Spawner " + spawnerInstance.getUniqueId() + " error: " + e.getMessage());
                 if (debug) e.printStackTrace();
             }
         }
 
+        activeSpawnerCount = activeSpawners.size();
+        dormantSpawnerCount = Math.max(0, spawners.size() - activeSpawners.size());
+        lastProcessNanos = System.nanoTime() - startNanos;
+        totalProcessNanos.addAndGet(lastProcessNanos);
+        processRuns.incrementAndGet();
+
         if (debug && (processedCount > 0 || errorCount > 0)) {
             logger.fine("§6[MobSpawner] §7Processed " + processedCount + " spawners, " + errorCount + " errors");
         }
@@ -398,6 +423,7 @@ public class MobSpawner implements Listener {
         try {
             spawners.clear();
             locationToId.clear();
+            spawnerGrid.clear();
             spawnerGroups.clear();
 
             File file = new File(plugin.getDataFolder(), "spawners.yml");
@@ -492,6 +518,7 @@ public class MobSpawner implements Listener {
             String spawnerId = generateSpawnerId(location);
             spawners.put(spawnerId, spawner);
             locationToId.put(location, spawnerId);
+            spawnerGrid.add(spawnerId, spawner, location);
 
 
             setSpawnerBlockSafe(location.getBlock(), visible);
@@ -717,6 +744,7 @@ public class MobSpawner implements Listener {
             Spawner spawner = new Spawner(normalizedLoc, data.trim(), defaultVisibility);
             spawners.put(spawnerId, spawner);
             locationToId.put(normalizedLoc, spawnerId);
+            spawnerGrid.add(spawnerId, spawner, normalizedLoc);
 
             // Set the spawner block safely
             Block block = location.getBlock();
@@ -779,6 +807,7 @@ public class MobSpawner implements Listener {
         if (spawner != null) {
             spawner.removeHologram();
             spawners.remove(spawnerId);
+            spawnerGrid.remove(spawnerId);
 
             // Remove from location mapping
             locationToId.entrySet().removeIf(entry -> entry.getValue().equals(spawnerId));
@@ -938,6 +967,41 @@ public class MobSpawner implements Listener {
         }
     }
 
+    /**
+     * Release a mob that left the world without dying from the spawner that owns it
+     */
+    public void handleMobRemoved(LivingEntity entity) {
+        if (entity == null || !entity.hasMetadata("spawner")) {
+            return;
+        }
+
+        try {
+            Spawner owner = spawners.get(entity.getMetadata("spawner").get(0).asString());
+            if (owner != null && owner.forgetMob(entity.getUniqueId()) && debug) {
+                logger.fine("§6[MobSpawner] §7Released removed mob " + entity.getUniqueId() + " from its spawner");
+            }
+        } catch (Exception e) {
+            logger.warning("§c[MobSpawner] Error releasing removed mob: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check every spawner's mob list against the world
+     *
+     * @return number of stale mobs dropped across all spawners
+     */
+    public int reconcileSpawnerMobs() {
+        int removed = 0;
+        for (Spawner spawner : spawners.values()) {
+            try {
+                removed += spawner.reconcileMobs();
+            } catch (Exception e) {
+                logger.warning("§c[MobSpawner] Error reconciling spawner mobs: " + e.getMessage());
+            }
+        }
+        return removed;
+    }
+
     // ================ CREATION SESSIONS ================
 
     public void startCreationSession(Player player, Location location) {
@@ -1115,6 +1179,7 @@ public class MobSpawner implements Listener {
                             session.applyToProperties(props);
                             spawner.setProperties(props);
                             spawner.setDisplayMode(session.getDisplayMode());
+                            spawnerGrid.recomputeMaxDetectionRange();
 
                             // Update block visibility if changed
                             setSpawnerBlockSafe(location.getBlock(), spawner.isVisible());
@@ -1167,6 +1232,10 @@ public class MobSpawner implements Listener {
         status.append("Load Attempts: ").append(loadAttempts).append("/").append(MAX_LOAD_ATTEMPTS).append("\n");
         status.append("Enabled: ").append(enabled).append("\n");
         status.append("Active Spawners: ").append(spawners.size()).append("\n");
+        status.append("Awake/Dormant: ").append(activeSpawnerCount).append("/").append(dormantSpawnerCount).append("\n");
+        long runs = processRuns.get();
+        status.append(String.format("Spawner Tick: last=%.3fms, avg=%.3fms%n",
+                lastProcessNanos / 1_000_000.0, runs == 0 ? 0.0 : totalProcessNanos.get() / 1_000_000.0 / runs));
         status.append("Active Tasks: Main=").append(mainTask != null && !mainTask.isCancelled())
                 .append(", Save=").append(saveTask != null && !saveTask.isCancelled()).append("\n");
         return status.toString();
@@ -1299,36 +1368,22 @@ public class MobSpawner implements Listener {
     }
 
     public List<Location> findSpawnersInRadius(Location center, double radius) {
-        List<Location> result = new ArrayList<>();
-        if (center == null) return result;
-
-        double radiusSquared = radius * radius;
-        for (Location loc : locationToId.keySet()) {
-            if (loc.getWorld().equals(center.getWorld()) &&
-                    loc.distanceSquared(center) <= radiusSquared) {
-                result.add(loc);
-            }
-        }
-        return result;
+        if (center == null) return new ArrayList<>();
+        return spawnerGrid.within(center, radius);
     }
 
     public Location findNearestSpawner(Location location, double maxDistance) {
         if (location == null) return null;
+        return spawnerGrid.nearest(location, maxDistance);
+    }
 
-        double closestDistSq = maxDistance * maxDistance;
-        Location closest = null;
+    public int getActiveSpawnerCount() { return activeSpawnerCount; }
+    public int getDormantSpawnerCount() { return dormantSpawnerCount; }
 
-        for (Location spawnerLoc : locationToId.keySet()) {
-            if (spawnerLoc.getWorld().equals(location.getWorld())) {
-                double distSq = spawnerLoc.distanceSquared(location);
-                if (distSq < closestDistSq) {
-                    closestDistSq = distSq;
-                    closest = spawnerLoc;
-                }
-            }
-        }
-        return closest;
-    }
+    /**
+     * Time spent in the last spawner processing run, in nanoseconds
+     */
+    public long getLastProcessNanos() { return lastProcessNanos; }
 
     /**
      * Get spawner debug info for debugging commands
@@ -1394,6 +1449,7 @@ public class MobSpawner implements Listener {
             // Clear collections
             spawners.clear();
             locationToId.clear();
+            spawnerGrid.clear();
             spawnerGroups.clear();
             creationSessions.clear();
 
@@ -4,6 +4,7 @@ import com.rednetty.server.YakRealms;
 import com.rednetty.server.core.mechanics.world.mobs.MobManager;
 import com.rednetty.server.core.mechanics.world.mobs.SpawnerProperties;
 import com.rednetty.server.core.mechanics.world.mobs.utils.MobUtils;
+import com.rednetty.server.core.mechanics.world.PlayerSpatialIndex;
 import com.rednetty.server.core.mechanics.world.holograms.HologramManager;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -55,7 +56,7 @@ public class Spawner {
     private static final long HOLOGRAM_UPDATE_INTERVAL = 5000; // 5 seconds between hologram updates
     private static final long MIN_RESPAWN_TIME = 30000; // 30 seconds minimum respawn time
     private static final long PLAYER_CHECK_INTERVAL = 2000; // 2 seconds between player checks
-    private static final long VALIDATION_INTERVAL = 10000; // 10 seconds between validations
+    private static final long VALIDATION_INTERVAL = 10000; // 10 seconds between housekeeping passes
 
     //  performance tracking
     private int totalSpawnAttempts = 0;
@@ -289,9 +290,9 @@ public class Spawner {
         lastProcessTime = currentTime;
 
         try {
-            // Step 1: Validate and clean up invalid mobs - MAIN THREAD
+            // Step 1: Housekeeping - removed mobs are dropped by lifecycle events, see forgetMob
             if (currentTime - lastValidationTime > VALIDATION_INTERVAL) {
-                validateAndCleanupMobs();
+                cleanupExpiredRespawns();
                 cleanupFailureTracking(currentTime);
                 lastValidationTime = currentTime;
             }
@@ -320,18 +321,21 @@ public class Spawner {
     }
 
     /**
-     *   mob validation and cleanup with MAIN THREAD SAFETY
+     * Drop tracked mobs whose entity is gone. Removals normally arrive through
+     * {@link #forgetMob(UUID)}, so this only runs as a periodic reconciliation.
+     *
+     * @return number of stale mobs removed
      */
-    private void validateAndCleanupMobs() {
+    public int reconcileMobs() {
         // CRITICAL: Verify we're on the main thread for entity operations
         if (!Bukkit.isPrimaryThread()) {
-            logger.severe("[Spawner] CRITICAL: validateAndCleanupMobs called from async thread!");
-            return;
+            logger.severe("[Spawner] CRITICAL: reconcileMobs called from async thread!");
+            return 0;
         }
 
-        if (activeMobs.isEmpty()) return;
+        if (activeMobs.isEmpty()) return 0;
 
-        boolean changed = false;
+        int removed = 0;
         Iterator<Map.Entry<UUID, SpawnedMob>> iterator = activeMobs.entrySet().iterator();
 
         while (iterator.hasNext()) {
@@ -342,7 +346,7 @@ public class Spawner {
             Entity entity = Bukkit.getEntity(uuid);
             if (entity == null || !entity.isValid() || entity.isDead()) {
                 iterator.remove();
-                changed = true;
+                removed++;
 
                 if (isDebugMode()) {
                     logger.info("[Spawner] Removed invalid mob: " + uuid.toString().substring(0, 8));
@@ -350,7 +354,27 @@ public class Spawner {
             }
         }
 
-        // Clean up expired respawn entries
+        if (removed > 0) {
+            needsHologramUpdate = true;
+        }
+        return removed;
+    }
+
+    /**
+     * Stop tracking a mob that left the world without dying (despawn, removal, chunk unload).
+     * No respawn is queued; the slot is refilled by the normal spawn pass.
+     *
+     * @return true if the mob belonged to this spawner
+     */
+    public boolean forgetMob(UUID entityId) {
+        if (activeMobs.remove(entityId) == null) {
+            return false;
+        }
+        needsHologramUpdate = true;
+        return true;
+    }
+
+    private void cleanupExpiredRespawns() {
         respawnQueue.entrySet().removeIf(entry -> {
             if (entry.getValue().isExpired()) {
                 if (isDebugMode()) {
@@ -360,10 +384,6 @@ public class Spawner {
             }
             return false;
         });
-
-        if (changed) {
-            needsHologramUpdate = true;
-        }
     }
 
     /**
@@ -817,11 +837,16 @@ public class Spawner {
      * Check if a player is nearby
      */
     private boolean isPlayerNearby() {
-        double range = properties.getPlayerDetectionRangeOverride() > 0 ?
+        return PlayerSpatialIndex.getInstance().anyWithin(location, getPlayerDetectionRange());
+    }
+
+    /**
+     * Distance within which a player keeps this spawner active
+     */
+    public double getPlayerDetectionRange() {
+        return properties.getPlayerDetectionRangeOverride() > 0 ?
                 properties.getPlayerDetectionRangeOverride() :
                 mobManager.getPlayerDetectionRange();
-
-        return MobUtils.isPlayerNearby(location, range);
     }
 
     /**
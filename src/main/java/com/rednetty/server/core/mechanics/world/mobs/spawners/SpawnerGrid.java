@@ -0,0 +1,229 @@
+package com.rednetty.server.core.mechanics.world.mobs.spawners;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Spawners bucketed by world and chunk.
+ *
+ * <p>{@link MobSpawner} uses it to find the spawners a player can activate by looking only at
+ * the chunks around each player, so spawners with nobody nearby are never visited. Radius and
+ * nearest lookups visit the cells around the query point instead of every spawner.
+ *
+ * <p>Methods are synchronized; lookups may come from outside the spawner task.
+ */
+class SpawnerGrid {
+
+    private static final class Entry {
+        final String id;
+        final Spawner spawner;
+        final Location location;
+        final long chunkKey;
+
+        Entry(String id, Spawner spawner, Location location) {
+            this.id = id;
+            this.spawner = spawner;
+            this.location = location;
+            this.chunkKey = chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+    }
+
+    // World -> chunk key -> spawners in that chunk
+    private final Map<UUID, Map<Long, List<Entry>>> cells = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    // Largest detection range of any indexed spawner, the reach of an activation query
+    private double maxDetectionRange = 0;
+
+    synchronized void add(String id, Spawner spawner, Location location) {
+        if (location.getWorld() == null) {
+            return;
+        }
+        removeEntry(id);
+
+        Entry entry = new Entry(id, spawner, location);
+        entries.put(id, entry);
+        cells.computeIfAbsent(location.getWorld().getUID(), worldId -> new HashMap<>())
+                .computeIfAbsent(entry.chunkKey, key -> new ArrayList<>(2))
+                .add(entry);
+        maxDetectionRange = Math.max(maxDetectionRange, spawner.getPlayerDetectionRange());
+    }
+
+    synchronized void remove(String id) {
+        if (removeEntry(id)) {
+            recomputeMaxDetectionRange();
+        }
+    }
+
+    synchronized void clear() {
+        cells.clear();
+        entries.clear();
+        maxDetectionRange = 0;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Re-read every spawner's detection range, after properties may have changed
+     */
+    synchronized void recomputeMaxDetectionRange() {
+        double max = 0;
+        for (Entry entry : entries.values()) {
+            max = Math.max(max, entry.spawner.getPlayerDetectionRange());
+        }
+        maxDetectionRange = max;
+    }
+
+    private boolean removeEntry(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+
+        Map<Long, List<Entry>> grid = cells.get(entry.location.getWorld().getUID());
+        if (grid != null) {
+            List<Entry> cell = grid.get(entry.chunkKey);
+            if (cell != null) {
+                cell.remove(entry);
+                if (cell.isEmpty()) {
+                    grid.remove(entry.chunkKey);
+                }
+            }
+        }
+        return true;
+    }
+
+    // ================ QUERIES ================
+
+    /**
+     * Add every spawner whose own detection range reaches {@code playerLocation}.
+     */
+    synchronized void collectActivated(Location playerLocation, Set<Spawner> out) {
+        Map<Long, List<Entry>> grid = gridOf(playerLocation);
+        if (grid == null) {
+            return;
+        }
+
+        forEachInSquare(grid, playerLocation, maxDetectionRange, entry -> {
+            double range = entry.spawner.getPlayerDetectionRange();
+            if (distanceSquared(entry.location, playerLocation) <= range * range) {
+                out.add(entry.spawner);
+            }
+        });
+    }
+
+    synchronized List<Location> within(Location center, double radius) {
+        List<Location> result = new ArrayList<>();
+        Map<Long, List<Entry>> grid = gridOf(center);
+        if (grid == null) {
+            return result;
+        }
+
+        double radiusSquared = radius * radius;
+        forEachInSquare(grid, center, radius, entry -> {
+            if (distanceSquared(entry.location, center) <= radiusSquared) {
+                result.add(entry.location);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Closest spawner strictly within {@code maxDistance}, searching rings of chunks outward
+     * and stopping once no unvisited chunk can hold anything closer.
+     */
+    synchronized Location nearest(Location center, double maxDistance) {
+        Map<Long, List<Entry>> grid = gridOf(center);
+        if (grid == null || grid.isEmpty()) {
+            return null;
+        }
+
+        int centerX = floorToChunk(center.getX());
+        int centerZ = floorToChunk(center.getZ());
+        int maxRing = (int) Math.ceil(maxDistance / 16.0) + 1;
+
+        double closestSquared = maxDistance * maxDistance;
+        Location closest = null;
+        int visitedCells = 0;
+
+        for (int ring = 0; ring <= maxRing && visitedCells < grid.size(); ring++) {
+            for (int chunkX = centerX - ring; chunkX <= centerX + ring; chunkX++) {
+                for (int chunkZ = centerZ - ring; chunkZ <= centerZ + ring; chunkZ++) {
+                    if (Math.max(Math.abs(chunkX - centerX), Math.abs(chunkZ - centerZ)) != ring) {
+                        continue; // Inner rings are already done
+                    }
+                    List<Entry> cell = grid.get(chunkKey(chunkX, chunkZ));
+                    if (cell == null) {
+                        continue;
+                    }
+                    visitedCells++;
+                    for (Entry entry : cell) {
+                        double distance = distanceSquared(entry.location, center);
+                        if (distance < closestSquared) {
+                            closestSquared = distance;
+                            closest = entry.location;
+                        }
+                    }
+                }
+            }
+
+            // Everything in the next ring is at least this far away horizontally
+            double ringDistance = ring * 16.0;
+            if (closest != null && closestSquared <= ringDistance * ringDistance) {
+                break;
+            }
+        }
+        return closest;
+    }
+
+    private Map<Long, List<Entry>> gridOf(Location location) {
+        World world = location == null ? null : location.getWorld();
+        return world == null ? null : cells.get(world.getUID());
+    }
+
+    private static void forEachInSquare(Map<Long, List<Entry>> grid, Location center, double radius,
+                                        Consumer<Entry> action) {
+        int minChunkX = floorToChunk(center.getX() - radius);
+        int maxChunkX = floorToChunk(center.getX() + radius);
+        int minChunkZ = floorToChunk(center.getZ() - radius);
+        int maxChunkZ = floorToChunk(center.getZ() + radius);
+
+        long cellCount = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        if (cellCount > grid.size()) {
+            // Cheaper to walk the occupied cells than the empty ones in range
+            for (List<Entry> cell : grid.values()) {
+                cell.forEach(action);
+            }
+            return;
+        }
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                List<Entry> cell = grid.get(chunkKey(chunkX, chunkZ));
+                if (cell != null) {
+                    cell.forEach(action);
+                }
+            }
+        }
+    }
+
+    private static double distanceSquared(Location a, Location b) {
+        double dx = a.getX() - b.getX();
+        double dy = a.getY() - b.getY();
+        double dz = a.getZ() - b.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static int floorToChunk(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> 4;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,378 @@
+package com.rednetty.server.core.mechanics.world.mobs.tasks;
+
+import com.rednetty.server.core.mechanics.world.mobs.core.CustomMob;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Sharded, budgeted tick scheduler for custom mobs.
+ *
+ * <p>Mobs are hashed into a fixed number of buckets. Every server tick one bucket is
+ * reclassified against the players in its world, so each mob's tick rate is refreshed
+ * once per rotation without scanning every mob every tick:
+ * <ul>
+ *   <li>{@link Activity#NEAR} - a player is within the near range or the mob is in combat; ticks every tick</li>
+ *   <li>{@link Activity#FAR} - players are in the world but none are close; ticks once per bucket rotation</li>
+ *   <li>{@link Activity#DORMANT} - chunk unloaded or no players in the world; does not tick</li>
+ * </ul>
+ *
+ * <p>Due mobs are queued and drained until the per-tick time budget is spent. Anything left
+ * over is carried into the next tick ahead of newly due work, so a spike never stalls the
+ * server and no mob is starved. Invalid or dead mobs are handed to the ticker on their next
+ * reclassification whatever their tier, so it can remove them.
+ * Main thread only, except for {@link #register}/{@link #unregister}.
+ */
+public class MobTickScheduler {
+
+    public static final int DEFAULT_BUCKETS = 20;
+    public static final int MIN_BUCKETS = 10;
+    public static final int MAX_BUCKETS = 20;
+
+    public enum Activity {
+        NEAR,
+        FAR,
+        DORMANT
+    }
+
+    /**
+     * Per-mob scheduling state
+     */
+    private static final class Slot {
+        final UUID entityId;
+        final CustomMob mob;
+        final int bucket;
+        volatile Activity activity = Activity.NEAR;
+        volatile boolean removed = false;
+        boolean queued = false;
+
+        Slot(UUID entityId, CustomMob mob, int bucket) {
+            this.entityId = entityId;
+            this.mob = mob;
+            this.bucket = bucket;
+        }
+    }
+
+    /**
+     * Timing counters for a single bucket
+     */
+    public static final class BucketMetrics {
+        private long ticks = 0;
+        private long totalNanos = 0;
+        private long maxNanos = 0;
+        private long lastRotationNanos = 0;
+        private long currentRotationNanos = 0;
+        private int near = 0;
+        private int far = 0;
+        private int dormant = 0;
+
+        void record(long nanos) {
+            ticks++;
+            totalNanos += nanos;
+            currentRotationNanos += nanos;
+            if (nanos > maxNanos) {
+                maxNanos = nanos;
+            }
+        }
+
+        void rotate() {
+            lastRotationNanos = currentRotationNanos;
+            currentRotationNanos = 0;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        public double getAverageMicros() {
+            return ticks == 0 ? 0.0 : (totalNanos / (double) ticks) / 1000.0;
+        }
+
+        public double getMaxMicros() {
+            return maxNanos / 1000.0;
+        }
+
+        public double getLastRotationMillis() {
+            return lastRotationNanos / 1_000_000.0;
+        }
+
+        public int getNear() {
+            return near;
+        }
+
+        public int getFar() {
+            return far;
+        }
+
+        public int getDormant() {
+            return dormant;
+        }
+    }
+
+    private final int bucketCount;
+    private final double nearRangeSquared;
+    private final long budgetNanos;
+
+    private final Map<UUID, Slot> slots = new ConcurrentHashMap<>();
+    private final List<Set<Slot>> buckets;
+    private final Set<Slot> nearSlots = ConcurrentHashMap.newKeySet();
+    private final BucketMetrics[] metrics;
+    private final ArrayDeque<Slot> pending = new ArrayDeque<>();
+    private final Location scratchMob = new Location(null, 0, 0, 0);
+    private final Location scratchPlayer = new Location(null, 0, 0, 0);
+    // Players per world, fetched once per reclassification pass
+    private final Map<World, List<Player>> worldPlayers = new HashMap<>();
+
+    private long currentTick = 0;
+    private long carriedOver = 0;
+    private long budgetOverruns = 0;
+    private long lastTickNanos = 0;
+    private int lastTicked = 0;
+
+    /**
+     * @param bucketCount number of shards; also the tick interval for far mobs (clamped to 10-20)
+     * @param nearRange   radius in blocks within which a player keeps a mob on the every-tick path
+     * @param budgetMillis per-tick time budget for mob ticking
+     */
+    public MobTickScheduler(int bucketCount, double nearRange, double budgetMillis) {
+        this.bucketCount = Math.max(MIN_BUCKETS, Math.min(MAX_BUCKETS, bucketCount));
+        this.nearRangeSquared = nearRange * nearRange;
+        this.budgetNanos = (long) (Math.max(0.5, budgetMillis) * 1_000_000L);
+
+        List<Set<Slot>> created = new ArrayList<>(this.bucketCount);
+        this.metrics = new BucketMetrics[this.bucketCount];
+        for (int i = 0; i < this.bucketCount; i++) {
+            created.add(ConcurrentHashMap.newKeySet());
+            metrics[i] = new BucketMetrics();
+        }
+        this.buckets = Collections.unmodifiableList(created);
+    }
+
+    // ================ REGISTRATION ================
+
+    public void register(UUID entityId, CustomMob mob) {
+        if (entityId == null || mob == null) return;
+
+        Slot slot = new Slot(entityId, mob, Math.floorMod(entityId.hashCode(), bucketCount));
+        Slot previous = slots.put(entityId, slot);
+        if (previous != null) {
+            previous.removed = true;
+            buckets.get(previous.bucket).remove(previous);
+            nearSlots.remove(previous);
+        }
+        buckets.get(slot.bucket).add(slot);
+        nearSlots.add(slot);
+    }
+
+    public void unregister(UUID entityId) {
+        if (entityId == null) return;
+
+        Slot slot = slots.remove(entityId);
+        if (slot != null) {
+            slot.removed = true;
+            buckets.get(slot.bucket).remove(slot);
+            nearSlots.remove(slot);
+        }
+    }
+
+    /**
+     * Move a mob onto the every-tick path right away, e.g. when it is hit.
+     * It stays there until its bucket is next reclassified.
+     */
+    public void promote(UUID entityId) {
+        Slot slot = entityId == null ? null : slots.get(entityId);
+        if (slot != null && !slot.removed) {
+            slot.activity = Activity.NEAR;
+            nearSlots.add(slot);
+        }
+    }
+
+    public void clear() {
+        for (Slot slot : slots.values()) {
+            slot.removed = true;
+        }
+        slots.clear();
+        for (Set<Slot> bucket : buckets) {
+            bucket.clear();
+        }
+        nearSlots.clear();
+        pending.clear();
+    }
+
+    // ================ TICKING ================
+
+    /**
+     * Advance one server tick: reclassify the rotating bucket, queue due mobs and drain
+     * the queue within the time budget.
+     *
+     * @param ticker invoked with the entity id and mob for every mob that is due this tick
+     */
+    public void tick(BiConsumer<UUID, CustomMob> ticker) {
+        long start = System.nanoTime();
+        int bucketIndex = (int) (currentTick++ % bucketCount);
+
+        if (!pending.isEmpty()) {
+            carriedOver += pending.size();
+        }
+
+        reclassify(bucketIndex);
+
+        for (Slot slot : nearSlots) {
+            enqueue(slot);
+        }
+        for (Slot slot : buckets.get(bucketIndex)) {
+            if (slot.activity == Activity.FAR) {
+                enqueue(slot);
+            }
+        }
+
+        int ticked = 0;
+        long deadline = start + budgetNanos;
+        while (!pending.isEmpty()) {
+            long now = System.nanoTime();
+            if (now >= deadline) {
+                budgetOverruns++;
+                break;
+            }
+
+            Slot slot = pending.pollFirst();
+            slot.queued = false;
+            if (slot.removed) continue;
+
+            ticker.accept(slot.entityId, slot.mob);
+            metrics[slot.bucket].record(System.nanoTime() - now);
+            ticked++;
+        }
+
+        lastTicked = ticked;
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    private void enqueue(Slot slot) {
+        if (slot.queued || slot.removed) return;
+        slot.queued = true;
+        pending.addLast(slot);
+    }
+
+    private void reclassify(int bucketIndex) {
+        BucketMetrics bucketMetrics = metrics[bucketIndex];
+        bucketMetrics.rotate();
+
+        int near = 0;
+        int far = 0;
+        int dormant = 0;
+        worldPlayers.clear();
+        for (Slot slot : buckets.get(bucketIndex)) {
+            Activity activity = classify(slot.mob);
+            slot.activity = activity;
+            if (activity == Activity.NEAR) {
+                nearSlots.add(slot);
+            } else {
+                nearSlots.remove(slot);
+            }
+            switch (activity) {
+                case NEAR -> near++;
+                case FAR -> far++;
+                default -> dormant++;
+            }
+        }
+
+        worldPlayers.clear();
+
+        bucketMetrics.near = near;
+        bucketMetrics.far = far;
+        bucketMetrics.dormant = dormant;
+    }
+
+    private Activity classify(CustomMob mob) {
+        LivingEntity entity = mob.getEntity();
+        if (entity == null || !mob.isValid()) {
+            // Let the ticker see it so invalid mobs are cleaned up, even in unloaded chunks
+            return Activity.FAR;
+        }
+
+        World world = entity.getWorld();
+        Location location = entity.getLocation(scratchMob);
+        if (!world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+            return Activity.DORMANT;
+        }
+
+        List<Player> players = worldPlayers.computeIfAbsent(world, World::getPlayers);
+        if (players.isEmpty()) {
+            return Activity.DORMANT;
+        }
+
+        if (mob.isInCombat()) {
+            return Activity.NEAR;
+        }
+
+        for (Player player : players) {
+            if (player.getLocation(scratchPlayer).distanceSquared(location) <= nearRangeSquared) {
+                return Activity.NEAR;
+            }
+        }
+
+        return Activity.FAR;
+    }
+
+    // ================ METRICS ================
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    public int getTrackedCount() {
+        return slots.size();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getCarriedOver() {
+        return carriedOver;
+    }
+
+    public long getBudgetOverruns() {
+        return budgetOverruns;
+    }
+
+    public int getLastTicked() {
+        return lastTicked;
+    }
+
+    public double getLastTickMillis() {
+        return lastTickNanos / 1_000_000.0;
+    }
+
+    public BucketMetrics getBucketMetrics(int bucket) {
+        return metrics[bucket];
+    }
+
+    public String getDiagnosticInfo() {
+        StringBuilder info = new StringBuilder();
+        info.append("=== Mob Tick Scheduler ===\n");
+        info.append(String.format("Tracked: %d, Buckets: %d, Budget: %.2fms%n",
+                slots.size(), bucketCount, budgetNanos / 1_000_000.0));
+        info.append(String.format("Last tick: %d mobs in %.3fms, Pending: %d, Carried over: %d, Budget overruns: %d%n",
+                lastTicked, getLastTickMillis(), pending.size(), carriedOver, budgetOverruns));
+        for (int i = 0; i < bucketCount; i++) {
+            BucketMetrics m = metrics[i];
+            info.append(String.format("  Bucket %2d: near=%d far=%d dormant=%d avg=%.1fus max=%.1fus rotation=%.3fms%n",
+                    i, m.near, m.far, m.dormant, m.getAverageMicros(), m.getMaxMicros(), m.getLastRotationMillis()));
+        }
+        return info.toString();
+    }
+}
@@ -3,6 +3,10 @@ package com.rednetty.server.core.mechanics.world.trail;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.rednetty.server.YakRealms;
+import com.rednetty.server.core.mechanics.world.trail.pathing.search.IndexedMinHeap;
+import com.rednetty.server.core.mechanics.world.trail.pathing.search.LongIntHashMap;
+import com.rednetty.server.core.mechanics.world.trail.pathing.search.SearchContext;
+import com.rednetty.server.core.mechanics.world.trail.pathing.search.SearchFrontier;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -28,6 +32,9 @@ public class PathFinder {
     private static final int MAX_HEIGHT_DIFFERENCE = 30;
     private static final int RETRY_ATTEMPTS = 3;
 
+    // Search bookkeeping reused by every search on the same worker thread
+    private static final ThreadLocal<SearchPositions> SEARCH_POSITIONS = ThreadLocal.withInitial(SearchPositions::new);
+
     private final YakRealms plugin;
     private final WorldAnalyzer worldAnalyzer;
     private final Cache<ChunkKey, TerrainData> terrainCache;
@@ -357,50 +364,51 @@ public class PathFinder {
 
     public CompletableFuture<List<Location>> findPath(Location start, Location end) {
         return CompletableFuture.supplyAsync(() -> {
-            PriorityQueue<PathNode> openSet = new PriorityQueue<>(
-                    Comparator.comparingDouble(n -> n.fCost)
-            );
-            Map<Long, PathNode> nodeMap = new HashMap<>();
-            Set<Long> closedSet = new HashSet<>();
+            World world = start.getWorld();
+            Vector[] directions = generateAdaptiveDirections(start, end);
+
+            // Each expansion adds at most every direction plus the two terrain extras
+            int maxNodes = 1 + MAX_ITERATIONS * (directions.length + 2);
+            SearchFrontier frontier = SearchContext.get().forward();
+            frontier.reset(maxNodes);
+            SearchPositions positions = SEARCH_POSITIONS.get();
+            positions.reset(maxNodes);
 
             // Initialize terrain analysis for start and end chunks
-            TerrainData startTerrain = getTerrainData(start.getChunk());
-            TerrainData endTerrain = getTerrainData(end.getChunk());
+            getTerrainData(start.getChunk());
+            getTerrainData(end.getChunk());
 
             // Create starting node
-            PathNode startNode = new PathNode(start, null);
-            startNode.gCost = 0;
-            startNode.fCost = heuristic(start, end);
-
-            openSet.add(startNode);
-            nodeMap.put(encodePosition(start), startNode);
+            int startId = positions.add(encodePosition(start), start);
+            frontier.relax(startId, 0f, SearchFrontier.NONE, (float) heuristic(start, end));
 
+            IndexedMinHeap openSet = frontier.open();
             int iterations = 0;
-            Vector[] directions = generateAdaptiveDirections(start, end);
 
             while (!openSet.isEmpty() && iterations++ < MAX_ITERATIONS) {
-                PathNode current = openSet.poll();
+                int currentId = openSet.poll();
+                Location current = positions.location(currentId, world);
 
-                if (current.loc.distanceSquared(end) < 4) {
-                    return smoothPath(reconstructPath(current));
+                if (current.distanceSquared(end) < 4) {
+                    return smoothPath(reconstructPath(frontier, positions, currentId, world));
                 }
 
-                long pos = encodePosition(current.loc);
-                closedSet.add(pos);
+                frontier.close(currentId);
+                float currentG = frontier.g(currentId);
 
                 // Get terrain data for current position
-                TerrainData terrain = getTerrainData(current.loc.getChunk());
-                int cx = current.loc.getBlockX() & 15;
-                int cz = current.loc.getBlockZ() & 15;
+                TerrainData terrain = getTerrainData(current.getChunk());
+                int cx = current.getBlockX() & 15;
+                int cz = current.getBlockZ() & 15;
                 TerrainType currentType = terrain.types[cx * CHUNK_SIZE + cz];
 
                 // Adjust search pattern based on terrain
                 Vector[] searchDirections = adaptDirectionsToTerrain(
-                        directions, currentType, current.loc, end
+                        directions, currentType, current, end
                 );
 
                 for (Vector dir : searchDirections) {
-                    Location nextLoc = current.loc.clone().add(dir);
+                    Location nextLoc = current.clone().add(dir);
                     TerrainData nextTerrain = getTerrainData(nextLoc.getChunk());
 
                     int nx = nextLoc.getBlockX() & 15;
@@ -412,35 +420,25 @@ public class PathFinder {
                     int height = nextTerrain.heights[idx];
                     nextLoc.setY(height);
 
-                    if (!isValidMove(current.loc, nextLoc)) continue;
+                    if (!isValidMove(current, nextLoc)) continue;
 
                     long nextPos = encodePosition(nextLoc);
-                    if (closedSet.contains(nextPos)) continue;
+                    int nextId = positions.idOf(nextPos);
+                    if (nextId != LongIntHashMap.MISSING && frontier.isClosed(nextId)) continue;
 
                     // Calculate movement cost considering terrain types
                     double moveCost = calculateTerrainAwareMovementCost(
-                            current.loc, nextLoc,
+                            current, nextLoc,
                             currentType,
                             nextTerrain.types[idx]
                     );
 
-                    double newG = current.gCost + moveCost;
-                    PathNode neighbor = nodeMap.get(nextPos);
-
-                    if (neighbor == null) {
-                        neighbor = new PathNode(nextLoc, current);
-                        neighbor.gCost = newG;
-                        neighbor.fCost = newG + heuristic(nextLoc, end);
-                        nodeMap.put(nextPos, neighbor);
-                        openSet.add(neighbor);
-                    } else if (newG < neighbor.gCost) {
-                        neighbor.parent = current;
-                        neighbor.gCost = newG;
-                        neighbor.fCost = newG + heuristic(nextLoc, end);
-
-                        if (!openSet.contains(neighbor)) {
-                            openSet.add(neighbor);
-                        }
+                    float newG = currentG + (float) moveCost;
+                    if (nextId == LongIntHashMap.MISSING) {
+                        nextId = positions.add(nextPos, nextLoc);
+                    }
+                    if (newG < frontier.g(nextId)) {
+                        frontier.relax(nextId, newG, currentId, newG + (float) heuristic(nextLoc, end));
                     }
                 }
             }
@@ -686,15 +684,42 @@ public class PathFinder {
         }
     }
 
-    private static class PathNode {
-        Location loc;
-        PathNode parent;
-        double gCost;
-        double fCost;
+    /**
+     * Block positions reached during a search, numbered densely for the search arrays. The
+     * first location seen at a block is the one the path goes through.
+     */
+    private static final class SearchPositions {
+        private final LongIntHashMap ids = new LongIntHashMap();
+        private double[] xs = new double[0];
+        private double[] ys = new double[0];
+        private double[] zs = new double[0];
+        private int count;
+
+        void reset(int maxPositions) {
+            ids.reset(maxPositions);
+            if (xs.length < maxPositions) {
+                xs = new double[maxPositions];
+                ys = new double[maxPositions];
+                zs = new double[maxPositions];
+            }
+            count = 0;
+        }
+
+        int idOf(long encodedPosition) {
+            return ids.get(encodedPosition);
+        }
 
-        PathNode(Location loc, PathNode parent) {
-            this.loc = loc;
-            this.parent = parent;
+        int add(long encodedPosition, Location loc) {
+            int id = count++;
+            xs[id] = loc.getX();
+            ys[id] = loc.getY();
+            zs[id] = loc.getZ();
+            ids.put(encodedPosition, id);
+            return id;
+        }
+
+        Location location(int id, World world) {
+            return new Location(world, xs[id], ys[id], zs[id]);
         }
     }
 
@@ -704,15 +729,12 @@ public class PathFinder {
                 ((long) loc.getBlockZ() & 0x3FFFFFF);
     }
 
-    private List<Location> reconstructPath(PathNode end) {
-        List<Location> path = new ArrayList<>();
-        PathNode current = end;
-
-        while (current != null) {
-            path.add(0, current.loc.clone());
-            current = current.parent;
+    private List<Location> reconstructPath(SearchFrontier frontier, SearchPositions positions, int end, World world) {
+        int[] ids = frontier.pathTo(end);
+        List<Location> path = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            path.add(positions.location(id, world));
         }
-
         return path;
     }
 
@@ -1,6 +1,6 @@
 package com.rednetty.server.core.mechanics.world.trail.pathing;
 
-import com.rednetty.server.core.mechanics.world.trail.pathing.nodes.NavNode;
+import com.rednetty.server.core.mechanics.world.trail.pathing.nodes.NavGraph;
 import org.bukkit.ChatColor;
 import org.bukkit.Color;
 import org.bukkit.Location;
@@ -160,7 +160,7 @@ public class ParticleSystem {
      * New method: Toggle node visualization based on node cost.
      * Each node is rendered with a color that is determined by its cost.
      */
-    public void toggleNodeVisualization(Player player, List<NavNode> navNodes) {
+    public void toggleNodeVisualization(Player player, NavGraph graph) {
         UUID playerId = player.getUniqueId();
         BukkitTask existing = activeNodeVisualizations.remove(playerId);
         if (existing != null) {
@@ -169,7 +169,7 @@ public class ParticleSystem {
             plugin.getLogger().info("[ParticleSystem] Node visualization disabled for " + player.getName());
             return;
         }
-        if (navNodes == null || navNodes.isEmpty()) {
+        if (graph == null || graph.isEmpty()) {
             player.sendMessage(ChatColor.RED + "No node data available for visualization.");
             return;
         }
@@ -183,10 +183,10 @@ public class ParticleSystem {
                     return;
                 }
                 Location playerLoc = player.getLocation();
-                for (NavNode node : navNodes) {
-                    Location nodeLoc = new Location(player.getWorld(), node.x + 0.5, node.y, node.z + 0.5);
+                for (int node = 0; node < graph.size(); node++) {
+                    Location nodeLoc = new Location(player.getWorld(), graph.x(node) + 0.5, graph.y(node), graph.z(node) + 0.5);
                     if (playerLoc.distance(nodeLoc) <= MAX_RENDER_DISTANCE) {
-                        Color color = getColorForCost(node.cost);
+                        Color color = getColorForCost(graph.cost(node));
                         Particle.DustOptions dustOptions = new Particle.DustOptions(color, 1.0f);
                         player.spawnParticle(Particle.DUST, nodeLoc, 1, 0, 0, 0, 0, dustOptions);
                     }
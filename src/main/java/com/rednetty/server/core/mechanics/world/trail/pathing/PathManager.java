@@ -2,6 +2,7 @@ package com.rednetty.server.core.mechanics.world.trail.pathing;
 
 import com.rednetty.server.core.mechanics.world.trail.pathing.nodes.AdvancedNodeMapGenerator;
 import com.rednetty.server.core.mechanics.world.trail.pathing.nodes.NavGraphPathfinder;
+import com.rednetty.server.core.mechanics.world.trail.pathing.nodes.NavGraph;
 import com.rednetty.server.core.mechanics.world.trail.pathing.nodes.NavNode;
 import com.rednetty.server.core.mechanics.world.trail.pathing.nodes.OptimizedNodeMapStorage;
 import org.bukkit.ChatColor;
@@ -28,9 +29,12 @@ import java.util.concurrent.*;
  */
 public class PathManager {
     private final JavaPlugin plugin;
-    private final NavGraphPathfinder pathfinder;
     private final ParticleSystem particleSystem;
-    private final List<NavNode> nodeList;
+    private final World world;
+
+    // Set on the main thread once the navigation graph is loaded or generated
+    private volatile NavGraphPathfinder pathfinder;
+    private volatile NavGraph graph;
 
     // Active paths keyed by player UUID
     private final Map<UUID, ActivePathData> activePaths = new ConcurrentHashMap<>();
@@ -102,8 +106,8 @@ public class PathManager {
     }
 
     /**
-     * Constructs a new PathManager. Loads nodes from disk (or generates them if needed),
-     * creates the pathfinder, and starts periodic tasks.
+     * Constructs a new PathManager and starts periodic tasks. Nodes are loaded from disk (or
+     * generated if needed) in the background; paths can be created once {@link #isReady()}.
      *
      * @param plugin         the plugin instance
      * @param particleSystem the particle system for visualization
@@ -123,50 +127,102 @@ public class PathManager {
                 }
         );
 
-        World world = plugin.getServer().getWorld("map");
+        this.world = plugin.getServer().getWorld("map");
         if (world == null) {
             throw new IllegalStateException("server world not found!");
         }
 
-        File nodeMapFile = new File(plugin.getDataFolder(), "server_advanced_navgraph.dat");
-        this.nodeList = loadNodes(world, nodeMapFile);
-        this.pathfinder = new NavGraphPathfinder(nodeList, world, plugin);
+        loadNodes(new File(plugin.getDataFolder(), "server_navgraph.bin"),
+                new File(plugin.getDataFolder(), "server_advanced_navgraph.dat"));
 
         startPathCheckTask();
         startMaintenanceTask();
     }
 
     /**
-     * Loads the navigation nodes from a file or generates a new map if necessary.
+     * Maps the navigation graph off the main thread, converting a legacy GZIP node map once if
+     * that is all there is, or generates a new graph in the background if necessary. The
+     * pathfinder is installed when any of these finishes.
      *
-     * @param world       the target world
-     * @param nodeMapFile the file to load/save nodes
-     * @return a List of NavNode objects
+     * @param graphFile  the memory-mapped graph file to load/save
+     * @param legacyFile the old GZIP node map, converted one-way and then renamed
      */
-    private List<NavNode> loadNodes(World world, File nodeMapFile) {
-        List<NavNode> nodes = null;
-        if (nodeMapFile.exists()) {
-            try {
-                nodes = OptimizedNodeMapStorage.loadOptimizedNodeMap(nodeMapFile);
-                // Loaded optimized node map
-            } catch (IOException e) {
-                plugin.getLogger().severe("Error loading optimized node map: " + e.getMessage());
-                e.printStackTrace();
-            }
+    private void loadNodes(File graphFile, File legacyFile) {
+        if (!graphFile.exists() && !legacyFile.exists()) {
+            generateNodes(graphFile);
+            return;
         }
-        if (nodes == null || nodes.isEmpty()) {
-            plugin.getLogger().info("Generating new node map...");
-            AdvancedNodeMapGenerator generator = new AdvancedNodeMapGenerator();
-            nodes = generator.generateNodeMap(world);
+
+        pathExecutor.submit(() -> {
+            NavGraph loaded = null;
             try {
-                OptimizedNodeMapStorage.saveOptimizedNodeMap(nodes, nodeMapFile);
-                plugin.getLogger().info("Saved optimized node map with " + nodes.size() + " nodes.");
+                if (!graphFile.exists()) {
+                    convertLegacyNodeMap(legacyFile, graphFile);
+                }
+                loaded = NavGraph.open(graphFile);
             } catch (IOException e) {
-                plugin.getLogger().severe("Error saving optimized node map: " + e.getMessage());
+                plugin.getLogger().severe("Error loading navigation graph: " + e.getMessage());
                 e.printStackTrace();
             }
+
+            NavGraph result = loaded;
+            new BukkitRunnable() {
+                @Override
+                public void run() {
+                    if (result == null || result.isEmpty()) {
+                        generateNodes(graphFile);
+                    } else {
+                        installGraph(result);
+                    }
+                }
+            }.runTask(plugin);
+        });
+    }
+
+    private void convertLegacyNodeMap(File legacyFile, File graphFile) throws IOException {
+        plugin.getLogger().info("Converting legacy node map " + legacyFile.getName() + " to " + graphFile.getName() + "...");
+        List<NavNode> nodes = OptimizedNodeMapStorage.loadOptimizedNodeMap(legacyFile);
+        NavGraph.write(nodes, graphFile);
+
+        File converted = new File(legacyFile.getPath() + ".converted");
+        if (!legacyFile.renameTo(converted)) {
+            plugin.getLogger().warning("Could not rename " + legacyFile.getName() + " after conversion");
         }
-        return nodes;
+        plugin.getLogger().info("Converted " + nodes.size() + " nodes to the mapped graph format.");
+    }
+
+    /**
+     * Generates and saves a new navigation graph in the background. Main thread only.
+     */
+    private void generateNodes(File graphFile) {
+        plugin.getLogger().info("Generating new node map in the background...");
+        new AdvancedNodeMapGenerator().generateNodeMapAsync(plugin, world, graphFile)
+                .whenComplete((generated, error) -> {
+                    if (error != null) {
+                        plugin.getLogger().severe("Error generating node map: " + error.getMessage());
+                        error.printStackTrace();
+                        return;
+                    }
+                    new BukkitRunnable() {
+                        @Override
+                        public void run() {
+                            installGraph(generated);
+                        }
+                    }.runTask(plugin);
+                });
+    }
+
+    private void installGraph(NavGraph graph) {
+        this.graph = graph;
+        this.pathfinder = new NavGraphPathfinder(graph, world, plugin);
+        plugin.getLogger().info("Navigation graph ready with " + graph.size() + " nodes.");
+    }
+
+    /**
+     * Whether the navigation graph is loaded and paths can be created
+     */
+    public boolean isReady() {
+        return pathfinder != null;
     }
 
     /* ===================== Task Scheduling ===================== */
@@ -407,11 +463,16 @@ public class PathManager {
      * @param player the player
      */
     public void toggleNodeVisualization(Player player) {
+        if (!isReady()) {
+            player.sendMessage(ChatColor.YELLOW + "Navigation is still being prepared. Please try again shortly.");
+            return;
+        }
+
         UUID playerId = player.getUniqueId();
         boolean newState = !nodeVisualizationStates.getOrDefault(playerId, false);
         nodeVisualizationStates.put(playerId, newState);
         if (newState) {
-            particleSystem.toggleNodeVisualization(player, nodeList);
+            particleSystem.toggleNodeVisualization(player, graph);
             player.sendMessage(ChatColor.GREEN + "Node visualization enabled (colored by terrain cost)");
             player.sendMessage(ChatColor.GRAY + "Green = Easy terrain, Red = Difficult terrain");
         } else {
@@ -429,6 +490,11 @@ public class PathManager {
      * @param pathType    the type/style of the path
      */
     public void createPath(Player player, Location destination, PathType pathType) {
+        if (!isReady()) {
+            player.sendMessage(ChatColor.YELLOW + "Navigation is still being prepared. Please try again shortly.");
+            return;
+        }
+
         UUID playerId = player.getUniqueId();
         cancelPath(playerId);
         cancelPendingCalculation(playerId);
@@ -3,22 +3,37 @@ package com.rednetty.server.core.mechanics.world.trail.pathing.nodes;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.plugin.Plugin;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.IntStream;
 
 /**
  * AdvancedNodeMapGenerator precomputes a sparse 3D navigation graph for Minecraft.
  * <p>
  * This  version scans each (x,z) column for candidate floor levels (e.g. in buildings,
  * city streets, forests, etc.) rather than only using the top “ground” block.
+ * <p>
+ * Terrain is read from chunk snapshots, so floors, costs and neighbor links are computed on a
+ * fork/join pool; {@link #generateNodeMapAsync} keeps the main thread free apart from a small
+ * per-tick capture budget.
  */
 public class AdvancedNodeMapGenerator {
     // Node spacing: a node is placed every NODE_SPACING blocks (horizontally)
     public static final int NODE_SPACING = 2;
 
+    // Nodes are only generated within this many blocks of spawn
+    private static final int GENERATION_RADIUS = 100;
+    // Widest sampling radius of the cost functions, plus one for the cliff checks
+    private static final int SAMPLE_MARGIN = 5;
+    // Nodes linked and written per step of the incremental save
+    private static final int LINK_BATCH_SIZE = 4096;
+
     // Preferred and penalized material sets
     private static final Set<Material> PREFERRED_MATERIALS = EnumSet.of(Material.DIRT_PATH, Material.SAND, Material.GRASS_BLOCK, Material.COARSE_DIRT);
     // BUILT_PATH_MATERIALS now includes COARSE_DIRT as well.
@@ -67,109 +82,237 @@ public class AdvancedNodeMapGenerator {
     // Vegetation penalty multiplier
     private static final double VEGETATION_PENALTY = 50;
 
+    private static final BlockFace[] CARDINAL_FACES = {BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST};
+
     public List<Integer> getCandidateFloors(World world, int x, int z) {
-        return getCandidateFloorYs(world, x, z); // Assuming getCandidateFloorYs is your existing method.
+        TerrainSnapshot terrain = TerrainSnapshot.captureNow(world, x, x, z, z);
+        List<Integer> floors = new ArrayList<>();
+        for (int y : getCandidateFloorYs(terrain, x, z)) {
+            floors.add(y);
+        }
+        return floors;
     }
 
     public double computeTerrainCost(World world, int x, int y, int z) {
-        // This could simply call your existing method, for example:
-        return computeTerrainCostAtLevel(world, x, y, z, new HashMap<>());
+        TerrainSnapshot terrain = TerrainSnapshot.captureNow(world,
+                x - SAMPLE_MARGIN, x + SAMPLE_MARGIN, z - SAMPLE_MARGIN, z + SAMPLE_MARGIN);
+        return computeTerrainCostAtLevel(terrain, x, y, z, FloorGrid.EMPTY);
     }
 
     /**
      * Generates an advanced 3D node map for only a 100-block radius from the world spawn.
      * <p>
-     * Scans each (x,z) column for candidate floors (solid block with headroom)
-     * and creates a node at each candidate (x, y, z).
+     * Captures the area synchronously; prefer {@link #generateNodeMapAsync} during normal operation.
      *
      * @param world the Minecraft world to scan
      * @return a list of navigation nodes with precomputed costs and neighbor links
      */
     public List<NavNode> generateNodeMap(World world) {
-        List<NavNode> nodeList = new ArrayList<>();
         Location spawn = world.getSpawnLocation();
-        int radius = 100; // Only generate nodes within 100 blocks of spawn
-
-        int minX = spawn.getBlockX() - radius;
-        int maxX = spawn.getBlockX() + radius;
-        int minZ = spawn.getBlockZ() - radius;
-        int maxZ = spawn.getBlockZ() + radius;
-
-        // Build a candidate map for each (x,z) column.
-        // Key: "x_z", Value: List of candidate floor Y positions (where a player could stand)
-        Map<String, List<Integer>> candidateMap = new HashMap<>();
-        for (int x = minX; x <= maxX; x += NODE_SPACING) {
-            for (int z = minZ; z <= maxZ; z += NODE_SPACING) {
-                List<Integer> floors = getCandidateFloorYs(world, x, z);
-                if (!floors.isEmpty()) {
-                    candidateMap.put(x + "_" + z, floors);
-                }
+        int centerX = spawn.getBlockX();
+        int centerZ = spawn.getBlockZ();
+        int reach = GENERATION_RADIUS + SAMPLE_MARGIN;
+        TerrainSnapshot terrain = TerrainSnapshot.captureNow(world,
+                centerX - reach, centerX + reach, centerZ - reach, centerZ + reach);
+
+        ForkJoinPool pool = newGenerationPool();
+        try {
+            List<NavNode> nodeList = computeNodes(terrain, centerX, centerZ, pool);
+            Map<Long, List<Integer>> columnIndex = buildColumnIndex(nodeList);
+            pool.submit(() -> IntStream.range(0, nodeList.size()).parallel()
+                    .forEach(i -> linkNode(nodeList, columnIndex, i))).join();
+            return nodeList;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Generates the node map without blocking the server and saves it to {@code file}.
+     * <p>
+     * Chunk snapshots are captured region by region on the main thread within a per-tick budget;
+     * floors, costs and links are then computed on a fork/join pool and the {@link NavGraph} file
+     * is written as links are produced. Must be called from the main thread.
+     *
+     * @param plugin the plugin scheduling the capture
+     * @param world  the world to scan
+     * @param file   the file the finished graph is saved to
+     * @return completes off the main thread with the saved graph, mapped from {@code file}
+     */
+    public CompletableFuture<NavGraph> generateNodeMapAsync(Plugin plugin, World world, File file) {
+        Location spawn = world.getSpawnLocation();
+        int centerX = spawn.getBlockX();
+        int centerZ = spawn.getBlockZ();
+        int reach = GENERATION_RADIUS + SAMPLE_MARGIN;
+        long started = System.currentTimeMillis();
+
+        ForkJoinPool pool = newGenerationPool();
+        return TerrainSnapshot.captureGradually(plugin, world,
+                        centerX - reach, centerX + reach, centerZ - reach, centerZ + reach)
+                .thenApplyAsync(terrain -> {
+                    plugin.getLogger().info("Captured terrain for node map in "
+                            + (System.currentTimeMillis() - started) + "ms, computing graph...");
+                    List<NavNode> nodeList = computeNodes(terrain, centerX, centerZ, pool);
+                    NavGraph graph = linkAndSave(nodeList, file, pool);
+                    plugin.getLogger().info("Generated node map with " + graph.size() + " nodes and "
+                            + graph.edgeCount() + " links in " + (System.currentTimeMillis() - started) + "ms");
+                    return graph;
+                }, pool)
+                .whenComplete((nodes, error) -> pool.shutdown());
+    }
+
+    /**
+     * Computes candidate floors for every grid column, then a node with its terrain cost at
+     * each floor. Node order matches a column-by-column scan (x outer, z inner).
+     */
+    private List<NavNode> computeNodes(TerrainSnapshot terrain, int centerX, int centerZ, ForkJoinPool pool) {
+        FloorGrid grid = new FloorGrid(centerX - GENERATION_RADIUS, centerZ - GENERATION_RADIUS,
+                GENERATION_RADIUS * 2 / NODE_SPACING + 1, GENERATION_RADIUS * 2 / NODE_SPACING + 1);
+
+        pool.submit(() -> IntStream.range(0, grid.size()).parallel()
+                .forEach(i -> grid.floors[i] = getCandidateFloorYs(terrain, grid.xOf(i), grid.zOf(i)))).join();
+
+        NavNode[][] columnNodes = new NavNode[grid.size()][];
+        pool.submit(() -> IntStream.range(0, grid.size()).parallel().forEach(i -> {
+            int x = grid.xOf(i), z = grid.zOf(i);
+            int[] floors = grid.floors[i];
+            NavNode[] column = new NavNode[floors.length];
+            for (int j = 0; j < floors.length; j++) {
+                column[j] = new NavNode(x, floors[j], z, computeTerrainCostAtLevel(terrain, x, floors[j], z, grid));
             }
+            columnNodes[i] = column;
+        })).join();
+
+        List<NavNode> nodeList = new ArrayList<>();
+        for (NavNode[] column : columnNodes) {
+            Collections.addAll(nodeList, column);
         }
+        return nodeList;
+    }
 
-        // For each (x,z) with candidate floors, create nodes at those levels.
-        for (int x = minX; x <= maxX; x += NODE_SPACING) {
-            for (int z = minZ; z <= maxZ; z += NODE_SPACING) {
-                String key = x + "_" + z;
-                if (!candidateMap.containsKey(key)) continue;
-                List<Integer> floors = candidateMap.get(key);
-                for (int y : floors) {
-                    // Only include nodes within the horizontal radius from spawn.
-                    if (Math.abs(x - spawn.getBlockX()) > radius || Math.abs(z - spawn.getBlockZ()) > radius)
-                        continue;
-                    double cost = computeTerrainCostAtLevel(world, x, y, z, candidateMap);
-                    NavNode node = new NavNode(x, y, z, cost);
-                    nodeList.add(node);
+    /**
+     * Links nodes in batches, streams each finished batch to disk and maps the result
+     */
+    private NavGraph linkAndSave(List<NavNode> nodeList, File file, ForkJoinPool pool) {
+        Map<Long, List<Integer>> columnIndex = buildColumnIndex(nodeList);
+        try (NavGraph.Writer writer = new NavGraph.Writer(file, nodeList)) {
+            for (int start = 0; start < nodeList.size(); start += LINK_BATCH_SIZE) {
+                int batchStart = start;
+                int batchEnd = Math.min(start + LINK_BATCH_SIZE, nodeList.size());
+                pool.submit(() -> IntStream.range(batchStart, batchEnd).parallel()
+                        .forEach(i -> linkNode(nodeList, columnIndex, i))).join();
+                for (int i = batchStart; i < batchEnd; i++) {
+                    writer.writeNeighbors(nodeList.get(i));
+                    nodeList.get(i).neighbors = Collections.emptyList(); // Already on disk
                 }
             }
+            writer.commit();
+            return NavGraph.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save node map to " + file.getAbsolutePath(), e);
         }
+    }
 
-        buildNeighborLinks(nodeList);
-        return nodeList;
+    private static ForkJoinPool newGenerationPool() {
+        // Leave a core for the server thread
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("NavGraphGeneration-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Candidate floors of the node grid columns, indexed by column
+     */
+    private static final class FloorGrid {
+        static final FloorGrid EMPTY = new FloorGrid(0, 0, 0, 0);
+
+        final int minX, minZ, columnsX, columnsZ;
+        final int[][] floors;
+
+        FloorGrid(int minX, int minZ, int columnsX, int columnsZ) {
+            this.minX = minX;
+            this.minZ = minZ;
+            this.columnsX = columnsX;
+            this.columnsZ = columnsZ;
+            this.floors = new int[columnsX * columnsZ][];
+        }
+
+        int size() {
+            return floors.length;
+        }
+
+        int xOf(int index) {
+            return minX + (index / columnsZ) * NODE_SPACING;
+        }
+
+        int zOf(int index) {
+            return minZ + (index % columnsZ) * NODE_SPACING;
+        }
+
+        /**
+         * Floors at a grid column, or null off the grid or where the column has none
+         */
+        int[] at(int x, int z) {
+            int offsetX = x - minX, offsetZ = z - minZ;
+            if (offsetX < 0 || offsetZ < 0 || offsetX % NODE_SPACING != 0 || offsetZ % NODE_SPACING != 0) {
+                return null;
+            }
+            int columnX = offsetX / NODE_SPACING, columnZ = offsetZ / NODE_SPACING;
+            if (columnX >= columnsX || columnZ >= columnsZ) {
+                return null;
+            }
+            int[] columnFloors = floors[columnX * columnsZ + columnZ];
+            return columnFloors == null || columnFloors.length == 0 ? null : columnFloors;
+        }
     }
 
     /**
-     * Scans a column (x,z) from world.getMinHeight() to world.getMaxHeight()-2 and returns candidate floor levels.
+     * Scans a column (x,z) from the minimum height to the maximum height-2 and returns candidate floor levels.
      * A candidate floor is detected when a solid block is found with two blocks of headroom above.
      *
-     * @param world the world instance
-     * @param x     the x-coordinate
-     * @param z     the z-coordinate
-     * @return list of y positions where a node can be placed (player’s feet level)
+     * @param terrain the captured terrain
+     * @param x       the x-coordinate
+     * @param z       the z-coordinate
+     * @return y positions where a node can be placed (player’s feet level)
      */
-    private List<Integer> getCandidateFloorYs(World world, int x, int z) {
-        List<Integer> floors = new ArrayList<>();
-        int minY = world.getMinHeight();
-        int maxY = world.getMaxHeight() - 2; // ensure space for headroom
+    private int[] getCandidateFloorYs(TerrainSnapshot terrain, int x, int z) {
+        int[] floors = new int[8];
+        int count = 0;
+        int minY = terrain.getMinHeight();
+        int maxY = terrain.getMaxHeight() - 2; // ensure space for headroom
         for (int y = minY; y <= maxY; y++) {
-            Block floorCandidate = world.getBlockAt(x, y, z);
-            Block head1 = world.getBlockAt(x, y + 1, z);
-            Block head2 = world.getBlockAt(x, y + 2, z);
             // Check for a solid floor with two non-solid blocks above (i.e. headroom)
-            if (floorCandidate.getType().isSolid() && !head1.getType().isSolid() && !head2.getType().isSolid()) {
-                floors.add(y + 1); // candidate floor level (player stands one block above the solid floor)
+            if (terrain.getType(x, y, z).isSolid() && !terrain.getType(x, y + 1, z).isSolid()
+                    && !terrain.getType(x, y + 2, z).isSolid()) {
+                if (count == floors.length) {
+                    floors = Arrays.copyOf(floors, count * 2);
+                }
+                floors[count++] = y + 1; // candidate floor level (player stands one block above the solid floor)
                 y += 2; // skip a few blocks to avoid duplicates
             }
         }
-        return floors;
+        return Arrays.copyOf(floors, count);
     }
 
     /**
      * Returns the candidate floor level at (x,z) closest to the given referenceY.
-     * If no candidate exists, falls back to world.getHighestBlockAt(x,z)+1.
+     * If no candidate exists, falls back to the highest block at (x,z)+1.
      *
-     * @param world        the world instance
-     * @param candidateMap the precomputed candidate floors map
-     * @param x            the x-coordinate
-     * @param z            the z-coordinate
-     * @param referenceY   the reference y-level
+     * @param terrain    the captured terrain
+     * @param grid       the precomputed candidate floors
+     * @param x          the x-coordinate
+     * @param z          the z-coordinate
+     * @param referenceY the reference y-level
      * @return the candidate floor y-level
      */
-    private int getFloorAt(World world, Map<String, List<Integer>> candidateMap, int x, int z, int referenceY) {
-        String key = x + "_" + z;
-        if (candidateMap.containsKey(key)) {
-            List<Integer> floors = candidateMap.get(key);
-            int best = floors.get(0);
+    private int getFloorAt(TerrainSnapshot terrain, FloorGrid grid, int x, int z, int referenceY) {
+        int[] floors = grid.at(x, z);
+        if (floors != null) {
+            int best = floors[0];
             int bestDiff = Math.abs(best - referenceY);
             for (int floor : floors) {
                 int diff = Math.abs(floor - referenceY);
@@ -181,28 +324,27 @@ public class AdvancedNodeMapGenerator {
             return best;
         }
         // Fallback: use highest block (plus one for headroom)
-        return world.getHighestBlockAt(x, z).getY() + 1;
+        return terrain.getHighestBlockY(x, z) + 1;
     }
 
     /**
      * Computes the terrain cost at a specific (x,y,z) candidate floor.
      *
-     * @param world        the world instance
-     * @param x            the x-coordinate
-     * @param y            the candidate floor y-coordinate (player’s feet)
-     * @param z            the z-coordinate
-     * @param candidateMap the candidate floors map for neighbor sampling
+     * @param terrain the captured terrain
+     * @param x       the x-coordinate
+     * @param y       the candidate floor y-coordinate (player’s feet)
+     * @param z       the z-coordinate
+     * @param grid    the candidate floors for neighbor sampling
      * @return the computed cost for traversing at (x,y,z)
      */
-    public double computeTerrainCostAtLevel(World world, int x, int y, int z, Map<String, List<Integer>> candidateMap) {
+    private double computeTerrainCostAtLevel(TerrainSnapshot terrain, int x, int y, int z, FloorGrid grid) {
         // Use the block below the candidate floor as the “floor” material.
-        Block floorBlock = world.getBlockAt(x, y - 1, z);
-        Material baseMat = floorBlock.getType();
+        Material baseMat = terrain.getType(x, y - 1, z);
 
 
-        double rawSlope = sampleAverageHeightDifferenceAtLevel(world, candidateMap, x, z, y, SLOPE_SAMPLE_RADIUS);
+        double rawSlope = sampleAverageHeightDifferenceAtLevel(terrain, grid, x, z, y, SLOPE_SAMPLE_RADIUS);
         double slopeFactor = Math.max(0, rawSlope - SLOPE_THRESHOLD);
-        double variance = sampleHeightVarianceAtLevel(world, candidateMap, x, z, y, VARIANCE_SAMPLE_RADIUS);
+        double variance = sampleHeightVarianceAtLevel(terrain, grid, x, z, y, VARIANCE_SAMPLE_RADIUS);
 
         double baseCost = 150.0;
         double slopePenalty = slopeFactor * 250;
@@ -228,15 +370,15 @@ public class AdvancedNodeMapGenerator {
             slopePenalty *= 0.005;
             variancePenalty *= 0.05;
         }
-        int ledgeCount = countLedgeIndicators(world, x, y, z);
+        int ledgeCount = countLedgeIndicators(terrain, x, y, z);
         double ledgePenalty = ledgeCount * 200;
-        double cliffPenalty = isNearCliff(world, x, y, z) ? 400 : 0;
-        double neighborAvgY = sampleAverageNeighborHeightAtLevel(world, candidateMap, x, z, y, VARIANCE_SAMPLE_RADIUS);
+        double cliffPenalty = ledgeCount > 0 ? 400 : 0;
+        double neighborAvgY = sampleAverageNeighborHeightAtLevel(terrain, grid, x, z, y, VARIANCE_SAMPLE_RADIUS);
         double verticalPenalty = (y > neighborAvgY + 2) ? (y - neighborAvgY - 2) * 180 : 0;
         if (BUILT_PATH_MATERIALS.contains(baseMat)) {
             return baseCost;
         }
-        double waterRatio = sampleWaterPenaltyAtLevel(world, candidateMap, x, z, y, WATER_SAMPLE_RADIUS);
+        double waterRatio = sampleWaterPenaltyAtLevel(terrain, grid, x, z, y, WATER_SAMPLE_RADIUS);
         double waterPenalty = (waterRatio > WATER_THRESHOLD) ? (waterRatio - WATER_THRESHOLD) * 150 : 0;
         if (HAZARD_MATERIALS.contains(baseMat)) {
             waterPenalty += 500;
@@ -244,12 +386,12 @@ public class AdvancedNodeMapGenerator {
         if (SLOW_MATERIALS.contains(baseMat)) {
             waterPenalty += 300;
         }
-        double slowPenalty = sampleSlowPenaltyAtLevel(world, candidateMap, x, y, z, WATER_SAMPLE_RADIUS) * 100;
-        double vegetationPenalty = sampleVegetationDensityAtLevel(world, candidateMap, x, y, z, WATER_SAMPLE_RADIUS) * VEGETATION_PENALTY;
+        double slowPenalty = sampleSlowPenaltyAtLevel(terrain, grid, x, y, z, WATER_SAMPLE_RADIUS) * 100;
+        double vegetationPenalty = sampleVegetationDensityAtLevel(terrain, grid, x, y, z, WATER_SAMPLE_RADIUS) * VEGETATION_PENALTY;
 
-        int lightLevel = world.getBlockAt(x, y, z).getLightLevel();
+        int lightLevel = terrain.getLightLevel(x, y, z);
         double lightPenalty = (lightLevel < DARK_LIGHT_THRESHOLD) ? (DARK_LIGHT_THRESHOLD - lightLevel) * 15 : 0;
-        double pathBonus = samplePlayerPathBonusAtLevel(world, candidateMap, x, y, z, PLAYER_PATH_SAMPLE_RADIUS);
+        double pathBonus = samplePlayerPathBonusAtLevel(terrain, grid, x, y, z, PLAYER_PATH_SAMPLE_RADIUS);
         double bonus = (pathBonus > 0.1) ? pathBonus * 30 : 0;
 
         double totalCost = baseCost + slopePenalty + variancePenalty + ledgePenalty
@@ -260,12 +402,12 @@ public class AdvancedNodeMapGenerator {
 
     // --- Sampling methods updated to use candidate floors ---
 
-    private double sampleAverageHeightDifferenceAtLevel(World world, Map<String, List<Integer>> candidateMap, int x, int z, int centerY, int radius) {
+    private double sampleAverageHeightDifferenceAtLevel(TerrainSnapshot terrain, FloorGrid grid, int x, int z, int centerY, int radius) {
         double totalDiff = 0;
         int count = 0;
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
-                int sampleY = getFloorAt(world, candidateMap, x + dx, z + dz, centerY);
+                int sampleY = getFloorAt(terrain, grid, x + dx, z + dz, centerY);
                 totalDiff += Math.abs(centerY - sampleY);
                 count++;
             }
@@ -273,12 +415,12 @@ public class AdvancedNodeMapGenerator {
         return count > 0 ? totalDiff / count : 0;
     }
 
-    private double sampleAverageNeighborHeightAtLevel(World world, Map<String, List<Integer>> candidateMap, int x, int z, int centerY, int radius) {
+    private double sampleAverageNeighborHeightAtLevel(TerrainSnapshot terrain, FloorGrid grid, int x, int z, int centerY, int radius) {
         int sum = 0, count = 0;
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
                 if (dx == 0 && dz == 0) continue;
-                int sampleY = getFloorAt(world, candidateMap, x + dx, z + dz, centerY);
+                int sampleY = getFloorAt(terrain, grid, x + dx, z + dz, centerY);
                 sum += sampleY;
                 count++;
             }
@@ -286,27 +428,30 @@ public class AdvancedNodeMapGenerator {
         return count > 0 ? (double) sum / count : centerY;
     }
 
-    private double sampleHeightVarianceAtLevel(World world, Map<String, List<Integer>> candidateMap, int x, int z, int centerY, int radius) {
-        List<Integer> heights = new ArrayList<>();
+    private double sampleHeightVarianceAtLevel(TerrainSnapshot terrain, FloorGrid grid, int x, int z, int centerY, int radius) {
+        int count = 0;
+        double sum = 0, sumSquares = 0;
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
-                int sampleY = getFloorAt(world, candidateMap, x + dx, z + dz, centerY);
-                heights.add(sampleY);
+                int sampleY = getFloorAt(terrain, grid, x + dx, z + dz, centerY);
+                sum += sampleY;
+                sumSquares += (double) sampleY * sampleY;
+                count++;
             }
         }
-        double mean = heights.stream().mapToDouble(h -> h).average().orElse(centerY);
-        double variance = heights.stream().mapToDouble(h -> (h - mean) * (h - mean)).average().orElse(0);
-        return Math.sqrt(variance);
+        if (count == 0) return 0;
+        double mean = sum / count;
+        return Math.sqrt(Math.max(0, sumSquares / count - mean * mean));
     }
 
-    private double sampleWaterPenaltyAtLevel(World world, Map<String, List<Integer>> candidateMap, int x, int z, int centerY, int radius) {
+    private double sampleWaterPenaltyAtLevel(TerrainSnapshot terrain, FloorGrid grid, int x, int z, int centerY, int radius) {
         int waterCount = 0, total = 0;
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
-                int sampleY = getFloorAt(world, candidateMap, x + dx, z + dz, centerY);
-                Block blockBelow = world.getBlockAt(x + dx, sampleY - 1, z + dz);
+                int sampleY = getFloorAt(terrain, grid, x + dx, z + dz, centerY);
+                Material below = terrain.getType(x + dx, sampleY - 1, z + dz);
                 total++;
-                if (blockBelow.getType() == Material.WATER || blockBelow.getType() == Material.LAVA)
+                if (below == Material.WATER || below == Material.LAVA)
                     waterCount++;
             }
         }
@@ -314,42 +459,39 @@ public class AdvancedNodeMapGenerator {
         return ratio > WATER_THRESHOLD ? Math.exp((ratio - WATER_THRESHOLD) * WATER_EXPONENT_MULTIPLIER) : 1.0;
     }
 
-    private double sampleSlowPenaltyAtLevel(World world, Map<String, List<Integer>> candidateMap, int x, int y, int z, int radius) {
+    private double sampleSlowPenaltyAtLevel(TerrainSnapshot terrain, FloorGrid grid, int x, int y, int z, int radius) {
         int slowCount = 0, total = 0;
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
-                int sampleY = getFloorAt(world, candidateMap, x + dx, z + dz, y);
-                Block block = world.getBlockAt(x + dx, sampleY - 1, z + dz);
+                int sampleY = getFloorAt(terrain, grid, x + dx, z + dz, y);
                 total++;
-                if (SLOW_MATERIALS.contains(block.getType())) slowCount++;
+                if (SLOW_MATERIALS.contains(terrain.getType(x + dx, sampleY - 1, z + dz))) slowCount++;
             }
         }
         double ratio = (double) slowCount / total;
         return ratio > 0.1 ? Math.exp(ratio * SLOW_MULTIPLIER) : 1.0;
     }
 
-    private double sampleVegetationDensityAtLevel(World world, Map<String, List<Integer>> candidateMap, int x, int y, int z, int radius) {
+    private double sampleVegetationDensityAtLevel(TerrainSnapshot terrain, FloorGrid grid, int x, int y, int z, int radius) {
         int vegetationCount = 0;
         int total = (2 * radius + 1) * (2 * radius + 1);
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
-                int sampleY = getFloorAt(world, candidateMap, x + dx, z + dz, y);
-                Block sampleBlock = world.getBlockAt(x + dx, sampleY, z + dz);
-                if (VEGETATION_MATERIALS.contains(sampleBlock.getType()))
+                int sampleY = getFloorAt(terrain, grid, x + dx, z + dz, y);
+                if (VEGETATION_MATERIALS.contains(terrain.getType(x + dx, sampleY, z + dz)))
                     vegetationCount++;
             }
         }
         return (double) vegetationCount / total;
     }
 
-    private double samplePlayerPathBonusAtLevel(World world, Map<String, List<Integer>> candidateMap, int x, int y, int z, int radius) {
+    private double samplePlayerPathBonusAtLevel(TerrainSnapshot terrain, FloorGrid grid, int x, int y, int z, int radius) {
         int pathCount = 0, total = 0;
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
-                int sampleY = getFloorAt(world, candidateMap, x + dx, z + dz, y);
-                Block block = world.getBlockAt(x + dx, sampleY - 1, z + dz);
+                int sampleY = getFloorAt(terrain, grid, x + dx, z + dz, y);
                 total++;
-                if (PLAYER_PATH_MATERIALS.contains(block.getType()))
+                if (PLAYER_PATH_MATERIALS.contains(terrain.getType(x + dx, sampleY - 1, z + dz)))
                     pathCount++;
             }
         }
@@ -360,24 +502,12 @@ public class AdvancedNodeMapGenerator {
     // --- Other helper methods (unchanged) ---
 
     /**
-     * Checks adjacent blocks (in the four cardinal directions) at y-1 to see if any are empty.
+     * Counts how many of the four cardinal adjacent blocks at y-1 are empty; any at all marks a cliff edge.
      */
-    private boolean isNearCliff(World world, int x, int y, int z) {
-        for (BlockFace face : new BlockFace[]{BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST}) {
-            Block adjacent = world.getBlockAt(x + face.getModX(), y - 1, z + face.getModZ());
-            if (adjacent.isEmpty()) return true;
-        }
-        return false;
-    }
-
-    /**
-     * Counts how many of the four cardinal adjacent blocks at y-1 are empty.
-     */
-    private int countLedgeIndicators(World world, int x, int y, int z) {
+    private int countLedgeIndicators(TerrainSnapshot terrain, int x, int y, int z) {
         int count = 0;
-        for (BlockFace face : new BlockFace[]{BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST}) {
-            Block adjacent = world.getBlockAt(x + face.getModX(), y - 1, z + face.getModZ());
-            if (adjacent.isEmpty()) count++;
+        for (BlockFace face : CARDINAL_FACES) {
+            if (terrain.isEmpty(x + face.getModX(), y - 1, z + face.getModZ())) count++;
         }
         return count;
     }
@@ -410,37 +540,54 @@ public class AdvancedNodeMapGenerator {
      * @param nodes the list of navigation nodes to link
      */
     public void buildNeighborLinks(List<NavNode> nodes) {
-        // Build an index mapping column (x_z) to node indices.
-        Map<String, List<Integer>> columnIndex = new HashMap<>();
+        Map<Long, List<Integer>> columnIndex = buildColumnIndex(nodes);
         for (int i = 0; i < nodes.size(); i++) {
-            NavNode node = nodes.get(i);
-            String colKey = node.x + "_" + node.z;
-            columnIndex.computeIfAbsent(colKey, k -> new ArrayList<>()).add(i);
+            linkNode(nodes, columnIndex, i);
         }
-        // For each node, look in the adjacent columns.
+    }
+
+    /**
+     * Maps each (x,z) column to the indices of its nodes
+     */
+    private Map<Long, List<Integer>> buildColumnIndex(List<NavNode> nodes) {
+        Map<Long, List<Integer>> columnIndex = new HashMap<>();
         for (int i = 0; i < nodes.size(); i++) {
             NavNode node = nodes.get(i);
-            for (int dx : new int[]{-NODE_SPACING, 0, NODE_SPACING}) {
-                for (int dz : new int[]{-NODE_SPACING, 0, NODE_SPACING}) {
-                    if (dx == 0 && dz == 0) continue;
-                    String neighborColKey = (node.x + dx) + "_" + (node.z + dz);
-                    if (!columnIndex.containsKey(neighborColKey)) continue;
-                    for (int neighborIndex : columnIndex.get(neighborColKey)) {
-                        NavNode neighbor = nodes.get(neighborIndex);
-                        // Only link if vertical difference is within 4 blocks.
-                        if (Math.abs(node.y - neighbor.y) <= 4) {
-                            double transitionCost = (node.cost + neighbor.cost) / 2.0
-                                    + movementCost(node, neighbor)
-                                    + baritoneHeuristic(node, neighbor)
-                                    + jumpCost(node, neighbor);
-                            node.neighbors.add(new NavNode.Neighbor(neighborIndex, transitionCost));
-                        }
+            columnIndex.computeIfAbsent(columnKey(node.x, node.z), k -> new ArrayList<>()).add(i);
+        }
+        return columnIndex;
+    }
+
+    /**
+     * Links one node to the nodes in the adjacent columns. Only touches that node's own
+     * neighbor list, so different nodes may be linked in parallel.
+     */
+    private void linkNode(List<NavNode> nodes, Map<Long, List<Integer>> columnIndex, int index) {
+        NavNode node = nodes.get(index);
+        for (int dx = -NODE_SPACING; dx <= NODE_SPACING; dx += NODE_SPACING) {
+            for (int dz = -NODE_SPACING; dz <= NODE_SPACING; dz += NODE_SPACING) {
+                if (dx == 0 && dz == 0) continue;
+                List<Integer> column = columnIndex.get(columnKey(node.x + dx, node.z + dz));
+                if (column == null) continue;
+                for (int neighborIndex : column) {
+                    NavNode neighbor = nodes.get(neighborIndex);
+                    // Only link if vertical difference is within 4 blocks.
+                    if (Math.abs(node.y - neighbor.y) <= 4) {
+                        double transitionCost = (node.cost + neighbor.cost) / 2.0
+                                + movementCost(node, neighbor)
+                                + baritoneHeuristic(node, neighbor)
+                                + jumpCost(node, neighbor);
+                        node.neighbors.add(new NavNode.Neighbor(neighborIndex, transitionCost));
                     }
                 }
             }
         }
     }
 
+    private static long columnKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
     /**
      * Saves the generated node map to a file.
      *
@@ -0,0 +1,215 @@
+package com.rednetty.server.core.mechanics.world.trail.pathing.nodes;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Read-only navigation graph in compressed sparse row form, memory-mapped from disk.
+ * <p>
+ * Node data lives in parallel columns (x, y, z, cost) and each node's links are a contiguous
+ * run of packed (neighbor index, transition cost) pairs, located through an offsets column.
+ * Opening a graph maps the file and reads nothing else, so load time and heap use do not
+ * grow with the node count.
+ * <p>
+ * File layout, big-endian, uncompressed:
+ * <pre>
+ * int magic, int version, int nodeCount, int edgeCount
+ * int[nodeCount] x, int[nodeCount] y, int[nodeCount] z, float[nodeCount] cost
+ * (int neighborIndex, float transitionCost)[edgeCount]
+ * int[nodeCount + 1] edge offsets
+ * </pre>
+ * Edges come before the offsets so a {@link Writer} can stream links as they are computed.
+ * Reads use absolute buffer access and are safe from any thread.
+ */
+public final class NavGraph {
+
+    private static final int MAGIC = 0x4E415647; // "NAVG"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int EDGE_BYTES = 8;
+
+    private final ByteBuffer buffer;
+    private final int nodeCount;
+    private final int edgeCount;
+
+    // Byte positions of each section
+    private final int xBase, yBase, zBase, costBase, edgeBase, offsetBase;
+
+    private NavGraph(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a navigation graph file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported navigation graph version " + buffer.getInt(4));
+        }
+
+        this.buffer = buffer;
+        this.nodeCount = buffer.getInt(8);
+        this.edgeCount = buffer.getInt(12);
+
+        this.xBase = HEADER_BYTES;
+        this.yBase = xBase + nodeCount * 4;
+        this.zBase = yBase + nodeCount * 4;
+        this.costBase = zBase + nodeCount * 4;
+        this.edgeBase = costBase + nodeCount * 4;
+        this.offsetBase = edgeBase + edgeCount * EDGE_BYTES;
+
+        long expected = (long) offsetBase + (nodeCount + 1L) * 4;
+        if (buffer.capacity() != expected) {
+            throw new IOException("Navigation graph is truncated (" + buffer.capacity() + " of " + expected + " bytes)");
+        }
+    }
+
+    /**
+     * Maps a graph file written by {@link Writer}.
+     *
+     * @throws IOException if the file cannot be mapped or is not a valid graph
+     */
+    public static NavGraph open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new NavGraph(mapped);
+        }
+    }
+
+    /**
+     * Writes linked nodes to {@code file} in one go, e.g. when converting the legacy format
+     */
+    public static void write(List<NavNode> nodes, File file) throws IOException {
+        try (Writer writer = new Writer(file, nodes)) {
+            for (NavNode node : nodes) {
+                writer.writeNeighbors(node);
+            }
+            writer.commit();
+        }
+    }
+
+    // ================ NODE ACCESS ================
+
+    public int size() {
+        return nodeCount;
+    }
+
+    public boolean isEmpty() {
+        return nodeCount == 0;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public int x(int node) {
+        return buffer.getInt(xBase + node * 4);
+    }
+
+    public int y(int node) {
+        return buffer.getInt(yBase + node * 4);
+    }
+
+    public int z(int node) {
+        return buffer.getInt(zBase + node * 4);
+    }
+
+    public float cost(int node) {
+        return buffer.getFloat(costBase + node * 4);
+    }
+
+    // ================ EDGE ACCESS ================
+
+    /**
+     * First edge of {@code node}; its edges run up to {@link #edgesEnd(int)}, exclusive
+     */
+    public int edgesStart(int node) {
+        return buffer.getInt(offsetBase + node * 4);
+    }
+
+    public int edgesEnd(int node) {
+        return buffer.getInt(offsetBase + (node + 1) * 4);
+    }
+
+    public int edgeTarget(int edge) {
+        return buffer.getInt(edgeBase + edge * EDGE_BYTES);
+    }
+
+    public float edgeCost(int edge) {
+        return buffer.getFloat(edgeBase + edge * EDGE_BYTES + 4);
+    }
+
+    // ================ WRITING ================
+
+    /**
+     * Streams a graph to disk: node columns up front, then each node's links in node order.
+     * Data goes to a temporary file that only replaces the target on {@link #commit()}, so an
+     * interrupted write never leaves a truncated graph behind.
+     */
+    public static final class Writer implements Closeable {
+        private final File target;
+        private final File temp;
+        private final DataOutputStream dos;
+        private final int[] offsets;
+        private int nodesWritten = 0;
+        private int edgesWritten = 0;
+        private boolean committed = false;
+
+        public Writer(File target, List<NavNode> nodes) throws IOException {
+            this.target = target;
+            this.temp = new File(target.getPath() + ".tmp");
+            this.dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16));
+            this.offsets = new int[nodes.size() + 1];
+
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeInt(nodes.size());
+            dos.writeInt(0); // Edge count, patched on commit
+            for (NavNode node : nodes) dos.writeInt(node.x);
+            for (NavNode node : nodes) dos.writeInt(node.y);
+            for (NavNode node : nodes) dos.writeInt(node.z);
+            for (NavNode node : nodes) dos.writeFloat((float) node.cost);
+        }
+
+        /**
+         * Writes the links of the next node, in node order
+         */
+        public void writeNeighbors(NavNode node) throws IOException {
+            offsets[nodesWritten++] = edgesWritten;
+            for (NavNode.Neighbor neighbor : node.neighbors) {
+                dos.writeInt(neighbor.index);
+                dos.writeFloat((float) neighbor.transitionCost);
+            }
+            edgesWritten += node.neighbors.size();
+        }
+
+        public void commit() throws IOException {
+            if (nodesWritten != offsets.length - 1) {
+                throw new IOException("Links written for " + nodesWritten + " of " + (offsets.length - 1) + " nodes");
+            }
+            offsets[nodesWritten] = edgesWritten;
+            for (int offset : offsets) {
+                dos.writeInt(offset);
+            }
+            dos.close();
+
+            try (RandomAccessFile file = new RandomAccessFile(temp, "rw")) {
+                file.seek(12);
+                file.writeInt(edgesWritten);
+            }
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                dos.close();
+                Files.deleteIfExists(temp.toPath());
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.rednetty.server.core.mechanics.world.trail.pathing.nodes;
 
 import com.rednetty.server.core.mechanics.world.trail.pathing.InteriorPathfinder;
+import com.rednetty.server.core.mechanics.world.trail.pathing.search.GraphSearch;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -18,10 +19,11 @@ import java.util.*;
  * and performance for a better end goal.</p>
  */
 public class NavGraphPathfinder {
-    private final List<NavNode> nodes;
+    private final NavGraph graph;
     private final World world;
     private final Plugin plugin;
     private final InteriorPathfinder interiorPathfinder;
+    private final boolean bidirectionalSearch;
 
     // Enable or disable debug logging.
     private final boolean DEBUG = true;
@@ -47,12 +49,13 @@ public class NavGraphPathfinder {
     private static final double VERTICAL_DIFF_THRESHOLD = 2.5;
     private static final double VERTICAL_PENALTY_CONSTANT = 6.0;
 
-    public NavGraphPathfinder(List<NavNode> nodes, World world, Plugin plugin) {
-        this.nodes = nodes;
+    public NavGraphPathfinder(NavGraph graph, World world, Plugin plugin) {
+        this.graph = graph;
         this.world = world;
         this.plugin = plugin;
         this.interiorPathfinder = new InteriorPathfinder(plugin, true);
-        debug("Initialized with " + nodes.size() + " nodes");
+        this.bidirectionalSearch = plugin.getConfig().getBoolean("pathing.bidirectional-search", false);
+        debug("Initialized with " + graph.size() + " nodes");
     }
 
     /**
@@ -199,9 +202,9 @@ public class NavGraphPathfinder {
         }
 
         Location nodeLocation = new Location(world,
-                accessNode.originalNode.x,
-                accessNode.originalNode.y,
-                accessNode.originalNode.z);
+                accessNode.x,
+                accessNode.y,
+                accessNode.z);
 
         // Get interior portion of the path
         List<Location> interiorPath = interiorPathfinder.findInteriorPath(
@@ -246,9 +249,9 @@ public class NavGraphPathfinder {
 
             for (RegionNode node : region.nodes) {
                 Location nodeLoc = new Location(world,
-                        node.originalNode.x,
-                        node.originalNode.y,
-                        node.originalNode.z);
+                        node.x,
+                        node.y,
+                        node.z);
 
                 if (interiorPathfinder.findInteriorPath(location, nodeLoc).isEmpty()) {
                     continue;
@@ -269,12 +272,12 @@ public class NavGraphPathfinder {
 
         // Sort by combination of distance and node cost
         candidates.sort((a, b) -> {
-            Location aLoc = new Location(world, a.originalNode.x, a.originalNode.y, a.originalNode.z);
-            Location bLoc = new Location(world, b.originalNode.x, b.originalNode.y, b.originalNode.z);
+            Location aLoc = new Location(world, a.x, a.y, a.z);
+            Location bLoc = new Location(world, b.x, b.y, b.z);
             double aDist = location.distanceSquared(aLoc);
             double bDist = location.distanceSquared(bLoc);
-            double aScore = aDist * (a.originalNode.cost / ROAD_COST);
-            double bScore = bDist * (b.originalNode.cost / ROAD_COST);
+            double aScore = aDist * (a.cost / ROAD_COST);
+            double bScore = bDist * (b.cost / ROAD_COST);
             return Double.compare(aScore, bScore);
         });
 
@@ -317,10 +320,12 @@ public class NavGraphPathfinder {
         final double radiusSq = regionRadius * regionRadius;
 
         List<RegionNode> regionNodes = new ArrayList<>();
-        for (NavNode node : nodes) {
-            Vector nodeVec = new Vector(node.x, node.y, node.z);
-            if (nodeVec.distanceSquared(midpoint) <= radiusSq) {
-                regionNodes.add(new RegionNode(node, regionNodes.size()));
+        for (int id = 0; id < graph.size(); id++) {
+            double dx = graph.x(id) - midpoint.getX();
+            double dy = graph.y(id) - midpoint.getY();
+            double dz = graph.z(id) - midpoint.getZ();
+            if (dx * dx + dy * dy + dz * dz <= radiusSq) {
+                regionNodes.add(new RegionNode(graph, id, regionNodes.size()));
             }
         }
 
@@ -331,8 +336,8 @@ public class NavGraphPathfinder {
         // Connect nodes using the grid
         final double connectionRangeSq = CONNECTION_RANGE * CONNECTION_RANGE;
         for (RegionNode node : regionNodes) {
-            int cellX = getCell(node.originalNode.x, cellSize);
-            int cellZ = getCell(node.originalNode.z, cellSize);
+            int cellX = getCell(node.x, cellSize);
+            int cellZ = getCell(node.z, cellSize);
             for (int dx = -1; dx <= 1; dx++) {
                 for (int dz = -1; dz <= 1; dz++) {
                     GridCoord neighborCoord = new GridCoord(cellX + dx, cellZ + dz);
@@ -342,7 +347,7 @@ public class NavGraphPathfinder {
                         if (node == other) continue;
                         if (squaredDistance(node, other) <= connectionRangeSq) {
                             double baseCost = calculateBaseCost(node, other);
-                            if (node.originalNode.cost <= ROAD_COST || other.originalNode.cost <= ROAD_COST) {
+                            if (node.cost <= ROAD_COST || other.cost <= ROAD_COST) {
                                 baseCost *= 0.1;
                             }
                             node.connections.add(new NodeConnection(other, baseCost));
@@ -360,8 +365,8 @@ public class NavGraphPathfinder {
     private Map<GridCoord, List<RegionNode>> buildSpatialGrid(List<RegionNode> regionNodes, int cellSize) {
         Map<GridCoord, List<RegionNode>> grid = new HashMap<>();
         for (RegionNode node : regionNodes) {
-            int cellX = getCell(node.originalNode.x, cellSize);
-            int cellZ = getCell(node.originalNode.z, cellSize);
+            int cellX = getCell(node.x, cellSize);
+            int cellZ = getCell(node.z, cellSize);
             GridCoord coord = new GridCoord(cellX, cellZ);
             grid.computeIfAbsent(coord, k -> new ArrayList<>()).add(node);
         }
@@ -374,42 +379,62 @@ public class NavGraphPathfinder {
 
     // --- A* Pathfinding with Vertical Penalty ---
     private List<RegionNode> findRegionPath(RegionGraph region, RegionNode start, RegionNode goal) {
-        PriorityQueue<PathNode> openSet = new PriorityQueue<>();
-        Map<RegionNode, RegionNode> cameFrom = new HashMap<>();
-        Map<RegionNode, Double> gScore = new HashMap<>();
-        Set<RegionNode> closedSet = new HashSet<>();
-
-        gScore.put(start, 0.0);
-        openSet.add(new PathNode(start, heuristic(start, goal)));
-
-        while (!openSet.isEmpty()) {
-            PathNode current = openSet.poll();
-            if (current.node.equals(goal)) {
-                return reconstructPath(cameFrom, start, goal);
-            }
-            closedSet.add(current.node);
-
-            for (NodeConnection conn : current.node.connections) {
-                if (closedSet.contains(conn.to)) continue;
-                double tentativeG = gScore.get(current.node) + calculatePathCost(current.node, conn.to);
-                if (tentativeG < gScore.getOrDefault(conn.to, Double.MAX_VALUE)) {
-                    cameFrom.put(conn.to, current.node);
-                    gScore.put(conn.to, tentativeG);
-                    double fScore = tentativeG + heuristic(conn.to, goal);
-                    openSet.add(new PathNode(conn.to, fScore));
-                }
-            }
+        int[] path = GraphSearch.findPath(new RegionSearchSpace(region), start.index, goal.index, bidirectionalSearch);
+        if (path == null) {
+            return Collections.emptyList();
+        }
+
+        List<RegionNode> nodePath = new ArrayList<>(path.length);
+        for (int index : path) {
+            nodePath.add(region.nodes.get(index));
+        }
+        return nodePath;
+    }
+
+    /**
+     * Region graph as seen by {@link GraphSearch}; region node indices are the search ids.
+     * Connections are built symmetrically, so bidirectional search applies.
+     */
+    private class RegionSearchSpace implements GraphSearch.SearchSpace {
+        private final List<RegionNode> nodes;
+
+        RegionSearchSpace(RegionGraph region) {
+            this.nodes = region.nodes;
+        }
+
+        @Override
+        public int nodeCount() {
+            return nodes.size();
+        }
+
+        @Override
+        public int neighborCount(int node) {
+            return nodes.get(node).connections.size();
+        }
+
+        @Override
+        public int neighbor(int node, int index) {
+            return nodes.get(node).connections.get(index).to.index;
+        }
+
+        @Override
+        public float cost(int from, int to) {
+            return (float) calculatePathCost(nodes.get(from), nodes.get(to));
+        }
+
+        @Override
+        public float heuristic(int node, int target) {
+            return (float) NavGraphPathfinder.this.heuristic(nodes.get(node), nodes.get(target));
         }
-        return Collections.emptyList();
     }
 
     /**
      * Heuristic using weighted Euclidean distance plus an extra vertical penalty.
      */
     private double heuristic(RegionNode a, RegionNode b) {
-        double dx = a.originalNode.x - b.originalNode.x;
-        double dz = a.originalNode.z - b.originalNode.z;
-        double dy = a.originalNode.y - b.originalNode.y;
+        double dx = a.x - b.x;
+        double dz = a.z - b.z;
+        double dy = a.y - b.y;
         double baseHeuristic = Math.sqrt(dx * dx + dz * dz + (dy * dy) * 2);
         double absDy = Math.abs(dy);
         if (absDy > VERTICAL_DIFF_THRESHOLD) {
@@ -423,14 +448,14 @@ public class NavGraphPathfinder {
      * Computes the cost for moving from one node to another.
      */
     private double calculatePathCost(RegionNode from, RegionNode to) {
-        double cost = to.originalNode.cost;
+        double cost = to.cost;
         if (cost > CHEAP_NODE_THRESHOLD) {
             cost *= EXPENSIVE_NODE_MULTIPLIER;
         }
-        if (from.originalNode.cost <= ROAD_COST && to.originalNode.cost > ROAD_COST) {
+        if (from.cost <= ROAD_COST && to.cost > ROAD_COST) {
             cost *= 1000;
         }
-        double verticalDiff = Math.abs(from.originalNode.y - to.originalNode.y);
+        double verticalDiff = Math.abs(from.y - to.y);
         if (verticalDiff > VERTICAL_DIFF_THRESHOLD) {
             cost += (verticalDiff - VERTICAL_DIFF_THRESHOLD) * VERTICAL_PENALTY_CONSTANT;
         }
@@ -453,7 +478,7 @@ public class NavGraphPathfinder {
     }
 
     private Location toLocation(RegionNode node) {
-        return new Location(world, node.originalNode.x, node.originalNode.y, node.originalNode.z);
+        return new Location(world, node.x, node.y, node.z);
     }
 
     /**
@@ -539,10 +564,10 @@ public class NavGraphPathfinder {
         double x = loc.getX();
         double z = loc.getZ();
         for (RegionNode node : region.nodes) {
-            double dx = node.originalNode.x - x;
-            double dz = node.originalNode.z - z;
+            double dx = node.x - x;
+            double dz = node.z - z;
             double distSq = dx * dx + dz * dz;
-            if (node.originalNode.cost <= ROAD_COST) {
+            if (node.cost <= ROAD_COST) {
                 distSq *= 0.25;
             }
             if (distSq < nearestDistSq) {
@@ -554,14 +579,14 @@ public class NavGraphPathfinder {
     }
 
     private double squaredDistance(RegionNode a, RegionNode b) {
-        double dx = a.originalNode.x - b.originalNode.x;
-        double dy = a.originalNode.y - b.originalNode.y;
-        double dz = a.originalNode.z - b.originalNode.z;
+        double dx = a.x - b.x;
+        double dy = a.y - b.y;
+        double dz = a.z - b.z;
         return dx * dx + dy * dy + dz * dz;
     }
 
     private double calculateBaseCost(RegionNode a, RegionNode b) {
-        return Math.max(a.originalNode.cost, b.originalNode.cost);
+        return Math.max(a.cost, b.cost);
     }
 
     /**
@@ -702,21 +727,6 @@ public class NavGraphPathfinder {
                 approach.clone().add(0, -1, 0).getBlock().getType().isSolid();
     }
 
-    /**
-     * Reconstructs the path from the A* cameFrom map.
-     */
-    private List<RegionNode> reconstructPath(Map<RegionNode, RegionNode> cameFrom,
-                                             RegionNode start, RegionNode goal) {
-        List<RegionNode> path = new ArrayList<>();
-        RegionNode current = goal;
-        while (current != null) {
-            path.add(current);
-            current = cameFrom.get(current);
-        }
-        Collections.reverse(path);
-        return path;
-    }
-
     private void debug(String message) {
         if (DEBUG) {
             plugin.getLogger().info("[PathDebug] " + message);
@@ -729,7 +739,7 @@ public class NavGraphPathfinder {
 
     private String formatNode(RegionNode node) {
         return String.format("Node(x=%d, y=%d, z=%d, cost=%.1f)",
-                node.originalNode.x, node.originalNode.y, node.originalNode.z, node.originalNode.cost);
+                node.x, node.y, node.z, node.cost);
     }
 
     // --- Inner Classes ---
@@ -742,12 +752,16 @@ public class NavGraphPathfinder {
     }
 
     private static class RegionNode {
-        final NavNode originalNode;
+        final int x, y, z;
+        final double cost;
         final int index;
         final List<NodeConnection> connections;
 
-        RegionNode(NavNode original, int index) {
-            this.originalNode = original;
+        RegionNode(NavGraph graph, int id, int index) {
+            this.x = graph.x(id);
+            this.y = graph.y(id);
+            this.z = graph.z(id);
+            this.cost = graph.cost(id);
             this.index = index;
             this.connections = new ArrayList<>();
         }
@@ -778,21 +792,6 @@ public class NavGraphPathfinder {
         }
     }
 
-    private static class PathNode implements Comparable<PathNode> {
-        final RegionNode node;
-        final double cost;
-
-        PathNode(RegionNode node, double cost) {
-            this.node = node;
-            this.cost = cost;
-        }
-
-        @Override
-        public int compareTo(PathNode other) {
-            return Double.compare(this.cost, other.cost);
-        }
-    }
-
     private static class GridCoord {
         final int x;
         final int z;
@@ -5,6 +5,9 @@ import java.util.List;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+/**
+ * Legacy GZIP node map format. Only read now, to convert existing files to {@link NavGraph}.
+ */
 public class OptimizedNodeMapStorage {
 
     /**
@@ -0,0 +1,172 @@
+package com.rednetty.server.core.mechanics.world.trail.pathing.nodes;
+
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only copy of the blocks in a rectangular area, built from {@link ChunkSnapshot}s so the
+ * node map can be computed off the main thread.
+ *
+ * <p>Blocks outside the captured chunks read as air.
+ */
+class TerrainSnapshot {
+
+    // Chunks captured per tick stop once this much time is spent
+    private static final long CAPTURE_BUDGET_NANOS = 5_000_000L;
+    // Chunks being loaded asynchronously at once
+    private static final int MAX_PENDING_LOADS = 8;
+    // Chunks per region side; capture walks the area region by region
+    private static final int REGION_CHUNKS = 4;
+
+    private final Map<Long, ChunkSnapshot> chunks;
+    private final int minY;
+    private final int maxY;
+
+    private TerrainSnapshot(Map<Long, ChunkSnapshot> chunks, int minY, int maxY) {
+        this.chunks = chunks;
+        this.minY = minY;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Capture the area immediately; loads chunks synchronously. Main thread only.
+     */
+    static TerrainSnapshot captureNow(World world, int minX, int maxX, int minZ, int maxZ) {
+        Map<Long, ChunkSnapshot> chunks = new ConcurrentHashMap<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                chunks.put(chunkKey(chunkX, chunkZ), snapshotOf(world.getChunkAt(chunkX, chunkZ)));
+            }
+        }
+        return new TerrainSnapshot(chunks, world.getMinHeight(), world.getMaxHeight());
+    }
+
+    /**
+     * Capture the area over several ticks. Loaded chunks are copied within a per-tick time
+     * budget; unloaded ones are loaded asynchronously and copied when they arrive.
+     *
+     * @return completes on the main thread once every chunk is captured
+     */
+    static CompletableFuture<TerrainSnapshot> captureGradually(Plugin plugin, World world,
+                                                               int minX, int maxX, int minZ, int maxZ) {
+        CompletableFuture<TerrainSnapshot> result = new CompletableFuture<>();
+        Map<Long, ChunkSnapshot> chunks = new ConcurrentHashMap<>();
+        Deque<long[]> queue = new ArrayDeque<>();
+
+        int minChunkX = minX >> 4, maxChunkX = maxX >> 4;
+        int minChunkZ = minZ >> 4, maxChunkZ = maxZ >> 4;
+        for (int regionX = minChunkX; regionX <= maxChunkX; regionX += REGION_CHUNKS) {
+            for (int regionZ = minChunkZ; regionZ <= maxChunkZ; regionZ += REGION_CHUNKS) {
+                for (int chunkX = regionX; chunkX < regionX + REGION_CHUNKS && chunkX <= maxChunkX; chunkX++) {
+                    for (int chunkZ = regionZ; chunkZ < regionZ + REGION_CHUNKS && chunkZ <= maxChunkZ; chunkZ++) {
+                        queue.add(new long[]{chunkX, chunkZ});
+                    }
+                }
+            }
+        }
+        int total = queue.size();
+        AtomicInteger pendingLoads = new AtomicInteger();
+
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                if (result.isDone()) {
+                    cancel();
+                    return;
+                }
+
+                try {
+                    long deadline = System.nanoTime() + CAPTURE_BUDGET_NANOS;
+                    while (!queue.isEmpty() && System.nanoTime() < deadline) {
+                        long[] next = queue.peek();
+                        int chunkX = (int) next[0], chunkZ = (int) next[1];
+
+                        if (world.isChunkLoaded(chunkX, chunkZ)) {
+                            queue.poll();
+                            chunks.put(chunkKey(chunkX, chunkZ), snapshotOf(world.getChunkAt(chunkX, chunkZ)));
+                        } else if (pendingLoads.get() < MAX_PENDING_LOADS) {
+                            queue.poll();
+                            pendingLoads.incrementAndGet();
+                            // Completes on the main thread
+                            world.getChunkAtAsync(chunkX, chunkZ).whenComplete((chunk, error) -> {
+                                pendingLoads.decrementAndGet();
+                                if (error != null) {
+                                    result.completeExceptionally(error);
+                                } else {
+                                    chunks.put(chunkKey(chunkX, chunkZ), snapshotOf(chunk));
+                                }
+                            });
+                        } else {
+                            break; // Wait for loads in flight
+                        }
+                    }
+
+                    if (queue.isEmpty() && pendingLoads.get() == 0 && chunks.size() == total) {
+                        cancel();
+                        result.complete(new TerrainSnapshot(chunks, world.getMinHeight(), world.getMaxHeight()));
+                    }
+                } catch (Exception e) {
+                    cancel();
+                    result.completeExceptionally(e);
+                }
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+
+        return result;
+    }
+
+    private static ChunkSnapshot snapshotOf(Chunk chunk) {
+        // Heightmap is needed for the highest-block fallback; biomes are not
+        return chunk.getChunkSnapshot(true, false, false);
+    }
+
+    // ================ BLOCK ACCESS ================
+
+    int getMinHeight() {
+        return minY;
+    }
+
+    int getMaxHeight() {
+        return maxY;
+    }
+
+    Material getType(int x, int y, int z) {
+        ChunkSnapshot chunk = chunks.get(chunkKey(x >> 4, z >> 4));
+        if (chunk == null || y < minY || y >= maxY) {
+            return Material.AIR;
+        }
+        return chunk.getBlockType(x & 15, y, z & 15);
+    }
+
+    boolean isEmpty(int x, int y, int z) {
+        return getType(x, y, z).isAir();
+    }
+
+    int getLightLevel(int x, int y, int z) {
+        ChunkSnapshot chunk = chunks.get(chunkKey(x >> 4, z >> 4));
+        if (chunk == null || y < minY || y >= maxY) {
+            return 0;
+        }
+        return Math.max(chunk.getBlockSkyLight(x & 15, y, z & 15), chunk.getBlockEmittedLight(x & 15, y, z & 15));
+    }
+
+    int getHighestBlockY(int x, int z) {
+        ChunkSnapshot chunk = chunks.get(chunkKey(x >> 4, z >> 4));
+        return chunk == null ? minY : chunk.getHighestBlockYAt(x & 15, z & 15);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
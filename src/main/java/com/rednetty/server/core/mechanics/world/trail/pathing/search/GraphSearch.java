@@ -0,0 +1,140 @@
+package com.rednetty.server.core.mechanics.world.trail.pathing.search;
+
+/**
+ * A* over graphs whose nodes are dense int ids, running on the calling thread's
+ * {@link SearchContext}.
+ */
+public final class GraphSearch {
+
+    /**
+     * The graph being searched. Ids run from 0 to {@link #nodeCount()}, exclusive.
+     */
+    public interface SearchSpace {
+        int nodeCount();
+
+        int neighborCount(int node);
+
+        int neighbor(int node, int index);
+
+        /**
+         * Cost of moving from {@code from} to its neighbor {@code to}
+         */
+        float cost(int from, int to);
+
+        /**
+         * Estimated cost from {@code node} to {@code target}
+         */
+        float heuristic(int node, int target);
+    }
+
+    private GraphSearch() {
+    }
+
+    /**
+     * Find a path from {@code start} to {@code goal}.
+     * <p>
+     * Bidirectional search grows a second frontier back from the goal and stops once neither
+     * frontier can improve on the best meeting point. It expects every edge to exist in both
+     * directions, and it costs the backward step to {@code n} as {@code cost(n, current)}.
+     *
+     * @return node ids from start to goal inclusive, or null if the goal is unreachable
+     */
+    public static int[] findPath(SearchSpace space, int start, int goal, boolean bidirectional) {
+        if (start == goal) {
+            return new int[]{start};
+        }
+        return bidirectional ? bidirectional(space, start, goal) : forward(space, start, goal);
+    }
+
+    private static int[] forward(SearchSpace space, int start, int goal) {
+        SearchFrontier frontier = SearchContext.get().forward();
+        frontier.reset(space.nodeCount());
+        frontier.relax(start, 0f, SearchFrontier.NONE, space.heuristic(start, goal));
+
+        IndexedMinHeap open = frontier.open();
+        while (!open.isEmpty()) {
+            int current = open.poll();
+            if (current == goal) {
+                return frontier.pathTo(goal);
+            }
+            frontier.close(current);
+
+            float g = frontier.g(current);
+            for (int i = 0, count = space.neighborCount(current); i < count; i++) {
+                int next = space.neighbor(current, i);
+                if (frontier.isClosed(next)) continue;
+
+                float tentative = g + space.cost(current, next);
+                if (tentative < frontier.g(next)) {
+                    frontier.relax(next, tentative, current, tentative + space.heuristic(next, goal));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int[] bidirectional(SearchSpace space, int start, int goal) {
+        SearchContext context = SearchContext.get();
+        SearchFrontier forward = context.forward();
+        SearchFrontier backward = context.backward();
+        forward.reset(space.nodeCount());
+        backward.reset(space.nodeCount());
+        forward.relax(start, 0f, SearchFrontier.NONE, space.heuristic(start, goal));
+        backward.relax(goal, 0f, SearchFrontier.NONE, space.heuristic(goal, start));
+
+        float best = Float.POSITIVE_INFINITY;
+        int meeting = SearchFrontier.NONE;
+
+        while (!forward.open().isEmpty() && !backward.open().isEmpty()) {
+            // Neither side can reach a cheaper meeting point than the one found
+            if (forward.open().peekKey() >= best || backward.open().peekKey() >= best) {
+                break;
+            }
+
+            // Expand the smaller frontier
+            boolean expandForward = forward.open().size() <= backward.open().size();
+            SearchFrontier side = expandForward ? forward : backward;
+            SearchFrontier other = expandForward ? backward : forward;
+            int target = expandForward ? goal : start;
+
+            int current = side.open().poll();
+            side.close(current);
+
+            float g = side.g(current);
+            for (int i = 0, count = space.neighborCount(current); i < count; i++) {
+                int next = space.neighbor(current, i);
+                if (side.isClosed(next)) continue;
+
+                float step = expandForward ? space.cost(current, next) : space.cost(next, current);
+                float tentative = g + step;
+                if (tentative < side.g(next)) {
+                    side.relax(next, tentative, current, tentative + space.heuristic(next, target));
+
+                    float total = tentative + other.g(next);
+                    if (total < best) {
+                        best = total;
+                        meeting = next;
+                    }
+                }
+            }
+        }
+
+        if (meeting == SearchFrontier.NONE) {
+            return null;
+        }
+
+        // Forward half ends at the meeting point; the backward half walks on to the goal
+        int[] head = forward.pathTo(meeting);
+        int tailLength = 0;
+        for (int node = backward.cameFrom(meeting); node != SearchFrontier.NONE; node = backward.cameFrom(node)) {
+            tailLength++;
+        }
+        int[] path = new int[head.length + tailLength];
+        System.arraycopy(head, 0, path, 0, head.length);
+        int i = head.length;
+        for (int node = backward.cameFrom(meeting); node != SearchFrontier.NONE; node = backward.cameFrom(node)) {
+            path[i++] = node;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,134 @@
+package com.rednetty.server.core.mechanics.world.trail.pathing.search;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int node ids keyed by float priority, with decrease-key.
+ * <p>
+ * Each id's heap slot is tracked in a position array that is invalidated in O(1) by bumping a
+ * generation stamp, so {@link #clear()} costs nothing and the arrays are reused across searches.
+ */
+public final class IndexedMinHeap {
+
+    private int[] heap = new int[64];
+    private float[] keys = new float[64];
+    private int size = 0;
+
+    // Heap slot per node id, -1 once polled; only meaningful where positionStamp == stamp
+    private int[] position = new int[0];
+    private int[] positionStamp = new int[0];
+    private int stamp = 1;
+
+    /**
+     * Make room for node ids below {@code nodeCount}
+     */
+    public void ensureNodeCapacity(int nodeCount) {
+        if (position.length < nodeCount) {
+            int capacity = Math.max(nodeCount, position.length * 2);
+            position = Arrays.copyOf(position, capacity);
+            positionStamp = Arrays.copyOf(positionStamp, capacity);
+        }
+    }
+
+    public void clear() {
+        size = 0;
+        if (++stamp == 0) {
+            Arrays.fill(positionStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return positionStamp[id] == stamp && position[id] >= 0;
+    }
+
+    /**
+     * Insert {@code id}, or lower its key if it is queued with a higher one
+     */
+    public void insertOrDecrease(int id, float key) {
+        if (positionStamp[id] == stamp && position[id] >= 0) {
+            int slot = position[id];
+            if (key < keys[slot]) {
+                keys[slot] = key;
+                siftUp(slot);
+            }
+            return;
+        }
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        heap[size] = id;
+        keys[size] = key;
+        positionStamp[id] = stamp;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    public float peekKey() {
+        return keys[0];
+    }
+
+    public int poll() {
+        int min = heap[0];
+        position[min] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            keys[0] = keys[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int slot) {
+        int id = heap[slot];
+        float key = keys[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, slot);
+            slot = parent;
+        }
+        heap[slot] = id;
+        keys[slot] = key;
+        position[id] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int id = heap[slot];
+        float key = keys[slot];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            move(child, slot);
+            slot = child;
+        }
+        heap[slot] = id;
+        keys[slot] = key;
+        position[id] = slot;
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        keys[to] = keys[from];
+        position[heap[to]] = to;
+    }
+}
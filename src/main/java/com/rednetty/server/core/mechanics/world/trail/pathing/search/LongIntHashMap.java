@@ -0,0 +1,71 @@
+package com.rednetty.server.core.mechanics.world.trail.pathing.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from long keys to non-negative int values, for numbering positions
+ * during a search without boxing. Slots are generation-stamped, so {@link #reset(int)} is O(1)
+ * unless the table has to grow.
+ */
+public final class LongIntHashMap {
+
+    public static final int MISSING = -1;
+
+    private long[] keys = new long[0];
+    private int[] values = new int[0];
+    private int[] stamps = new int[0];
+    private int stamp = 0;
+    private int mask = -1;
+
+    /**
+     * Empty the map and make sure {@code expectedSize} entries fit without rehashing
+     */
+    public void reset(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        if (keys.length < capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            stamps = new int[capacity];
+            mask = capacity - 1;
+            stamp = 0;
+        }
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    public int get(long key) {
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (stamps[slot] != stamp) {
+                return MISSING;
+            }
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+    }
+
+    /**
+     * Caller must keep the entry count within the size given to {@link #reset(int)}
+     */
+    public void put(long key, int value) {
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (stamps[slot] != stamp) {
+                stamps[slot] = stamp;
+                keys[slot] = key;
+                values[slot] = value;
+                return;
+            }
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+        }
+    }
+
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rednetty.server.core.mechanics.world.trail.pathing.search;
+
+/**
+ * Per-thread search state, reused by every search on that thread so steady-state searches
+ * allocate nothing but their result.
+ */
+public final class SearchContext {
+
+    private static final ThreadLocal<SearchContext> LOCAL = ThreadLocal.withInitial(SearchContext::new);
+
+    private final SearchFrontier forward = new SearchFrontier();
+    private final SearchFrontier backward = new SearchFrontier();
+
+    private SearchContext() {
+    }
+
+    public static SearchContext get() {
+        return LOCAL.get();
+    }
+
+    public SearchFrontier forward() {
+        return forward;
+    }
+
+    public SearchFrontier backward() {
+        return backward;
+    }
+}
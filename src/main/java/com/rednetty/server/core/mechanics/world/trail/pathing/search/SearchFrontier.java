@@ -0,0 +1,93 @@
+package com.rednetty.server.core.mechanics.world.trail.pathing.search;
+
+import java.util.Arrays;
+
+/**
+ * One direction of an A* search: open set, best known cost and predecessor per node, and the
+ * closed set. Per-node entries are generation-stamped, so starting a new search is O(1) and
+ * the arrays are only reallocated when a larger graph comes along.
+ */
+public final class SearchFrontier {
+
+    public static final int NONE = -1;
+
+    private final IndexedMinHeap open = new IndexedMinHeap();
+    private float[] gScore = new float[0];
+    private int[] cameFrom = new int[0];
+    private int[] seenStamp = new int[0];
+    private int[] closedStamp = new int[0];
+    private int generation = 0;
+
+    /**
+     * Forget the previous search and make room for ids below {@code nodeCount}
+     */
+    public void reset(int nodeCount) {
+        if (gScore.length < nodeCount) {
+            int capacity = Math.max(nodeCount, gScore.length * 2);
+            gScore = Arrays.copyOf(gScore, capacity);
+            cameFrom = Arrays.copyOf(cameFrom, capacity);
+            seenStamp = Arrays.copyOf(seenStamp, capacity);
+            closedStamp = Arrays.copyOf(closedStamp, capacity);
+        }
+        open.ensureNodeCapacity(nodeCount);
+        open.clear();
+
+        if (++generation == 0) {
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+    }
+
+    public IndexedMinHeap open() {
+        return open;
+    }
+
+    public boolean isSeen(int node) {
+        return seenStamp[node] == generation;
+    }
+
+    /**
+     * Best known cost to {@code node}, or infinity if it has not been reached
+     */
+    public float g(int node) {
+        return seenStamp[node] == generation ? gScore[node] : Float.POSITIVE_INFINITY;
+    }
+
+    public int cameFrom(int node) {
+        return seenStamp[node] == generation ? cameFrom[node] : NONE;
+    }
+
+    /**
+     * Record a better route to {@code node} and queue it with priority {@code f}
+     */
+    public void relax(int node, float g, int from, float f) {
+        seenStamp[node] = generation;
+        gScore[node] = g;
+        cameFrom[node] = from;
+        open.insertOrDecrease(node, f);
+    }
+
+    public void close(int node) {
+        closedStamp[node] = generation;
+    }
+
+    public boolean isClosed(int node) {
+        return closedStamp[node] == generation;
+    }
+
+    /**
+     * Node ids from the search origin to {@code node}, inclusive
+     */
+    public int[] pathTo(int node) {
+        int length = 0;
+        for (int current = node; current != NONE; current = cameFrom(current)) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int current = node, i = length - 1; current != NONE; current = cameFrom(current), i--) {
+            path[i] = current;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,74 @@
+package com.rednetty.server.utils.async;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.function.Consumer;
+
+/**
+ * Dispatches per-entity work on the thread that owns the entity.
+ *
+ * <p>The dispatch mode is resolved once when the class loads instead of looking the
+ * scheduler up reflectively on every call:
+ * <ul>
+ *   <li>{@link Mode#REGIONIZED} - Folia-style region threading; work goes through the
+ *       entity's {@code EntityScheduler}</li>
+ *   <li>{@link Mode#INLINE} - single main thread; work runs directly when called from the
+ *       main thread and falls back to the entity scheduler otherwise</li>
+ * </ul>
+ *
+ * <p>Callers that dispatch every tick should hold on to a single {@link Task} instance so
+ * no lambda is allocated per call.
+ */
+public final class EntityTaskDispatcher {
+
+    public enum Mode {
+        INLINE,
+        REGIONIZED
+    }
+
+    /**
+     * Reusable unit of entity work. Implements both shapes the dispatcher needs so one
+     * instance can be passed to the entity scheduler without wrapping.
+     */
+    @FunctionalInterface
+    public interface Task extends Runnable, Consumer<ScheduledTask> {
+        @Override
+        default void accept(ScheduledTask scheduledTask) {
+            run();
+        }
+    }
+
+    private static final Mode MODE = resolveMode();
+
+    private EntityTaskDispatcher() {
+    }
+
+    private static Mode resolveMode() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return Mode.REGIONIZED;
+        } catch (ClassNotFoundException e) {
+            return Mode.INLINE;
+        }
+    }
+
+    public static Mode getMode() {
+        return MODE;
+    }
+
+    /**
+     * Run the task for the given entity on its owning thread.
+     *
+     * @return false if the entity scheduler rejected the task (entity retired)
+     */
+    public static boolean dispatch(Plugin plugin, Entity entity, Task task) {
+        if (MODE == Mode.INLINE && Bukkit.isPrimaryThread()) {
+            task.run();
+            return true;
+        }
+        return entity.getScheduler().run(plugin, task, null) != null;
+    }
+}
@@ -7,7 +7,12 @@ import org.bukkit.util.io.BukkitObjectOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OptionalDataException;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  *  ItemSerializer - Safe serialization/deserialization of ItemStacks
@@ -17,9 +22,234 @@ import java.util.Base64;
  * 2. Base64 encoding for safe string storage
  * 3. Comprehensive null checking
  * 4. Version compatibility handling
+ *
+ * Binary container format (stored as BSON Binary, see {@link #encodeItemStacks(ItemStack[])}):
+ * <pre>
+ *   'Y' 'I' version flags | body
+ *   body (deflated when flags has FLAG_DEFLATE):
+ *     varint containerSize, varint itemCount, itemCount x (varint slot, varint length, Paper item bytes)
+ * </pre>
+ * Slots are kept, so empty slots survive a round trip. Legacy Java-serialized data (the
+ * decoded Base64 form) starts with the Java stream magic and is still readable through
+ * {@link #decodeItemStacks(byte[])}; it is rewritten in the binary form on the next save.
  */
 public class ItemSerializer {
 
+    private static final byte MAGIC_0 = 'Y';
+    private static final byte MAGIC_1 = 'I';
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte FLAG_DEFLATE = 1;
+    private static final int HEADER_SIZE = 4;
+
+    /** Bodies smaller than this are stored raw; deflate rarely pays off below it */
+    private static final int DEFLATE_THRESHOLD = 256;
+    private static final int MAX_CONTAINER_SIZE = 1000;
+
+    // ================ BINARY CODEC ================
+
+    /**
+     * Encode a container (inventory, armor, ender chest) keeping slot positions.
+     *
+     * @return encoded bytes, or null if the container holds no valid items
+     */
+    public static byte[] encodeItemStacks(ItemStack[] items) {
+        if (items == null || items.length == 0) {
+            return null;
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        int itemCount = 0;
+        for (ItemStack item : items) {
+            if (InventoryUtils.isValidItem(item)) {
+                itemCount++;
+            }
+        }
+        if (itemCount == 0) {
+            return null;
+        }
+
+        writeVarInt(body, items.length);
+        writeVarInt(body, itemCount);
+        for (int slot = 0; slot < items.length; slot++) {
+            ItemStack item = items[slot];
+            if (!InventoryUtils.isValidItem(item)) {
+                continue;
+            }
+            byte[] itemBytes = item.serializeAsBytes();
+            writeVarInt(body, slot);
+            writeVarInt(body, itemBytes.length);
+            body.write(itemBytes, 0, itemBytes.length);
+        }
+
+        byte[] raw = body.toByteArray();
+        byte flags = 0;
+        byte[] payload = raw;
+        if (raw.length >= DEFLATE_THRESHOLD) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                payload = deflated;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+
+        byte[] encoded = new byte[HEADER_SIZE + payload.length];
+        encoded[0] = MAGIC_0;
+        encoded[1] = MAGIC_1;
+        encoded[2] = FORMAT_VERSION;
+        encoded[3] = flags;
+        System.arraycopy(payload, 0, encoded, HEADER_SIZE, payload.length);
+        return encoded;
+    }
+
+    /**
+     * Encode a single item (offhand).
+     */
+    public static byte[] encodeItemStack(ItemStack item) {
+        if (!InventoryUtils.isValidItem(item)) {
+            return null;
+        }
+        return encodeItemStacks(new ItemStack[]{item});
+    }
+
+    /**
+     * Decode a container written by {@link #encodeItemStacks(ItemStack[])} or legacy
+     * Java-serialized bytes.
+     */
+    public static ItemStack[] decodeItemStacks(byte[] data) {
+        if (data == null || data.length == 0) {
+            return new ItemStack[0];
+        }
+        if (!isBinaryFormat(data)) {
+            return deserializeLegacy(data);
+        }
+
+        try {
+            if (data[2] > FORMAT_VERSION) {
+                throw new IOException("Unsupported item format version: " + data[2]);
+            }
+
+            byte[] body = Arrays.copyOfRange(data, HEADER_SIZE, data.length);
+            if ((data[3] & FLAG_DEFLATE) != 0) {
+                body = inflate(body);
+            }
+
+            int[] position = {0};
+            int containerSize = readVarInt(body, position);
+            int itemCount = readVarInt(body, position);
+            if (containerSize < 0 || containerSize > MAX_CONTAINER_SIZE || itemCount < 0 || itemCount > containerSize) {
+                throw new IOException("Invalid container: size=" + containerSize + ", items=" + itemCount);
+            }
+
+            ItemStack[] items = new ItemStack[containerSize];
+            for (int i = 0; i < itemCount; i++) {
+                int slot = readVarInt(body, position);
+                int length = readVarInt(body, position);
+                if (slot < 0 || slot >= containerSize || length < 0 || position[0] + length > body.length) {
+                    throw new IOException("Corrupt item entry at index " + i);
+                }
+
+                ItemStack item = ItemStack.deserializeBytes(Arrays.copyOfRange(body, position[0], position[0] + length));
+                position[0] += length;
+                if (InventoryUtils.isValidItem(item)) {
+                    items[slot] = item;
+                }
+            }
+            return items;
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to decode items: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decode a single item (offhand).
+     */
+    public static ItemStack decodeItemStack(byte[] data) {
+        ItemStack[] items = decodeItemStacks(data);
+        for (ItemStack item : items) {
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Convert a legacy Base64 field to the byte form read by {@link #decodeItemStacks(byte[])}.
+     * Only Base64 is undone here; the items themselves are decoded when first used.
+     */
+    public static byte[] fromLegacyString(String data) {
+        if (data == null || data.trim().isEmpty()) {
+            return null;
+        }
+        return Base64.getDecoder().decode(data);
+    }
+
+    public static boolean isBinaryFormat(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC_0 && data[1] == MAGIC_1;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated item data");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] data, int[] position) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (position[0] >= data.length) {
+                throw new IOException("Truncated varint");
+            }
+            byte b = data[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint too long");
+    }
+
+    // ================ LEGACY BASE64 FORMAT ================
+
     /**
      * Serialize ItemStack array to Base64 string
      */
@@ -74,13 +304,35 @@ public class ItemSerializer {
             return new ItemStack[0];
         }
 
-        try {
-            // Decode from Base64
-            byte[] bytes = Base64.getDecoder().decode(data);
+        return deserializeLegacy(Base64.getDecoder().decode(data));
+    }
 
+    /**
+     * Reads both legacy framings: a count followed by items (this class) and a single
+     * {@code ItemStack[]} object (the serializer formerly nested in YakPlayer).
+     */
+    private static ItemStack[] deserializeLegacy(byte[] bytes) {
+        try {
             ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
             BukkitObjectInputStream dataInput = new BukkitObjectInputStream(inputStream);
 
+            try {
+                Object array = dataInput.readObject();
+                dataInput.close();
+                if (!(array instanceof ItemStack[] stored)) {
+                    throw new IOException("Unexpected legacy item payload: " + (array == null ? "null" : array.getClass().getName()));
+                }
+                ItemStack[] items = new ItemStack[stored.length];
+                for (int i = 0; i < stored.length; i++) {
+                    if (InventoryUtils.isValidItem(stored[i])) {
+                        items[i] = stored[i];
+                    }
+                }
+                return items;
+            } catch (OptionalDataException countFirst) {
+                // Primitive count ahead of the items; the stream is still positioned on it
+            }
+
             int length = dataInput.readInt();
             if (length < 0 || length > 1000) { // Reasonable limit
                 throw new IOException("Invalid item count: " + length);
@@ -1,5 +1,6 @@
 package com.rednetty.server.utils.location;
 
+import com.rednetty.server.core.mechanics.world.PlayerSpatialIndex;
 import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -59,6 +60,9 @@ public class LocationUtil {
      * @return List of players within radius
      */
     public static List<Player> getPlayersWithinRadius(Location center, double radius, boolean include3D) {
+        if (include3D) {
+            return PlayerSpatialIndex.getInstance().playersWithin(center, radius);
+        }
         return center.getWorld().getPlayers().stream()
                 .filter(player -> isWithinRadius(center, player.getLocation(), radius, include3D))
                 .collect(Collectors.toList());
@@ -1,5 +1,6 @@
 package com.rednetty.server.utils.player;
 
+import com.rednetty.server.core.mechanics.world.PlayerSpatialIndex;
 import org.bukkit.*;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -302,15 +303,8 @@ public class PlayerUtil {
      * @return List of players within radius
      */
     public static List<Player> getPlayersWithinRadius(Player player, double radius, boolean includeSelf) {
-        List<Player> nearby = player.getWorld().getPlayers().stream()
-                .filter(p -> p.getLocation().distance(player.getLocation()) <= radius)
-                .collect(Collectors.toList());
-
-        if (!includeSelf) {
-            nearby.remove(player);
-        }
-
-        return nearby;
+        return PlayerSpatialIndex.getInstance().playersWithin(player.getLocation(), radius,
+                p -> includeSelf || !p.equals(player));
     }
 
     /**